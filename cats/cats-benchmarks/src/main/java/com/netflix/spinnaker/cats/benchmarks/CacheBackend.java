@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.cats.cache.WriteableCache;
+import com.netflix.spinnaker.cats.mem.InMemoryCache;
+import com.netflix.spinnaker.cats.provider.ProviderCacheConfiguration;
+import com.netflix.spinnaker.cats.redis.cache.RedisCache;
+import com.netflix.spinnaker.cats.redis.cache.RedisCacheOptions;
+import com.netflix.spinnaker.cats.sql.cache.NoopCacheMetrics;
+import com.netflix.spinnaker.cats.sql.cache.SqlCache;
+import com.netflix.spinnaker.config.SqlConstraintsInitializer;
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
+import com.netflix.spinnaker.kork.jedis.EmbeddedRedis;
+import com.netflix.spinnaker.kork.jedis.JedisClientDelegate;
+import com.netflix.spinnaker.kork.sql.config.RetryProperties;
+import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties;
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil;
+import java.time.Clock;
+import org.jooq.SQLDialect;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+
+/** The cache implementations that can be benchmarked, each backed by a throwaway store. */
+public enum CacheBackend {
+  IN_MEMORY {
+    @Override
+    Session open() {
+      return new Session(new InMemoryCache(), () -> {});
+    }
+  },
+
+  /** A {@link RedisCache} backed by an embedded redis server. */
+  REDIS {
+    @Override
+    Session open() {
+      EmbeddedRedis embeddedRedis = EmbeddedRedis.embed();
+      JedisPool pool = (JedisPool) embeddedRedis.getPool();
+      try (Jedis jedis = pool.getResource()) {
+        jedis.flushAll();
+      }
+      RedisCache cache =
+          new RedisCache(
+              "benchmark",
+              new JedisClientDelegate(pool),
+              objectMapper(),
+              RedisCacheOptions.builder().build(),
+              new RedisCache.CacheMetrics.NOOP());
+      return new Session(cache, embeddedRedis::destroy);
+    }
+  },
+
+  /**
+   * A {@link SqlCache} backed by a MySQL testcontainer, which requires docker. SqlCache relies on
+   * MySQL or PostgreSQL specific statements, so it cannot be run against an embedded database.
+   */
+  SQL {
+    @Override
+    Session open() {
+      SqlTestUtil.TestDatabase database = SqlTestUtil.initTcMysqlDatabase();
+      SqlCache cache =
+          new SqlCache(
+              "benchmark",
+              database.context,
+              objectMapper(),
+              null,
+              Clock.systemDefaultZone(),
+              new SqlRetryProperties(new RetryProperties(1, 10), new RetryProperties(1, 10)),
+              null,
+              new NoopCacheMetrics(),
+              DynamicConfigService.NOOP,
+              SqlConstraintsInitializer.INSTANCE.getDefaultSqlConstraints(SQLDialect.MYSQL),
+              new ProviderCacheConfiguration() {});
+      return new Session(cache, () -> SqlTestUtil.cleanupDb(database.context));
+    }
+  };
+
+  /** Starts the backing store and returns an empty cache on top of it. */
+  abstract Session open();
+
+  private static ObjectMapper objectMapper() {
+    return new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+  }
+
+  /** An open cache, along with what it takes to tear down its backing store. */
+  static final class Session implements AutoCloseable {
+    final WriteableCache cache;
+    private final Runnable onClose;
+
+    Session(WriteableCache cache, Runnable onClose) {
+      this.cache = cache;
+      this.onClose = onClose;
+    }
+
+    @Override
+    public void close() {
+      onClose.run();
+    }
+  }
+}
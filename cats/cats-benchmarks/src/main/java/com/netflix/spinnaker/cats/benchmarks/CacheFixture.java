@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.cats.agent.DefaultCacheResult;
+import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.DefaultCacheData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic {@link CacheResult}s shaped like those of the AWS and Kubernetes caching agents: a
+ * primary type whose items each own a handful of items of a related type, with relationships in
+ * both directions and attributes of a realistic size.
+ *
+ * <p>Successive generations of a fixture shift its identifiers by a tenth of its size, so storing
+ * a generation authoritatively on top of the previous one evicts a tenth of the items.
+ */
+public enum CacheFixture {
+  AWS("serverGroups", "instances", 4) {
+    @Override
+    String primaryId(int index) {
+      int app = index % 100;
+      return String.format(
+          "aws:serverGroups:app%d-main:prod-%d:%s:app%d-main-v%03d",
+          app, index % 4, region(index), app, index / 100);
+    }
+
+    @Override
+    String relatedId(int index, int member) {
+      return String.format(
+          "aws:instances:prod-%d:%s:i-%012x", index % 4, region(index), index * 8L + member);
+    }
+
+    @Override
+    Map<String, Object> primaryAttributes(int index) {
+      Map<String, Object> capacity = ImmutableMap.of("min", 1, "max", 8, "desired", 4);
+      Map<String, Object> launchTemplate =
+          ImmutableMap.of(
+              "launchTemplateId", String.format("lt-%017x", index),
+              "launchTemplateName", "app-main-" + index,
+              "version", "1");
+      Map<String, Object> asg = new LinkedHashMap<>();
+      asg.put("autoScalingGroupName", name(primaryId(index)));
+      asg.put("launchTemplate", launchTemplate);
+      asg.put("availabilityZones", Arrays.asList(region(index) + "a", region(index) + "b"));
+      asg.put("loadBalancerNames", Collections.singletonList("app" + index % 100 + "-frontend"));
+      asg.put("healthCheckType", "ELB");
+      asg.put("healthCheckGracePeriod", 600);
+      asg.put("createdTime", 1_600_000_000_000L + index);
+      asg.put(
+          "tags",
+          Arrays.asList(
+              ImmutableMap.of("key", "spinnaker:application", "value", "app" + index % 100),
+              ImmutableMap.of("key", "spinnaker:stack", "value", "main")));
+
+      Map<String, Object> attributes = new LinkedHashMap<>();
+      attributes.put("name", name(primaryId(index)));
+      attributes.put("application", "app" + index % 100);
+      attributes.put("region", region(index));
+      attributes.put("account", "prod-" + index % 4);
+      attributes.put("capacity", capacity);
+      attributes.put("asg", asg);
+      return attributes;
+    }
+
+    @Override
+    Map<String, Object> relatedAttributes(int index, int member) {
+      Map<String, Object> attributes = new LinkedHashMap<>();
+      attributes.put("instanceId", name(relatedId(index, member)));
+      attributes.put("instanceType", "m5.large");
+      attributes.put("privateIpAddress", "10.0." + index % 256 + "." + member);
+      attributes.put("launchTime", 1_600_000_000_000L + index);
+      attributes.put("placement", ImmutableMap.of("availabilityZone", region(index) + "a"));
+      attributes.put("state", ImmutableMap.of("code", 16, "name", "running"));
+      return attributes;
+    }
+
+    @Override
+    Map<String, Collection<String>> primaryRelationships(int index) {
+      Map<String, Collection<String>> relationships = new HashMap<>();
+      relationships.put(
+          "loadBalancers",
+          Collections.singletonList(
+              String.format(
+                  "aws:loadBalancers:prod-%d:%s:app%d-frontend",
+                  index % 4, region(index), index % 100)));
+      relationships.put(
+          "launchTemplates",
+          Collections.singletonList(
+              String.format(
+                  "aws:launchTemplates:prod-%d:%s:app-main-%d", index % 4, region(index), index)));
+      return relationships;
+    }
+
+    @Override
+    String glob() {
+      return "aws:serverGroups:app1*-main:prod-1:*";
+    }
+
+    private String region(int index) {
+      return index % 2 == 0 ? "us-east-1" : "us-west-2";
+    }
+  },
+
+  KUBERNETES("replicaSet", "pod", 3) {
+    @Override
+    String primaryId(int index) {
+      return String.format(
+          "kubernetes.v2:infrastructure:replicaSet:cluster-%d:namespace-%d:app%d-%08x",
+          index % 4, index % 20, index % 100, index);
+    }
+
+    @Override
+    String relatedId(int index, int member) {
+      return String.format(
+          "kubernetes.v2:infrastructure:pod:cluster-%d:namespace-%d:app%d-%08x-%05d",
+          index % 4, index % 20, index % 100, index, member);
+    }
+
+    @Override
+    Map<String, Object> primaryAttributes(int index) {
+      Map<String, Object> spec = new LinkedHashMap<>();
+      spec.put("replicas", 3);
+      spec.put("selector", ImmutableMap.of("matchLabels", labels(index)));
+      spec.put("template", ImmutableMap.of("metadata", ImmutableMap.of("labels", labels(index))));
+      return manifestAttributes("ReplicaSet", name(primaryId(index)), index, spec);
+    }
+
+    @Override
+    Map<String, Object> relatedAttributes(int index, int member) {
+      Map<String, Object> container = new LinkedHashMap<>();
+      container.put("name", "app");
+      container.put("image", "registry.example.com/app" + index % 100 + ":" + index);
+      container.put("ports", Collections.singletonList(ImmutableMap.of("containerPort", 8080)));
+      container.put(
+          "resources",
+          ImmutableMap.of(
+              "requests", ImmutableMap.of("cpu", "500m", "memory", "512Mi"),
+              "limits", ImmutableMap.of("cpu", "1", "memory", "1Gi")));
+      Map<String, Object> spec = new LinkedHashMap<>();
+      spec.put("containers", Collections.singletonList(container));
+      spec.put("nodeName", "node-" + (index + member) % 500);
+      return manifestAttributes("Pod", name(relatedId(index, member)), index, spec);
+    }
+
+    @Override
+    Map<String, Collection<String>> primaryRelationships(int index) {
+      return Collections.singletonMap(
+          "deployment",
+          Collections.singletonList(
+              String.format(
+                  "kubernetes.v2:infrastructure:deployment:cluster-%d:namespace-%d:app%d",
+                  index % 4, index % 20, index % 100)));
+    }
+
+    @Override
+    String glob() {
+      return "kubernetes.v2:infrastructure:replicaSet:cluster-1:namespace-1?:*";
+    }
+
+    private Map<String, Object> labels(int index) {
+      return ImmutableMap.of(
+          "app.kubernetes.io/name", "app" + index % 100,
+          "app.kubernetes.io/managed-by", "spinnaker");
+    }
+
+    private Map<String, Object> manifestAttributes(
+        String kind, String name, int index, Map<String, Object> spec) {
+      Map<String, Object> metadata = new LinkedHashMap<>();
+      metadata.put("name", name);
+      metadata.put("namespace", "namespace-" + index % 20);
+      metadata.put("labels", labels(index));
+      metadata.put(
+          "annotations",
+          ImmutableMap.of(
+              "artifact.spinnaker.io/name", "app" + index % 100,
+              "moniker.spinnaker.io/cluster", "replicaSet app" + index % 100));
+
+      Map<String, Object> manifest = new LinkedHashMap<>();
+      manifest.put("apiVersion", "apps/v1");
+      manifest.put("kind", kind);
+      manifest.put("metadata", metadata);
+      manifest.put("spec", spec);
+
+      Map<String, Object> attributes = new LinkedHashMap<>();
+      attributes.put("name", name);
+      attributes.put("account", "cluster-" + index % 4);
+      attributes.put("kind", kind);
+      attributes.put("manifest", manifest);
+      return attributes;
+    }
+  };
+
+  private final String primaryType;
+  private final String relatedType;
+  private final int membersPerItem;
+
+  CacheFixture(String primaryType, String relatedType, int membersPerItem) {
+    this.primaryType = primaryType;
+    this.relatedType = relatedType;
+    this.membersPerItem = membersPerItem;
+  }
+
+  abstract String primaryId(int index);
+
+  abstract String relatedId(int index, int member);
+
+  abstract Map<String, Object> primaryAttributes(int index);
+
+  abstract Map<String, Object> relatedAttributes(int index, int member);
+
+  /** Relationships of a primary item to types outside of the fixture. */
+  abstract Map<String, Collection<String>> primaryRelationships(int index);
+
+  /** A glob matching a few percent of the primary identifiers. */
+  abstract String glob();
+
+  String getPrimaryType() {
+    return primaryType;
+  }
+
+  String getRelatedType() {
+    return relatedType;
+  }
+
+  /**
+   * Generates a fixture of about {@code size} items in total, split between the primary type and
+   * its related type.
+   */
+  CacheResult generate(int size, int generation) {
+    int primaryCount = Math.max(1, size / (membersPerItem + 1));
+    int offset = generation * (primaryCount / 10);
+
+    List<CacheData> primary = new ArrayList<>(primaryCount);
+    List<CacheData> related = new ArrayList<>(primaryCount * membersPerItem);
+    for (int index = offset; index < offset + primaryCount; index++) {
+      String primaryId = primaryId(index);
+      List<String> memberIds = new ArrayList<>(membersPerItem);
+      for (int member = 0; member < membersPerItem; member++) {
+        String relatedId = relatedId(index, member);
+        memberIds.add(relatedId);
+        related.add(
+            new DefaultCacheData(
+                relatedId,
+                relatedAttributes(index, member),
+                Collections.singletonMap(primaryType, Collections.singletonList(primaryId))));
+      }
+      Map<String, Collection<String>> relationships = new HashMap<>(primaryRelationships(index));
+      relationships.put(relatedType, memberIds);
+      primary.add(new DefaultCacheData(primaryId, primaryAttributes(index), relationships));
+    }
+
+    Map<String, Collection<CacheData>> cacheResults = new HashMap<>();
+    cacheResults.put(primaryType, primary);
+    cacheResults.put(relatedType, related);
+    return new DefaultCacheResult(cacheResults);
+  }
+
+  private static String name(String id) {
+    return id.substring(id.lastIndexOf(':') + 1);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.benchmarks;
+
+import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.CompositeCache;
+import com.netflix.spinnaker.cats.mem.InMemoryCache;
+import com.netflix.spinnaker.cats.provider.DefaultProviderCache;
+import com.netflix.spinnaker.cats.provider.ProviderCache;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the reads of a {@link CompositeCache} over the in-memory provider caches of several
+ * providers, as served by the API. The primary type of the fixture is either cached by one of the
+ * providers only, or by all of them.
+ *
+ * <p>The allocation rate is the figure of interest here, and is reported by running with {@code
+ * -prof gc}, e.g.
+ *
+ * <pre>
+ *   ./gradlew :cats:cats-benchmarks:jmh -PjmhArgs="CompositeCacheBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CompositeCacheBenchmark {
+  private static final String AGENT_TYPE = "benchmark/BenchmarkCachingAgent";
+
+  @Param({"AWS", "KUBERNETES"})
+  CacheFixture fixture;
+
+  @Param({"10000", "100000"})
+  int size;
+
+  @Param({"1", "4"})
+  int providers;
+
+  /** Whether every provider caches the primary type, rather than only the first one. */
+  @Param({"false", "true"})
+  boolean shared;
+
+  private CompositeCache cache;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    CacheResult data = fixture.generate(size, 0);
+    List<String> authoritativeTypes =
+        Arrays.asList(fixture.getPrimaryType(), fixture.getRelatedType());
+    List<ProviderCache> providerCaches = new ArrayList<>(providers);
+    for (int provider = 0; provider < providers; provider++) {
+      ProviderCache providerCache = new DefaultProviderCache(new InMemoryCache());
+      if (provider == 0 || shared) {
+        providerCache.putCacheResult(AGENT_TYPE + provider, authoritativeTypes, data);
+      }
+      providerCaches.add(providerCache);
+    }
+    cache = new CompositeCache(providerCaches);
+  }
+
+  @Benchmark
+  public Collection<CacheData> getAll() {
+    return cache.getAll(fixture.getPrimaryType());
+  }
+
+  /** Reads every item along with its attributes, as most API endpoints do. */
+  @Benchmark
+  public void getAllAttributes(Blackhole blackhole) {
+    for (CacheData item : cache.getAll(fixture.getPrimaryType())) {
+      blackhole.consume(item.getAttributes());
+    }
+  }
+
+  /** Reads every item along with its relationships, as the cluster providers do. */
+  @Benchmark
+  public void getAllRelationships(Blackhole blackhole) {
+    for (CacheData item : cache.getAll(fixture.getPrimaryType())) {
+      blackhole.consume(item.getRelationships());
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.benchmarks;
+
+import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter;
+import com.netflix.spinnaker.cats.provider.DefaultProviderCache;
+import com.netflix.spinnaker.cats.provider.ProviderCache;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link DefaultProviderCache} write path of a caching agent, and its reads, which
+ * merge the relationships stored by each agent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ProviderCacheBenchmark {
+  private static final String AGENT_TYPE = "benchmark/BenchmarkCachingAgent";
+
+  @Param({"IN_MEMORY", "REDIS", "SQL"})
+  CacheBackend backend;
+
+  @Param({"AWS", "KUBERNETES"})
+  CacheFixture fixture;
+
+  @Param({"10000", "100000", "1000000"})
+  int size;
+
+  private CacheBackend.Session session;
+  private ProviderCache providerCache;
+  private List<String> authoritativeTypes;
+  private CacheResult[] generations;
+  private int nextGeneration;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    session = backend.open();
+    providerCache = new DefaultProviderCache(session.cache);
+    authoritativeTypes = Arrays.asList(fixture.getPrimaryType(), fixture.getRelatedType());
+    generations = new CacheResult[] {fixture.generate(size, 0), fixture.generate(size, 1)};
+    providerCache.putCacheResult(AGENT_TYPE, authoritativeTypes, generations[0]);
+    nextGeneration = 1;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    session.close();
+  }
+
+  /**
+   * Stores the other generation of the fixture authoritatively, which evicts the tenth of the items
+   * that it does not include.
+   */
+  @Benchmark
+  public void putCacheResultAuthoritative() {
+    providerCache.putCacheResult(AGENT_TYPE, authoritativeTypes, generations[nextGeneration]);
+    nextGeneration = 1 - nextGeneration;
+  }
+
+  @Benchmark
+  public Collection<CacheData> getAll() {
+    return providerCache.getAll(fixture.getPrimaryType());
+  }
+
+  @Benchmark
+  public Collection<CacheData> getAllWithRelationshipFilter() {
+    return providerCache.getAll(
+        fixture.getPrimaryType(), RelationshipCacheFilter.include(fixture.getRelatedType()));
+  }
+
+  @Benchmark
+  public Collection<String> filterIdentifiers() {
+    return providerCache.filterIdentifiers(fixture.getPrimaryType(), fixture.glob());
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.benchmarks;
+
+import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the reads and writes of each {@link CacheBackend} over a populated cache. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class WriteableCacheBenchmark {
+
+  @Param({"IN_MEMORY", "REDIS", "SQL"})
+  CacheBackend backend;
+
+  @Param({"AWS", "KUBERNETES"})
+  CacheFixture fixture;
+
+  @Param({"10000", "100000", "1000000"})
+  int size;
+
+  private CacheBackend.Session session;
+  private CacheResult data;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    session = backend.open();
+    data = fixture.generate(size, 0);
+    mergeAll();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    session.close();
+  }
+
+  /** Stores every item again with unchanged content, as a caching agent does on each cycle. */
+  @Benchmark
+  public void mergeAll() {
+    data.getCacheResults().forEach(session.cache::mergeAll);
+  }
+
+  @Benchmark
+  public Collection<CacheData> getAll() {
+    return session.cache.getAll(fixture.getPrimaryType());
+  }
+
+  @Benchmark
+  public Collection<CacheData> getAllWithRelationshipFilter() {
+    return session.cache.getAll(
+        fixture.getPrimaryType(), RelationshipCacheFilter.include(fixture.getRelatedType()));
+  }
+
+  @Benchmark
+  public Collection<CacheData> getAllWithoutRelationships() {
+    return session.cache.getAll(fixture.getPrimaryType(), RelationshipCacheFilter.none());
+  }
+
+  @Benchmark
+  public Collection<String> filterIdentifiers() {
+    return session.cache.filterIdentifiers(fixture.getPrimaryType(), fixture.glob());
+  }
+}
@@ -17,8 +17,15 @@
 package com.netflix.spinnaker.cats.cache;
 
 import java.util.*;
+import java.util.function.Function;
 
-/** A cache that provides a unified view of multiples, merging items from each cache together. */
+/**
+ * A cache that provides a unified view of multiples, merging items from each cache together.
+ *
+ * <p>Most types are only cached by one of the caches, in which case its items are returned as they
+ * are. Items found in several caches are merged into a {@link LazyCacheData}, so their attributes
+ * and relationships are only combined if they are accessed.
+ */
 public class CompositeCache implements Cache {
 
   private final Collection<? extends Cache> caches;
@@ -32,6 +39,32 @@ public class CompositeCache implements Cache {
     return caches.stream().allMatch(Cache::supportsGetAllByApplication);
   }
 
+  /** @return the versions of the type in each cache, or null if any of them doesn't track it */
+  @Override
+  public String getVersion(String type) {
+    StringBuilder version = new StringBuilder();
+    for (Cache cache : caches) {
+      String cacheVersion = cache.getVersion(type);
+      if (cacheVersion == null) {
+        return null;
+      }
+      version.append(cacheVersion).append(',');
+    }
+    return version.toString();
+  }
+
+  @Override
+  public Map<String, String> getVersions(Collection<String> types) {
+    Map<String, String> versions = new HashMap<>();
+    types.forEach(type -> versions.put(type, ""));
+    for (Cache cache : caches) {
+      Map<String, String> cacheVersions = cache.getVersions(new ArrayList<>(versions.keySet()));
+      versions.keySet().retainAll(cacheVersions.keySet());
+      versions.replaceAll((type, version) -> version + cacheVersions.get(type) + ',');
+    }
+    return versions;
+  }
+
   @Override
   public CacheData get(String type, String id) {
     return get(type, id, null);
@@ -49,6 +82,9 @@ public class CompositeCache implements Cache {
     if (elements.isEmpty()) {
       return null;
     }
+    if (elements.size() == 1) {
+      return elements.iterator().next();
+    }
     return merge(id, elements);
   }
 
@@ -59,11 +95,7 @@ public class CompositeCache implements Cache {
 
   @Override
   public Collection<CacheData> getAll(String type, CacheFilter cacheFilter) {
-    Map<String, CacheData> allItems = new HashMap<>();
-    for (Cache cache : caches) {
-      allItems = merge(allItems, cache.getAll(type, cacheFilter));
-    }
-    return allItems.values();
+    return mergeAll(cache -> cache.getAll(type, cacheFilter));
   }
 
   @Override
@@ -110,11 +142,7 @@ public class CompositeCache implements Cache {
   @Override
   public Collection<CacheData> getAll(
       String type, Collection<String> identifiers, CacheFilter cacheFilter) {
-    Map<String, CacheData> allItems = new HashMap<>();
-    for (Cache cache : caches) {
-      allItems = merge(allItems, cache.getAll(type, identifiers, cacheFilter));
-    }
-    return allItems.values();
+    return mergeAll(cache -> cache.getAll(type, identifiers, cacheFilter));
   }
 
   @Override
@@ -151,6 +179,30 @@ public class CompositeCache implements Cache {
     return allItems;
   }
 
+  private Collection<CacheData> mergeAll(Function<Cache, Collection<CacheData>> read) {
+    List<Collection<CacheData>> results = new ArrayList<>(caches.size());
+    int size = 0;
+    for (Cache cache : caches) {
+      Collection<CacheData> result = read.apply(cache);
+      if (!result.isEmpty()) {
+        results.add(result);
+        size += result.size();
+      }
+    }
+    if (results.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (results.size() == 1) {
+      return results.get(0);
+    }
+
+    Map<String, CacheData> allItems = new HashMap<>(size * 4 / 3 + 1);
+    for (Collection<CacheData> result : results) {
+      merge(allItems, result);
+    }
+    return allItems.values();
+  }
+
   Map<String, CacheData> merge(
       Map<String, CacheData> existingItems, Collection<CacheData> results) {
     final Map<String, CacheData> allItems =
@@ -172,20 +224,34 @@ public class CompositeCache implements Cache {
   }
 
   CacheData merge(String id, Collection<CacheData> elements) {
-    Map<String, Object> attributes = new HashMap<>();
-    Map<String, Collection<String>> relationships = new HashMap<>();
+    // the attributes of the last item to have an expiry win, and so does its ttl
+    int ttlSeconds = -1;
     for (CacheData data : elements) {
-      attributes.putAll(data.getAttributes());
-      for (Map.Entry<String, Collection<String>> relationship :
-          data.getRelationships().entrySet()) {
-        Collection<String> existing = relationships.get(relationship.getKey());
-        if (existing == null) {
-          existing = new HashSet<>();
-          relationships.put(relationship.getKey(), existing);
-        }
-        existing.addAll(relationship.getValue());
+      if (data.getAttributes().containsKey("cacheExpiry")) {
+        ttlSeconds = data.getTtlSeconds();
       }
     }
-    return new DefaultCacheData(id, attributes, relationships);
+    return new LazyCacheData(
+        id,
+        ttlSeconds,
+        () -> {
+          Map<String, Object> attributes = new HashMap<>();
+          for (CacheData data : elements) {
+            attributes.putAll(data.getAttributes());
+          }
+          return attributes;
+        },
+        () -> {
+          Map<String, Collection<String>> relationships = new HashMap<>();
+          for (CacheData data : elements) {
+            for (Map.Entry<String, Collection<String>> relationship :
+                data.getRelationships().entrySet()) {
+              relationships
+                  .computeIfAbsent(relationship.getKey(), key -> new HashSet<>())
+                  .addAll(relationship.getValue());
+            }
+          }
+          return relationships;
+        });
   }
 }
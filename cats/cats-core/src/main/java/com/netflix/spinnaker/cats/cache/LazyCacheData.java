@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A CacheData whose attributes and relationships are only computed when first accessed, so that
+ * reads which merge or regroup the items of other caches don't pay for the parts that callers never
+ * look at. Each is computed at most once, after which the same map is returned on every access.
+ *
+ * <p>Unlike {@link DefaultCacheData}, the attributes are not copied, so the supplier must not
+ * return a map that is shared with the item it was read from.
+ */
+public class LazyCacheData implements CacheData {
+  private final String id;
+  private final int ttlSeconds;
+  private Supplier<Map<String, Object>> attributesSupplier;
+  private Supplier<Map<String, Collection<String>>> relationshipsSupplier;
+  private volatile Map<String, Object> attributes;
+  private volatile Map<String, Collection<String>> relationships;
+
+  public LazyCacheData(
+      String id,
+      int ttlSeconds,
+      Supplier<Map<String, Object>> attributes,
+      Supplier<Map<String, Collection<String>>> relationships) {
+    this.id = id;
+    this.ttlSeconds = ttlSeconds;
+    this.attributesSupplier = attributes;
+    this.relationshipsSupplier = relationships;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getTtlSeconds() {
+    return ttlSeconds;
+  }
+
+  @Override
+  public Map<String, Object> getAttributes() {
+    Map<String, Object> result = attributes;
+    if (result == null) {
+      synchronized (this) {
+        result = attributes;
+        if (result == null) {
+          result = attributesSupplier.get();
+          attributes = result;
+          attributesSupplier = null;
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public Map<String, Collection<String>> getRelationships() {
+    Map<String, Collection<String>> result = relationships;
+    if (result == null) {
+      synchronized (this) {
+        result = relationships;
+        if (result == null) {
+          result = relationshipsSupplier.get();
+          relationships = result;
+          relationshipsSupplier = null;
+        }
+      }
+    }
+    return result;
+  }
+}
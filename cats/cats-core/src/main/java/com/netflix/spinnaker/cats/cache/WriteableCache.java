@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.cats.cache;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /** A WriteableCache is a Cache that is updatable. */
 public interface WriteableCache extends Cache {
@@ -27,4 +28,22 @@ public interface WriteableCache extends Cache {
   void evict(String type, String id);
 
   void evictAll(String type, Collection<String> ids);
+
+  /**
+   * Adds identifiers to a named index of a type. Indexes are maintained separately from the items
+   * they reference, so an evicted or expired item remains in any index it was added to until it is
+   * removed.
+   *
+   * <p>Caches that don't support indexes ignore the identifiers, leaving callers to find the items
+   * with {@link #filterIdentifiers(String, String)}.
+   */
+  default void addToIndex(String type, String index, Collection<String> ids) {}
+
+  /** Removes identifiers from a named index of a type. */
+  default void removeFromIndex(String type, String index, Collection<String> ids) {}
+
+  /** Returns the identifiers in a named index of a type. */
+  default Collection<String> getIndex(String type, String index) {
+    return Collections.emptySet();
+  }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation;
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a smoothed execution time for each caching agent run on this pod, and sums them by
+ * account to weigh accounts for sharding.
+ *
+ * <p>The weights are published to a store shared by all caching pods, so that an account keeps
+ * its weight when it moves to another pod or this pod restarts. Only accounts that ran since the
+ * last publication are published, as an account that moved away is weighed by its new owner.
+ */
+public class AccountExecutionWeights implements ExecutionInstrumentation {
+  private static final double SMOOTHING_FACTOR = 0.3;
+
+  private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+  private final Clock clock;
+
+  public AccountExecutionWeights() {
+    this(Clock.systemUTC());
+  }
+
+  public AccountExecutionWeights(Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public void executionStarted(Agent agent) {
+    // do nothing
+  }
+
+  @Override
+  public void executionCompleted(Agent agent, long elapsedMs) {
+    record(agent, elapsedMs);
+  }
+
+  @Override
+  public void executionFailed(Agent agent, Throwable cause, long elapsedMs) {
+    record(agent, elapsedMs);
+  }
+
+  private void record(Agent agent, long elapsedMs) {
+    long now = clock.millis();
+    executions.merge(
+        agent.getAgentType(),
+        new Execution(elapsedMs, now),
+        (previous, current) ->
+            new Execution(
+                previous.time + SMOOTHING_FACTOR * (current.time - previous.time), now));
+  }
+
+  /** Returns the summed execution time of the agents recorded for each account. */
+  public Map<String, Double> getAccountWeights() {
+    return getAccountWeights(Long.MIN_VALUE);
+  }
+
+  /**
+   * Returns the summed execution time of the agents recorded for each account that has an agent
+   * that ran at or after the given time.
+   */
+  public Map<String, Double> getAccountWeights(long sinceMillis) {
+    Map<String, Double> weights = new TreeMap<>();
+    Set<String> recentAccounts = new HashSet<>();
+    executions.forEach(
+        (agentType, execution) -> {
+          String account = accountName(agentType);
+          weights.merge(account, execution.time, Double::sum);
+          if (execution.executedAt >= sinceMillis) {
+            recentAccounts.add(account);
+          }
+        });
+    weights.keySet().retainAll(recentAccounts);
+    return weights;
+  }
+
+  /** Forgets the agents that haven't run since the given time. */
+  public void expire(long beforeMillis) {
+    executions.values().removeIf(execution -> execution.executedAt < beforeMillis);
+  }
+
+  public static String accountName(String agentType) {
+    int separator = agentType.indexOf('/');
+    return separator == -1 ? agentType : agentType.substring(0, separator);
+  }
+
+  private static class Execution {
+    private final double time;
+    private final long executedAt;
+
+    private Execution(double time, long executedAt) {
+      this.time = time;
+      this.executedAt = executedAt;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import java.util.Collection;
+
+/**
+ * A {@link ShardingFilter} that assigns caching agents to pods by account, and can report how
+ * accounts would be assigned to a hypothetical set of pods.
+ */
+public interface AccountShardingFilter extends ShardingFilter {
+
+  /** Returns the current assignment of accounts to the live caching pods. */
+  ShardAssignment getAssignment();
+
+  /**
+   * Returns how accounts would be assigned if the given pods were live, including the accounts
+   * that would move relative to the current assignment. Does not change the current assignment.
+   */
+  ShardAssignment preview(Collection<String> pods);
+}
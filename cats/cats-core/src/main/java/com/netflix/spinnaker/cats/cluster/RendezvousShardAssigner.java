@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns accounts to caching pods using rendezvous (highest random weight) hashing, so that a
+ * change in membership only moves the accounts owned by the pods that joined or left.
+ *
+ * <p>Accounts with a recorded weight are also placed under a bounded load: no pod is assigned more
+ * than {@code loadFactor} times its fair share of the total weight, and an account that would
+ * overflow its preferred pod falls through to the next pod in its rendezvous order. Weights are
+ * rounded to half powers of two before placement so that every pod computes the same assignment
+ * despite small differences in the weights each of them has observed.
+ */
+public class RendezvousShardAssigner {
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final double loadFactor;
+
+  public RendezvousShardAssigner(double loadFactor) {
+    if (loadFactor < 1.0) {
+      throw new IllegalArgumentException("loadFactor must be at least 1.0, got " + loadFactor);
+    }
+    this.loadFactor = loadFactor;
+  }
+
+  /**
+   * Assigns the given weighted accounts to the given pods.
+   *
+   * @param previous the assignment to report moved accounts against, or null
+   */
+  public ShardAssignment assign(
+      Collection<String> pods, Map<String, Double> accountWeights, ShardAssignment previous) {
+    List<String> sortedPods = new ArrayList<>(new TreeSet<>(pods));
+    Map<String, String> owners = new HashMap<>();
+    Map<String, Double> podWeights = new LinkedHashMap<>();
+    sortedPods.forEach(pod -> podWeights.put(pod, 0.0));
+
+    if (!sortedPods.isEmpty()) {
+      Map<String, Double> weights = new HashMap<>();
+      accountWeights.forEach((account, weight) -> weights.put(account, quantize(weight)));
+      double totalWeight = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+      double maxWeight = weights.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+      double capacity = Math.max(loadFactor * totalWeight / sortedPods.size(), maxWeight);
+
+      // place the heaviest accounts first so that they get their preferred pod
+      List<String> accounts = new ArrayList<>(weights.keySet());
+      accounts.sort(
+          Comparator.<String, Double>comparing(weights::get, Comparator.reverseOrder())
+              .thenComparing(Comparator.naturalOrder()));
+      for (String account : accounts) {
+        double weight = weights.get(account);
+        String owner = null;
+        for (String pod : rank(account, sortedPods)) {
+          if (podWeights.get(pod) + weight <= capacity) {
+            owner = pod;
+            break;
+          }
+        }
+        if (owner == null) {
+          owner = Collections.min(sortedPods, Comparator.comparing(podWeights::get));
+        }
+        owners.put(account, owner);
+        podWeights.merge(owner, weight, Double::sum);
+      }
+    }
+
+    ShardAssignment assignment =
+        new ShardAssignment(sortedPods, owners, podWeights, Collections.emptyList());
+    if (previous == null) {
+      return assignment;
+    }
+    TreeSet<String> accounts = new TreeSet<>(previous.getOwners().keySet());
+    accounts.addAll(owners.keySet());
+    List<String> movedAccounts =
+        accounts.stream()
+            .filter(
+                account ->
+                    !Objects.equals(previous.ownerOf(account), assignment.ownerOf(account)))
+            .collect(Collectors.toList());
+    return new ShardAssignment(sortedPods, owners, podWeights, movedAccounts);
+  }
+
+  /** Returns the pod that the given account prefers, ignoring load. */
+  public static String preferredPod(String account, Collection<String> pods) {
+    String owner = null;
+    long ownerScore = 0;
+    for (String pod : pods) {
+      long score = score(account, pod);
+      if (owner == null
+          || score > ownerScore
+          || (score == ownerScore && pod.compareTo(owner) < 0)) {
+        owner = pod;
+        ownerScore = score;
+      }
+    }
+    return owner;
+  }
+
+  private static List<String> rank(String account, List<String> pods) {
+    List<String> ranked = new ArrayList<>(pods);
+    ranked.sort(
+        Comparator.comparingLong((String pod) -> score(account, pod))
+            .reversed()
+            .thenComparing(Comparator.naturalOrder()));
+    return ranked;
+  }
+
+  private static long score(String account, String pod) {
+    return HASH_FUNCTION
+        .newHasher()
+        .putString(account, StandardCharsets.UTF_8)
+        .putByte((byte) 0)
+        .putString(pod, StandardCharsets.UTF_8)
+        .hash()
+        .asLong();
+  }
+
+  private static double quantize(double weight) {
+    if (weight <= 1.0) {
+      return 1.0;
+    }
+    double halfPowers = Math.round(2 * Math.log(weight) / Math.log(2));
+    return Math.pow(2, halfPowers / 2);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** The owner of each account across a set of caching pods. */
+public class ShardAssignment {
+  private final List<String> pods;
+  private final Map<String, String> owners;
+  private final Map<String, Double> podWeights;
+  private final List<String> movedAccounts;
+
+  public ShardAssignment(
+      List<String> pods,
+      Map<String, String> owners,
+      Map<String, Double> podWeights,
+      List<String> movedAccounts) {
+    this.pods = Collections.unmodifiableList(pods);
+    this.owners = Collections.unmodifiableMap(owners);
+    this.podWeights = Collections.unmodifiableMap(podWeights);
+    this.movedAccounts = Collections.unmodifiableList(movedAccounts);
+  }
+
+  /**
+   * Returns the pod that owns the given account. Accounts without a recorded weight are owned by
+   * their preferred pod.
+   */
+  public String ownerOf(String account) {
+    String owner = owners.get(account);
+    return owner != null ? owner : RendezvousShardAssigner.preferredPod(account, pods);
+  }
+
+  public List<String> getPods() {
+    return pods;
+  }
+
+  /** The owner of every account with a recorded weight. */
+  public Map<String, String> getOwners() {
+    return owners;
+  }
+
+  /** The total account weight assigned to each pod. */
+  public Map<String, Double> getPodWeights() {
+    return podWeights;
+  }
+
+  /** The accounts whose owner differs from the assignment this one was computed against. */
+  public List<String> getMovedAccounts() {
+    return movedAccounts;
+  }
+}
@@ -30,18 +30,28 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /** A WriteableCache that stores objects in an in-memory map. */
 public class InMemoryCache implements WriteableCache {
   private ConcurrentMap<String, ConcurrentMap<String, CacheData>> typeMap =
       new ConcurrentHashMap<>();
+  private ConcurrentMap<String, ConcurrentMap<String, Set<String>>> indexMap =
+      new ConcurrentHashMap<>();
+
+  // a count of the writes to each type, qualified by an id so that versions don't repeat across
+  // restarts
+  private final String versionPrefix = UUID.randomUUID() + ":";
+  private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
 
   @Override
   public void merge(String type, CacheData cacheData) {
     merge(getOrCreate(type, cacheData.getId()), cacheData);
+    incrementVersion(type);
   }
 
   @Override
@@ -54,6 +64,7 @@ public class InMemoryCache implements WriteableCache {
   @Override
   public void evict(String type, String id) {
     getTypeMap(type).remove(id);
+    incrementVersion(type);
   }
 
   @Override
@@ -62,6 +73,7 @@ public class InMemoryCache implements WriteableCache {
     for (String id : ids) {
       map.remove(id);
     }
+    incrementVersion(type);
   }
 
   @Override
@@ -142,6 +154,35 @@ public class InMemoryCache implements WriteableCache {
     return matches;
   }
 
+  @Override
+  public void addToIndex(String type, String index, Collection<String> ids) {
+    getIndexMap(type).computeIfAbsent(index, k -> ConcurrentHashMap.newKeySet()).addAll(ids);
+  }
+
+  @Override
+  public void removeFromIndex(String type, String index, Collection<String> ids) {
+    Set<String> members = getIndexMap(type).get(index);
+    if (members != null) {
+      members.removeAll(ids);
+    }
+  }
+
+  @Override
+  public Collection<String> getIndex(String type, String index) {
+    Set<String> members = getIndexMap(type).get(index);
+    return members == null ? new HashSet<>() : new HashSet<>(members);
+  }
+
+  @Override
+  public String getVersion(String type) {
+    AtomicLong version = versions.get(type);
+    return versionPrefix + (version == null ? 0 : version.get());
+  }
+
+  private void incrementVersion(String type) {
+    versions.computeIfAbsent(type, k -> new AtomicLong()).incrementAndGet();
+  }
+
   private CacheData getOrCreate(String type, String id) {
     return getCacheData(getTypeMap(type), id);
   }
@@ -156,6 +197,10 @@ public class InMemoryCache implements WriteableCache {
     return existing;
   }
 
+  private ConcurrentMap<String, Set<String>> getIndexMap(String type) {
+    return indexMap.computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+  }
+
   private CacheData wrap(CacheData data, CacheFilter cacheFilter) {
     if (data == null || data.getAttributes().isEmpty()) {
       return null;
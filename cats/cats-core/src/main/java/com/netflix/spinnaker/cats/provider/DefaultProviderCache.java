@@ -19,7 +19,9 @@ package com.netflix.spinnaker.cats.provider;
 import com.netflix.spinnaker.cats.agent.CacheResult;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.cache.CacheFilter;
+import com.netflix.spinnaker.cats.cache.CacheWriteStatsStore;
 import com.netflix.spinnaker.cats.cache.DefaultCacheData;
+import com.netflix.spinnaker.cats.cache.LazyCacheData;
 import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter;
 import com.netflix.spinnaker.cats.cache.WriteableCache;
 import java.util.ArrayList;
@@ -30,6 +32,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An implementation of ProviderCache that writes through to a provided backing WriteableCache.
@@ -47,9 +51,13 @@ public class DefaultProviderCache implements ProviderCache {
               put("id", ALL_ID);
             }
           });
+  private static final long ON_DEMAND_INDEX_SCAN_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
 
   private final WriteableCache backingStore;
 
+  // when each on-demand index was last backfilled with the items found by key
+  private final Map<String, Long> onDemandIndexScans = new ConcurrentHashMap<>();
+
   public DefaultProviderCache(WriteableCache backingStore) {
     this.backingStore = backingStore;
   }
@@ -127,9 +135,27 @@ public class DefaultProviderCache implements ProviderCache {
     return identifiers;
   }
 
+  @Override
+  public String getVersion(String type) {
+    return backingStore.getVersion(type);
+  }
+
+  @Override
+  public Map<String, String> getVersions(Collection<String> types) {
+    return backingStore.getVersions(types);
+  }
+
   @Override
   public void putCacheResult(
       String sourceAgentType, Collection<String> authoritativeTypes, CacheResult cacheResult) {
+    try (CacheWriteStatsStore.Attribution attribution =
+        CacheWriteStatsStore.getStore().attribute(sourceAgentType)) {
+      storeCacheResult(sourceAgentType, authoritativeTypes, cacheResult);
+    }
+  }
+
+  private void storeCacheResult(
+      String sourceAgentType, Collection<String> authoritativeTypes, CacheResult cacheResult) {
     Set<String> allTypes = new HashSet<>(cacheResult.getCacheResults().keySet());
     allTypes.addAll(authoritativeTypes);
     allTypes.addAll(cacheResult.getEvictions().keySet());
@@ -169,10 +195,13 @@ public class DefaultProviderCache implements ProviderCache {
     Set<String> allTypes = new HashSet<>(cacheResult.getCacheResults().keySet());
     validateTypes(allTypes);
 
-    allTypes.forEach(
-        type -> {
-          cacheDataType(type, sourceAgentType, cacheResult.getCacheResults().get(type));
-        });
+    try (CacheWriteStatsStore.Attribution attribution =
+        CacheWriteStatsStore.getStore().attribute(sourceAgentType)) {
+      allTypes.forEach(
+          type -> {
+            cacheDataType(type, sourceAgentType, cacheResult.getCacheResults().get(type));
+          });
+    }
   }
 
   @Override
@@ -180,6 +209,87 @@ public class DefaultProviderCache implements ProviderCache {
     backingStore.merge(sourceAgentType, cacheData);
   }
 
+  @Override
+  public void putOnDemandCacheData(String agentType, String type, CacheData cacheData) {
+    validateTypes(type);
+    backingStore.merge(type, uniqueifyRelationships(cacheData, agentType));
+    backingStore.addToIndex(type, agentType, Collections.singleton(cacheData.getId()));
+  }
+
+  @Override
+  public Collection<String> getOnDemandIdentifiers(String agentType, String type, String glob) {
+    validateTypes(type);
+    Collection<String> indexed = getOnDemandIndex(agentType, type, glob);
+    if (indexed.isEmpty()) {
+      return new HashSet<>();
+    }
+    Set<String> existing = new HashSet<>(backingStore.existingIdentifiers(type, indexed));
+    pruneIndex(type, agentType, indexed, existing);
+    return existing;
+  }
+
+  @Override
+  public Collection<CacheData> getOnDemandCacheData(
+      String agentType, String type, String glob, CacheFilter cacheFilter) {
+    validateTypes(type);
+    Collection<String> indexed = getOnDemandIndex(agentType, type, glob);
+    if (indexed.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Collection<CacheData> items = backingStore.getAll(type, indexed, cacheFilter);
+    Set<String> existing = new HashSet<>(items.size());
+    for (CacheData item : items) {
+      existing.add(item.getId());
+    }
+    pruneIndex(type, agentType, indexed, existing);
+    return buildResponse(items);
+  }
+
+  @Override
+  public void evictOnDemandCacheData(String agentType, String type, Collection<String> ids) {
+    evictDeletedItems(type, ids);
+    backingStore.removeFromIndex(type, agentType, ids);
+  }
+
+  /**
+   * Returns the on-demand index of an agent. Items stored without being indexed, by an older
+   * version or by a backing store without indexes, are found by key and added to the index the
+   * first time it is read and at most once every {@link #ON_DEMAND_INDEX_SCAN_INTERVAL_MS} after
+   * that.
+   */
+  private Collection<String> getOnDemandIndex(String agentType, String type, String glob) {
+    Collection<String> indexed = backingStore.getIndex(type, agentType);
+    String index = type + ":" + agentType;
+    long now = System.currentTimeMillis();
+    Long lastScanned = onDemandIndexScans.get(index);
+    if (lastScanned != null && now - lastScanned < ON_DEMAND_INDEX_SCAN_INTERVAL_MS) {
+      return indexed;
+    }
+    onDemandIndexScans.put(index, now);
+
+    Set<String> unindexed = new HashSet<>(backingStore.filterIdentifiers(type, glob));
+    unindexed.removeAll(indexed);
+    if (unindexed.isEmpty()) {
+      return indexed;
+    }
+    backingStore.addToIndex(type, agentType, unindexed);
+    unindexed.addAll(indexed);
+    return unindexed;
+  }
+
+  /**
+   * Drops index entries whose items have since been evicted or have expired, whichever path
+   * removed them.
+   */
+  private void pruneIndex(
+      String type, String index, Collection<String> indexed, Set<String> existing) {
+    Set<String> missing = new HashSet<>(indexed);
+    missing.removeAll(existing);
+    if (!missing.isEmpty()) {
+      backingStore.removeFromIndex(type, index, missing);
+    }
+  }
+
   private void validateTypes(String... types) {
     validateTypes(Arrays.asList(types));
   }
@@ -252,9 +362,23 @@ public class DefaultProviderCache implements ProviderCache {
         source.getId(), source.getTtlSeconds(), source.getAttributes(), relationships);
   }
 
+  /**
+   * Groups the relationships of an item by type, over all the agents that wrote them. Attributes
+   * read from the backing store are not shared with it, so they are used as they are, and the
+   * relationships are only grouped if they are accessed.
+   */
   private CacheData mergeRelationships(CacheData source) {
-    Map<String, Collection<String>> relationships = new HashMap<>(source.getRelationships().size());
-    for (Map.Entry<String, Collection<String>> entry : source.getRelationships().entrySet()) {
+    return new LazyCacheData(
+        source.getId(),
+        source.getTtlSeconds(),
+        source::getAttributes,
+        () -> groupRelationships(source.getRelationships()));
+  }
+
+  private static Map<String, Collection<String>> groupRelationships(
+      Map<String, Collection<String>> sourceRelationships) {
+    Map<String, Collection<String>> relationships = new HashMap<>(sourceRelationships.size());
+    for (Map.Entry<String, Collection<String>> entry : sourceRelationships.entrySet()) {
       int idx = entry.getKey().indexOf(':');
       if (idx == -1) {
         throw new IllegalStateException("Expected delimiter in relationship key");
@@ -262,12 +386,12 @@ public class DefaultProviderCache implements ProviderCache {
       String type = entry.getKey().substring(0, idx);
       Collection<String> values = relationships.get(type);
       if (values == null) {
-        values = new HashSet<>();
-        relationships.put(type, values);
+        relationships.put(type, new HashSet<>(entry.getValue()));
+      } else {
+        values.addAll(entry.getValue());
       }
-      values.addAll(entry.getValue());
     }
-    return new DefaultCacheData(source.getId(), source.getAttributes(), relationships);
+    return relationships;
   }
 
   @Override
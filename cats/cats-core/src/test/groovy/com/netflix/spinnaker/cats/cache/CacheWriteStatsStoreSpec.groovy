@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cache
+
+import com.netflix.spinnaker.cats.agent.DefaultCacheResult
+import com.netflix.spinnaker.cats.provider.DefaultProviderCache
+import spock.lang.Specification
+
+import static com.netflix.spinnaker.cats.cache.CacheWriteStats.Stat.ITEMS_CHANGED
+import static com.netflix.spinnaker.cats.cache.CacheWriteStats.Stat.ITEMS_RECEIVED
+
+class CacheWriteStatsStoreSpec extends Specification {
+
+  CacheWriteStatsStore store = new CacheWriteStatsStore()
+
+  def "attributes writes to the innermost agent until its attribution is closed"() {
+    when:
+    store.record("type", new CacheWriteStats().add(ITEMS_RECEIVED, 1))
+    store.attribute("outer").withCloseable {
+      store.record("type", new CacheWriteStats().add(ITEMS_RECEIVED, 2))
+      store.attribute("inner").withCloseable {
+        store.record("type", new CacheWriteStats().add(ITEMS_RECEIVED, 3))
+      }
+      store.record("type", new CacheWriteStats().add(ITEMS_RECEIVED, 4))
+    }
+    store.record("explicit", "type", new CacheWriteStats().add(ITEMS_RECEIVED, 5))
+
+    then:
+    store.listAgents().collectEntries { [(it.agent): it.total.get(ITEMS_RECEIVED)] } == [
+      (CacheWriteStatsStore.UNATTRIBUTED): 1L,
+      outer                             : 6L,
+      inner                             : 3L,
+      explicit                          : 5L
+    ]
+  }
+
+  def "ranks agents by the total of a figure across types"() {
+    given:
+    store.record("a", "type1", new CacheWriteStats().add(ITEMS_CHANGED, 5))
+    store.record("b", "type1", new CacheWriteStats().add(ITEMS_CHANGED, 4))
+    store.record("b", "type2", new CacheWriteStats().add(ITEMS_CHANGED, 4))
+    store.record("c", "type1", new CacheWriteStats().add(ITEMS_RECEIVED, 100))
+
+    expect:
+    store.rank(ITEMS_CHANGED, 2)*.agent == ["b", "a"]
+    store.listAgents().find { it.agent == "b" }.types.keySet() == ["type1", "type2"] as Set
+  }
+
+  def "provider cache attributes the writes of its backing store to the agent"() {
+    given:
+    def agent = "DefaultProviderCacheAgent-" + UUID.randomUUID()
+    WriteableCache backingStore = Mock {
+      mergeAll(_, _) >> { String type, Collection<CacheData> items ->
+        CacheWriteStatsStore.getStore().record(type, new CacheWriteStats().add(ITEMS_RECEIVED, items.size()))
+      }
+    }
+    def providerCache = new DefaultProviderCache(backingStore)
+
+    when:
+    providerCache.putCacheResult(agent, [], new DefaultCacheResult([
+      serverGroups: [new DefaultCacheData("sg-1", [name: "sg-1"], [:]), new DefaultCacheData("sg-2", [name: "sg-2"], [:])]
+    ]))
+
+    then:
+    // the items, plus the item that tracks the identifiers of each agent
+    CacheWriteStatsStore.getStore().listAgents().find { it.agent == agent }.total.get(ITEMS_RECEIVED) == 3
+  }
+}
@@ -47,4 +47,30 @@ class CompositeCacheSpec extends CacheSpec {
         bar.attributes.c1Att == 'c1washere'
         bar.attributes.c2Att == 'c2washere'
     }
+
+    def "relationships are merged from both caches"() {
+        setup:
+        c1.merge('foo', createData('bar', [:], [rel: ['a', 'b']]))
+        c2.merge('foo', createData('bar', [:], [rel: ['b', 'c'], other: ['d']]))
+
+        when:
+        def bar = cache.getAll('foo').first()
+
+        then:
+        bar.relationships.rel as Set == ['a', 'b', 'c'] as Set
+        bar.relationships.other as Set == ['d'] as Set
+    }
+
+    def "types cached by a single cache are read from it alone"() {
+        setup:
+        c1.merge('foo', createData('bar', [c1Att: 'c1washere']))
+
+        when:
+        def items = cache.getAll('foo')
+
+        then:
+        items*.id == ['bar']
+        items.first().attributes.c1Att == 'c1washere'
+        cache.getAll('baz').isEmpty()
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster
+
+import com.netflix.spinnaker.cats.agent.Agent
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+class AccountExecutionWeightsSpec extends Specification {
+
+  def clock = new MutableClock(millis: 1000L)
+  def weights = new AccountExecutionWeights(clock)
+
+  def 'should sum the agents of each account'() {
+    when:
+    weights.executionCompleted(agent('account-1/us-east-1/ClusterCachingAgent'), 100)
+    weights.executionCompleted(agent('account-1/us-west-2/ClusterCachingAgent'), 50)
+    weights.executionFailed(agent('account-2/us-east-1/ClusterCachingAgent'), new RuntimeException(), 10)
+
+    then:
+    weights.accountWeights == ['account-1': 150d, 'account-2': 10d]
+  }
+
+  def 'should only return accounts that ran since the given time'() {
+    given:
+    weights.executionCompleted(agent('account-1/us-east-1/ClusterCachingAgent'), 100)
+    weights.executionCompleted(agent('account-2/us-east-1/ClusterCachingAgent'), 10)
+
+    when:
+    clock.millis = 2000L
+    weights.executionCompleted(agent('account-1/us-west-2/ClusterCachingAgent'), 50)
+
+    then:
+    weights.getAccountWeights(2000L) == ['account-1': 150d]
+    weights.getAccountWeights(1000L) == ['account-1': 150d, 'account-2': 10d]
+  }
+
+  def 'should forget agents that have not run since the expiry'() {
+    given:
+    weights.executionCompleted(agent('account-1/us-east-1/ClusterCachingAgent'), 100)
+    clock.millis = 2000L
+    weights.executionCompleted(agent('account-2/us-east-1/ClusterCachingAgent'), 10)
+
+    when:
+    weights.expire(1500L)
+
+    then:
+    weights.accountWeights == ['account-2': 10d]
+  }
+
+  private Agent agent(String agentType) {
+    return Stub(Agent) {
+      getAgentType() >> agentType
+    }
+  }
+
+  static class MutableClock extends Clock {
+    long millis
+
+    @Override
+    long millis() {
+      return millis
+    }
+
+    @Override
+    Instant instant() {
+      return Instant.ofEpochMilli(millis)
+    }
+
+    @Override
+    ZoneId getZone() {
+      return ZoneOffset.UTC
+    }
+
+    @Override
+    Clock withZone(ZoneId zone) {
+      return this
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster
+
+import spock.lang.Specification
+
+class RendezvousShardAssignerSpec extends Specification {
+
+  def assigner = new RendezvousShardAssigner(1.25)
+  def accounts = (1..200).collect { "account-$it".toString() }
+
+  def 'should only move accounts owned by a removed pod'() {
+    given:
+    def pods = (1..5).collect { "pod-$it".toString() }
+    def weights = accounts.collectEntries { [(it): 10d] }
+    def before = assigner.assign(pods, weights, null)
+
+    when:
+    def after = assigner.assign(pods - 'pod-3', weights, before)
+
+    then:
+    after.movedAccounts.every { before.ownerOf(it) == 'pod-3' }
+    after.movedAccounts.size() == before.owners.count { it.value == 'pod-3' }
+  }
+
+  def 'should move few accounts when a pod is added'() {
+    given:
+    def pods = (1..5).collect { "pod-$it".toString() }
+
+    when:
+    def before = assigner.assign(pods, [:], null)
+    def after = assigner.assign(pods + 'pod-6', [:], before)
+
+    then:
+    accounts.count { before.ownerOf(it) != after.ownerOf(it) } < accounts.size() / 3
+    accounts.findAll { before.ownerOf(it) != after.ownerOf(it) }.every { after.ownerOf(it) == 'pod-6' }
+  }
+
+  def 'should bound the weight assigned to each pod'() {
+    given:
+    def pods = (1..4).collect { "pod-$it".toString() }
+    def weights = accounts.collectEntries { [(it): it == 'account-1' ? 1024d : 16d] }
+
+    when:
+    def assignment = assigner.assign(pods, weights, null)
+    def totalWeight = assignment.podWeights.values().sum() as double
+
+    then:
+    assignment.owners.keySet() == weights.keySet()
+    assignment.podWeights.values().every { it <= 1.25 * totalWeight / pods.size() }
+  }
+
+  def 'should assign accounts identically regardless of pod order'() {
+    given:
+    def weights = accounts.collectEntries { [(it): (it.hashCode() % 1000).abs() as double] }
+
+    expect:
+    assigner.assign(['a', 'b', 'c'], weights, null).owners == assigner.assign(['c', 'a', 'b'], weights, null).owners
+  }
+}
@@ -16,5 +16,30 @@
 
 package com.netflix.spinnaker.cats.provider
 
+import com.netflix.spinnaker.cats.cache.WriteableCache
+
 class DefaultProvierCacheSpec extends ProviderCacheSpec {
+
+    def "an empty on demand index is not backfilled by key on every read"() {
+        setup:
+        WriteableCache store = Mock(WriteableCache)
+        ProviderCache providerCache = new DefaultProviderCache(store)
+        String agent = 'AwsProvider:test/us-east-1/ClusterCachingAgent'
+
+        when:
+        def identifiers = providerCache.getOnDemandIdentifiers(agent, 'onDemand', 'us-east-1:*')
+
+        then:
+        identifiers.isEmpty()
+        1 * store.getIndex('onDemand', agent) >> []
+        1 * store.filterIdentifiers('onDemand', 'us-east-1:*') >> []
+
+        when:
+        identifiers = providerCache.getOnDemandIdentifiers(agent, 'onDemand', 'us-east-1:*')
+
+        then:
+        identifiers.isEmpty()
+        1 * store.getIndex('onDemand', agent) >> []
+        0 * store.filterIdentifiers(_, _)
+    }
 }
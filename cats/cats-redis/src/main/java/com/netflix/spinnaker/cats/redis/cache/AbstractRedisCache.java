@@ -66,6 +66,19 @@ public abstract class AbstractRedisCache implements WriteableCache {
   protected abstract Collection<CacheData> getItems(
       String type, List<String> ids, List<String> knownRels);
 
+  /**
+   * Loads the given identifiers in batches of {@link RedisCacheOptions#getMaxGetBatchSize()}.
+   * Implementations may override this to overlap the loading of consecutive batches.
+   */
+  protected Collection<CacheData> getItemsInBatches(
+      String type, Collection<String> ids, List<String> knownRels) {
+    Collection<CacheData> result = new ArrayList<>(ids.size());
+    for (List<String> idPart : Iterables.partition(ids, options.getMaxGetBatchSize())) {
+      result.addAll(getItems(type, idPart, knownRels));
+    }
+    return result;
+  }
+
   @Override
   public void merge(String type, CacheData item) {
     mergeAll(type, Arrays.asList(item));
@@ -163,13 +176,7 @@ public abstract class AbstractRedisCache implements WriteableCache {
           new ArrayList<>(cacheFilter.filter(CacheFilter.Type.RELATIONSHIP, allRelationships));
     }
 
-    Collection<CacheData> result = new ArrayList<>(ids.size());
-
-    for (List<String> idPart : Iterables.partition(ids, options.getMaxGetBatchSize())) {
-      result.addAll(getItems(type, idPart, knownRels));
-    }
-
-    return result;
+    return getItemsInBatches(type, ids, knownRels);
   }
 
   @Override
@@ -182,6 +189,37 @@ public abstract class AbstractRedisCache implements WriteableCache {
     return scanMembers(allOfTypeId(type), Optional.of(glob));
   }
 
+  @Override
+  public void addToIndex(String type, String index, Collection<String> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    redisClientDelegate.withCommandsClient(
+        client -> {
+          for (List<String> idPart : Iterables.partition(ids, options.getMaxMergeBatchSize())) {
+            client.sadd(indexId(type, index), idPart.toArray(new String[0]));
+          }
+        });
+  }
+
+  @Override
+  public void removeFromIndex(String type, String index, Collection<String> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    redisClientDelegate.withCommandsClient(
+        client -> {
+          for (List<String> idPart : Iterables.partition(ids, options.getMaxEvictBatchSize())) {
+            client.srem(indexId(type, index), idPart.toArray(new String[0]));
+          }
+        });
+  }
+
+  @Override
+  public Collection<String> getIndex(String type, String index) {
+    return scanMembers(indexId(type, index));
+  }
+
   private Set<String> scanMembers(String setKey) {
     return scanMembers(setKey, Optional.empty());
   }
@@ -204,6 +242,35 @@ public abstract class AbstractRedisCache implements WriteableCache {
         });
   }
 
+  @Override
+  public String getVersion(String type) {
+    String version =
+        redisClientDelegate.withCommandsClient(
+            client -> {
+              return client.get(versionId(type));
+            });
+    return version == null ? "0" : version;
+  }
+
+  @Override
+  public Map<String, String> getVersions(Collection<String> types) {
+    List<String> typeList = new ArrayList<>(types);
+    List<String> values = new ArrayList<>(typeList.size());
+    redisClientDelegate.withMultiClient(
+        c -> {
+          for (List<String> part : Iterables.partition(typeList, options.getMaxMgetSize())) {
+            values.addAll(c.mget(part.stream().map(this::versionId).toArray(String[]::new)));
+          }
+        });
+
+    Map<String, String> versions = new HashMap<>();
+    for (int i = 0; i < typeList.size(); i++) {
+      String version = values.get(i);
+      versions.put(typeList.get(i), version == null ? "0" : version);
+    }
+    return versions;
+  }
+
   protected boolean isHashingDisabled(String type) {
     if (!options.isHashingEnabled()) {
       return true;
@@ -226,6 +293,11 @@ public abstract class AbstractRedisCache implements WriteableCache {
     return String.join(":", prefix, type, "hashes.disabled");
   }
 
+  /** A count of the writes that changed items of the type, incremented as they complete. */
+  protected String versionId(String type) {
+    return String.join(":", prefix, type, "version");
+  }
+
   protected String allRelationshipsId(String type) {
     return String.join(":", prefix, type, "relationships");
   }
@@ -234,6 +306,10 @@ public abstract class AbstractRedisCache implements WriteableCache {
     return String.join(":", prefix, type, "members");
   }
 
+  protected String indexId(String type, String index) {
+    return String.join(":", prefix, type, "index", index);
+  }
+
   protected TypeReference<? extends Collection<String>> getRelationshipsTypeReference() {
     return options.isTreatRelationshipsAsSet() ? RELATIONSHIPS_SET : RELATIONSHIPS_LIST;
   }
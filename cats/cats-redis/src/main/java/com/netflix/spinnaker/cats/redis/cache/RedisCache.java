@@ -17,17 +17,24 @@ package com.netflix.spinnaker.cats.redis.cache;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.CacheWriteStats;
+import com.netflix.spinnaker.cats.cache.CacheWriteStats.Stat;
+import com.netflix.spinnaker.cats.cache.CacheWriteStatsStore;
 import com.netflix.spinnaker.cats.cache.DefaultCacheData;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -38,6 +45,10 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class RedisCache extends AbstractRedisCache {
@@ -82,10 +93,20 @@ public class RedisCache extends AbstractRedisCache {
       // noop
     }
 
+    /**
+     * Records the time spent reading a single get batch from redis and the time spent
+     * deserializing it.
+     */
+    default void getChunk(
+        String prefix, String type, int itemCount, long fetchTimeNanos, long decodeTimeNanos) {
+      // noop
+    }
+
     class NOOP implements CacheMetrics {}
   }
 
   private final CacheMetrics cacheMetrics;
+  private final ExecutorService decodeExecutor;
 
   public RedisCache(
       String prefix,
@@ -95,6 +116,15 @@ public class RedisCache extends AbstractRedisCache {
       CacheMetrics cacheMetrics) {
     super(prefix, redisClientDelegate, objectMapper, options);
     this.cacheMetrics = cacheMetrics == null ? new CacheMetrics.NOOP() : cacheMetrics;
+    this.decodeExecutor =
+        options.getDecodeParallelism() > 1
+            ? Executors.newFixedThreadPool(
+                options.getDecodeParallelism(),
+                new ThreadFactoryBuilder()
+                    .setNameFormat(getClass().getSimpleName() + "-decode-%d")
+                    .setDaemon(true)
+                    .build())
+            : null;
   }
 
   @Override
@@ -108,6 +138,9 @@ public class RedisCache extends AbstractRedisCache {
 
     final Map<String, Integer> ttlSecondsByKey = new HashMap<>();
     int skippedWrites = 0;
+    int itemsChanged = 0;
+    int relationshipsWritten = 0;
+    long serializedBytes = 0;
 
     final Map<String, String> hashes = getHashes(type, items);
 
@@ -121,6 +154,17 @@ public class RedisCache extends AbstractRedisCache {
       updatedHashes.putAll(op.hashesToSet);
       skippedWrites += op.skippedWrites;
 
+      // keysToSet alternates keys and values, starting with the attributes if they changed
+      int keysWritten = op.keysToSet.size() / 2;
+      if (keysWritten > 0) {
+        itemsChanged++;
+        boolean attributesWritten = op.keysToSet.get(0).equals(attributesId(type, item.getId()));
+        relationshipsWritten += attributesWritten ? keysWritten - 1 : keysWritten;
+      }
+      for (int i = 1; i < op.keysToSet.size(); i += 2) {
+        serializedBytes += op.keysToSet.get(i).length();
+      }
+
       if (item.getTtlSeconds() > 0) {
         for (String key : op.keysToSet) {
           ttlSecondsByKey.put(key, item.getTtlSeconds());
@@ -167,6 +211,7 @@ public class RedisCache extends AbstractRedisCache {
                 hmsetOperations.incrementAndGet();
               }
             }
+            pipeline.incr(versionId(type));
             pipeline.sync();
             pipelineOperations.incrementAndGet();
           });
@@ -198,6 +243,20 @@ public class RedisCache extends AbstractRedisCache {
         hmsetOperations.get(),
         pipelineOperations.get(),
         expireOperations.get());
+    CacheWriteStatsStore.getStore()
+        .record(
+            type,
+            new CacheWriteStats()
+                .add(Stat.ITEMS_RECEIVED, items.size())
+                .add(Stat.ITEMS_CHANGED, itemsChanged)
+                .add(Stat.RELATIONSHIPS_WRITTEN, relationshipsWritten)
+                .add(Stat.SERIALIZED_BYTES, serializedBytes)
+                .add(
+                    Stat.STATEMENTS,
+                    saddOperations.get()
+                        + msetOperations.get()
+                        + hmsetOperations.get()
+                        + expireOperations.get()));
   }
 
   @Override
@@ -229,6 +288,7 @@ public class RedisCache extends AbstractRedisCache {
             sremOperations.incrementAndGet();
           }
 
+          pipeline.incr(versionId(type));
           pipeline.sync();
         });
 
@@ -241,10 +301,51 @@ public class RedisCache extends AbstractRedisCache {
         delOperations.get(),
         hdelOperations.get(),
         sremOperations.get());
+    CacheWriteStatsStore.getStore()
+        .record(
+            type,
+            new CacheWriteStats()
+                .add(Stat.EVICTIONS, identifiers.size())
+                .add(
+                    Stat.STATEMENTS,
+                    delOperations.get() + hdelOperations.get() + sremOperations.get()));
   }
 
   @Override
   protected Collection<CacheData> getItems(String type, List<String> ids, List<String> knownRels) {
+    return decodeItems(type, fetchItems(type, ids, knownRels), knownRels);
+  }
+
+  @Override
+  protected Collection<CacheData> getItemsInBatches(
+      String type, Collection<String> ids, List<String> knownRels) {
+    if (decodeExecutor == null) {
+      return super.getItemsInBatches(type, ids, knownRels);
+    }
+
+    // Reads the next batch from redis while earlier batches are deserialized, buffering at most
+    // decodeParallelism batches so a large getAll does not hold every raw value in memory at once.
+    Collection<CacheData> result = new ArrayList<>(ids.size());
+    Deque<Future<Collection<CacheData>>> pending = new ArrayDeque<>();
+    try {
+      for (List<String> idPart : Iterables.partition(ids, options.getMaxGetBatchSize())) {
+        FetchedItems fetched = fetchItems(type, idPart, knownRels);
+        if (pending.size() >= options.getDecodeParallelism()) {
+          result.addAll(await(pending.removeFirst()));
+        }
+        pending.addLast(decodeExecutor.submit(() -> decodeItems(type, fetched, knownRels)));
+      }
+      while (!pending.isEmpty()) {
+        result.addAll(await(pending.removeFirst()));
+      }
+    } finally {
+      pending.forEach(f -> f.cancel(true));
+    }
+    return result;
+  }
+
+  private FetchedItems fetchItems(String type, List<String> ids, List<String> knownRels) {
+    long startTime = System.nanoTime();
     final int singleResultSize = knownRels.size() + 1;
 
     final List<String> keysToGet = new ArrayList<>(singleResultSize * ids.size());
@@ -272,8 +373,17 @@ public class RedisCache extends AbstractRedisCache {
       throw new RuntimeException("Expected same size result as request");
     }
 
-    Collection<CacheData> results = new ArrayList<>(ids.size());
-    Iterator<String> idIterator = ids.iterator();
+    return new FetchedItems(ids, keyResult, mgetOperations, System.nanoTime() - startTime);
+  }
+
+  private Collection<CacheData> decodeItems(
+      String type, FetchedItems fetched, List<String> knownRels) {
+    long startTime = System.nanoTime();
+    final int singleResultSize = knownRels.size() + 1;
+    final List<String> keyResult = fetched.values;
+
+    Collection<CacheData> results = new ArrayList<>(fetched.ids.size());
+    Iterator<String> idIterator = fetched.ids.iterator();
     for (int ofs = 0; ofs < keyResult.size(); ofs += singleResultSize) {
       CacheData item =
           extractItem(idIterator.next(), keyResult.subList(ofs, ofs + singleResultSize), knownRels);
@@ -286,13 +396,42 @@ public class RedisCache extends AbstractRedisCache {
         prefix,
         type,
         results.size(),
-        ids.size(),
-        keysToGet.size(),
+        fetched.ids.size(),
+        keyResult.size(),
         knownRels.size(),
-        mgetOperations);
+        fetched.mgetOperations);
+    cacheMetrics.getChunk(
+        prefix, type, fetched.ids.size(), fetched.fetchTimeNanos, System.nanoTime() - startTime);
     return results;
   }
 
+  private static Collection<CacheData> await(Future<Collection<CacheData>> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while deserializing cache items", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /** The raw values read from redis for a batch of identifiers, prior to deserialization. */
+  private static class FetchedItems {
+    private final List<String> ids;
+    private final List<String> values;
+    private final int mgetOperations;
+    private final long fetchTimeNanos;
+
+    FetchedItems(List<String> ids, List<String> values, int mgetOperations, long fetchTimeNanos) {
+      this.ids = ids;
+      this.values = values;
+      this.mgetOperations = mgetOperations;
+      this.fetchTimeNanos = fetchTimeNanos;
+    }
+  }
+
   private CacheData extractItem(String id, List<String> keyResult, List<String> knownRels) {
     if (keyResult.get(0) == null) {
       return null;
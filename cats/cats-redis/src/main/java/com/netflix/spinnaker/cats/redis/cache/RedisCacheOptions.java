@@ -36,6 +36,7 @@ public class RedisCacheOptions {
   private final int maxGetBatchSize;
   private final boolean hashingEnabled;
   private final boolean treatRelationshipsAsSet;
+  private final int decodeParallelism;
 
   private static int posInt(String name, int value) {
     Preconditions.checkArgument(value > 0, "%s must be a positive integer (%s)", name, value);
@@ -62,6 +63,38 @@ public class RedisCacheOptions {
       int maxGetBatchSize,
       boolean hashingEnabled,
       boolean treatRelationshipsAsSet) {
+    this(
+        maxMsetSize,
+        maxMgetSize,
+        maxHmgetSize,
+        maxHmsetSize,
+        maxSaddSize,
+        maxDelSize,
+        maxPipelineSize,
+        scanSize,
+        maxMergeBatchSize,
+        maxEvictBatchSize,
+        maxGetBatchSize,
+        hashingEnabled,
+        treatRelationshipsAsSet,
+        Builder.DEFAULT_DECODE_PARALLELISM);
+  }
+
+  public RedisCacheOptions(
+      int maxMsetSize,
+      int maxMgetSize,
+      int maxHmgetSize,
+      int maxHmsetSize,
+      int maxSaddSize,
+      int maxDelSize,
+      int maxPipelineSize,
+      int scanSize,
+      int maxMergeBatchSize,
+      int maxEvictBatchSize,
+      int maxGetBatchSize,
+      boolean hashingEnabled,
+      boolean treatRelationshipsAsSet,
+      int decodeParallelism) {
     this.maxMsetSize = posEven("maxMsetSize", maxMsetSize);
     this.maxMgetSize = posInt("maxMgetSize", maxMgetSize);
     this.maxHmgetSize = posInt("maxHmgetSize", maxHmgetSize);
@@ -75,6 +108,7 @@ public class RedisCacheOptions {
     this.maxGetBatchSize = posInt("maxGetBatchSize", maxGetBatchSize);
     this.hashingEnabled = hashingEnabled;
     this.treatRelationshipsAsSet = treatRelationshipsAsSet;
+    this.decodeParallelism = posInt("decodeParallelism", decodeParallelism);
   }
 
   public int getMaxMsetSize() {
@@ -129,6 +163,14 @@ public class RedisCacheOptions {
     return treatRelationshipsAsSet;
   }
 
+  /**
+   * The number of get batches that may be deserialized concurrently while the next batch is read
+   * from redis. A value of 1 reads and deserializes each batch in turn on the calling thread.
+   */
+  public int getDecodeParallelism() {
+    return decodeParallelism;
+  }
+
   public static class Builder {
     public static final int DEFAULT_MULTI_OP_SIZE = 200;
     public static final int DEFAULT_BATCH_SIZE = 200;
@@ -136,6 +178,7 @@ public class RedisCacheOptions {
     public static final int DEFAULT_MAX_PIPELINE_SIZE = 200;
     public static final boolean DEFAULT_HASHING_ENABLED = true;
     public static final boolean DEFAULT_TREAT_RELATIONSHIPS_AS_SET_DISABLED = false;
+    public static final int DEFAULT_DECODE_PARALLELISM = 1;
 
     int maxMsetSize;
     int maxMgetSize;
@@ -150,6 +193,7 @@ public class RedisCacheOptions {
     int maxGetBatchSize;
     boolean hashingEnabled;
     boolean treatRelationshipsAsSet;
+    int decodeParallelism;
 
     public Builder() {
       batchSize(DEFAULT_BATCH_SIZE);
@@ -158,6 +202,7 @@ public class RedisCacheOptions {
       maxPipeline(DEFAULT_MAX_PIPELINE_SIZE);
       hashing(DEFAULT_HASHING_ENABLED);
       treatRelationshipsAsSet(DEFAULT_TREAT_RELATIONSHIPS_AS_SET_DISABLED);
+      decodeParallelism(DEFAULT_DECODE_PARALLELISM);
     }
 
     public Builder maxMergeBatch(int maxMergeBatch) {
@@ -241,6 +286,11 @@ public class RedisCacheOptions {
       return this;
     }
 
+    public Builder decodeParallelism(int decodeParallelism) {
+      this.decodeParallelism = decodeParallelism;
+      return this;
+    }
+
     public RedisCacheOptions build() {
       return new RedisCacheOptions(
           maxMsetSize,
@@ -255,7 +305,8 @@ public class RedisCacheOptions {
           maxEvictBatchSize,
           maxGetBatchSize,
           hashingEnabled,
-          treatRelationshipsAsSet);
+          treatRelationshipsAsSet,
+          decodeParallelism);
     }
 
     public void setBatchSize(int batchSize) {
@@ -369,5 +420,13 @@ public class RedisCacheOptions {
     public void setTreatRelationshipsAsSet(boolean treatRelationshipsAsSet) {
       this.treatRelationshipsAsSet = treatRelationshipsAsSet;
     }
+
+    public int getDecodeParallelism() {
+      return decodeParallelism;
+    }
+
+    public void setDecodeParallelism(int decodeParallelism) {
+      this.decodeParallelism = decodeParallelism;
+    }
   }
 }
@@ -18,13 +18,21 @@ package com.netflix.spinnaker.cats.redis.cluster;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation;
+import com.netflix.spinnaker.cats.cluster.AccountExecutionWeights;
+import com.netflix.spinnaker.cats.cluster.AccountShardingFilter;
 import com.netflix.spinnaker.cats.cluster.NodeIdentity;
-import com.netflix.spinnaker.cats.cluster.ShardingFilter;
+import com.netflix.spinnaker.cats.cluster.RendezvousShardAssigner;
+import com.netflix.spinnaker.cats.cluster.ShardAssignment;
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -32,17 +40,31 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class CachingPodsObserver implements ShardingFilter, Runnable {
+public class CachingPodsObserver
+    implements AccountShardingFilter, ExecutionInstrumentation, Runnable {
 
   private static final Logger logger = LoggerFactory.getLogger(CachingPodsObserver.class);
   private static final String REPLICA_SSET_KEY = "clouddriver:caching:replicas";
+  private static final String ACCOUNT_WEIGHTS_KEY = "clouddriver:caching:account-weights";
+  private static final String RENDEZVOUS_STRATEGY = "rendezvous";
   private static final String CORE_PROVIDER =
       "com.netflix.spinnaker.clouddriver.core.provider.CoreProvider";
   private final RedisClientDelegate redisClientDelegate;
   private final NodeIdentity nodeIdentity;
+  private final DynamicConfigService dynamicConfigService;
   private final long replicaKeyTtl;
+  private final AccountExecutionWeights accountWeights = new AccountExecutionWeights();
   private int podCount = 0;
   private int podIndex = -1;
+  private volatile boolean rendezvousEnabled = false;
+  private volatile Map<String, Double> sharedAccountWeights = Collections.emptyMap();
+  private long accountWeightsPublishedAt = Long.MIN_VALUE;
+  private volatile ShardAssignment assignment =
+      new ShardAssignment(
+          Collections.emptyList(),
+          Collections.emptyMap(),
+          Collections.emptyMap(),
+          Collections.emptyList());
   // this script adds or updates a unique id as a member of a sorted set with score equal to current
   // time plus sharding.replica-key-ttl-seconds, deletes the members having scores less than current
   // time(ms) and finally fetches list of all members of the sorted set which represent the live
@@ -58,6 +80,7 @@ public class CachingPodsObserver implements ShardingFilter, Runnable {
       DynamicConfigService dynamicConfigService) {
     this.redisClientDelegate = redisClientDelegate;
     this.nodeIdentity = nodeIdentity;
+    this.dynamicConfigService = dynamicConfigService;
     long observerIntervalSeconds =
         dynamicConfigService.getConfig(
             Integer.class, "cache-sharding.heartbeat-interval-seconds", 30);
@@ -112,6 +135,84 @@ public class CachingPodsObserver implements ShardingFilter, Runnable {
       logger.error(
           "No caching pod heartbeat records detected. Sharding logic can't be applied!!!!");
     }
+
+    if (evalResponse instanceof List && podIndex != -1) {
+      refreshAssignment((List) evalResponse);
+    }
+  }
+
+  /**
+   * Publishes the weights of the accounts that ran on this pod since the last heartbeat to a hash
+   * shared by all pods, reads the weights of every account from it and recomputes the rendezvous
+   * assignment of accounts to pods. Each weight is stored with the time it was published, and
+   * weights that weren't published for {@code cache-sharding.account-weight-ttl-seconds} are
+   * removed.
+   */
+  private void refreshAssignment(List<String> replicas) {
+    rendezvousEnabled =
+        RENDEZVOUS_STRATEGY.equalsIgnoreCase(
+            dynamicConfigService.getConfig(String.class, "cache-sharding.strategy", "modulo"));
+
+    long now = System.currentTimeMillis();
+    long weightTtlSeconds =
+        dynamicConfigService.getConfig(
+            Long.class, "cache-sharding.account-weight-ttl-seconds", 3600L);
+    long expiredBefore = now - TimeUnit.SECONDS.toMillis(weightTtlSeconds);
+    accountWeights.expire(expiredBefore);
+    Map<String, String> localWeights = new HashMap<>();
+    accountWeights
+        .getAccountWeights(accountWeightsPublishedAt)
+        .forEach((account, weight) -> localWeights.put(account, weight + ":" + now));
+
+    Map<String, String> storedWeights =
+        redisClientDelegate.withCommandsClient(
+            client -> {
+              if (!localWeights.isEmpty()) {
+                client.hmset(ACCOUNT_WEIGHTS_KEY, localWeights);
+              }
+              client.expire(ACCOUNT_WEIGHTS_KEY, (int) weightTtlSeconds);
+              return client.hgetAll(ACCOUNT_WEIGHTS_KEY);
+            });
+    accountWeightsPublishedAt = now;
+
+    Map<String, Double> weights = new HashMap<>();
+    List<String> expiredAccounts = new ArrayList<>();
+    storedWeights.forEach(
+        (account, value) -> {
+          int separator = value.lastIndexOf(':');
+          try {
+            double weight = Double.parseDouble(value.substring(0, separator));
+            long publishedAt = Long.parseLong(value.substring(separator + 1));
+            if (publishedAt < expiredBefore) {
+              expiredAccounts.add(account);
+            } else {
+              weights.put(account, weight);
+            }
+          } catch (RuntimeException e) {
+            logger.warn("Ignoring unreadable weight {} of account {}", value, account);
+            expiredAccounts.add(account);
+          }
+        });
+    if (!expiredAccounts.isEmpty()) {
+      redisClientDelegate.withCommandsClient(
+          client -> {
+            client.hdel(ACCOUNT_WEIGHTS_KEY, expiredAccounts.toArray(new String[0]));
+          });
+    }
+
+    sharedAccountWeights = weights;
+    assignment = newAssigner().assign(replicas, weights, assignment);
+    if (!assignment.getMovedAccounts().isEmpty()) {
+      logger.info(
+          "{} accounts were reassigned across {} caching pods",
+          assignment.getMovedAccounts().size(),
+          replicas.size());
+    }
+  }
+
+  private RendezvousShardAssigner newAssigner() {
+    return new RendezvousShardAssigner(
+        dynamicConfigService.getConfig(Double.class, "cache-sharding.load-factor", 1.25));
   }
 
   @Override
@@ -119,14 +220,42 @@ public class CachingPodsObserver implements ShardingFilter, Runnable {
     if (agent.getProviderName().equals(CORE_PROVIDER)) {
       return true;
     }
-    return podCount == 1
-        || Math.abs(getAccountName(agent.getAgentType()).hashCode() % podCount) == podIndex;
+    return podCount == 1 || isOwner(AccountExecutionWeights.accountName(agent.getAgentType()));
+  }
+
+  private boolean isOwner(String accountName) {
+    if (rendezvousEnabled) {
+      return nodeIdentity.getNodeIdentity().equals(assignment.ownerOf(accountName));
+    }
+    return Math.abs(accountName.hashCode() % podCount) == podIndex;
+  }
+
+  @Override
+  public ShardAssignment getAssignment() {
+    return assignment;
+  }
+
+  @Override
+  public ShardAssignment preview(Collection<String> pods) {
+    return newAssigner().assign(pods, sharedAccountWeights, assignment);
+  }
+
+  @Override
+  public void executionStarted(Agent agent) {
+    // do nothing
+  }
+
+  @Override
+  public void executionCompleted(Agent agent, long elapsedMs) {
+    if (!agent.getProviderName().equals(CORE_PROVIDER)) {
+      accountWeights.executionCompleted(agent, elapsedMs);
+    }
   }
 
-  private String getAccountName(String agentType) {
-    if (agentType.contains("/")) {
-      return agentType.substring(0, agentType.indexOf('/'));
+  @Override
+  public void executionFailed(Agent agent, Throwable cause, long elapsedMs) {
+    if (!agent.getProviderName().equals(CORE_PROVIDER)) {
+      accountWeights.executionFailed(agent, cause, elapsedMs);
     }
-    return agentType;
   }
 }
@@ -17,7 +17,6 @@
 package com.netflix.spinnaker.config;
 
 import com.netflix.spinnaker.cats.cluster.DefaultNodeIdentity;
-import com.netflix.spinnaker.cats.cluster.ShardingFilter;
 import com.netflix.spinnaker.cats.redis.cluster.CachingPodsObserver;
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
@@ -33,7 +32,7 @@ public class RedisShardingFilterConfiguration {
   @Bean
   @ConditionalOnExpression(
       "${redis.enabled:true} && ${redis.scheduler.enabled:true} && ${cache-sharding.enabled:false}")
-  ShardingFilter shardingFilter(
+  CachingPodsObserver shardingFilter(
       RedisClientDelegate redisClientDelegate, DynamicConfigService dynamicConfigService) {
     return new CachingPodsObserver(
         redisClientDelegate, new DefaultNodeIdentity(), dynamicConfigService);
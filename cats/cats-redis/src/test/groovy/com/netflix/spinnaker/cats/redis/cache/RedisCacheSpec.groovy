@@ -209,6 +209,30 @@ class RedisCacheSpec extends WriteableCacheSpec {
     finalMergeCount = finalMerge > 0 ? 1 : 0
   }
 
+  def 'should get all items in order with decode parallelism #decodeParallelism'() {
+    setup:
+    def mapper = new ObjectMapper();
+    mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL)
+    def cache = new RedisCache(
+      'test',
+      new JedisClientDelegate(pool),
+      mapper,
+      RedisCacheOptions.builder().maxGetBatch(7).maxMset(MAX_MSET_SIZE).decodeParallelism(decodeParallelism).build(),
+      cacheMetrics)
+    cache.mergeAll('foo', items)
+
+    when:
+    def result = cache.getAll('foo', items*.id)
+
+    then:
+    result*.id == items*.id
+    15 * cacheMetrics.getChunk('test', 'foo', _, _, _)
+
+    where:
+    decodeParallelism << [1, 2, 4]
+    items = (0..100).collect { createData("blerp-$it") }
+  }
+
   def 'mergeAll with two items that have the same id uses the second item'() {
       given: 'one item in the cache'
       String id = 'bar'
@@ -233,6 +257,33 @@ class RedisCacheSpec extends WriteableCacheSpec {
       itemTwoAttributes.equals(cache.get(type, id).attributes)
   }
 
+  def 'versions change as items are stored or evicted and are read together'() {
+    setup:
+    def initial = cache.getVersions(['foo', 'bar'])
+
+    when:
+    cache.merge('foo', createData('blerp', [a: 'b']))
+    def merged = cache.getVersions(['foo', 'bar'])
+
+    then:
+    initial == [foo: '0', bar: '0']
+    merged.foo != initial.foo
+    merged.bar == initial.bar
+
+    when: 'storing an unchanged item'
+    cache.merge('foo', createData('blerp', [a: 'b']))
+
+    then:
+    cache.getVersions(['foo', 'bar']) == merged
+
+    when:
+    cache.evict('foo', 'blerp')
+
+    then:
+    cache.getVersions(['foo', 'bar']).foo != merged.foo
+    cache.getVersion('foo') == cache.getVersions(['foo']).foo
+  }
+
   private static class Bean {
     String key
     Integer key2
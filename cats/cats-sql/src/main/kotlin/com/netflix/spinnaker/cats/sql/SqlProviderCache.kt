@@ -3,6 +3,7 @@ package com.netflix.spinnaker.cats.sql
 import com.netflix.spinnaker.cats.agent.CacheResult
 import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.CacheFilter
+import com.netflix.spinnaker.cats.cache.CacheWriteStatsStore
 import com.netflix.spinnaker.cats.cache.DefaultCacheData
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.provider.ProviderCache
@@ -10,6 +11,8 @@ import com.netflix.spinnaker.cats.sql.cache.SqlCache
 import com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.*
 import org.slf4j.LoggerFactory
 import org.slf4j.MDC
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 import kotlin.contracts.ExperimentalContracts
 
 @ExperimentalContracts
@@ -17,8 +20,12 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
 
   private val log = LoggerFactory.getLogger(javaClass)
 
+  // when each on-demand index was last backfilled with the items found by key
+  private val onDemandIndexScans = ConcurrentHashMap<String, Long>()
+
   companion object {
     private const val ALL_ID = "_ALL_" // this implementation ignores this entirely
+    private val ON_DEMAND_INDEX_SCAN_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10)
   }
 
   init {
@@ -135,6 +142,14 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
     return backingStore.get(type, id, cacheFilter) ?: return null
   }
 
+  override fun getVersion(type: String): String? {
+    return backingStore.getVersion(type)
+  }
+
+  override fun getVersions(types: Collection<String>): Map<String, String> {
+    return backingStore.getVersions(types)
+  }
+
   override fun evictDeletedItems(type: String, ids: Collection<String>) {
     try {
       MDC.put("agentClass", "evictDeletedItems")
@@ -161,6 +176,7 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
     authoritativeTypes: MutableCollection<String>,
     cacheResult: CacheResult
   ) {
+    val attribution = CacheWriteStatsStore.getStore().attribute(source)
     try {
       MDC.put("agentClass", "$source putCacheResult")
 
@@ -231,6 +247,7 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
       }
     } finally {
       MDC.remove("agentClass")
+      attribution.close()
     }
   }
 
@@ -239,6 +256,7 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
     authoritativeTypes: MutableCollection<String>,
     cacheResult: CacheResult
   ) {
+    val attribution = CacheWriteStatsStore.getStore().attribute(source)
     try {
       MDC.put("agentClass", "$source putCacheResult")
 
@@ -264,6 +282,7 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
         }
     } finally {
       MDC.remove("agentClass")
+      attribution.close()
     }
   }
 
@@ -276,6 +295,46 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
     }
   }
 
+  override fun putOnDemandCacheData(agentType: String, type: String, cacheData: CacheData) {
+    validateTypes(type)
+    putCacheData(type, cacheData)
+    backingStore.addToIndex(type, agentType, listOf(cacheData.id))
+  }
+
+  override fun getOnDemandIdentifiers(agentType: String, type: String, glob: String): MutableCollection<String> {
+    validateTypes(type)
+    val indexed = getOnDemandIndex(agentType, type, glob)
+    if (indexed.isEmpty()) {
+      return mutableSetOf()
+    }
+
+    val existing = backingStore.existingIdentifiers(type, indexed).toMutableSet()
+    pruneIndex(type, agentType, indexed, existing)
+    return existing
+  }
+
+  override fun getOnDemandCacheData(
+    agentType: String,
+    type: String,
+    glob: String,
+    cacheFilter: CacheFilter?
+  ): MutableCollection<CacheData> {
+    validateTypes(type)
+    val indexed = getOnDemandIndex(agentType, type, glob)
+    if (indexed.isEmpty()) {
+      return mutableListOf()
+    }
+
+    val items = backingStore.getAll(type, indexed, cacheFilter)
+    pruneIndex(type, agentType, indexed, items.map { it.id }.toSet())
+    return items
+  }
+
+  override fun evictOnDemandCacheData(agentType: String, type: String, ids: Collection<String>) {
+    evictDeletedItems(type, ids)
+    backingStore.removeFromIndex(type, agentType, ids)
+  }
+
   fun cleanOnDemand(maxAgeMs: Long): Int {
     return (backingStore as SqlCache).cleanOnDemand(maxAgeMs)
   }
@@ -295,6 +354,40 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
     }
   }
 
+  /**
+   * Returns the on-demand index of an agent. Items stored without being indexed, for instance by an older version, are
+   * found by key and added to the index the first time it is read and at most once every
+   * [ON_DEMAND_INDEX_SCAN_INTERVAL_MS] after that.
+   */
+  private fun getOnDemandIndex(agentType: String, type: String, glob: String): Collection<String> {
+    val indexed = backingStore.getIndex(type, agentType)
+    val index = "$type:$agentType"
+    val now = System.currentTimeMillis()
+    val lastScanned = onDemandIndexScans[index]
+    if (lastScanned != null && now - lastScanned < ON_DEMAND_INDEX_SCAN_INTERVAL_MS) {
+      return indexed
+    }
+    onDemandIndexScans[index] = now
+
+    val unindexed = backingStore.filterIdentifiers(type, glob).toMutableSet()
+    unindexed.removeAll(indexed)
+    if (unindexed.isEmpty()) {
+      return indexed
+    }
+    backingStore.addToIndex(type, agentType, unindexed)
+    return unindexed + indexed
+  }
+
+  /**
+   * Drops index entries whose items have since been evicted or have expired, whichever path removed them.
+   */
+  private fun pruneIndex(type: String, index: String, indexed: Collection<String>, existing: Set<String>) {
+    val missing = indexed.filterNot { existing.contains(it) }
+    if (missing.isNotEmpty()) {
+      backingStore.removeFromIndex(type, index, missing)
+    }
+  }
+
   private fun cacheDataType(type: String, agent: String, items: Collection<CacheData>, authoritative: Boolean) {
     cacheDataType(type, agent, items, authoritative, cleanup = true)
   }
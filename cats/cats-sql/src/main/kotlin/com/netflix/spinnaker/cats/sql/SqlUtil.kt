@@ -35,6 +35,29 @@ object SqlUtil {
     }
   }
 
+  /**
+   * Adds nullable varchar columns, each with its own index, to an existing table.
+   */
+  fun addIndexedColumns(jooq: DSLContext, tableName: String, columns: List<String>) {
+    when (jooq.dialect()) {
+      SQLDialect.POSTGRES -> {
+        jooq.execute(
+          "ALTER TABLE $tableName " +
+            columns.joinToString(", ") { "ADD COLUMN IF NOT EXISTS $it varchar(255)" }
+        )
+        columns.forEach {
+          jooq.execute("CREATE INDEX IF NOT EXISTS ${tableName}_${it}_idx ON $tableName ($it)")
+        }
+      }
+      else ->
+        jooq.execute(
+          "ALTER TABLE $tableName " +
+            columns.joinToString(", ") { "ADD COLUMN $it varchar(255)" } + ", " +
+            columns.joinToString(", ") { "ADD INDEX ${it}_idx ($it)" }
+        )
+    }
+  }
+
   fun getTablesLike(jooq: DSLContext, baseName: String): ResultSet {
     return when (jooq.dialect()) {
       SQLDialect.POSTGRES ->
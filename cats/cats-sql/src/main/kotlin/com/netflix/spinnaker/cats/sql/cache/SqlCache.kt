@@ -3,6 +3,9 @@ package com.netflix.spinnaker.cats.sql.cache
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.CacheFilter
+import com.netflix.spinnaker.cats.cache.CacheWriteStats
+import com.netflix.spinnaker.cats.cache.CacheWriteStats.Stat
+import com.netflix.spinnaker.cats.cache.CacheWriteStatsStore
 import com.netflix.spinnaker.cats.cache.DefaultJsonCacheData
 import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
 import com.netflix.spinnaker.cats.cache.WriteableCache
@@ -24,8 +27,10 @@ import java.sql.SQLSyntaxErrorException
 import java.time.Clock
 import java.time.Duration
 import java.util.Arrays
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentSkipListSet
 import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
 import javax.annotation.PreDestroy
 import kotlin.contracts.ExperimentalContracts
 import kotlin.contracts.contract
@@ -60,12 +65,47 @@ class SqlCache(
   private val cacheMetrics: SqlCacheMetrics,
   private val dynamicConfigService: DynamicConfigService,
   private val sqlConstraints: SqlConstraints,
-  private val providerCacheConfiguration: ProviderCacheConfiguration
+  private val providerCacheConfiguration: ProviderCacheConfiguration,
+  private val keyColumns: SqlKeyColumns,
+  private val nearCache: SqlNearCache?,
+  versions: SqlCacheVersions? = null
 ) : WriteableCache {
 
+  constructor(
+    name: String,
+    jooq: DSLContext,
+    mapper: ObjectMapper,
+    coroutineContext: CoroutineContext?,
+    clock: Clock,
+    sqlRetryProperties: SqlRetryProperties,
+    tableNamespace: String?,
+    cacheMetrics: SqlCacheMetrics,
+    dynamicConfigService: DynamicConfigService,
+    sqlConstraints: SqlConstraints,
+    providerCacheConfiguration: ProviderCacheConfiguration
+  ) : this(
+    name,
+    jooq,
+    mapper,
+    coroutineContext,
+    clock,
+    sqlRetryProperties,
+    tableNamespace,
+    cacheMetrics,
+    dynamicConfigService,
+    sqlConstraints,
+    providerCacheConfiguration,
+    SqlKeyColumns(emptyList()),
+    null
+  )
+
   companion object {
     private const val onDemandType = "onDemand"
 
+    // index entries are stored as relationship rows of this type, with an id derived from the index name
+    private const val indexRelType = "_index"
+    private const val indexIdPrefix = "_index:"
+
     private val schemaVersion = SqlSchemaVersion.current()
     private val useRegexp =
       """.*[\?\[].*""".toRegex()
@@ -77,8 +117,16 @@ class SqlCache(
 
   private val sqlNames = SqlNames(tableNamespace, sqlConstraints)
 
+  private val versions = versions ?: SqlCacheVersions(jooq, sqlNames, clock, dynamicConfigService)
+
   private var createdTables = ConcurrentSkipListSet<String>()
 
+  // types whose resource table has the structured key columns
+  private val keyColumnTypes = ConcurrentSkipListSet<String>()
+
+  // when the resource table of a type was last found without the structured key columns
+  private val keyColumnChecks = ConcurrentHashMap<String, Long>()
+
   private val hexStrings: List<String>
 
   init {
@@ -120,6 +168,8 @@ class SqlCache(
       log.error("error evicting records", e)
     }
 
+    nearCache?.invalidate(type, ids)
+
     cacheMetrics.evict(
       prefix = name,
       type = type,
@@ -127,6 +177,12 @@ class SqlCache(
       itemsDeleted = deletedCount,
       deleteOperations = opCount
     )
+    CacheWriteStatsStore.getStore().record(
+      type,
+      CacheWriteStats()
+        .add(Stat.EVICTIONS, deletedCount.toLong())
+        .add(Stat.STATEMENTS, opCount.toLong())
+    )
   }
 
   fun mergeAll(
@@ -173,6 +229,7 @@ class SqlCache(
     } else {
       storeInformative(type, items ?: mutableListOf(), cleanup)
     }
+    nearCache?.invalidate(type, items?.map { it.id } ?: emptyList())
 
     cacheMetrics.merge(
       prefix = name,
@@ -186,6 +243,19 @@ class SqlCache(
       deleteOperations = storeResult.deleteQueries.get(),
       duplicates = storeResult.duplicates.get()
     )
+    CacheWriteStatsStore.getStore().record(
+      agentHint,
+      type,
+      CacheWriteStats()
+        .add(Stat.ITEMS_RECEIVED, (items?.size ?: 0).toLong())
+        .add(Stat.ITEMS_CHANGED, storeResult.itemsStored.get().toLong())
+        .add(Stat.RELATIONSHIPS_WRITTEN, storeResult.relationshipsStored.get().toLong())
+        .add(Stat.SERIALIZED_BYTES, storeResult.serializedBytes.get())
+        .add(
+          Stat.STATEMENTS,
+          (storeResult.selectQueries.get() + storeResult.writeQueries.get() + storeResult.deleteQueries.get()).toLong()
+        )
+    )
   }
 
   override fun mergeAll(type: String, items: MutableCollection<CacheData>?) {
@@ -256,10 +326,10 @@ class SqlCache(
 
     val relationshipPrefixes = getRelationshipFilterPrefixes(cacheFilter)
 
-    val result = if (relationshipPrefixes.isEmpty()) {
-      getDataWithoutRelationships(type, ids)
+    val result = if (nearCache != null) {
+      getDataThroughNearCache(nearCache, type, ids, relationshipPrefixes)
     } else {
-      getDataWithRelationships(type, ids, relationshipPrefixes)
+      getData(type, ids, relationshipPrefixes)
     }
 
     if (result.selectQueries > -1) {
@@ -438,6 +508,9 @@ class SqlCache(
   /**
    * Returns the identifiers for the specified type that match the provided glob.
    *
+   * Globs of a shape known to the providers' key parsers are narrowed with equality predicates on
+   * the indexed key columns, with the glob itself still applied to the rows those select.
+   *
    * @param type The type for which to retrieve identifiers
    * @param glob The glob to match against the identifiers
    * @return the identifiers for the type that match the glob
@@ -447,21 +520,25 @@ class SqlCache(
       return mutableSetOf()
     }
 
+    val keyCondition = keyColumnCondition(type, glob)
+
     val sql = if (glob.matches(useRegexp)) {
       val filter = glob.replace("?", ".", true).replace("*", ".*").replace(cleanRegexp, ".*")
       jooq
         .select(field("id"))
         .from(table(sqlNames.resourceTableName(type)))
-        .where(field("id").likeRegex("^$filter$"))
+        .where(keyCondition)
+        .and(field("id").likeRegex("^$filter$"))
     } else {
       jooq
         .select(field("id"))
         .from(table(sqlNames.resourceTableName(type)))
+        .where(keyCondition)
         // The underscore is treated as a single character wildcard in currently supported sql backends (mysql/psql)
         // leading to inconsistencies in current usages of `filterIdentifiers()`.
         //
         // If single character wildcard is desired, use '?' rather than '_'.
-        .where(field("id").like(glob.replace('*', '%').replace("_", """\_""")))
+        .and(field("id").like(glob.replace('*', '%').replace("_", """\_""")))
     }
 
     val ids = try {
@@ -504,6 +581,10 @@ class SqlCache(
     } else result.iterator().next()
   }
 
+  override fun getVersion(type: String): String? {
+    return versions.getVersion(type)
+  }
+
   override fun evict(type: String, id: String) {
     evictAll(type, listOf(id))
   }
@@ -519,9 +600,106 @@ class SqlCache(
 
     evictAll(onDemandType, toClean)
 
+    try {
+      toClean.chunked(dynamicConfigService.getConfig(Int::class.java, "sql.cache.read-batch-size", 500)) { chunk ->
+        withRetry(RetryCategory.WRITE) {
+          jooq.deleteFrom(table(sqlNames.relTableName(onDemandType)))
+            .where(field("rel_type").eq(indexRelType), field("rel_id").`in`(*chunk.toTypedArray()))
+            .execute()
+        }
+      }
+    } catch (e: Exception) {
+      log.error("Error removing cleaned $onDemandType records from indexes", e)
+    }
+
     return toClean.size
   }
 
+  /**
+   * Adds identifiers to a named index of a type. Index entries are rows of the type's relationship table that
+   * share an id derived from the index name, so reading an index is a single lookup on `rel_ids_type_idx`.
+   */
+  override fun addToIndex(type: String, index: String, ids: Collection<String>) {
+    if (ids.isEmpty()) {
+      return
+    }
+
+    createTables(type)
+
+    val indexId = indexIdPrefix + index
+    val toAdd = ids.filter { it.length <= sqlConstraints.maxIdLength }.toSet() - getIndex(type, index).toSet()
+    if (toAdd.isEmpty()) {
+      return
+    }
+
+    val now = clock.millis()
+    var ulid = ULID().nextValue()
+
+    toAdd.chunked(dynamicConfigService.getConfig(Int::class.java, "sql.cache.write-batch-size", 100)) { chunk ->
+      try {
+        val insert = jooq.insertInto(
+          table(sqlNames.relTableName(type)),
+          field("uuid"),
+          field("id"),
+          field("rel_id"),
+          field("rel_agent"),
+          field("rel_type"),
+          field("last_updated")
+        )
+
+        insert.apply {
+          chunk.forEach {
+            values(ulid.toString(), indexId, it, sqlNames.checkAgentName(indexId), indexRelType, now)
+            ulid = ULID().nextMonotonicValue(ulid)
+          }
+        }
+
+        withRetry(RetryCategory.WRITE) {
+          insert.execute()
+        }
+      } catch (e: Exception) {
+        log.error("Error adding ${chunk.size} $type records to index $index", e)
+      }
+    }
+  }
+
+  override fun removeFromIndex(type: String, index: String, ids: Collection<String>) {
+    if (ids.isEmpty()) {
+      return
+    }
+
+    try {
+      ids.chunked(dynamicConfigService.getConfig(Int::class.java, "sql.cache.read-batch-size", 500)) { chunk ->
+        withRetry(RetryCategory.WRITE) {
+          jooq.deleteFrom(table(sqlNames.relTableName(type)))
+            .where(
+              field("id").eq(indexIdPrefix + index),
+              field("rel_type").eq(indexRelType),
+              field("rel_id").`in`(*chunk.toTypedArray())
+            )
+            .execute()
+        }
+      }
+    } catch (e: Exception) {
+      log.error("Error removing $type records from index $index", e)
+    }
+  }
+
+  override fun getIndex(type: String, index: String): MutableCollection<String> {
+    return try {
+      withRetry(RetryCategory.READ) {
+        jooq.select(field("rel_id"))
+          .from(table(sqlNames.relTableName(type)))
+          .where(field("id").eq(indexIdPrefix + index), field("rel_type").eq(indexRelType))
+          .fetch()
+          .intoSet(field("rel_id"), String::class.java)
+      }
+    } catch (e: BadSqlGrammarException) {
+      suppressedLog("Failed reading index $index for type $type", e)
+      mutableSetOf()
+    }
+  }
+
   private fun storeAuthoritative(
     type: String,
     agentHint: String?,
@@ -597,36 +775,28 @@ class SqlCache(
       }
 
     val now = clock.millis()
+    val keyColumnNames = if (hasKeyColumns(type)) SqlKeyColumns.COLUMNS else emptyList()
+    val updatedColumns = listOf("application", "body_hash", "body", "last_updated") + keyColumnNames
 
     toStore.chunked(dynamicConfigService.getConfig(Int::class.java, "sql.cache.write-batch-size", 100)) { chunk ->
       try {
         val insert = jooq.insertInto(
           table(sqlNames.resourceTableName(type)),
-          field("id"),
-          field("agent"),
-          field("application"),
-          field("body_hash"),
-          field("body"),
-          field("last_updated")
+          (listOf("id", "agent") + updatedColumns).map { field(it) }
         )
 
         insert.apply {
           chunk.forEach {
-            values(it, sqlNames.checkAgentName(agent), apps[it], hashes[it], bodies[it], now)
+            val keyColumnValues = keyColumnValues(type, it, keyColumnNames)
+            values(listOf(it, sqlNames.checkAgentName(agent), apps[it], hashes[it], bodies[it], now) + keyColumnValues)
             when (jooq.dialect()) {
               SQLDialect.POSTGRES ->
                 onConflict(field("id"), field("agent"))
                   .doUpdate()
-                  .set(field("application"), SqlUtil.excluded(field("application")) as Any)
-                  .set(field("body_hash"), SqlUtil.excluded(field("body_hash")) as Any)
-                  .set(field("body"), SqlUtil.excluded(field("body")) as Any)
-                  .set(field("last_updated"), SqlUtil.excluded(field("last_updated")) as Any)
+                  .set(updatedColumns.associate { c -> field(c) to SqlUtil.excluded(field(c)) })
               else ->
                 onDuplicateKeyUpdate()
-                  .set(field("application"), MySQLDSL.values(field("application")) as Any)
-                  .set(field("body_hash"), MySQLDSL.values(field("body_hash")) as Any)
-                  .set(field("body"), MySQLDSL.values(field("body")) as Any)
-                  .set(field("last_updated"), MySQLDSL.values(field("last_updated")) as Any)
+                  .set(updatedColumns.associate { c -> field(c) to MySQLDSL.values(field(c)) })
             }
           }
         }
@@ -636,6 +806,7 @@ class SqlCache(
         }
         result.itemsStored.addAndGet(chunk.size)
         result.writeQueries.incrementAndGet()
+        result.serializedBytes.addAndGet(chunk.sumOf { bodies[it]?.length?.toLong() ?: 0L })
       } catch (e: DataAccessException) {
         log.error("Error inserting ids: $chunk", e)
       } catch (e: SQLDialectNotSupportedException) {
@@ -656,32 +827,33 @@ class SqlCache(
                 .set(field("body_hash"), hashes[it])
                 .set(field("body"), bodies[it])
                 .set(field("last_updated"), clock.millis())
+                .set(keyColumnNames.zip(keyColumnValues(type, it, keyColumnNames)).associate { (c, v) -> field(c) to v })
                 .where(field("id").eq(it), field("agent").eq(sqlNames.checkAgentName(agent)))
                 .execute()
             }
             result.writeQueries.incrementAndGet()
             result.itemsStored.incrementAndGet()
+            result.serializedBytes.addAndGet(bodies[it]?.length?.toLong() ?: 0L)
           } else {
             withRetry(RetryCategory.WRITE) {
               jooq.insertInto(
                 table(sqlNames.resourceTableName(type)),
-                field("id"),
-                field("agent"),
-                field("application"),
-                field("body_hash"),
-                field("body"),
-                field("last_updated")
+                (listOf("id", "agent", "application", "body_hash", "body", "last_updated") + keyColumnNames)
+                  .map { c -> field(c) }
               ).values(
-                it,
-                sqlNames.checkAgentName(agent),
-                apps[it],
-                hashes[it],
-                bodies[it],
-                clock.millis()
+                listOf(
+                  it,
+                  sqlNames.checkAgentName(agent),
+                  apps[it],
+                  hashes[it],
+                  bodies[it],
+                  clock.millis()
+                ) + keyColumnValues(type, it, keyColumnNames)
               ).execute()
             }
             result.writeQueries.incrementAndGet()
             result.itemsStored.incrementAndGet()
+            result.serializedBytes.addAndGet(bodies[it]?.length?.toLong() ?: 0L)
           }
         }
       }
@@ -899,6 +1071,7 @@ class SqlCache(
         }
 
         createdTables.add(type)
+        ensureKeyColumns(type)
       } catch (e: Exception) {
         log.error("Error creating tables for type $type", e)
       }
@@ -912,12 +1085,101 @@ class SqlCache(
         }
 
         createdTables.add(onDemandType)
+        ensureKeyColumns(onDemandType)
       } catch (e: Exception) {
         log.error("Error creating $onDemandType table", e)
       }
     }
   }
 
+  /**
+   * Adds the structured key columns to resource tables created before they were part of the template, if
+   * `sql.cache.key-columns.alter-tables` is enabled. Rows stored without them are populated by
+   * [SqlKeyColumnsBackfillAgent].
+   */
+  private fun ensureKeyColumns(type: String) {
+    val tableName = sqlNames.resourceTableName(type)
+    try {
+      if (tableHasKeyColumns(tableName)) {
+        keyColumnTypes.add(type)
+      } else if (dynamicConfigService.isEnabled("sql.cache.key-columns.alter-tables", false)) {
+        log.info("Adding key columns to $tableName")
+        withRetry(RetryCategory.WRITE) {
+          SqlUtil.addIndexedColumns(jooq, tableName, SqlKeyColumns.COLUMNS)
+        }
+        keyColumnTypes.add(type)
+      }
+    } catch (e: Exception) {
+      log.error("Error adding key columns to $tableName", e)
+    }
+  }
+
+  /**
+   * Returns whether the resource table of [type] has the structured key columns. Tables found without them, which
+   * includes tables that don't exist yet, are checked again at most once a minute, as they may be created or altered
+   * by another instance.
+   */
+  private fun hasKeyColumns(type: String): Boolean {
+    if (keyColumnTypes.contains(type)) {
+      return true
+    }
+
+    val now = clock.millis()
+    val lastChecked = keyColumnChecks[type]
+    if (lastChecked != null && now - lastChecked < Duration.ofMinutes(1).toMillis()) {
+      return false
+    }
+
+    keyColumnChecks[type] = now
+    if (tableHasKeyColumns(sqlNames.resourceTableName(type))) {
+      keyColumnTypes.add(type)
+      return true
+    }
+    return false
+  }
+
+  private fun tableHasKeyColumns(tableName: String): Boolean {
+    return try {
+      jooq.select(field(SqlKeyColumns.ACCOUNT))
+        .from(table(tableName))
+        .limit(1)
+        .fetch()
+      true
+    } catch (e: Exception) {
+      false
+    }
+  }
+
+  private fun keyColumnValues(type: String, id: String, columns: List<String>): List<String> {
+    if (columns.isEmpty()) {
+      return emptyList()
+    }
+    val values = keyColumns.columnValues(type, id)
+    return columns.map { values.getValue(it) }
+  }
+
+  /**
+   * Returns the key column predicates implied by [glob], or no condition if the glob's shape is unknown or the
+   * resource table of [type] doesn't have the key columns.
+   *
+   * Rows stored before the key columns were added, or by instances that don't write them, have a null account until
+   * they're populated by [SqlKeyColumnsBackfillAgent], so they're always selected and left to the glob to match.
+   */
+  private fun keyColumnCondition(type: String, glob: String): Condition {
+    if (!dynamicConfigService.isEnabled("sql.cache.filter-identifiers.key-columns", true) || !hasKeyColumns(type)) {
+      return noCondition()
+    }
+
+    val predicates = keyColumns.plan(type, glob)
+    if (predicates.isEmpty()) {
+      return noCondition()
+    }
+
+    return predicates.entries
+      .fold(noCondition()) { condition, (column, value) -> condition.and(field(column).eq(value)) }
+      .or(field(SqlKeyColumns.ACCOUNT).isNull)
+  }
+
   private fun getRelationshipFilterPrefixes(cacheFilter: CacheFilter?): List<String> {
     return if (cacheFilter == null) {
       listOf("ALL")
@@ -990,6 +1252,49 @@ class SqlCache(
     }
   }
 
+  private fun getData(
+    type: String,
+    ids: Collection<String>,
+    relationshipPrefixes: List<String>
+  ): DataWithRelationshipPointersResult {
+    return if (relationshipPrefixes.isEmpty()) {
+      getDataWithoutRelationships(type, ids)
+    } else {
+      getDataWithRelationships(type, ids, relationshipPrefixes)
+    }
+  }
+
+  /**
+   * Serves the ids the near cache holds for the same relationship prefixes from memory, and reads and caches
+   * the rest.
+   */
+  private fun getDataThroughNearCache(
+    nearCache: SqlNearCache,
+    type: String,
+    ids: Collection<String>,
+    relationshipPrefixes: List<String>
+  ): DataWithRelationshipPointersResult {
+    val invalidationCount = nearCache.track(type) ?: return getData(type, ids, relationshipPrefixes)
+
+    val cached = nearCache.getAll(type, ids, relationshipPrefixes)
+    val cachedData = cached.values.flatMapTo(mutableListOf()) { it.rows }
+    val cachedRelPointers = cached.values.flatMapTo(mutableSetOf()) { it.relPointers }
+
+    val missing = ids.filter { !cached.containsKey(it) }
+    if (missing.isEmpty()) {
+      return DataWithRelationshipPointersResult(cachedData, cachedRelPointers, 0)
+    }
+
+    val result = getData(type, missing, relationshipPrefixes)
+    if (result.selectQueries > -1) {
+      nearCache.putAll(type, invalidationCount, relationshipPrefixes, result.data, result.relPointers)
+    }
+
+    cachedData.addAll(result.data)
+    cachedRelPointers.addAll(result.relPointers)
+    return result.copy(data = cachedData, relPointers = cachedRelPointers)
+  }
+
   private fun getDataWithoutRelationships(type: String): DataWithRelationshipPointersResult {
     return getDataWithoutRelationships(type, emptyList())
   }
@@ -1559,6 +1864,8 @@ class SqlCache(
   fun clearCreatedTables() {
     val tables = createdTables.toList()
     createdTables.removeAll(tables)
+    keyColumnTypes.clear()
+    keyColumnChecks.clear()
   }
 
   data class HashId(
@@ -1599,6 +1906,7 @@ class SqlCache(
     val writeQueries = AtomicInteger(0)
     val deleteQueries = AtomicInteger(0)
     val duplicates = AtomicInteger(0)
+    val serializedBytes = AtomicLong(0)
   }
 }
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.cache
+
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import java.time.Clock
+import java.util.concurrent.ConcurrentHashMap
+import org.jooq.DSLContext
+import org.jooq.impl.DSL.count
+import org.jooq.impl.DSL.field
+import org.jooq.impl.DSL.sum
+import org.jooq.impl.DSL.table
+import org.slf4j.LoggerFactory
+import org.springframework.jdbc.BadSqlGrammarException
+
+/**
+ * Versions of the resource and relationship tables of each type, shared by the caches of all providers as they
+ * share tables.
+ *
+ * The version of a table is its count of rows and the sum of their `last_updated`, read off the `last_updated`
+ * index. Rows are only written when their body changes, so it changes as items are stored, changed or deleted.
+ * Versions are recomputed at most once every `sql.cache.version-ttl-ms`, which is how long a change can go
+ * unnoticed.
+ */
+class SqlCacheVersions(
+  private val jooq: DSLContext,
+  private val sqlNames: SqlNames,
+  private val clock: Clock,
+  private val dynamicConfigService: DynamicConfigService
+) {
+
+  companion object {
+    private val log = LoggerFactory.getLogger(SqlCacheVersions::class.java)
+  }
+
+  private val versions = ConcurrentHashMap<String, Version>()
+
+  /**
+   * @return the version of [type], or null if its tables couldn't be read
+   */
+  fun getVersion(type: String): String? {
+    val now = clock.millis()
+    val ttl = dynamicConfigService.getConfig(Long::class.java, "sql.cache.version-ttl-ms", 5000L)
+    versions[type]?.takeIf { now - it.readAt < ttl }?.let { return it.value }
+
+    return try {
+      val value = tableVersion(sqlNames.resourceTableName(type)) + "/" + tableVersion(sqlNames.relTableName(type))
+      versions[type] = Version(value, now)
+      value
+    } catch (e: Exception) {
+      log.warn("Unable to read the version of type {}", type, e)
+      null
+    }
+  }
+
+  private fun tableVersion(tableName: String): String {
+    return try {
+      val lastUpdated = field("last_updated", Long::class.java)
+      jooq.select(count(), sum(lastUpdated))
+        .from(table(tableName))
+        .fetchSingle()
+        .let { "${it.value1()}:${it.value2() ?: 0}" }
+    } catch (e: BadSqlGrammarException) {
+      // tables are only created as the type is first written
+      "0:0"
+    }
+  }
+
+  private data class Version(
+    val value: String,
+    val readAt: Long
+  )
+}
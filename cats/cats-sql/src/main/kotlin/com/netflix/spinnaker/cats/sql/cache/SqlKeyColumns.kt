@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.cache
+
+import com.netflix.spinnaker.clouddriver.cache.KeyParser
+import java.util.concurrent.ConcurrentHashMap
+import org.slf4j.LoggerFactory
+
+/**
+ * Derives the structured key columns of a resource row (account, region and application) from its
+ * id using the providers' [KeyParser]s, and plans the equality predicates on those columns that a
+ * `filterIdentifiers` glob implies.
+ *
+ * A row whose id can't be parsed is stored with an empty [ACCOUNT] so that rows that have been
+ * through the parser can be told apart from rows written before the columns existed, which have a
+ * null [ACCOUNT].
+ */
+class SqlKeyColumns(
+  private val keyParsers: List<KeyParser>
+) {
+
+  companion object {
+    const val ACCOUNT = "key_account"
+    const val REGION = "key_region"
+    const val APPLICATION = "key_application"
+
+    val COLUMNS = listOf(ACCOUNT, REGION, APPLICATION)
+
+    private val parsedFields = mapOf(
+      ACCOUNT to "account",
+      REGION to "region",
+      APPLICATION to "application"
+    )
+    private val wildcards = charArrayOf('*', '?', '[', ']')
+
+    private val log = LoggerFactory.getLogger(SqlKeyColumns::class.java)
+  }
+
+  private val parsersByProviderAndType = ConcurrentHashMap<Pair<String, String>, List<KeyParser>>()
+
+  /**
+   * @return whether any parser can parse keys of [type]
+   */
+  fun supports(type: String): Boolean =
+    keyParsers.any { it.canParseType(type) }
+
+  /**
+   * @return the value of each key column for the row with the given id, with unparseable values
+   * stored as empty strings
+   */
+  fun columnValues(type: String, id: String): Map<String, String> {
+    val parsed = parse(type, id)
+    return COLUMNS.associateWith { column ->
+      parsed?.get(parsedFields[column])?.takeIf { it.length <= 255 } ?: ""
+    }
+  }
+
+  /**
+   * Returns the key column values every id matching [glob] must have, or an empty map if the glob
+   * doesn't have a known shape.
+   *
+   * A value is only used when it is a literal segment of the glob, as parsers may derive values
+   * (such as an application from a cluster name) that wildcards elsewhere in the glob could change.
+   */
+  fun plan(type: String, glob: String): Map<String, String> {
+    val parsed = parse(type, glob) ?: return emptyMap()
+    val segments = glob.split(':').toSet()
+
+    val predicates = mutableMapOf<String, String>()
+    COLUMNS.forEach { column ->
+      val value = parsed[parsedFields[column]]
+      if (!value.isNullOrEmpty() && value.indexOfAny(wildcards) == -1 && segments.contains(value)) {
+        predicates[column] = value
+      }
+    }
+    return predicates
+  }
+
+  private fun parse(type: String, key: String): Map<String, String?>? {
+    val provider = key.substringBefore(':', "")
+    if (provider.isEmpty() || provider.indexOfAny(wildcards) != -1) {
+      return null
+    }
+
+    val parsers = parsersByProviderAndType.computeIfAbsent(Pair(provider, type)) {
+      keyParsers.filter { it.cloudProvider == provider && it.canParseType(type) }
+    }
+    for (parser in parsers) {
+      try {
+        val parsed = parser.parseKey(key)
+        if (parsed != null) {
+          return parsed
+        }
+      } catch (e: Exception) {
+        log.debug("Failed to parse key {} with {}", key, parser.javaClass.simpleName, e)
+      }
+    }
+    return null
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.cache
+
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.cats.agent.CachingAgent
+import com.netflix.spinnaker.cats.agent.RunnableAgent
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import com.netflix.spinnaker.clouddriver.cache.CustomScheduledAgent
+import com.netflix.spinnaker.clouddriver.core.provider.CoreProvider
+import com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.ON_DEMAND
+import com.netflix.spinnaker.clouddriver.sql.SqlAgent
+import com.netflix.spinnaker.config.ConnectionPools
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import com.netflix.spinnaker.kork.sql.routing.withPool
+import java.util.concurrent.TimeUnit
+import org.jooq.DSLContext
+import org.jooq.exception.DataAccessException
+import org.jooq.impl.DSL.field
+import org.jooq.impl.DSL.table
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.ObjectProvider
+
+/**
+ * Populates the structured key columns of resource rows stored without them, either before the columns were added or
+ * by instances that don't write them yet, such as older instances during a rolling deploy.
+ *
+ * Runs as an agent so that a single instance populates the tables at a time, in batches of
+ * `sql.cache.key-columns.backfill-batch-size` rows and at most `sql.cache.key-columns.backfill-max-batches` batches
+ * per run. Until a row is populated, [SqlCache.filterIdentifiers] matches it by its id alone.
+ */
+class SqlKeyColumnsBackfillAgent(
+  private val providerRegistry: ObjectProvider<ProviderRegistry>,
+  private val jooq: DSLContext,
+  private val registry: Registry,
+  private val sqlNames: SqlNames,
+  private val keyColumns: SqlKeyColumns,
+  private val dynamicConfigService: DynamicConfigService
+) : RunnableAgent, CustomScheduledAgent, SqlAgent {
+
+  companion object {
+    private val DEFAULT_POLL_INTERVAL = TimeUnit.MINUTES.toMillis(1)
+    private val DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(5)
+
+    private val log = LoggerFactory.getLogger(SqlKeyColumnsBackfillAgent::class.java)
+  }
+
+  private val populatedId = registry.createId("cats.sqlCache.keyColumnsBackfillAgent.populated")
+
+  override fun run() {
+    val batchSize = dynamicConfigService.getConfig(Int::class.java, "sql.cache.key-columns.backfill-batch-size", 500)
+    var batches = dynamicConfigService.getConfig(Int::class.java, "sql.cache.key-columns.backfill-max-batches", 100)
+
+    withPool(ConnectionPools.CACHE_WRITER.value) {
+      for (type in findTypes()) {
+        val tableName = sqlNames.resourceTableName(type)
+        try {
+          var populated = 0
+          while (batches > 0) {
+            batches--
+            val ids = jooq.select(field("id"))
+              .from(table(tableName))
+              .where(field(SqlKeyColumns.ACCOUNT).isNull)
+              .limit(batchSize)
+              .fetch(field("id"), String::class.java)
+            if (ids.isEmpty()) {
+              break
+            }
+
+            jooq.batch(
+              ids.map { id ->
+                jooq.update(table(tableName))
+                  .set(keyColumns.columnValues(type, id).mapKeys { (c, _) -> field(c) })
+                  .where(field("id").eq(id), field(SqlKeyColumns.ACCOUNT).isNull)
+              }
+            ).execute()
+            populated += ids.size
+            if (ids.size < batchSize) {
+              break
+            }
+          }
+
+          if (populated > 0) {
+            log.info("Populated key columns of $populated rows in $tableName")
+            registry.counter(populatedId.withTag("type", type)).increment(populated.toLong())
+          }
+        } catch (e: DataAccessException) {
+          // the table doesn't exist or doesn't have the key columns yet
+          log.debug("Unable to populate key columns of $tableName", e)
+        }
+      }
+    }
+  }
+
+  private fun findTypes(): Set<String> {
+    val types = mutableSetOf(ON_DEMAND.ns)
+    providerRegistry.ifAvailable { registry ->
+      registry.providers
+        .flatMap { it.agents }
+        .filterIsInstance<CachingAgent>()
+        .flatMapTo(types) { agent -> agent.providedDataTypes.map { it.typeName } }
+    }
+    return types
+  }
+
+  override fun getProviderName(): String = CoreProvider.PROVIDER_NAME
+  override fun getPollIntervalMillis(): Long = DEFAULT_POLL_INTERVAL
+  override fun getTimeoutMillis(): Long = DEFAULT_TIMEOUT
+  override fun getAgentType(): String = javaClass.simpleName
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.cats.cache.NamedCacheFactory
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.provider.ProviderCacheConfiguration
+import com.netflix.spinnaker.clouddriver.cache.KeyParser
 import com.netflix.spinnaker.config.SqlConstraints
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
@@ -21,9 +22,14 @@ class SqlNamedCacheFactory(
   private val prefix: String?,
   private val cacheMetrics: SqlCacheMetrics,
   private val dynamicConfigService: DynamicConfigService,
-  private val sqlConstraints: SqlConstraints
+  private val sqlConstraints: SqlConstraints,
+  keyParsers: List<KeyParser> = emptyList(),
+  private val nearCache: SqlNearCache? = null
 ) : NamedCacheFactory {
 
+  private val keyColumns = SqlKeyColumns(keyParsers)
+  private val versions = SqlCacheVersions(jooq, SqlNames(prefix, sqlConstraints), clock, dynamicConfigService)
+
   @ExperimentalContracts
   override fun getCache(name: String): WriteableCache {
     return getCache(name, DefaultProviderCacheConfiguration())
@@ -42,7 +48,10 @@ class SqlNamedCacheFactory(
       cacheMetrics,
       dynamicConfigService,
       sqlConstraints,
-      providerCacheConfiguration
+      providerCacheConfiguration,
+      keyColumns,
+      nearCache,
+      versions
     )
   }
 
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.cache
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.RemovalNotification
+import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spectator.api.Registry
+import com.netflix.spectator.api.patterns.PolledMeter
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.DefaultJsonCacheData
+import com.netflix.spinnaker.config.SqlNearCacheProperties
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import org.jooq.DSLContext
+import org.jooq.impl.DSL.field
+import org.jooq.impl.DSL.max
+import org.jooq.impl.DSL.table
+import org.slf4j.LoggerFactory
+
+/**
+ * A bounded in-memory cache of the items read by [SqlCache], shared by the caches of all providers as they
+ * share tables.
+ *
+ * Items are invalidated by polling each resource table read through the near cache for rows with a
+ * `last_updated` past the highest one seen so far. Evictions don't leave a trace in the table, so an evicted
+ * item can be returned for up to `maxStalenessSeconds`, as can relationships added by other types' writes.
+ */
+class SqlNearCache(
+  private val jooq: DSLContext,
+  private val sqlNames: SqlNames,
+  private val registry: Registry,
+  private val properties: SqlNearCacheProperties
+) {
+
+  companion object {
+    private val log = LoggerFactory.getLogger(SqlNearCache::class.java)
+  }
+
+  private val items: Cache<Key, Item> = CacheBuilder.newBuilder()
+    .maximumWeight(properties.maxWeight)
+    .weigher { _: Key, item: Item -> item.weight }
+    .expireAfterWrite(properties.maxStalenessSeconds, TimeUnit.SECONDS)
+    .removalListener { notification: RemovalNotification<Key, Item> ->
+      if (notification.wasEvicted()) {
+        registry.counter("cats.sqlCache.nearCache.evictions", "cause", notification.cause.name).increment()
+      }
+    }
+    .build()
+
+  // the highest last_updated seen in each resource table, and a count of the invalidations applied to it
+  private val highWaterMarks = ConcurrentHashMap<String, Long>()
+  private val invalidations = ConcurrentHashMap<String, AtomicLong>()
+
+  // the rows (id and last_updated) within the commit lag of each resource table's high water mark that have already
+  // been invalidated, as every poll selects them again until the high water mark moves past them
+  private val polledRows = ConcurrentHashMap<String, MutableSet<Pair<String, Long>>>()
+
+  private val poller = Executors.newSingleThreadScheduledExecutor(
+    ThreadFactoryBuilder().setNameFormat(javaClass.simpleName + "-%d").setDaemon(true).build()
+  )
+
+  init {
+    PolledMeter.using(registry)
+      .withName("cats.sqlCache.nearCache.size")
+      .monitorValue(items) { it.size().toDouble() }
+    poller.scheduleWithFixedDelay(
+      this::poll,
+      properties.pollIntervalMillis,
+      properties.pollIntervalMillis,
+      TimeUnit.MILLISECONDS
+    )
+  }
+
+  /**
+   * Starts watching the resource table of [type] for updates, which needs to happen before any of its items
+   * are read so that no update is missed.
+   *
+   * @return the count of invalidations applied to the type, to be passed to [putAll], or null if the table
+   * can't be watched (for instance because it doesn't exist yet)
+   */
+  fun track(type: String): Long? {
+    if (!highWaterMarks.containsKey(type)) {
+      try {
+        val highWaterMark = jooq.select(max(field("last_updated", Long::class.javaObjectType)))
+          .from(table(sqlNames.resourceTableName(type)))
+          .fetchOne(0, Long::class.javaObjectType)
+        highWaterMarks.putIfAbsent(type, highWaterMark ?: 0L)
+      } catch (e: Exception) {
+        log.debug("Unable to watch the resource table of type {}", type, e)
+        return null
+      }
+    }
+    return invalidations.computeIfAbsent(type) { AtomicLong() }.get()
+  }
+
+  /**
+   * @return copies of the cached rows and relationships of those ids that were read with the same
+   * relationship prefixes, by id
+   */
+  fun getAll(
+    type: String,
+    ids: Collection<String>,
+    relationshipPrefixes: List<String>
+  ): Map<String, Item> {
+    val found = mutableMapOf<String, Item>()
+    ids.forEach { id ->
+      val item = items.getIfPresent(Key(type, id))
+      if (item != null && item.relationshipPrefixes == relationshipPrefixes) {
+        found[id] = item.copy()
+      }
+    }
+
+    registry.counter("cats.sqlCache.nearCache.hits", "type", type).increment(found.size.toLong())
+    registry.counter("cats.sqlCache.nearCache.misses", "type", type).increment((ids.size - found.size).toLong())
+    return found
+  }
+
+  /**
+   * Caches copies of the rows and relationships read for [type], unless the type has been invalidated since
+   * [invalidationCount] was returned by [track], as they may have been read before the invalidated update.
+   */
+  fun putAll(
+    type: String,
+    invalidationCount: Long,
+    relationshipPrefixes: List<String>,
+    data: Collection<CacheData>,
+    relPointers: Collection<SqlCache.RelPointer>
+  ) {
+    if (invalidations[type]?.get() != invalidationCount) {
+      return
+    }
+
+    val relPointersById = relPointers.groupBy { it.id }
+    val keys = data.groupBy { it.id }.map { (id, rows) ->
+      val key = Key(type, id)
+      items.put(key, Item(rows, relPointersById[id] ?: emptyList(), relationshipPrefixes).copy())
+      key
+    }
+
+    if (invalidations[type]?.get() != invalidationCount) {
+      // an invalidation raced with the puts
+      items.invalidateAll(keys)
+    }
+  }
+
+  fun invalidate(type: String, ids: Collection<String>) {
+    if (ids.isEmpty()) {
+      return
+    }
+    invalidations[type]?.incrementAndGet()
+    items.invalidateAll(ids.map { Key(type, it) })
+    registry.counter("cats.sqlCache.nearCache.invalidations", "type", type).increment(ids.size.toLong())
+  }
+
+  private fun poll() {
+    highWaterMarks.keys.forEach { type ->
+      try {
+        val since = highWaterMarks.getValue(type) - TimeUnit.SECONDS.toMillis(properties.commitLagSeconds)
+        val updated = jooq.select(field("id", String::class.java), field("last_updated", Long::class.javaObjectType))
+          .from(table(sqlNames.resourceTableName(type)))
+          .where(field("last_updated").gt(since))
+          .fetch()
+          .map { it.value1() to it.value2() }
+          .toSet()
+
+        // the rows no longer selected have left the commit lag window and won't be seen again
+        val polled = polledRows.computeIfAbsent(type) { HashSet() }
+        polled.retainAll(updated)
+        invalidate(type, updated.filterNot { polled.contains(it) }.map { it.first }.toSet())
+        polled.addAll(updated)
+
+        updated.maxOfOrNull { it.second }?.let { latest ->
+          highWaterMarks.merge(type, latest) { a, b -> maxOf(a, b) }
+        }
+      } catch (e: Exception) {
+        log.warn("Failed polling for updates to type {}, clearing its items", type, e)
+        polledRows.remove(type)
+        invalidations[type]?.incrementAndGet()
+        items.asMap().keys.removeIf { it.type == type }
+      }
+    }
+  }
+
+  fun shutdown() {
+    poller.shutdownNow()
+  }
+
+  data class Key(
+    val type: String,
+    val id: String
+  )
+
+  /**
+   * The rows (one per authoritative agent) and relationship pointers read for an id.
+   */
+  class Item(
+    val rows: List<CacheData>,
+    val relPointers: List<SqlCache.RelPointer>,
+    val relationshipPrefixes: List<String>
+  ) {
+    val weight: Int =
+      rows.sumOf { 1 + it.attributes.size + it.relationships.values.sumOf { ids -> ids.size } } + relPointers.size
+
+    /**
+     * [SqlCache] merges rows in place and callers may modify what they're handed, so neither the cached rows nor
+     * those handed out can be shared, down to their nested attribute values.
+     */
+    fun copy(): Item =
+      Item(
+        rows.map {
+          DefaultJsonCacheData(
+            it.id,
+            // a positive ttl would push out the expiry, which is kept in the attributes
+            if (it.ttlSeconds > 0) -1 else it.ttlSeconds,
+            it.attributes.mapValuesTo(LinkedHashMap<String, Any?>()) { (_, value) -> deepCopy(value) },
+            it.relationships.mapValuesTo(LinkedHashMap<String, Collection<String>>()) { (_, ids) -> ArrayList(ids) }
+          )
+        },
+        relPointers,
+        relationshipPrefixes
+      )
+
+    private fun deepCopy(value: Any?): Any? =
+      when (value) {
+        is Map<*, *> -> value.entries.associateTo(LinkedHashMap<Any?, Any?>()) { (k, v) -> k to deepCopy(v) }
+        is List<*> -> value.mapTo(ArrayList()) { deepCopy(it) }
+        is Set<*> -> value.mapTo(LinkedHashSet()) { deepCopy(it) }
+        else -> value
+      }
+  }
+}
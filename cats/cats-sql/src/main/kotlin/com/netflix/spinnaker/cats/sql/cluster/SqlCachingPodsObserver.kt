@@ -19,16 +19,23 @@ package com.netflix.spinnaker.cats.sql.cluster
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
+import com.netflix.spinnaker.cats.cluster.AccountExecutionWeights
+import com.netflix.spinnaker.cats.cluster.AccountShardingFilter
 import com.netflix.spinnaker.cats.cluster.NodeIdentity
-import com.netflix.spinnaker.cats.cluster.ShardingFilter
+import com.netflix.spinnaker.cats.cluster.RendezvousShardAssigner
+import com.netflix.spinnaker.cats.cluster.ShardAssignment
 import com.netflix.spinnaker.cats.sql.SqlUtil
 import com.netflix.spinnaker.clouddriver.core.provider.CoreProvider
 import com.netflix.spinnaker.config.ConnectionPools
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import com.netflix.spinnaker.kork.sql.routing.withPool
 import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.exception.DataAccessException
 import org.jooq.impl.DSL
 import org.jooq.impl.DSL.table
+import org.jooq.util.mysql.MySQLDSL
 import org.slf4j.LoggerFactory
 import org.springframework.dao.DataIntegrityViolationException
 import java.sql.SQLException
@@ -45,16 +52,25 @@ class SqlCachingPodsObserver (
   private val liveReplicasScheduler: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
     ThreadFactoryBuilder().setNameFormat(SqlCachingPodsObserver::class.java.simpleName + "-%d").build()
   )
-) : ShardingFilter, Runnable{
+) : AccountShardingFilter, ExecutionInstrumentation, Runnable{
   private val log = LoggerFactory.getLogger(javaClass)
+  private val accountWeights = AccountExecutionWeights()
   private var podCount: Int = 0
   private var podIndex: Int = -1
+  @Volatile private var rendezvousEnabled = false
+  @Volatile private var sharedAccountWeights: Map<String, Double> = emptyMap()
+  private var accountWeightsPublishedAt = Long.MIN_VALUE
+  @Volatile private var currentAssignment = ShardAssignment(emptyList(), emptyMap(), emptyMap(), emptyList())
   private var ttlSeconds = dynamicConfigService.getConfig(Long::class.java, "cache-sharding.replica-ttl-seconds", 60)
 
   companion object {
     private val POOL_NAME = ConnectionPools.CACHE_WRITER.value
     const val LAST_HEARTBEAT_TIME = "last_heartbeat_time"
     const val POD_ID = "pod_id"
+    const val ACCOUNT = "account"
+    const val WEIGHT = "weight"
+    const val LAST_UPDATED = "last_updated"
+    private const val RENDEZVOUS_STRATEGY = "rendezvous"
   }
   private val replicasReferenceTable = "caching_replicas"
   private val replicasTable = if (tableNamespace.isNullOrBlank()) {
@@ -62,11 +78,18 @@ class SqlCachingPodsObserver (
   } else {
     "${replicasReferenceTable}_$tableNamespace"
   }
+  private val accountWeightsReferenceTable = "caching_account_weights"
+  private val accountWeightsTable = if (tableNamespace.isNullOrBlank()) {
+    accountWeightsReferenceTable
+  } else {
+    "${accountWeightsReferenceTable}_$tableNamespace"
+  }
 
   init {
     if (!tableNamespace.isNullOrBlank()) {
       withPool(POOL_NAME) {
         SqlUtil.createTableLike(jooq, replicasTable, replicasReferenceTable)
+        SqlUtil.createTableLike(jooq, accountWeightsTable, accountWeightsReferenceTable)
       }
     }
     refreshHeartbeat(TimeUnit.SECONDS.toMillis(ttlSeconds))
@@ -162,13 +185,10 @@ class SqlCachingPodsObserver (
     }
   }
 
-  private fun getAccountName(agentType: String): String{
-    return if(agentType.contains("/")) agentType.substring(0,agentType.indexOf('/')) else agentType
-  }
-
   private fun preFilter(){
     var counter = 0
     var index = -1
+    val pods = mutableListOf<String>()
     try {
       withPool(POOL_NAME) {
         val cachingPods = jooq.select()
@@ -182,6 +202,7 @@ class SqlCachingPodsObserver (
             index = counter;
           }
           counter++
+          pods.add(cachingPods.getString(POD_ID))
         }
       }
     }catch (e: SQLException){
@@ -193,17 +214,115 @@ class SqlCachingPodsObserver (
     podCount = counter
     podIndex = index
     log.debug("Pod count : {} and current pod's index : {}", podCount, podIndex)
+
+    rendezvousEnabled = RENDEZVOUS_STRATEGY.equals(
+      dynamicConfigService.getConfig(String::class.java, "cache-sharding.strategy", "modulo"),
+      ignoreCase = true
+    )
+    val weights = refreshAccountWeights()
+    sharedAccountWeights = weights
+    currentAssignment = newAssigner().assign(pods, weights, currentAssignment)
+    if (currentAssignment.movedAccounts.isNotEmpty()) {
+      log.info("{} accounts were reassigned across {} caching pods", currentAssignment.movedAccounts.size, pods.size)
+    }
+  }
+
+  /**
+   * Publishes the weights of the accounts that ran on this pod since the last heartbeat to a table
+   * shared by all pods and reads the weights of every account from it. Weights that weren't
+   * published for `cache-sharding.account-weight-ttl-seconds` are deleted, so that an account keeps
+   * its weight when it moves to another pod or its owner restarts.
+   */
+  private fun refreshAccountWeights(): Map<String, Double> {
+    val now = System.currentTimeMillis()
+    val expiredBefore = now - TimeUnit.SECONDS.toMillis(
+      dynamicConfigService.getConfig(Long::class.java, "cache-sharding.account-weight-ttl-seconds", 3600L)
+    )
+    accountWeights.expire(expiredBefore)
+    val localWeights = accountWeights.getAccountWeights(accountWeightsPublishedAt)
+
+    return try {
+      withPool(POOL_NAME) {
+        if (localWeights.isNotEmpty()) {
+          val insert = jooq.insertInto(
+            table(accountWeightsTable),
+            DSL.field(ACCOUNT),
+            DSL.field(WEIGHT),
+            DSL.field(LAST_UPDATED)
+          )
+          insert.apply {
+            localWeights.forEach { (account, weight) -> values(account, weight, now) }
+            when (jooq.dialect()) {
+              SQLDialect.POSTGRES ->
+                onConflict(DSL.field(ACCOUNT))
+                  .doUpdate()
+                  .set(DSL.field(WEIGHT), SqlUtil.excluded(DSL.field(WEIGHT)))
+                  .set(DSL.field(LAST_UPDATED), SqlUtil.excluded(DSL.field(LAST_UPDATED)))
+              else ->
+                onDuplicateKeyUpdate()
+                  .set(DSL.field(WEIGHT), MySQLDSL.values(DSL.field(WEIGHT)))
+                  .set(DSL.field(LAST_UPDATED), MySQLDSL.values(DSL.field(LAST_UPDATED)))
+            }
+          }
+          insert.execute()
+        }
+        accountWeightsPublishedAt = now
+
+        jooq.deleteFrom(table(accountWeightsTable))
+          .where(DSL.field(LAST_UPDATED).lt(expiredBefore))
+          .execute()
+        jooq.select(DSL.field(ACCOUNT, String::class.java), DSL.field(WEIGHT, Double::class.java))
+          .from(table(accountWeightsTable))
+          .fetch()
+          .associate { it.value1() to it.value2() }
+      }
+    } catch (e: DataAccessException) {
+      log.error("Failed to refresh account weights, keeping the previous ones", e)
+      sharedAccountWeights
+    }
+  }
+
+  private fun newAssigner() = RendezvousShardAssigner(
+    dynamicConfigService.getConfig(Double::class.java, "cache-sharding.load-factor", 1.25)
+  )
+
+  private fun isOwner(accountName: String): Boolean {
+    if (rendezvousEnabled) {
+      return nodeIdentity.nodeIdentity == currentAssignment.ownerOf(accountName)
+    }
+    return abs(accountName.hashCode() % podCount) == podIndex
   }
 
   override fun filter(agent: Agent) : Boolean{
     if(agent.providerName.equals(CoreProvider.PROVIDER_NAME)){
       return true
     }
-    if (podCount == 1 || abs(getAccountName(agent.agentType).hashCode() % podCount) == podIndex) {
+    if (podCount == 1 || isOwner(AccountExecutionWeights.accountName(agent.agentType))) {
       return true
     }
     return false
   }
 
+  override fun getAssignment(): ShardAssignment = currentAssignment
+
+  override fun preview(pods: Collection<String>): ShardAssignment =
+    newAssigner().assign(pods, sharedAccountWeights, currentAssignment)
+
+  override fun executionStarted(agent: Agent) {
+    // do nothing
+  }
+
+  override fun executionCompleted(agent: Agent, elapsedMs: Long) {
+    if (agent.providerName != CoreProvider.PROVIDER_NAME) {
+      accountWeights.executionCompleted(agent, elapsedMs)
+    }
+  }
+
+  override fun executionFailed(agent: Agent, cause: Throwable, elapsedMs: Long) {
+    if (agent.providerName != CoreProvider.PROVIDER_NAME) {
+      accountWeights.executionFailed(agent, cause, elapsedMs)
+    }
+  }
+
 
 }
@@ -14,7 +14,10 @@ import com.netflix.spinnaker.cats.sql.SqlProviderRegistry
 import com.netflix.spinnaker.cats.sql.cache.SpectatorSqlCacheMetrics
 import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
 import com.netflix.spinnaker.cats.sql.cache.SqlCleanupStaleOnDemandCachesAgent
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumns
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumnsBackfillAgent
 import com.netflix.spinnaker.cats.sql.cache.SqlNamedCacheFactory
+import com.netflix.spinnaker.cats.sql.cache.SqlNearCache
 import com.netflix.spinnaker.cats.sql.cache.SqlNames
 import com.netflix.spinnaker.cats.sql.cache.SqlTableMetricsAgent
 import com.netflix.spinnaker.cats.sql.cache.SqlUnknownAgentCleanupAgent
@@ -22,6 +25,7 @@ import com.netflix.spinnaker.cats.cluster.NoopShardingFilter
 import com.netflix.spinnaker.cats.cluster.ShardingFilter
 import com.netflix.spinnaker.clouddriver.cache.CustomSchedulableAgentIntervalProvider
 import com.netflix.spinnaker.clouddriver.cache.DiscoveryStatusNodeStatusProvider
+import com.netflix.spinnaker.clouddriver.cache.KeyParser
 import com.netflix.spinnaker.clouddriver.sql.SqlAgent
 import com.netflix.spinnaker.clouddriver.sql.SqlProvider
 import com.netflix.spinnaker.kork.discovery.DiscoveryStatusListener
@@ -30,6 +34,7 @@ import com.netflix.spinnaker.kork.sql.config.DefaultSqlConfiguration
 import com.netflix.spinnaker.kork.sql.config.SqlProperties
 import java.time.Clock
 import java.time.Duration
+import java.util.Optional
 import kotlin.contracts.ExperimentalContracts
 import kotlinx.coroutines.ObsoleteCoroutinesApi
 import kotlinx.coroutines.newFixedThreadPoolContext
@@ -54,7 +59,11 @@ const val coroutineThreadPrefix = "catsSql"
 @Configuration
 @ConditionalOnProperty("sql.cache.enabled")
 @Import(DefaultSqlConfiguration::class)
-@EnableConfigurationProperties(SqlAgentProperties::class, SqlConstraintsProperties::class)
+@EnableConfigurationProperties(
+  SqlAgentProperties::class,
+  SqlConstraintsProperties::class,
+  SqlNearCacheProperties::class
+)
 @ComponentScan("com.netflix.spinnaker.cats.sql.controllers")
 class SqlCacheConfiguration {
 
@@ -107,7 +116,9 @@ class SqlCacheConfiguration {
     sqlConstraints: SqlConstraints,
     mapper: ObjectMapper,
     @Value("\${sql.cache.async-pool-size:0}") poolSize: Int,
-    @Value("\${sql.table-namespace:#{null}}") tableNamespace: String?
+    @Value("\${sql.table-namespace:#{null}}") tableNamespace: String?,
+    keyParsers: Optional<List<KeyParser>>,
+    nearCache: Optional<SqlNearCache>
   ): NamedCacheFactory {
     if (tableNamespace != null && !tableNamespace.matches("""^\w+$""".toRegex())) {
       throw IllegalArgumentException("tableNamespace can only contain characters [a-z, A-Z, 0-9, _]")
@@ -139,10 +150,27 @@ class SqlCacheConfiguration {
       tableNamespace,
       cacheMetrics,
       dynamicConfigService,
-      sqlConstraints
+      sqlConstraints,
+      keyParsers.orElse(emptyList()),
+      nearCache.orElse(null)
     )
   }
 
+  /**
+   * sql.cache.near-cache.enabled: Keeps the items read through the cache in memory, invalidating them as the
+   * resource tables are updated. See [SqlNearCacheProperties].
+   */
+  @Bean
+  @ConditionalOnProperty("sql.cache.near-cache.enabled")
+  fun sqlNearCache(
+    jooq: DSLContext,
+    registry: Registry,
+    sqlConstraints: SqlConstraints,
+    nearCacheProperties: SqlNearCacheProperties,
+    @Value("\${sql.table-namespace:#{null}}") tableNamespace: String?
+  ): SqlNearCache =
+    SqlNearCache(jooq, SqlNames(tableNamespace, sqlConstraints), registry, nearCacheProperties)
+
   @Bean
   fun agentIntervalProvider(sqlAgentProperties: SqlAgentProperties): AgentIntervalProvider {
     return CustomSchedulableAgentIntervalProvider(
@@ -182,6 +210,26 @@ class SqlCacheConfiguration {
   ): SqlUnknownAgentCleanupAgent =
     SqlUnknownAgentCleanupAgent(providerRegistry, jooq, registry, SqlNames(tableNamespace, sqlConstraints))
 
+  @Bean
+  @ConditionalOnExpression("\${sql.read-only:false} == false")
+  fun sqlKeyColumnsBackfillAgent(
+    providerRegistry: ObjectProvider<ProviderRegistry>,
+    jooq: DSLContext,
+    registry: Registry,
+    sqlConstraints: SqlConstraints,
+    dynamicConfigService: DynamicConfigService,
+    keyParsers: Optional<List<KeyParser>>,
+    @Value("\${sql.table-namespace:#{null}}") tableNamespace: String?
+  ): SqlKeyColumnsBackfillAgent =
+    SqlKeyColumnsBackfillAgent(
+      providerRegistry,
+      jooq,
+      registry,
+      SqlNames(tableNamespace, sqlConstraints),
+      SqlKeyColumns(keyParsers.orElse(emptyList())),
+      dynamicConfigService
+    )
+
   @Bean
   @ConditionalOnExpression("\${sql.read-only:false} == false")
   fun sqlAgentProvider(agents: List<SqlAgent>): SqlProvider =
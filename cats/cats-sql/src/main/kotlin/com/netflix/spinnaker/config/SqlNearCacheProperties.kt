@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.config
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+@ConfigurationProperties("sql.cache.near-cache")
+class SqlNearCacheProperties {
+  /**
+   * Keeps recently read items in memory, intended for read-only (`sql.read-only`) API instances
+   */
+  var enabled: Boolean = false
+
+  /**
+   * Bounds the total weight of the cached items, where an item weighs one plus its number of attributes and
+   * relationships
+   */
+  var maxWeight: Long = 5_000_000
+
+  /**
+   * The longest an item is served from memory, which also bounds how long an evicted item can still be returned
+   */
+  var maxStalenessSeconds: Long = 30
+
+  /**
+   * How often the resource tables are polled for rows updated since the last poll
+   */
+  var pollIntervalMillis: Long = 2_000
+
+  /**
+   * How far behind the last seen `last_updated` each poll looks, to catch writes that committed late
+   */
+  var commitLagSeconds: Long = 5
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.sql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.sql.cache.SqlCache
+import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumns
+import com.netflix.spinnaker.cats.sql.cache.SqlNames
+import com.netflix.spinnaker.clouddriver.cache.KeyParser
+import com.netflix.spinnaker.config.SqlConstraintsInitializer
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import com.netflix.spinnaker.kork.sql.config.RetryProperties
+import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
+import com.zaxxer.hikari.HikariDataSource
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.testcontainers.DockerClientFactory
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.time.Clock
+
+import static org.jooq.impl.DSL.field
+import static org.jooq.impl.DSL.table
+
+@Requires({ DockerClientFactory.instance().isDockerAvailable() })
+class SqlCacheKeyColumnsSpec extends Specification {
+
+  def sqlConstraints = new SqlConstraintsInitializer().getDefaultSqlConstraints(SQLDialect.MYSQL)
+  def tableName = new SqlNames("test", sqlConstraints).resourceTableName("serverGroups")
+
+  boolean alterTables = false
+
+  def dynamicConfigService = Stub(DynamicConfigService) {
+    isEnabled("sql.cache.key-columns.alter-tables", _) >> { alterTables }
+    isEnabled(_, _) >> { args -> args[1] }
+    getConfig(_, _, _) >> { args -> args[2] }
+  }
+
+  DSLContext context
+
+  @AutoCleanup("close")
+  HikariDataSource dataSource
+
+  def setup() {
+    SqlTestUtil.TestDatabase testDatabase = SqlTestUtil.initTcMysqlDatabase()
+    context = testDatabase.context
+    dataSource = testDatabase.dataSource
+  }
+
+  def cleanup() {
+    if (context != null) {
+      SqlTestUtil.cleanupDb(context)
+    }
+  }
+
+  def "narrows globs on the key columns of a table that has them"() {
+    given:
+    def cache = createCache()
+    cache.merge("serverGroups", serverGroup("prod"))
+    cache.merge("serverGroups", serverGroup("test"))
+
+    expect:
+    hasKeyColumns()
+    cache.filterIdentifiers("serverGroups", "test:serverGroups:*:prod:us-east-1:*") == [id("prod")]
+  }
+
+  def "matches globs against a table without the key columns"() {
+    given:
+    createCache().merge("serverGroups", serverGroup("prod"))
+    dropKeyColumns()
+
+    when: "read by an instance that hasn't written to the table"
+    def ids = createCache().filterIdentifiers("serverGroups", "test:serverGroups:*:prod:us-east-1:*")
+
+    then:
+    ids == [id("prod")]
+  }
+
+  def "only adds the key columns to an existing table when enabled"() {
+    given:
+    createCache().merge("serverGroups", serverGroup("prod"))
+    dropKeyColumns()
+
+    when:
+    createCache().merge("serverGroups", serverGroup("test"))
+
+    then:
+    !hasKeyColumns()
+
+    when:
+    alterTables = true
+    createCache().merge("serverGroups", serverGroup("staging"))
+
+    then:
+    hasKeyColumns()
+  }
+
+  private SqlCache createCache() {
+    return new SqlCache(
+      "test",
+      context,
+      new ObjectMapper(),
+      null,
+      Clock.systemUTC(),
+      new SqlRetryProperties(new RetryProperties(1, 10), new RetryProperties(1, 10)),
+      "test",
+      Mock(SqlCacheMetrics),
+      dynamicConfigService,
+      sqlConstraints,
+      new StaticProviderCacheConfiguration(supportsFullEviction: false),
+      new SqlKeyColumns([new TestKeyParser()]),
+      null,
+      null
+    )
+  }
+
+  private void dropKeyColumns() {
+    def dropColumns = SqlKeyColumns.COLUMNS.collect { "DROP COLUMN $it" }.join(", ")
+    context.execute("ALTER TABLE $tableName $dropColumns".toString())
+  }
+
+  private boolean hasKeyColumns() {
+    try {
+      context.select(field(SqlKeyColumns.ACCOUNT)).from(table(tableName)).fetch()
+      return true
+    } catch (Exception ignored) {
+      return false
+    }
+  }
+
+  private static String id(String account) {
+    return "test:serverGroups:myapp-main:$account:us-east-1:myapp-main-v001"
+  }
+
+  private static DefaultCacheData serverGroup(String account) {
+    return new DefaultCacheData(id(account), [account: account], [:])
+  }
+
+  static class TestKeyParser implements KeyParser {
+    @Override
+    String getCloudProvider() {
+      return "test"
+    }
+
+    @Override
+    Map<String, String> parseKey(String key) {
+      def parts = key.split(":")
+      if (parts.length != 6) {
+        return null
+      }
+      return [
+        application: parts[2].split("-")[0],
+        cluster    : parts[2],
+        account    : parts[3],
+        region     : parts[4],
+        serverGroup: parts[5]
+      ]
+    }
+
+    @Override
+    Boolean canParseType(String type) {
+      return type == "serverGroups"
+    }
+
+    @Override
+    Boolean canParseField(String field) {
+      return false
+    }
+  }
+}
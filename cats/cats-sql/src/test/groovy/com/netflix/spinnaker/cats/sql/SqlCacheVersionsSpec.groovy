@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.sql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.sql.cache.SqlCache
+import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
+import com.netflix.spinnaker.cats.sql.cache.SqlCacheVersions
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumns
+import com.netflix.spinnaker.cats.sql.cache.SqlNames
+import com.netflix.spinnaker.config.SqlConstraintsInitializer
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import com.netflix.spinnaker.kork.sql.config.RetryProperties
+import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
+import com.zaxxer.hikari.HikariDataSource
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.testcontainers.DockerClientFactory
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+@Requires({ DockerClientFactory.instance().isDockerAvailable() })
+class SqlCacheVersionsSpec extends Specification {
+
+  def sqlConstraints = new SqlConstraintsInitializer().getDefaultSqlConstraints(SQLDialect.MYSQL)
+
+  long now = 1000
+  long ttl = 0
+
+  def clock = new Clock() {
+    @Override
+    ZoneId getZone() {
+      return ZoneOffset.UTC
+    }
+
+    @Override
+    Clock withZone(ZoneId zone) {
+      return this
+    }
+
+    @Override
+    Instant instant() {
+      return Instant.ofEpochMilli(now)
+    }
+  }
+
+  def dynamicConfigService = Stub(DynamicConfigService) {
+    getConfig(_, "sql.cache.version-ttl-ms", _) >> { ttl }
+    getConfig(_, _, _) >> { args -> args[2] }
+    isEnabled(_, _) >> { args -> args[1] }
+  }
+
+  DSLContext context
+
+  @AutoCleanup("close")
+  HikariDataSource dataSource
+
+  SqlCacheVersions versions
+  SqlCache cache
+
+  def setup() {
+    SqlTestUtil.TestDatabase testDatabase = SqlTestUtil.initTcMysqlDatabase()
+    context = testDatabase.context
+    dataSource = testDatabase.dataSource
+
+    versions = new SqlCacheVersions(context, new SqlNames("test", sqlConstraints), clock, dynamicConfigService)
+    cache = new SqlCache(
+      "test",
+      context,
+      new ObjectMapper(),
+      null,
+      clock,
+      new SqlRetryProperties(new RetryProperties(1, 10), new RetryProperties(1, 10)),
+      "test",
+      Mock(SqlCacheMetrics),
+      dynamicConfigService,
+      sqlConstraints,
+      new StaticProviderCacheConfiguration(supportsFullEviction: false),
+      new SqlKeyColumns([]),
+      null,
+      versions
+    )
+  }
+
+  def cleanup() {
+    if (context != null) {
+      SqlTestUtil.cleanupDb(context)
+    }
+  }
+
+  def "a type that hasn't been stored has an initial version"() {
+    expect:
+    versions.getVersion("foo") == "0:0/0:0"
+  }
+
+  def "the version changes as items are stored, changed or evicted"() {
+    given:
+    def initial = cache.getVersion("foo")
+
+    when:
+    now++
+    cache.merge("foo", new DefaultCacheData("foo:1", [version: 1], [:]))
+    def stored = cache.getVersion("foo")
+
+    then:
+    stored != initial
+
+    when: "an unchanged item is stored again"
+    now++
+    cache.merge("foo", new DefaultCacheData("foo:1", [version: 1], [:]))
+
+    then:
+    cache.getVersion("foo") == stored
+
+    when:
+    now++
+    cache.merge("foo", new DefaultCacheData("foo:1", [version: 2], [:]))
+    def changed = cache.getVersion("foo")
+
+    then:
+    changed != stored
+
+    when:
+    now++
+    cache.evictAll("foo", ["foo:1"])
+
+    then:
+    cache.getVersion("foo") != changed
+  }
+
+  def "the version of another type doesn't change"() {
+    given:
+    def initial = cache.getVersions(["foo", "bar"])
+
+    when:
+    now++
+    cache.merge("foo", new DefaultCacheData("foo:1", [version: 1], [:]))
+    def stored = cache.getVersions(["foo", "bar"])
+
+    then:
+    stored.foo != initial.foo
+    stored.bar == initial.bar
+  }
+
+  def "versions are read at most once per ttl"() {
+    given:
+    ttl = 100
+    def initial = versions.getVersion("foo")
+
+    when:
+    cache.merge("foo", new DefaultCacheData("foo:1", [version: 1], [:]))
+
+    then:
+    versions.getVersion("foo") == initial
+
+    when:
+    now += ttl
+
+    then:
+    versions.getVersion("foo") != initial
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.sql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.sql.cache.SqlCache
+import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumns
+import com.netflix.spinnaker.cats.sql.cache.SqlNames
+import com.netflix.spinnaker.cats.sql.cache.SqlNearCache
+import com.netflix.spinnaker.config.SqlConstraintsInitializer
+import com.netflix.spinnaker.config.SqlNearCacheProperties
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import com.netflix.spinnaker.kork.sql.config.RetryProperties
+import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
+import com.zaxxer.hikari.HikariDataSource
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.testcontainers.DockerClientFactory
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Clock
+
+@Requires({ DockerClientFactory.instance().isDockerAvailable() })
+class SqlNearCacheSpec extends Specification {
+
+  def registry = new DefaultRegistry()
+  def properties = new SqlNearCacheProperties(maxWeight: 1000, pollIntervalMillis: 100, commitLagSeconds: 0)
+  def sqlConstraints = new SqlConstraintsInitializer().getDefaultSqlConstraints(SQLDialect.MYSQL)
+
+  DSLContext context
+
+  @AutoCleanup("close")
+  HikariDataSource dataSource
+
+  SqlNearCache nearCache
+
+  // reads through the near cache
+  SqlCache cache
+
+  // shares the tables but not the near cache, like another instance would
+  SqlCache otherCache
+
+  def setup() {
+    SqlTestUtil.TestDatabase testDatabase = SqlTestUtil.initTcMysqlDatabase()
+    context = testDatabase.context
+    dataSource = testDatabase.dataSource
+
+    nearCache = new SqlNearCache(context, new SqlNames("test", sqlConstraints), registry, properties)
+    cache = createCache(nearCache)
+    otherCache = createCache(null)
+  }
+
+  def cleanup() {
+    nearCache?.shutdown()
+    if (context != null) {
+      SqlTestUtil.cleanupDb(context)
+    }
+  }
+
+  def "serves repeated reads from memory"() {
+    given:
+    cache.merge("foo", createData("foo:1", [version: 1]))
+
+    when:
+    cache.get("foo", "foo:1")
+    def retrieved = cache.get("foo", "foo:1")
+
+    then:
+    retrieved.attributes.version == 1
+    hits("foo") == 1
+  }
+
+  def "a write invalidates the cached item"() {
+    given:
+    cache.merge("foo", createData("foo:1", [version: 1]))
+    assert cache.get("foo", "foo:1").attributes.version == 1
+
+    when:
+    cache.merge("foo", createData("foo:1", [version: 2]))
+
+    then:
+    cache.get("foo", "foo:1").attributes.version == 2
+  }
+
+  def "an eviction invalidates the cached item"() {
+    given:
+    cache.merge("foo", createData("foo:1", [version: 1]))
+    assert cache.get("foo", "foo:1") != null
+
+    when:
+    cache.evictAll("foo", ["foo:1"])
+
+    then:
+    cache.get("foo", "foo:1") == null
+  }
+
+  def "a write by another instance is invalidated by polling"() {
+    given:
+    cache.merge("foo", createData("foo:1", [version: 1]))
+    assert cache.get("foo", "foo:1").attributes.version == 1
+
+    when:
+    otherCache.merge("foo", createData("foo:1", [version: 2]))
+
+    then:
+    new PollingConditions(timeout: 10).eventually {
+      assert nearCache.getAll("foo", ["foo:1"], ["ALL"]).isEmpty()
+    }
+    cache.get("foo", "foo:1").attributes.version == 2
+  }
+
+  def "an update is only invalidated once while it is within the commit lag"() {
+    given:
+    properties.commitLagSeconds = 60
+    nearCache.shutdown()
+    nearCache = new SqlNearCache(context, new SqlNames("test", sqlConstraints), registry, properties)
+    cache = createCache(nearCache)
+
+    and: "an item written and invalidated by this instance, and then by the first poll"
+    cache.merge("foo", createData("foo:1", [version: 1]))
+    cache.get("foo", "foo:1")
+
+    when:
+    otherCache.merge("foo", createData("foo:2", [version: 1]))
+    Thread.sleep(10 * properties.pollIntervalMillis)
+
+    then:
+    invalidations("foo") == 3
+  }
+
+  def "items handed out don't share nested attributes with the cached item"() {
+    given:
+    cache.merge("foo", createData("foo:1", [nested: [values: [1]]]))
+    cache.get("foo", "foo:1")
+
+    when:
+    cache.get("foo", "foo:1").attributes.nested.values << 2
+
+    then:
+    cache.get("foo", "foo:1").attributes.nested.values == [1]
+    hits("foo") == 2
+  }
+
+  def "a write during a fill doesn't leave the item read before it cached"() {
+    given:
+    cache.merge("foo", createData("foo:1", [version: 1]))
+
+    and: "a fill that starts tracking and reads the item"
+    def invalidationCount = nearCache.track("foo")
+    def read = otherCache.getAll("foo", ["foo:1"])
+
+    when: "the item is written before the fill caches what it read"
+    cache.merge("foo", createData("foo:1", [version: 2]))
+    nearCache.putAll("foo", invalidationCount, ["ALL"], read, [])
+
+    then:
+    nearCache.getAll("foo", ["foo:1"], ["ALL"]).isEmpty()
+    cache.get("foo", "foo:1").attributes.version == 2
+  }
+
+  def "evicts items once the cached weight exceeds the bound"() {
+    given:
+    properties.maxWeight = 10
+    nearCache.shutdown()
+    nearCache = new SqlNearCache(context, new SqlNames("test", sqlConstraints), registry, properties)
+    cache = createCache(nearCache)
+
+    def ids = (1..20).collect { "foo:$it".toString() }
+    cache.mergeAll("foo", ids.collect { createData(it, [version: 1]) })
+
+    when:
+    def retrieved = cache.getAll("foo", ids)
+
+    then: "every item is read, but only as many as the bound allows are kept"
+    retrieved.size() == 20
+    nearCache.getAll("foo", ids, ["ALL"]).size() <= 5
+    registry.counter("cats.sqlCache.nearCache.evictions", "cause", "SIZE").count() > 0
+  }
+
+  private SqlCache createCache(SqlNearCache nearCache) {
+    return new SqlCache(
+      "test",
+      context,
+      new ObjectMapper(),
+      null,
+      Clock.systemUTC(),
+      new SqlRetryProperties(new RetryProperties(1, 10), new RetryProperties(1, 10)),
+      "test",
+      Mock(SqlCacheMetrics),
+      DynamicConfigService.NOOP,
+      sqlConstraints,
+      new StaticProviderCacheConfiguration(supportsFullEviction: false),
+      new SqlKeyColumns([]),
+      nearCache,
+      null
+    )
+  }
+
+  private long hits(String type) {
+    return registry.counter("cats.sqlCache.nearCache.hits", "type", type).count()
+  }
+
+  private long invalidations(String type) {
+    return registry.counter("cats.sqlCache.nearCache.invalidations", "type", type).count()
+  }
+
+  private static CacheData createData(String id, Map<String, Object> attributes) {
+    return new DefaultCacheData(id, attributes, [:])
+  }
+}
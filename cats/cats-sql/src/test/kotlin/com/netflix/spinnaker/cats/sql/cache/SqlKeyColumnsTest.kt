@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.cache
+
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumns.Companion.ACCOUNT
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumns.Companion.APPLICATION
+import com.netflix.spinnaker.cats.sql.cache.SqlKeyColumns.Companion.REGION
+import com.netflix.spinnaker.clouddriver.cache.KeyParser
+import dev.minutest.junit.JUnit5Minutests
+import dev.minutest.rootContext
+import strikt.api.expectThat
+import strikt.assertions.isEmpty
+import strikt.assertions.isEqualTo
+import strikt.assertions.isFalse
+import strikt.assertions.isTrue
+
+class SqlKeyColumnsTest : JUnit5Minutests {
+
+  fun tests() = rootContext<SqlKeyColumns> {
+    fixture {
+      SqlKeyColumns(listOf(TestKeyParser()))
+    }
+
+    test("supports types the parsers can parse") {
+      expectThat(supports("serverGroups")).isTrue()
+      expectThat(supports("images")).isFalse()
+    }
+
+    test("derives column values from the id") {
+      expectThat(columnValues("serverGroups", "test:serverGroups:myapp-main:prod:us-east-1:myapp-main-v001"))
+        .isEqualTo(mapOf(ACCOUNT to "prod", REGION to "us-east-1", APPLICATION to "myapp"))
+    }
+
+    test("stores empty values for ids that can't be parsed") {
+      expectThat(columnValues("serverGroups", "other:serverGroups:myapp-main:prod:us-east-1:myapp-main-v001"))
+        .isEqualTo(mapOf(ACCOUNT to "", REGION to "", APPLICATION to ""))
+      expectThat(columnValues("serverGroups", "test:serverGroups:malformed"))
+        .isEqualTo(mapOf(ACCOUNT to "", REGION to "", APPLICATION to ""))
+    }
+
+    test("plans predicates for literal segments of a glob") {
+      expectThat(plan("serverGroups", "test:serverGroups:*:prod:us-east-1:*"))
+        .isEqualTo(mapOf(ACCOUNT to "prod", REGION to "us-east-1"))
+      expectThat(plan("serverGroups", "test:serverGroups:myapp-*:prod:us-?ast-1:*"))
+        .isEqualTo(mapOf(ACCOUNT to "prod"))
+    }
+
+    test("does not plan predicates for values derived from a wildcard segment") {
+      expectThat(plan("serverGroups", "test:serverGroups:myapp-*:*:*:*"))
+        .isEmpty()
+    }
+
+    test("does not plan predicates for unknown glob shapes") {
+      expectThat(plan("serverGroups", "*:serverGroups:*:prod:us-east-1:*")).isEmpty()
+      expectThat(plan("serverGroups", "test:serverGroups:*")).isEmpty()
+      expectThat(plan("images", "test:images:*:prod:us-east-1:*")).isEmpty()
+    }
+  }
+
+  private class TestKeyParser : KeyParser {
+    override fun getCloudProvider() = "test"
+
+    override fun parseKey(key: String): Map<String, String>? {
+      val parts = key.split(':')
+      if (parts.size != 6) {
+        return null
+      }
+      return mapOf(
+        "application" to parts[2].substringBefore('-'),
+        "cluster" to parts[2],
+        "account" to parts[3],
+        "region" to parts[4],
+        "serverGroup" to parts[5]
+      )
+    }
+
+    override fun canParseType(type: String) = type == "serverGroups"
+
+    override fun canParseField(field: String) = false
+  }
+}
@@ -213,4 +213,27 @@ abstract class WriteableCacheSpec extends CacheSpec {
         then:
         noExceptionThrown()
     }
+
+    def 'indexes track membership independently of the cached items'() {
+        setup:
+        cache.merge('foo', createData('bar1'))
+        cache.merge('foo', createData('bar2'))
+
+        when:
+        cache.addToIndex('foo', 'agent1', ['bar1', 'bar2'])
+        cache.addToIndex('foo', 'agent2', ['bar2'])
+
+        then:
+        cache.getIndex('foo', 'agent1') as Set == ['bar1', 'bar2'] as Set
+        cache.getIndex('foo', 'agent2') as Set == ['bar2'] as Set
+        cache.getIndex('foo', 'agent3').isEmpty()
+
+        when:
+        cache.removeFromIndex('foo', 'agent1', ['bar1', 'notindexed'])
+        cache.evict('foo', 'bar2')
+
+        then:
+        cache.getIndex('foo', 'agent1') as Set == ['bar2'] as Set
+        cache.getIndex('foo', 'agent2') as Set == ['bar2'] as Set
+    }
 }
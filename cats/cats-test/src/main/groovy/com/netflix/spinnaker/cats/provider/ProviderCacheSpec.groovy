@@ -123,6 +123,65 @@ abstract class ProviderCacheSpec extends CacheSpec {
         sg == null
     }
 
+    def "on demand entries are listed by the agent that wrote them"() {
+        setup:
+        String usEast1Agent = 'AwsProvider:test/us-east-1/ClusterCachingAgent'
+        String usWest2Agent = 'AwsProvider:test/us-west-2/ClusterCachingAgent'
+        defaultProviderCache.putOnDemandCacheData(usEast1Agent, 'onDemand', createData('us-east-1:sg1'))
+        defaultProviderCache.putOnDemandCacheData(usEast1Agent, 'onDemand', createData('us-east-1:sg2'))
+        defaultProviderCache.putOnDemandCacheData(usWest2Agent, 'onDemand', createData('us-west-2:sg3'))
+
+        expect:
+        defaultProviderCache.getOnDemandIdentifiers(usEast1Agent, 'onDemand', 'us-east-1:*') as Set == ['us-east-1:sg1', 'us-east-1:sg2'] as Set
+        defaultProviderCache.getOnDemandCacheData(usWest2Agent, 'onDemand', 'us-west-2:*')*.id == ['us-west-2:sg3']
+
+        when: 'an entry is evicted without going through the index'
+        defaultProviderCache.evictDeletedItems('onDemand', ['us-east-1:sg1'])
+
+        then:
+        defaultProviderCache.getOnDemandIdentifiers(usEast1Agent, 'onDemand', 'us-east-1:*') as Set == ['us-east-1:sg2'] as Set
+
+        when:
+        defaultProviderCache.evictOnDemandCacheData(usEast1Agent, 'onDemand', ['us-east-1:sg2'])
+
+        then:
+        defaultProviderCache.getOnDemandIdentifiers(usEast1Agent, 'onDemand', 'us-east-1:*').isEmpty()
+        defaultProviderCache.get('onDemand', 'us-east-1:sg2') == null
+        defaultProviderCache.getOnDemandIdentifiers(usWest2Agent, 'onDemand', 'us-west-2:*') as Set == ['us-west-2:sg3'] as Set
+    }
+
+    def "on demand entries stored without being indexed are found by key"() {
+        setup:
+        String usEast1Agent = 'AwsProvider:test/us-east-1/ClusterCachingAgent'
+        defaultProviderCache.putCacheData('onDemand', createData('us-east-1:sg1'))
+        defaultProviderCache.putOnDemandCacheData(usEast1Agent, 'onDemand', createData('us-east-1:sg2'))
+        defaultProviderCache.putCacheData('onDemand', createData('us-west-2:sg3'))
+
+        expect:
+        defaultProviderCache.getOnDemandIdentifiers(usEast1Agent, 'onDemand', 'us-east-1:*') as Set == ['us-east-1:sg1', 'us-east-1:sg2'] as Set
+        defaultProviderCache.getOnDemandCacheData(usEast1Agent, 'onDemand', 'us-east-1:*')*.id as Set == ['us-east-1:sg1', 'us-east-1:sg2'] as Set
+
+        when: 'an entry is evicted after it was found'
+        defaultProviderCache.evictOnDemandCacheData(usEast1Agent, 'onDemand', ['us-east-1:sg1'])
+
+        then:
+        defaultProviderCache.getOnDemandIdentifiers(usEast1Agent, 'onDemand', 'us-east-1:*') as Set == ['us-east-1:sg2'] as Set
+    }
+
+    def "an empty on demand index is only backfilled by key on the first read"() {
+        setup:
+        String usEast1Agent = 'AwsProvider:test/us-east-1/ClusterCachingAgent'
+
+        expect:
+        defaultProviderCache.getOnDemandIdentifiers(usEast1Agent, 'onDemand', 'us-east-1:*').isEmpty()
+
+        when: 'an entry is stored without being indexed'
+        defaultProviderCache.putCacheData('onDemand', createData('us-east-1:sg1'))
+
+        then:
+        defaultProviderCache.getOnDemandIdentifiers(usEast1Agent, 'onDemand', 'us-east-1:*').isEmpty()
+    }
+
     private CacheResult buildCacheResult(String account, String region, String sgVersion = 'v001') {
         String serverGroup = "$account/$region/testapp-test-$sgVersion"
         String cluster = "$account/testapp-test"
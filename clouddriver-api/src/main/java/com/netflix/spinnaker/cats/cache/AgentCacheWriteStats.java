@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cache;
+
+import com.netflix.spinnaker.kork.annotations.Beta;
+import java.util.HashMap;
+import java.util.Map;
+
+/** The cache write figures of one agent since startup, per type. */
+@Beta
+public class AgentCacheWriteStats {
+  private final String agent;
+  private final Map<String, CacheWriteStats> types = new HashMap<>();
+  private long lastRecordedMs;
+
+  AgentCacheWriteStats(String agent) {
+    this.agent = agent;
+  }
+
+  synchronized void add(String type, CacheWriteStats stats) {
+    types.computeIfAbsent(type, t -> new CacheWriteStats()).add(stats);
+    lastRecordedMs = System.currentTimeMillis();
+  }
+
+  public String getAgent() {
+    return agent;
+  }
+
+  public synchronized long getLastRecordedMs() {
+    return lastRecordedMs;
+  }
+
+  /** Returns a copy of the figures of each type. */
+  public synchronized Map<String, CacheWriteStats> getTypes() {
+    Map<String, CacheWriteStats> copy = new HashMap<>();
+    types.forEach((type, stats) -> copy.put(type, new CacheWriteStats().add(stats)));
+    return copy;
+  }
+
+  public synchronized CacheWriteStats getTotal() {
+    CacheWriteStats total = new CacheWriteStats();
+    types.values().forEach(total::add);
+    return total;
+  }
+}
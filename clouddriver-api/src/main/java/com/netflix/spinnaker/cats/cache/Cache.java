@@ -20,6 +20,7 @@ import com.netflix.spinnaker.kork.annotations.Beta;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 /** Cache provides view access to data keyed by type and identifier. */
@@ -119,6 +120,35 @@ public interface Cache {
    */
   Collection<CacheData> getAll(String type, String... identifiers);
 
+  /**
+   * Returns a token that changes whenever items of a type are stored, changed or evicted, so that
+   * a response built from the type can be revalidated without being rebuilt. A token may lag a
+   * change by as long as the cache takes to observe it.
+   *
+   * @param type the type of the items
+   * @return the version of the type, or null if this cache doesn't track versions
+   */
+  default String getVersion(String type) {
+    return null;
+  }
+
+  /**
+   * Returns the versions of several types at once, see {@link #getVersion(String)}.
+   *
+   * @param types the types of the items
+   * @return the version of each of the types this cache tracks versions of
+   */
+  default Map<String, String> getVersions(Collection<String> types) {
+    Map<String, String> versions = new HashMap<>();
+    for (String type : types) {
+      String version = getVersion(type);
+      if (version != null) {
+        versions.put(type, version);
+      }
+    }
+    return versions;
+  }
+
   /** Returns whether or not the three {@code getAllByApplication} methods are supported */
   default boolean supportsGetAllByApplication() {
     return false;
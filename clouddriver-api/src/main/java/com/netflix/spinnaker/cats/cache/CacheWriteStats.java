@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cache;
+
+import com.netflix.spinnaker.kork.annotations.Beta;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What storing part of a caching agent's results cost a cache backend. Each backend records the
+ * figures it is able to measure.
+ */
+@Beta
+public class CacheWriteStats {
+  public enum Stat {
+    /** Items handed to the backend to store. */
+    ITEMS_RECEIVED("itemsReceived"),
+    /** Items that were new or differed from what was stored, and so were written. */
+    ITEMS_CHANGED("itemsChanged"),
+    /** Relationships that were written, rather than skipped as unchanged. */
+    RELATIONSHIPS_WRITTEN("relationshipsWritten"),
+    /** Items that were evicted. */
+    EVICTIONS("evictions"),
+    /** Size of the serialized items and relationships that were written. */
+    SERIALIZED_BYTES("serializedBytes"),
+    /** Statements or commands sent to the backend. */
+    STATEMENTS("statements");
+
+    private final String name;
+
+    Stat(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public static Stat fromName(String name) {
+      for (Stat stat : values()) {
+        if (stat.name.equalsIgnoreCase(name)) {
+          return stat;
+        }
+      }
+      throw new IllegalArgumentException("Unknown cache write stat: " + name);
+    }
+  }
+
+  private final long[] values = new long[Stat.values().length];
+
+  public CacheWriteStats add(Stat stat, long value) {
+    values[stat.ordinal()] += value;
+    return this;
+  }
+
+  public CacheWriteStats add(CacheWriteStats other) {
+    for (int i = 0; i < values.length; i++) {
+      values[i] += other.values[i];
+    }
+    return this;
+  }
+
+  public long get(Stat stat) {
+    return values[stat.ordinal()];
+  }
+
+  /** Returns each figure by its name, in declaration order. */
+  public Map<String, Long> asMap() {
+    Map<String, Long> map = new LinkedHashMap<>();
+    for (Stat stat : Stat.values()) {
+      map.put(stat.getName(), get(stat));
+    }
+    return map;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cache;
+
+import com.netflix.spinnaker.kork.annotations.Beta;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Accumulates what storing their results costs the cache, per agent and per type, so that the
+ * agents responsible for most of the write load can be identified.
+ *
+ * <p>Provider caches attribute the writes they make on behalf of an agent with {@link
+ * #attribute(String)}; backends then {@link #record(String, CacheWriteStats) record} what each
+ * write cost, without having to know which agent it is for.
+ */
+@Beta
+public class CacheWriteStatsStore {
+  public static final String UNATTRIBUTED = "unattributed";
+
+  private static final CacheWriteStatsStore store = new CacheWriteStatsStore();
+
+  private final ThreadLocal<String> currentAgent = new ThreadLocal<>();
+  private final Map<String, AgentCacheWriteStats> agents = new ConcurrentHashMap<>();
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  public static CacheWriteStatsStore getStore() {
+    return store;
+  }
+
+  /**
+   * Attributes the writes recorded on the current thread to the given agent, until the returned
+   * attribution is closed.
+   */
+  public Attribution attribute(String agent) {
+    String previous = currentAgent.get();
+    currentAgent.set(agent);
+    return () -> {
+      if (previous == null) {
+        currentAgent.remove();
+      } else {
+        currentAgent.set(previous);
+      }
+    };
+  }
+
+  /** Records a write of the agent the current thread is writing for. */
+  public void record(String type, CacheWriteStats stats) {
+    record(null, type, stats);
+  }
+
+  /**
+   * Records a write of the given agent, or of the agent the current thread is writing for if it is
+   * null.
+   */
+  public void record(String agent, String type, CacheWriteStats stats) {
+    String attributedAgent = agent;
+    if (attributedAgent == null) {
+      attributedAgent = currentAgent.get() == null ? UNATTRIBUTED : currentAgent.get();
+    }
+    agents.computeIfAbsent(attributedAgent, AgentCacheWriteStats::new).add(type, stats);
+    for (Listener listener : listeners) {
+      listener.recorded(attributedAgent, type, stats);
+    }
+  }
+
+  public Collection<AgentCacheWriteStats> listAgents() {
+    return agents.values();
+  }
+
+  /** Returns the agents with the highest totals of the given figure, highest first. */
+  public List<AgentCacheWriteStats> rank(CacheWriteStats.Stat stat, int limit) {
+    return agents.values().stream()
+        .map(agent -> new Ranked(agent, agent.getTotal().get(stat)))
+        .sorted(Comparator.comparingLong((Ranked ranked) -> ranked.value).reversed())
+        .limit(limit)
+        .map(ranked -> ranked.agent)
+        .collect(Collectors.toList());
+  }
+
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  /** Notified of each write as it is recorded. */
+  @FunctionalInterface
+  public interface Listener {
+    void recorded(String agent, String type, CacheWriteStats stats);
+  }
+
+  public interface Attribution extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static class Ranked {
+    final AgentCacheWriteStats agent;
+    final long value;
+
+    Ranked(AgentCacheWriteStats agent, long value) {
+      this.agent = agent;
+      this.value = value;
+    }
+  }
+}
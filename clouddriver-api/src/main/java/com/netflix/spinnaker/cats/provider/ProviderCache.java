@@ -19,6 +19,7 @@ package com.netflix.spinnaker.cats.provider;
 import com.netflix.spinnaker.cats.agent.CacheResult;
 import com.netflix.spinnaker.cats.cache.Cache;
 import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.CacheFilter;
 import com.netflix.spinnaker.kork.annotations.Beta;
 import java.util.Collection;
 
@@ -73,4 +74,64 @@ public interface ProviderCache extends Cache {
    * @param ids The identifiers to delete.
    */
   void evictDeletedItems(String type, Collection<String> ids);
+
+  /**
+   * * Store a pending on-demand item, indexed under the caching agent that will consume it.
+   *
+   * @param agentType The caching agent that owns the item.
+   * @param type The on-demand resource type.
+   * @param cacheData Item to store.
+   */
+  default void putOnDemandCacheData(String agentType, String type, CacheData cacheData) {
+    putCacheData(type, cacheData);
+  }
+
+  /**
+   * * List the identifiers of the on-demand items owned by a caching agent. The cost of this call
+   * is proportional to the number of items owned by the agent, not the size of the type, except
+   * when the items have to be found by their keys.
+   *
+   * @param agentType The caching agent that owns the items.
+   * @param type The on-demand resource type.
+   * @param glob Matches the keys of the items owned by the agent, to find the items that were
+   *     stored without being indexed (for instance by an older version).
+   */
+  default Collection<String> getOnDemandIdentifiers(String agentType, String type, String glob) {
+    return filterIdentifiers(type, glob);
+  }
+
+  /**
+   * * Fetch the on-demand items owned by a caching agent.
+   *
+   * @param agentType The caching agent that owns the items.
+   * @param type The on-demand resource type.
+   * @param glob Matches the keys of the items owned by the agent.
+   */
+  default Collection<CacheData> getOnDemandCacheData(String agentType, String type, String glob) {
+    return getOnDemandCacheData(agentType, type, glob, null);
+  }
+
+  /**
+   * * Fetch the on-demand items owned by a caching agent.
+   *
+   * @param agentType The caching agent that owns the items.
+   * @param type The on-demand resource type.
+   * @param glob Matches the keys of the items owned by the agent.
+   * @param cacheFilter Filter to apply to the relationships of the items.
+   */
+  default Collection<CacheData> getOnDemandCacheData(
+      String agentType, String type, String glob, CacheFilter cacheFilter) {
+    return getAll(type, getOnDemandIdentifiers(agentType, type, glob), cacheFilter);
+  }
+
+  /**
+   * * Delete on-demand items owned by a caching agent.
+   *
+   * @param agentType The caching agent that owns the items.
+   * @param type The on-demand resource type.
+   * @param ids The identifiers to delete.
+   */
+  default void evictOnDemandCacheData(String agentType, String type, Collection<String> ids) {
+    evictDeletedItems(type, ids);
+  }
 }
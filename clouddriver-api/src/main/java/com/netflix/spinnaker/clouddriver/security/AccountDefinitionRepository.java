@@ -20,6 +20,7 @@ import com.netflix.spinnaker.credentials.definition.CredentialsDefinition;
 import com.netflix.spinnaker.kork.annotations.Beta;
 import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
 import java.util.List;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /** Provides CRUD persistence operations for account {@link CredentialsDefinition} instances. */
@@ -60,6 +61,21 @@ public interface AccountDefinitionRepository {
    */
   List<? extends CredentialsDefinition> listByType(String typeName);
 
+  /**
+   * Lists changes to account definitions for a given account type that were made at or after the
+   * given timestamp. Deleted accounts are reported by name so that callers holding a previous
+   * snapshot can drop them without reloading every account. Repositories that cannot track changes
+   * return every account as a full snapshot (see {@link Changes#isSnapshot()}).
+   *
+   * @param typeName account type to search for
+   * @param since timestamp (in millis since the epoch) of the last known change, as returned by
+   *     {@link Changes#getTimestamp()} from a previous call, or {@code 0} for all accounts
+   * @return account definitions changed or deleted since the given timestamp
+   */
+  default Changes listChangesByType(String typeName, long since) {
+    return new Changes(listByType(typeName), Set.of(), System.currentTimeMillis(), true);
+  }
+
   /**
    * Creates a new account definition using the provided data. Secrets should use {@code
    * UserSecretReference} encrypted URIs (e.g., {@code
@@ -148,4 +164,56 @@ public interface AccountDefinitionRepository {
       return account;
     }
   }
+
+  /**
+   * Provides the set of account definitions of a given type that changed since a previous call to
+   * {@link AccountDefinitionRepository#listChangesByType(String, long)}.
+   */
+  class Changes {
+    private final List<? extends CredentialsDefinition> changedAccounts;
+    private final Set<String> deletedAccountNames;
+    private final long timestamp;
+    private final boolean snapshot;
+
+    /** Constructs a change set of updated accounts and names of deleted accounts. */
+    public Changes(
+        List<? extends CredentialsDefinition> changedAccounts,
+        Set<String> deletedAccountNames,
+        long timestamp,
+        boolean snapshot) {
+      this.changedAccounts = changedAccounts;
+      this.deletedAccountNames = deletedAccountNames;
+      this.timestamp = timestamp;
+      this.snapshot = snapshot;
+    }
+
+    /** Returns the account definitions created or updated since the requested timestamp. */
+    public List<? extends CredentialsDefinition> getChangedAccounts() {
+      return changedAccounts;
+    }
+
+    /**
+     * Returns the names of accounts deleted since the requested timestamp. This may include names
+     * of accounts that were never returned to the caller.
+     */
+    public Set<String> getDeletedAccountNames() {
+      return deletedAccountNames;
+    }
+
+    /**
+     * Returns the timestamp (in millis since the epoch) to pass as {@code since} on the next call
+     * to {@link AccountDefinitionRepository#listChangesByType(String, long)}.
+     */
+    public long getTimestamp() {
+      return timestamp;
+    }
+
+    /**
+     * Indicates whether {@link #getChangedAccounts()} contains every stored account of the
+     * requested type, in which case any previously loaded account not present should be removed.
+     */
+    public boolean isSnapshot() {
+      return snapshot;
+    }
+  }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import com.google.common.hash.Hashing;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A size-bounded cache on local disk of the content of artifacts whose reference can only ever
+ * resolve to the same content, such as a GCS object generation or a git commit. Which artifacts
+ * qualify is decided by {@link
+ * com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactCredentials#getContentCacheKey}.
+ *
+ * <p>Each artifact is stored in a file named by the hash of its account and content key. Concurrent
+ * misses for the same artifact share a single download, and once the cache grows past its maximum
+ * size the least recently used files are deleted. Cached content is handed out as an open {@link
+ * FileChannel}, so that it remains readable if its file is evicted in the meantime.
+ */
+@Component
+@Slf4j
+public class ArtifactDownloadCache {
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final boolean enabled;
+  private final Path directory;
+  private final long maxBytes;
+  private final Registry registry;
+  private final Id requestsId;
+  private final Counter bytesSaved;
+
+  /** The size of each cached file, from least to most recently used. Guarded by this. */
+  private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long sizeBytes;
+  private final ConcurrentMap<String, CompletableFuture<Void>> downloads =
+      new ConcurrentHashMap<>();
+
+  @Autowired
+  public ArtifactDownloadCache(ArtifactDownloadCacheProperties properties, Registry registry) {
+    this.directory =
+        properties.getDirectory() != null
+            ? Paths.get(properties.getDirectory())
+            : Paths.get(System.getProperty("java.io.tmpdir"), "clouddriver-artifact-cache");
+    this.maxBytes = properties.getMaxSize().toBytes();
+    this.registry = registry;
+    this.requestsId = registry.createId("artifacts.downloadCache.requests");
+    this.bytesSaved = registry.counter("artifacts.downloadCache.bytesSaved");
+    PolledMeter.using(registry)
+        .withName("artifacts.downloadCache.size")
+        .monitorValue(this, ArtifactDownloadCache::getSizeBytes);
+
+    boolean ready = false;
+    if (properties.isEnabled()) {
+      try {
+        loadEntries();
+        ready = true;
+      } catch (IOException e) {
+        log.warn(
+            "Failed to initialize the artifact download cache in {}, disabling it", directory, e);
+      }
+    }
+    this.enabled = ready;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  /**
+   * Opens the cached content of an artifact, calling the source to download it on a miss. The
+   * caller is responsible for closing the returned channel.
+   *
+   * @param account identifies the account the artifact is downloaded with, as accounts may not all
+   *     have access to the same content
+   * @param contentKey identifies the content of the artifact within the account
+   */
+  public FileChannel open(String account, String contentKey, Source source) throws IOException {
+    String key =
+        Hashing.sha256()
+            .hashString(account + "\n" + contentKey, StandardCharsets.UTF_8)
+            .toString();
+    FileChannel cached = openCached(key);
+    if (cached != null) {
+      recordSaved("hit", cached.size());
+      return cached;
+    }
+
+    CompletableFuture<Void> download = new CompletableFuture<>();
+    CompletableFuture<Void> inProgress = downloads.putIfAbsent(key, download);
+    if (inProgress != null) {
+      try {
+        inProgress.join();
+      } catch (CompletionException | CancellationException e) {
+        // The other download failed; try again below
+      }
+      cached = openCached(key);
+      if (cached != null) {
+        recordSaved("coalesced", cached.size());
+        return cached;
+      }
+      registry.counter(requestsId.withTag("result", "miss")).increment();
+      return fetch(key, source);
+    }
+
+    try {
+      cached = openCached(key);
+      if (cached != null) {
+        recordSaved("hit", cached.size());
+      } else {
+        registry.counter(requestsId.withTag("result", "miss")).increment();
+        cached = fetch(key, source);
+      }
+      download.complete(null);
+      return cached;
+    } catch (IOException | RuntimeException e) {
+      download.completeExceptionally(e);
+      throw e;
+    } finally {
+      downloads.remove(key, download);
+    }
+  }
+
+  private void recordSaved(String result, long bytes) {
+    registry.counter(requestsId.withTag("result", result)).increment();
+    bytesSaved.increment(bytes);
+  }
+
+  private synchronized FileChannel openCached(String key) throws IOException {
+    Long size = entries.get(key);
+    if (size == null) {
+      return null;
+    }
+    try {
+      return FileChannel.open(directory.resolve(key), StandardOpenOption.READ);
+    } catch (NoSuchFileException e) {
+      log.warn("Cached artifact {} was deleted from {}", key, directory);
+      entries.remove(key);
+      sizeBytes -= size;
+      return null;
+    }
+  }
+
+  private FileChannel fetch(String key, Source source) throws IOException {
+    Path temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+    try {
+      try (InputStream content = source.open()) {
+        Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+      }
+      Path file = directory.resolve(key);
+      synchronized (this) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        Long previousSize = entries.put(key, channel.size());
+        sizeBytes += channel.size() - (previousSize != null ? previousSize : 0);
+        // An artifact larger than the whole cache is evicted right away, but stays readable
+        // through the channel that was just opened
+        evict();
+        return channel;
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** Deletes the least recently used files until the cache fits within its maximum size. */
+  private synchronized void evict() throws IOException {
+    Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+    while (sizeBytes > maxBytes && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      iterator.remove();
+      sizeBytes -= eldest.getValue();
+      Files.deleteIfExists(directory.resolve(eldest.getKey()));
+    }
+  }
+
+  /** Picks up the files cached by a previous process, most recently modified last. */
+  private synchronized void loadEntries() throws IOException {
+    Files.createDirectories(directory);
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    files.sort(Comparator.comparingLong(file -> file.toFile().lastModified()));
+    for (Path file : files) {
+      if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+        // Left behind by a download that was interrupted
+        Files.deleteIfExists(file);
+        continue;
+      }
+      long size = Files.size(file);
+      entries.put(file.getFileName().toString(), size);
+      sizeBytes += size;
+    }
+    evict();
+  }
+
+  /** Downloads the content of an artifact. */
+  @FunctionalInterface
+  public interface Source {
+    InputStream open() throws IOException;
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties("artifacts.download-cache")
+public class ArtifactDownloadCacheProperties {
+  private boolean enabled = false;
+
+  /** Where cached artifacts are stored; defaults to a directory under java.io.tmpdir. */
+  private String directory;
+
+  /** The least recently used artifacts are deleted once the cache grows past this size. */
+  private DataSize maxSize = DataSize.ofGigabytes(1);
+}
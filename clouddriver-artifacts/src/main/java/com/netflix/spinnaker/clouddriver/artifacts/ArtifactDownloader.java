@@ -17,11 +17,16 @@
 
 package com.netflix.spinnaker.clouddriver.artifacts;
 
+import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactCredentials;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.kork.exceptions.MissingCredentialsException;
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -29,14 +34,49 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class ArtifactDownloader {
   private final ArtifactCredentialsRepository artifactCredentialsRepository;
+  private final ArtifactDownloadCache downloadCache;
 
   public InputStream download(Artifact artifact) throws IOException {
+    ArtifactCredentials credentials = getCredentials(artifact);
+    Optional<FileChannel> cached = openCached(credentials, artifact);
+    if (cached.isPresent()) {
+      return Channels.newInputStream(cached.get());
+    }
+    return credentials.download(artifact);
+  }
+
+  /**
+   * Writes the content of the artifact to the stream. Content that is in the download cache is read
+   * from the cached file rather than downloaded again.
+   */
+  public void download(Artifact artifact, OutputStream outputStream) throws IOException {
+    try (InputStream artifactStream = download(artifact)) {
+      artifactStream.transferTo(outputStream);
+    }
+  }
+
+  private ArtifactCredentials getCredentials(Artifact artifact) {
     try {
-      return artifactCredentialsRepository
-          .getCredentialsForType(artifact.getArtifactAccount(), artifact.getType())
-          .download(artifact);
+      return artifactCredentialsRepository.getCredentialsForType(
+          artifact.getArtifactAccount(), artifact.getType());
     } catch (MissingCredentialsException e) {
       throw new NotFoundException(e);
     }
   }
+
+  private Optional<FileChannel> openCached(ArtifactCredentials credentials, Artifact artifact)
+      throws IOException {
+    if (!downloadCache.isEnabled()) {
+      return Optional.empty();
+    }
+    Optional<String> contentKey = credentials.getContentCacheKey(artifact);
+    if (contentKey.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        downloadCache.open(
+            credentials.getType() + "/" + credentials.getName(),
+            contentKey.get(),
+            () -> credentials.download(artifact)));
+  }
 }
@@ -46,6 +46,17 @@ public interface ArtifactCredentials extends Credentials {
    */
   InputStream download(Artifact artifact) throws IOException;
 
+  /**
+   * Returns a key that identifies the content of the artifact if its reference can only ever
+   * resolve to the same content, such as a specific object generation or commit, so that the
+   * content may be cached.
+   *
+   * @return the key, or empty if the content the artifact refers to may change
+   */
+  default Optional<String> getContentCacheKey(Artifact artifact) {
+    return Optional.empty();
+  }
+
   default Optional<String> resolveArtifactName(Artifact artifact) {
     return Optional.ofNullable(artifact.getName());
   }
@@ -79,6 +79,22 @@ public class GcsArtifactCredentials implements ArtifactCredentials {
             .build();
   }
 
+  /** References that pin an object generation, as in {@code gs://bucket/path#123}, never change. */
+  @Override
+  public Optional<String> getContentCacheKey(Artifact artifact) {
+    String reference = artifact.getReference();
+    int pound = reference.lastIndexOf("#");
+    if (pound < 0 || pound < reference.lastIndexOf("/")) {
+      return Optional.empty();
+    }
+    try {
+      Long.parseLong(reference.substring(pound + 1));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+    return Optional.of(reference);
+  }
+
   public InputStream download(Artifact artifact) throws IOException {
     String reference = artifact.getReference();
     Long generation = null;
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.Getter;
@@ -38,6 +39,7 @@ import org.jetbrains.annotations.NotNull;
 public class GitRepoArtifactCredentials implements ArtifactCredentials {
   public static final String CREDENTIALS_TYPE = "git/repo";
   private static final Pattern GENERIC_URL_PATTERN = Pattern.compile("^.*/(.*)$");
+  private static final Pattern COMMIT_SHA = Pattern.compile("^[0-9a-fA-F]{40}$");
 
   @Getter private final ImmutableList<String> types = ImmutableList.of("git/repo");
   @Getter private final String name;
@@ -78,6 +80,16 @@ public class GitRepoArtifactCredentials implements ArtifactCredentials {
     }
   }
 
+  /** Archives of a full commit SHA never change; branches and tags may move. */
+  @Override
+  public Optional<String> getContentCacheKey(Artifact artifact) {
+    String version = artifactVersion(artifact);
+    if (!COMMIT_SHA.matcher(version).matches()) {
+      return Optional.empty();
+    }
+    return Optional.of(artifact.getReference() + "@" + version + ":" + artifactSubPath(artifact));
+  }
+
   @NotNull
   private FileInputStream getLockedInputStream(
       String repoUrl,
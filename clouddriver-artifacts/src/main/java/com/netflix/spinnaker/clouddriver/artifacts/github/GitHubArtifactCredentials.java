@@ -32,6 +32,8 @@ import com.squareup.okhttp.HttpUrl;
 import com.squareup.okhttp.OkHttpClient;
 import com.squareup.okhttp.ResponseBody;
 import java.io.IOException;
+import java.util.Optional;
+import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import lombok.Data;
 import lombok.Getter;
@@ -42,6 +44,7 @@ import lombok.extern.slf4j.Slf4j;
 public class GitHubArtifactCredentials extends SimpleHttpArtifactCredentials<GitHubArtifactAccount>
     implements ArtifactCredentials {
   public static final String CREDENTIALS_TYPE = "artifacts-github";
+  private static final Pattern COMMIT_SHA = Pattern.compile("^[0-9a-fA-F]{40}$");
   @Getter private final String name;
   @Getter private final ImmutableList<String> types = ImmutableList.of("github/file");
 
@@ -70,6 +73,15 @@ public class GitHubArtifactCredentials extends SimpleHttpArtifactCredentials<Git
     return headers;
   }
 
+  /** Files at a full commit SHA never change; branches and tags may move. */
+  @Override
+  public Optional<String> getContentCacheKey(Artifact artifact) {
+    if (!COMMIT_SHA.matcher(Strings.nullToEmpty(artifact.getVersion())).matches()) {
+      return Optional.empty();
+    }
+    return Optional.of(getMetadataUrl(artifact).toString());
+  }
+
   private HttpUrl getMetadataUrl(Artifact artifact) {
     String version = Strings.nullToEmpty(artifact.getVersion());
     if (version.isEmpty()) {
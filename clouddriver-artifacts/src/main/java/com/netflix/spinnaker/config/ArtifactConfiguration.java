@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.config;
 
 import com.netflix.spinnaker.clouddriver.artifacts.ArtifactCredentialsRepository;
+import com.netflix.spinnaker.clouddriver.artifacts.ArtifactDownloadCacheProperties;
 import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactAccount;
 import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactCredentials;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
@@ -34,7 +35,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.stereotype.Component;
 
 @Configuration
-@EnableConfigurationProperties
+@EnableConfigurationProperties(ArtifactDownloadCacheProperties.class)
 @EnableScheduling
 @Component
 @ComponentScan("com.netflix.spinnaker.clouddriver.artifacts")
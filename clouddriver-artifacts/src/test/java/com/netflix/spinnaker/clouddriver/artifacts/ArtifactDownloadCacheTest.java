@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+final class ArtifactDownloadCacheTest {
+  @TempDir Path directory;
+
+  private final Registry registry = new DefaultRegistry();
+
+  @Test
+  void servesRepeatedDownloadsFromDisk() throws IOException {
+    ArtifactDownloadCache cache = cache(DataSize.ofKilobytes(1));
+    AtomicInteger downloads = new AtomicInteger();
+
+    assertThat(read(cache.open("account", "key", source("content", downloads))))
+        .isEqualTo("content");
+    assertThat(read(cache.open("account", "key", source("content", downloads))))
+        .isEqualTo("content");
+    assertThat(read(cache.open("other-account", "key", source("other", downloads))))
+        .isEqualTo("other");
+
+    assertThat(downloads).hasValue(2);
+    assertThat(registry.counter("artifacts.downloadCache.bytesSaved").count()).isEqualTo(7);
+    assertThat(
+            registry
+                .counter(
+                    registry
+                        .createId("artifacts.downloadCache.requests")
+                        .withTag("result", "hit"))
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedArtifacts() throws IOException {
+    ArtifactDownloadCache cache = cache(DataSize.ofBytes(10));
+    AtomicInteger downloads = new AtomicInteger();
+
+    read(cache.open("account", "first", source("aaaa", downloads)));
+    read(cache.open("account", "second", source("bbbb", downloads)));
+    read(cache.open("account", "first", source("aaaa", downloads)));
+    read(cache.open("account", "third", source("cccc", downloads)));
+    assertThat(downloads).hasValue(3);
+    assertThat(cache.getSizeBytes()).isEqualTo(8);
+
+    read(cache.open("account", "first", source("aaaa", downloads)));
+    assertThat(downloads).hasValue(3);
+    read(cache.open("account", "second", source("bbbb", downloads)));
+    assertThat(downloads).hasValue(4);
+  }
+
+  @Test
+  void servesArtifactsLargerThanTheCache() throws IOException {
+    ArtifactDownloadCache cache = cache(DataSize.ofBytes(4));
+    AtomicInteger downloads = new AtomicInteger();
+
+    assertThat(read(cache.open("account", "key", source("too large", downloads))))
+        .isEqualTo("too large");
+    assertThat(cache.getSizeBytes()).isZero();
+  }
+
+  @Test
+  void sharesConcurrentDownloads() throws Exception {
+    ArtifactDownloadCache cache = cache(DataSize.ofKilobytes(1));
+    AtomicInteger downloads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ArtifactDownloadCache.Source slowSource =
+        () -> {
+          downloads.incrementAndGet();
+          try {
+            release.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            throw new IOException(e);
+          }
+          return new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8));
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> first = executor.submit(() -> read(cache.open("account", "key", slowSource)));
+      Future<String> second = executor.submit(() -> read(cache.open("account", "key", slowSource)));
+      Thread.sleep(200);
+      release.countDown();
+
+      assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("content");
+      assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("content");
+      assertThat(downloads).hasValue(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ArtifactDownloadCache cache(DataSize maxSize) {
+    ArtifactDownloadCacheProperties properties = new ArtifactDownloadCacheProperties();
+    properties.setEnabled(true);
+    properties.setDirectory(directory.toString());
+    properties.setMaxSize(maxSize);
+    return new ArtifactDownloadCache(properties, registry);
+  }
+
+  private static ArtifactDownloadCache.Source source(String content, AtomicInteger downloads) {
+    return () -> {
+      downloads.incrementAndGet();
+      return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    };
+  }
+
+  private static String read(FileChannel channel) throws IOException {
+    try (InputStream in = Channels.newInputStream(channel)) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -53,6 +53,10 @@ import com.netflix.spinnaker.clouddriver.cache.OnDemandAgent
 import com.netflix.spinnaker.clouddriver.cache.OnDemandMetricsSupport
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.cache.OnDemandType
+import com.netflix.spinnaker.clouddriver.model.NoopServerGroupCapacityHistory
+import com.netflix.spinnaker.clouddriver.model.ServerGroup
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacityHistory
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacitySample
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
@@ -92,6 +96,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
   final Registry registry
   final EddaTimeoutConfig eddaTimeoutConfig
   final AmazonCachingAgentFilter amazonCachingAgentFilter
+  final ServerGroupCapacityHistory capacityHistory
 
   final OnDemandMetricsSupport metricsSupport
 
@@ -102,7 +107,8 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
                       ObjectMapper objectMapper,
                       Registry registry,
                       EddaTimeoutConfig eddaTimeoutConfig,
-                      AmazonCachingAgentFilter amazonCachingAgentFilter) {
+                      AmazonCachingAgentFilter amazonCachingAgentFilter,
+                      ServerGroupCapacityHistory capacityHistory = new NoopServerGroupCapacityHistory()) {
     this.amazonCloudProvider = amazonCloudProvider
     this.amazonClientProvider = amazonClientProvider
     this.account = account
@@ -112,6 +118,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     this.eddaTimeoutConfig = eddaTimeoutConfig
     this.metricsSupport = new OnDemandMetricsSupport(registry, this, "${amazonCloudProvider.id}:${OnDemandType.ServerGroup}")
     this.amazonCachingAgentFilter = amazonCachingAgentFilter
+    this.capacityHistory = capacityHistory
   }
 
   @Override
@@ -228,11 +235,12 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     def cacheResult = metricsSupport.transformData {
       buildCacheResult(onDemandData.asgs, onDemandData.scalingPolicies, onDemandData.scheduledActions, onDemandData.subnetMap, [:], [])
     }
+    recordCapacity(onDemandData.asgs)
     def cacheResultAsJson = objectMapper.writeValueAsString(cacheResult.cacheResults)
 
     if (cacheResult.cacheResults.values().flatten().isEmpty()) {
       // avoid writing an empty onDemand cache record (instead delete any that may have previously existed)
-      providerCache.evictDeletedItems(ON_DEMAND.ns, [Keys.getServerGroupKey(serverGroupName, account.name, region)])
+      providerCache.evictOnDemandCacheData(agentType, ON_DEMAND.ns, [Keys.getServerGroupKey(serverGroupName, account.name, region)])
     } else {
       metricsSupport.onDemandStore {
         def cacheData = new DefaultCacheData(
@@ -245,7 +253,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
           [:]
         )
 
-        providerCache.putCacheData(ON_DEMAND.ns, cacheData)
+        providerCache.putOnDemandCacheData(agentType, ON_DEMAND.ns, cacheData)
       }
     }
 
@@ -431,11 +439,9 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     def usableOnDemandCacheDatas = []
 
     def serverGroupKeys = asgs.collect { Keys.getServerGroupKey(it.autoScalingGroupName, account.name, region) } as Set<String>
-    def pendingOnDemandRequestKeys = providerCache
-      .filterIdentifiers(ON_DEMAND.ns, Keys.getServerGroupKey("*", "*", account.name, region))
-      .findAll { serverGroupKeys.contains(it) }
-
-    def pendingOnDemandRequestsForServerGroups = providerCache.getAll(ON_DEMAND.ns, pendingOnDemandRequestKeys)
+    def pendingOnDemandRequestsForServerGroups = providerCache
+      .getOnDemandCacheData(agentType, ON_DEMAND.ns, Keys.getServerGroupKey("*", "*", account.name, region))
+      .findAll { serverGroupKeys.contains(it.id) }
     pendingOnDemandRequestsForServerGroups.each {
       if (it.attributes.cacheTime < start && it.attributes.processedCount > 0) {
         if (account.eddaEnabled && !eddaTimeoutConfig.disabledRegions.contains(region)) {
@@ -459,6 +465,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
 
     CacheResult result = buildCacheResult(asgs, scalingPolicies, scheduledActions, getSubnetToVpcIdMap(clients), usableOnDemandCacheDatas.collectEntries { [it.id, it] }, evictableOnDemandCacheDatas*.id)
     recordDrift(start)
+    recordCapacity(asgs)
     def cacheResults = result.cacheResults
     log.debug("Caching ${cacheResults[APPLICATIONS.ns]?.size()} applications in ${agentType}")
     log.debug("Caching ${cacheResults[CLUSTERS.ns]?.size()} clusters in ${agentType}")
@@ -482,7 +489,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
 
   @Override
   Collection<Map<String, Object>> pendingOnDemandRequests(ProviderCache providerCache) {
-    def keys = providerCache.filterIdentifiers(ON_DEMAND.ns, Keys.getServerGroupKey("*", "*", account.name, region))
+    def keys = providerCache.getOnDemandIdentifiers(agentType, ON_DEMAND.ns, Keys.getServerGroupKey("*", "*", account.name, region))
     return fetchPendingOnDemandRequests(providerCache, keys)
   }
 
@@ -647,6 +654,43 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     }
   }
 
+  private void recordCapacity(Collection<AutoScalingGroup> asgs) {
+    long now = System.currentTimeMillis()
+    try {
+      capacityHistory.record(account.name, region, asgs.collectEntries { asg ->
+        [(asg.autoScalingGroupName): new ServerGroupCapacitySample(
+          now,
+          new ServerGroup.Capacity(asg.minSize, asg.maxSize, asg.desiredCapacity),
+          instanceCounts(asg.instances)
+        )]
+      } as Map<String, ServerGroupCapacitySample>)
+    } catch (Exception e) {
+      log.warn("Failed to record the capacity of server groups in ${agentType}", e)
+    }
+  }
+
+  /**
+   * Counts instances by their health as seen by the auto scaling group, which is all that is known
+   * when caching it; discovery and load balancer health are merged in by the cluster provider.
+   */
+  private static ServerGroup.InstanceCounts instanceCounts(Collection<Instance> instances) {
+    def counts = new ServerGroup.InstanceCounts(instances.size(), 0, 0, 0, 0, 0)
+    instances.each { instance ->
+      if (instance.healthStatus == "Unhealthy") {
+        counts.down++
+      } else if (instance.lifecycleState?.startsWith("Pending")) {
+        counts.starting++
+      } else if (instance.lifecycleState == "InService") {
+        counts.up++
+      } else if (instance.lifecycleState ==~ /(Entering)?Standby|Terminating.*|Detach.*/) {
+        counts.outOfService++
+      } else {
+        counts.unknown++
+      }
+    }
+    counts
+  }
+
   private void cacheLaunchConfig(AsgData data, Map<String, CacheData> launchConfigs) {
     if (data.launchConfig) {
       launchConfigs[data.launchConfig].with {
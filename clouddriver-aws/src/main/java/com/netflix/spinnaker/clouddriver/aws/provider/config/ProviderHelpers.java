@@ -35,6 +35,8 @@ import com.netflix.spinnaker.clouddriver.aws.provider.view.AmazonS3DataProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.EddaTimeoutConfig;
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
+import com.netflix.spinnaker.clouddriver.model.NoopServerGroupCapacityHistory;
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacityHistory;
 import com.netflix.spinnaker.clouddriver.security.ProviderUtils;
 import com.netflix.spinnaker.config.AwsConfiguration;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
@@ -117,6 +119,11 @@ public class ProviderHelpers {
       AmazonS3DataProvider amazonS3DataProvider,
       Set<String> publicRegions) {
     Set<String> scheduledAccounts = ProviderUtils.getScheduledAccounts(awsProvider);
+    ServerGroupCapacityHistory capacityHistory =
+        ctx != null
+            ? ctx.getBeanProvider(ServerGroupCapacityHistory.class)
+                .getIfAvailable(NoopServerGroupCapacityHistory::new)
+            : new NoopServerGroupCapacityHistory();
     List<Agent> newlyAddedAgents = new ArrayList<>();
     newlyAddedAgents.add(new ClusterCleanupAgent());
     for (NetflixAmazonCredentials.AWSRegion region : credentials.getRegions()) {
@@ -130,7 +137,8 @@ public class ProviderHelpers {
                 objectMapper,
                 registry,
                 eddaTimeoutConfig,
-                amazonCachingAgentFilter));
+                amazonCachingAgentFilter,
+                capacityHistory));
         newlyAddedAgents.add(
             new LaunchConfigCachingAgent(
                 amazonClientProvider, credentials, region.getName(), objectMapper, registry));
@@ -37,6 +37,10 @@ import groovy.transform.Canonical
 import groovy.transform.CompileStatic
 import groovy.util.logging.Slf4j
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.stream.Collectors
 
 @Slf4j
@@ -90,52 +94,77 @@ public class AzureComputeClient extends AzureBaseClient {
    * @return List of AzureVMImages
    */
   List<AzureVMImage> getVMImagesAll(String location) {
-    def result = [] as List<AzureVMImage>
+    ExecutorService executor = Executors.newSingleThreadExecutor()
+    try {
+      return getVMImagesAll(location, [], [:], executor)
+    } finally {
+      executor.shutdown()
+    }
+  }
+
+  /**
+   * Return list of available VM images, listing the offers, SKUs and image versions of the catalogue concurrently.
+   * Each level of the catalogue is listed in full before the next one, so tasks on the executor never wait on one
+   * another.
+   * @param location - filter for images to given location
+   * @param publisherNames - only crawl these publishers, or every publisher when empty
+   * @param knownImages - images that are still current, by "publisher/offer/sku"; the versions of these SKUs are not
+   *   listed again
+   * @param executor - runs the listing calls
+   * @return List of AzureVMImages
+   */
+  List<AzureVMImage> getVMImagesAll(String location,
+                                    Collection<String> publisherNames,
+                                    Map<String, List<AzureVMImage>> knownImages,
+                                    ExecutorService executor) {
+    List<AzureVMImage> result = []
     try {
       List<VirtualMachinePublisher> publishers = executeOp({
         azure.virtualMachineImages()
           .publishers()
           .listByRegion(location)
           .asList()
-      })
-
-
+      }) ?: []
+      if (publisherNames) {
+        Set<String> included = publisherNames.collect { it.toLowerCase() } as Set<String>
+        publishers = publishers.findAll { included.contains(it.name().toLowerCase()) }
+      }
       log.info("getVMImagesAll-> Found ${publishers.size()} publisher items in azure/${location}")
 
-      publishers?.each { publisher ->
-        List<VirtualMachineOffer> offers = executeOp({
-          publisher.offers().list().asList()
-        })
-        log.info("getVMImagesAll-> Found ${offers.size()} offer items for ${publisher} in azure/${location}")
-
-        offers?.each { offer ->
-          List<VirtualMachineSku> skus = executeOp({
-            offer.skus().list().asList()
-          })
-          log.info("getVMImagesAll-> Found ${skus.size()} SKU items for ${publisher}/${offer} in azure/${location}")
-
-          skus?.each { sku ->
-            // Add a try/catch here in order to avoid an all-or-nothing return
-            try {
-              List<VirtualMachineImage> images = executeOp({
-                sku.images().list().asList()
-              })
-              log.info("getVMImagesAll-> Found ${skus.size()} version items for ${publisher}/${offer}/${sku} in azure/${location}")
-
-              images?.each { image ->
-                result += new AzureVMImage(
-                  publisher: publisher.name(),
-                  offer: offer.name(),
-                  sku: sku.name(),
-                  version: image.version())
-              }
-            }
-            catch (Exception e) {
-              log.info("getVMImagesAll -> Unexpected exception " + e.toString())
-            }
-          }
+      List<VirtualMachineOffer> offers = listAll(executor, publishers) { VirtualMachinePublisher publisher ->
+        executeOp({ publisher.offers().list().asList() })
+      }
+      log.info("getVMImagesAll-> Found ${offers.size()} offer items in azure/${location}")
+
+      List<VirtualMachineSku> skus = listAll(executor, offers) { VirtualMachineOffer offer ->
+        executeOp({ offer.skus().list().asList() })
+      }
+      List<VirtualMachineSku> unknownSkus = []
+      skus.each { sku ->
+        List<AzureVMImage> known = knownImages.get(skuKey(sku))
+        if (known != null) {
+          result.addAll(known)
+        } else {
+          unknownSkus.add(sku)
         }
       }
+      log.info("getVMImagesAll-> Found ${skus.size()} SKU items in azure/${location}, listing versions of ${unknownSkus.size()}")
+
+      result.addAll(listAll(executor, unknownSkus) { VirtualMachineSku sku ->
+        // Add a try/catch here in order to avoid an all-or-nothing return
+        try {
+          executeOp({ sku.images().list().asList() })?.collect { VirtualMachineImage image ->
+            new AzureVMImage(
+              publisher: sku.offer().publisher().name(),
+              offer: sku.offer().name(),
+              sku: sku.name(),
+              version: image.version())
+          }
+        } catch (Exception e) {
+          log.info("getVMImagesAll -> Unexpected exception " + e.toString())
+          return [] as List<AzureVMImage>
+        }
+      })
     }
     catch (Exception e) {
       log.error("getVMImagesAll -> Unexpected exception ", e)
@@ -144,6 +173,31 @@ public class AzureComputeClient extends AzureBaseClient {
     result
   }
 
+  /**
+   * Identifies the SKU of an image within a location's catalogue.
+   */
+  static String skuKey(String publisher, String offer, String sku) {
+    "${publisher}/${offer}/${sku}".toString()
+  }
+
+  private static String skuKey(VirtualMachineSku sku) {
+    skuKey(sku.offer().publisher().name(), sku.offer().name(), sku.name())
+  }
+
+  private static <T, R> List<R> listAll(ExecutorService executor, Collection<T> items, Closure<List<R>> list) {
+    List<Future<List<R>>> futures = items.collect { T item ->
+      executor.submit({ list.call(item) } as Callable<List<R>>)
+    }
+    List<R> result = []
+    futures.each { Future<List<R>> future ->
+      List<R> listed = future.get()
+      if (listed) {
+        result.addAll(listed)
+      }
+    }
+    result
+  }
+
   VirtualMachineImage getVMImage(String location, String publisher, String offer, String skus, String version) {
     executeOp({
       azure.virtualMachineImages()
@@ -41,5 +41,21 @@ class AzureConfigurationProperties {
     Permissions.Builder permissions = new Permissions.Builder()
   }
 
+  /**
+   * Controls caching of the marketplace image catalogue, which is crawled per account and region.
+   */
+  @ToString(includeNames = true)
+  static class VMImageCatalogue {
+    boolean enabled = false
+    // number of concurrent listing calls made while crawling a region
+    int threads = 8
+    // only crawl these publishers, or every publisher when empty
+    List<String> publishers = []
+    // how long the image versions of a SKU are reused before they are listed again
+    long skuRefreshIntervalMinutes = 1440
+  }
+
   List<ManagedAccount> accounts = []
+
+  VMImageCatalogue vmImageCatalogue = new VMImageCatalogue()
 }
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.clouddriver.azure.AzureCloudProvider
+import com.netflix.spinnaker.clouddriver.azure.config.AzureConfigurationProperties
 import com.netflix.spinnaker.clouddriver.azure.resources.appgateway.cache.AzureAppGatewayCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.loadbalancer.cache.AzureLoadBalancerCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.network.cache.AzureNetworkCachingAgent
@@ -27,6 +28,7 @@ import com.netflix.spinnaker.clouddriver.azure.resources.securitygroup.cache.Azu
 import com.netflix.spinnaker.clouddriver.azure.resources.servergroup.cache.AzureServerGroupCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache.AzureCustomImageCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache.AzureManagedImageCachingAgent
+import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache.AzureVMImageCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.security.AzureNamedAccountCredentials
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsRepository
 import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.provider.AzureInfrastructureProvider
@@ -46,14 +48,16 @@ class AzureInfrastructureProviderConfig {
   AzureInfrastructureProvider azureInfrastructureProvider(AzureCloudProvider azureCloudProvider,
                                                             AccountCredentialsRepository accountCredentialsRepository,
                                                             ObjectMapper objectMapper,
-                                                            Registry registry) {
+                                                            Registry registry,
+                                                            AzureConfigurationProperties azureConfigurationProperties) {
     def azureInfrastructureProvider = new AzureInfrastructureProvider(azureCloudProvider,Collections.newSetFromMap(new ConcurrentHashMap<Agent, Boolean>()))
 
     synchronizeAzureInfrastructureProvider(azureInfrastructureProvider,
                                            azureCloudProvider,
                                            accountCredentialsRepository,
                                            objectMapper,
-                                           registry)
+                                           registry,
+                                           azureConfigurationProperties.vmImageCatalogue)
 
     azureInfrastructureProvider
   }
@@ -62,7 +66,8 @@ class AzureInfrastructureProviderConfig {
                                                              AzureCloudProvider azureCloudProvider,
                                                              AccountCredentialsRepository accountCredentialsRepository,
                                                              ObjectMapper objectMapper,
-                                                             Registry registry) {
+                                                             Registry registry,
+                                                             AzureConfigurationProperties.VMImageCatalogue vmImageCatalogue) {
     def scheduledAccounts = ProviderUtils.getScheduledAccounts(azureInfrastructureProvider)
     def allAccounts = ProviderUtils.buildThreadSafeSetOfAccounts(accountCredentialsRepository, AzureNamedAccountCredentials)
 
@@ -75,7 +80,9 @@ class AzureInfrastructureProviderConfig {
           newlyAddedAgents << new AzureSecurityGroupCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper, registry)
           newlyAddedAgents << new AzureNetworkCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper)
 //          newlyAddedAgents << new AzureSubnetCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper)
-//          newlyAddedAgents << new AzureVMImageCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper)
+          if (vmImageCatalogue.enabled) {
+            newlyAddedAgents << new AzureVMImageCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper, vmImageCatalogue)
+          }
           newlyAddedAgents << new AzureCustomImageCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, creds.vmCustomImages, objectMapper)
           newlyAddedAgents << new AzureManagedImageCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name,  objectMapper)
 
@@ -80,8 +80,9 @@ class AzureServerGroupCachingAgent extends AzureCachingAgent {
       }
     }
 
-    Collection<String> keys = serverGroups.collect {Keys.getServerGroupKey(AzureCloudProvider.ID, it.name, region, accountName ) }
-    def onDemandCacheResults = providerCache.getAll(AZURE_ON_DEMAND.ns, keys, RelationshipCacheFilter.none())
+    Set<String> keys = serverGroups.collect {Keys.getServerGroupKey(AzureCloudProvider.ID, it.name, region, accountName ) } as Set
+    def onDemandCacheResults = providerCache.getOnDemandCacheData(agentType, AZURE_ON_DEMAND.ns, onDemandKeyPattern, RelationshipCacheFilter.none())
+      .findAll { keys.contains(it.id) }
 
     def (evictions, usableOnDemandCacheData) = parseOnDemandCache(onDemandCacheResults, start)
     def result = buildCacheResult(providerCache, serverGroups, usableOnDemandCacheData, evictions)
@@ -170,14 +171,14 @@ class AzureServerGroupCachingAgent extends AzureCachingAgent {
     ] as Set)
   }
 
+  // matches the keys of the server groups of this agent's account and region
+  private String getOnDemandKeyPattern() {
+    Keys.getServerGroupKey(AzureCloudProvider.ID, "*", region, accountName)
+  }
+
   @Override
   Collection<Map> pendingOnDemandRequests(ProviderCache providerCache) {
-    def keys = providerCache.getIdentifiers(AZURE_ON_DEMAND.ns)
-    keys = keys.findAll {
-      def key = Keys.parse(azureCloudProvider, it)
-      key.type == AZURE_SERVER_GROUPS.ns && key.account == accountName && key.region == region
-    }
-    return providerCache.getAll(AZURE_ON_DEMAND.ns, keys, RelationshipCacheFilter.none()).collect {
+    return providerCache.getOnDemandCacheData(agentType, AZURE_ON_DEMAND.ns, onDemandKeyPattern, RelationshipCacheFilter.none()).collect {
       def details = Keys.parse(azureCloudProvider, it.id);
 
       return [
@@ -225,7 +226,7 @@ class AzureServerGroupCachingAgent extends AzureCachingAgent {
       // If the server group is gone from Azure then remove it from the OnDemand Cache
       // and add it to the evicted cache so that the primary loop (loadData) will (hopefully) not
       // try to put it back
-      providerCache.evictDeletedItems(AZURE_ON_DEMAND.ns, [serverGroupKey])
+      providerCache.evictOnDemandCacheData(agentType, AZURE_ON_DEMAND.ns, [serverGroupKey])
       def cacheData = new DefaultCacheData(serverGroupKey,
         10*60,
         [evictionTime     : System.currentTimeMillis()],
@@ -248,7 +249,7 @@ class AzureServerGroupCachingAgent extends AzureCachingAgent {
           ],
           [:]
         )
-        providerCache.putCacheData(AZURE_ON_DEMAND.ns, cacheData)
+        providerCache.putOnDemandCacheData(agentType, AZURE_ON_DEMAND.ns, cacheData)
       }
     }
 
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spinnaker.cats.agent.AccountAware
 import com.netflix.spinnaker.cats.agent.AgentDataType
 import com.netflix.spinnaker.cats.agent.CacheResult
@@ -26,6 +27,8 @@ import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.DefaultCacheData
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.clouddriver.azure.AzureCloudProvider
+import com.netflix.spinnaker.clouddriver.azure.client.AzureComputeClient
+import com.netflix.spinnaker.clouddriver.azure.config.AzureConfigurationProperties
 import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.Keys
 import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.provider.AzureInfrastructureProvider
 import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.model.AzureVMImage
@@ -33,6 +36,8 @@ import com.netflix.spinnaker.clouddriver.azure.security.AzureCredentials
 import com.netflix.spinnaker.clouddriver.cache.CustomScheduledAgent
 import groovy.util.logging.Slf4j
 
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
@@ -51,6 +56,7 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
 
   final long pollIntervalMillis
   final long timeoutMillis
+  final AzureConfigurationProperties.VMImageCatalogue catalogue
 
   static final Set<AgentDataType> types = Collections.unmodifiableSet([
     AUTHORITATIVE.forType(Keys.Namespace.AZURE_VMIMAGES.ns)
@@ -61,7 +67,16 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
                            AzureCredentials creds,
                            String region,
                            ObjectMapper objectMapper) {
-    this(azureCloudProvider, accountName, creds, region, objectMapper, DEFAULT_POLL_INTERVAL_MILLIS, DEFAULT_TIMEOUT_MILLIS)
+    this(azureCloudProvider, accountName, creds, region, objectMapper, new AzureConfigurationProperties.VMImageCatalogue())
+  }
+
+  AzureVMImageCachingAgent(AzureCloudProvider azureCloudProvider,
+                           String accountName,
+                           AzureCredentials creds,
+                           String region,
+                           ObjectMapper objectMapper,
+                           AzureConfigurationProperties.VMImageCatalogue catalogue) {
+    this(azureCloudProvider, accountName, creds, region, objectMapper, DEFAULT_POLL_INTERVAL_MILLIS, DEFAULT_TIMEOUT_MILLIS, catalogue)
   }
 
   AzureVMImageCachingAgent(AzureCloudProvider azureCloudProvider,
@@ -71,6 +86,17 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
                            ObjectMapper objectMapper,
                            long pollIntervalMillis,
                            long timeoutMillis) {
+    this(azureCloudProvider, accountName, creds, region, objectMapper, pollIntervalMillis, timeoutMillis, new AzureConfigurationProperties.VMImageCatalogue())
+  }
+
+  AzureVMImageCachingAgent(AzureCloudProvider azureCloudProvider,
+                           String accountName,
+                           AzureCredentials creds,
+                           String region,
+                           ObjectMapper objectMapper,
+                           long pollIntervalMillis,
+                           long timeoutMillis,
+                           AzureConfigurationProperties.VMImageCatalogue catalogue) {
     this.azureCloudProvider = azureCloudProvider
     this.accountName = accountName
     this.creds = creds
@@ -78,6 +104,7 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
     this.objectMapper = objectMapper
     this.pollIntervalMillis = pollIntervalMillis
     this.timeoutMillis = timeoutMillis
+    this.catalogue = catalogue
   }
 
   @Override
@@ -104,10 +131,34 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
   CacheResult loadData(ProviderCache providerCache) {
     log.info("Describing items in ${agentType}")
 
-    def vmImages = creds.computeClient.getVMImagesAll(region)
+    // The version list of a SKU is reused from the previous crawl until it is due for a refresh, so each cycle only
+    // lists the versions of new SKUs and of a rolling share of the known ones
+    long now = System.currentTimeMillis()
+    Map<String, Long> crawledAtBySku = [:]
+    Map<String, List<AzureVMImage>> knownImages = [:]
+    loadCachedImages(providerCache).each { CacheData cacheData ->
+      AzureVMImage vmImage = objectMapper.convertValue(cacheData.attributes.vmimage, AzureVMImage)
+      long crawledAt = (cacheData.attributes.crawledAt ?: 0L) as long
+      String skuKey = AzureComputeClient.skuKey(vmImage.publisher, vmImage.offer, vmImage.sku)
+      if (now < crawledAt + refreshIntervalMillis(skuKey)) {
+        crawledAtBySku[skuKey] = crawledAt
+        knownImages.computeIfAbsent(skuKey, { [] }).add(vmImage)
+      }
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(
+      Math.max(1, catalogue.threads),
+      new ThreadFactoryBuilder().setNameFormat(AzureVMImageCachingAgent.simpleName + "-%d").setDaemon(true).build())
+    List<AzureVMImage> vmImages
+    try {
+      vmImages = creds.computeClient.getVMImagesAll(region, catalogue.publishers ?: [], knownImages, executor)
+    } finally {
+      executor.shutdownNow()
+    }
 
     List<CacheData> data = vmImages.collect() { AzureVMImage vmImage ->
-      Map<String, Object> attributes = [vmimage: vmImage]
+      String skuKey = AzureComputeClient.skuKey(vmImage.publisher, vmImage.offer, vmImage.sku)
+      Map<String, Object> attributes = [vmimage: vmImage, crawledAt: crawledAtBySku.getOrDefault(skuKey, now)]
       def vmImageName = "${vmImage.offer}-${vmImage.sku}"
       def vmImageVersion = "${vmImage.version}(${vmImage.publisher})"
       new DefaultCacheData(Keys.getVMImageKey(azureCloudProvider, accountName, region, vmImageName, vmImageVersion),
@@ -115,7 +166,23 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
         [:])
     }
 
-    log.info("Caching ${data.size()} items in ${agentType}")
+    log.info("Caching ${data.size()} items in ${agentType} (reused ${knownImages.size()} SKUs)")
     new DefaultCacheResult([(Keys.Namespace.AZURE_VMIMAGES.ns): data])
   }
+
+  private Collection<CacheData> loadCachedImages(ProviderCache providerCache) {
+    Collection<String> identifiers = providerCache.filterIdentifiers(
+      Keys.Namespace.AZURE_VMIMAGES.ns,
+      Keys.getVMImageKey(azureCloudProvider, accountName, region, "*", "*"))
+    identifiers ? providerCache.getAll(Keys.Namespace.AZURE_VMIMAGES.ns, identifiers) : []
+  }
+
+  /**
+   * Spreads the refresh of known SKUs over up to a tenth of the interval, so that SKUs first seen in the same crawl
+   * do not all fall due in the same later one.
+   */
+  private long refreshIntervalMillis(String skuKey) {
+    long intervalMillis = TimeUnit.MINUTES.toMillis(catalogue.skuRefreshIntervalMinutes)
+    intervalMillis - Math.floorMod(skuKey.hashCode(), Math.max(1L, intervalMillis.intdiv(10) as long))
+  }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.DefaultCacheData;
+import com.netflix.spinnaker.cats.provider.ProviderCache;
+import com.netflix.spinnaker.clouddriver.azure.AzureCloudProvider;
+import com.netflix.spinnaker.clouddriver.azure.client.AzureComputeClient;
+import com.netflix.spinnaker.clouddriver.azure.config.AzureConfigurationProperties;
+import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.Keys;
+import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.model.AzureVMImage;
+import com.netflix.spinnaker.clouddriver.azure.security.AzureCredentials;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AzureVMImageCachingAgentTest {
+
+  private static final String ACCOUNT = "my-account";
+  private static final String REGION = "eastus";
+  private static final String NAMESPACE = Keys.Namespace.AZURE_VMIMAGES.toString();
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  @DisplayName("Versions of recently crawled SKUs should be reused and expired SKUs listed again")
+  @SuppressWarnings("unchecked")
+  void shouldReuseRecentlyCrawledSkus() {
+    AzureCredentials azureCredentials = mock(AzureCredentials.class);
+    AzureComputeClient azureComputeClient = mock(AzureComputeClient.class);
+    when(azureCredentials.getComputeClient()).thenReturn(azureComputeClient);
+
+    AzureVMImage recent = image("18.04-LTS", "1.0.0");
+    AzureVMImage expired = image("20.04-LTS", "2.0.0");
+    long recentlyCrawledAt = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5);
+    long longAgoCrawledAt = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+
+    ProviderCache providerCache = mock(ProviderCache.class);
+    List<String> identifiers = List.of(key(recent), key(expired));
+    when(providerCache.filterIdentifiers(eq(NAMESPACE), anyString())).thenReturn(identifiers);
+    when(providerCache.getAll(NAMESPACE, identifiers))
+        .thenReturn(
+            List.of(
+                cacheData(recent, recentlyCrawledAt), cacheData(expired, longAgoCrawledAt)));
+    when(azureComputeClient.getVMImagesAll(
+            eq(REGION), any(Collection.class), any(Map.class), any(ExecutorService.class)))
+        .thenReturn(List.of(recent, expired));
+
+    AzureVMImageCachingAgent agent =
+        new AzureVMImageCachingAgent(
+            new AzureCloudProvider(),
+            ACCOUNT,
+            azureCredentials,
+            REGION,
+            MAPPER,
+            new AzureConfigurationProperties.VMImageCatalogue());
+    Collection<CacheData> cacheData =
+        agent.loadData(providerCache).getCacheResults().get(NAMESPACE);
+
+    ArgumentCaptor<Map<String, List<AzureVMImage>>> knownImages =
+        ArgumentCaptor.forClass(Map.class);
+    verify(azureComputeClient)
+        .getVMImagesAll(
+            eq(REGION), any(Collection.class), knownImages.capture(), any(ExecutorService.class));
+    assertThat(knownImages.getValue())
+        .containsOnlyKeys(AzureComputeClient.skuKey("Canonical", "UbuntuServer", "18.04-LTS"));
+
+    assertThat(cacheData).hasSize(2);
+    cacheData.forEach(
+        data -> {
+          if (data.getId().equals(key(recent))) {
+            assertThat(data.getAttributes().get("crawledAt")).isEqualTo(recentlyCrawledAt);
+          } else {
+            assertThat((Long) data.getAttributes().get("crawledAt"))
+                .isGreaterThan(longAgoCrawledAt);
+          }
+        });
+  }
+
+  private static AzureVMImage image(String sku, String version) {
+    AzureVMImage image = new AzureVMImage();
+    image.setPublisher("Canonical");
+    image.setOffer("UbuntuServer");
+    image.setSku(sku);
+    image.setVersion(version);
+    return image;
+  }
+
+  private static String key(AzureVMImage image) {
+    return Keys.getVMImageKey(
+        new AzureCloudProvider(),
+        ACCOUNT,
+        REGION,
+        image.getOffer() + "-" + image.getSku(),
+        image.getVersion() + "(" + image.getPublisher() + ")");
+  }
+
+  private static CacheData cacheData(AzureVMImage image, long crawledAt) {
+    return new DefaultCacheData(
+        key(image),
+        Map.of("vmimage", MAPPER.convertValue(image, Map.class), "crawledAt", crawledAt),
+        Map.of());
+  }
+}
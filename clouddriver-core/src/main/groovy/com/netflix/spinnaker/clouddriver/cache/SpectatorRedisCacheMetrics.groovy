@@ -22,6 +22,8 @@ import com.netflix.spectator.api.Registry
 import com.netflix.spectator.api.Tag
 import com.netflix.spinnaker.cats.redis.cache.RedisCache.CacheMetrics
 
+import java.util.concurrent.TimeUnit
+
 class SpectatorRedisCacheMetrics implements CacheMetrics {
   private final Registry registry
 
@@ -72,6 +74,14 @@ class SpectatorRedisCacheMetrics implements CacheMetrics {
     registry.counter(id("cats.redisCache.get", "mgetOperations", tags)).increment(mgetOperations)
   }
 
+  @Override
+  void getChunk(String prefix, String type, int itemCount, long fetchTimeNanos, long decodeTimeNanos) {
+    final Iterable<Tag> tags = tags(prefix, type)
+    registry.timer(id("cats.redisCache.get", "chunkFetchTime", tags)).record(fetchTimeNanos, TimeUnit.NANOSECONDS)
+    registry.timer(id("cats.redisCache.get", "chunkDecodeTime", tags)).record(decodeTimeNanos, TimeUnit.NANOSECONDS)
+    registry.distributionSummary(id("cats.redisCache.get", "chunkSize", tags)).record(itemCount)
+  }
+
   private Id id(String metricGroup, String metric, Iterable<Tag> tags) {
     return registry.createId(metricGroup + '.' + metric, tags)
   }
@@ -22,6 +22,7 @@ import com.netflix.spinnaker.cats.agent.AgentScheduler;
 import com.netflix.spinnaker.cats.agent.DefaultAgentScheduler;
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation;
 import com.netflix.spinnaker.cats.cache.Cache;
+import com.netflix.spinnaker.cats.cache.CacheWriteStatsStore;
 import com.netflix.spinnaker.cats.cache.NamedCacheFactory;
 import com.netflix.spinnaker.cats.mem.InMemoryNamedCacheFactory;
 import com.netflix.spinnaker.cats.module.CatsModule;
@@ -43,7 +44,10 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan({
   "com.netflix.spinnaker.clouddriver.cache",
 })
-@EnableConfigurationProperties(CatsInMemorySearchProperties.class)
+@EnableConfigurationProperties({
+  CatsInMemorySearchProperties.class,
+  OnDemandCoalescingProperties.class
+})
 public class CacheConfig {
   @Bean
   @ConditionalOnMissingBean(NamedCacheFactory.class)
@@ -101,12 +105,20 @@ public class CacheConfig {
     return new MetricInstrumentation(registry);
   }
 
+  @Bean
+  CacheWriteStatsMetrics cacheWriteStatsMetrics(Registry registry) {
+    return new CacheWriteStatsMetrics(registry, CacheWriteStatsStore.getStore());
+  }
+
   @Bean
   OnDemandCacheUpdater catsOnDemandCacheUpdater(
       List<Provider> providers,
       CatsModule catsModule,
-      AgentScheduler<? extends AgentLock> agentScheduler) {
-    return new CatsOnDemandCacheUpdater(providers, catsModule, agentScheduler);
+      AgentScheduler<? extends AgentLock> agentScheduler,
+      Registry registry,
+      OnDemandCoalescingProperties onDemandCoalescingProperties) {
+    return new CatsOnDemandCacheUpdater(
+        providers, catsModule, agentScheduler, registry, onDemandCoalescingProperties);
   }
 
   @Bean
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.cats.cache.CacheWriteStats;
+import com.netflix.spinnaker.cats.cache.CacheWriteStatsStore;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Publishes the cache writes recorded in a {@link CacheWriteStatsStore} as counters tagged by agent
+ * and type, e.g. {@code cats.cacheWrites.itemsChanged}.
+ */
+class CacheWriteStatsMetrics implements CacheWriteStatsStore.Listener {
+
+  private final Registry registry;
+  private final Map<CacheWriteStats.Stat, Id> ids = new EnumMap<>(CacheWriteStats.Stat.class);
+
+  CacheWriteStatsMetrics(Registry registry, CacheWriteStatsStore store) {
+    this.registry = registry;
+    for (CacheWriteStats.Stat stat : CacheWriteStats.Stat.values()) {
+      ids.put(stat, registry.createId("cats.cacheWrites." + stat.getName()));
+    }
+    store.addListener(this);
+  }
+
+  @Override
+  public void recorded(String agent, String type, CacheWriteStats stats) {
+    for (CacheWriteStats.Stat stat : CacheWriteStats.Stat.values()) {
+      long value = stats.get(stat);
+      if (value > 0) {
+        registry.counter(ids.get(stat).withTags("agent", agent, "type", type)).increment(value);
+      }
+    }
+  }
+}
@@ -15,6 +15,10 @@
  */
 package com.netflix.spinnaker.clouddriver.cache;
 
+import com.google.common.util.concurrent.Striped;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.Agent;
 import com.netflix.spinnaker.cats.agent.AgentLock;
 import com.netflix.spinnaker.cats.agent.AgentScheduler;
@@ -23,7 +27,12 @@ import com.netflix.spinnaker.cats.module.CatsModule;
 import com.netflix.spinnaker.cats.provider.Provider;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -40,18 +49,59 @@ public class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
   //  compilation errors. This is a side-effect of migrating away from Groovy.
   //  I'm sure there's a way, but it's the early morning and I'm pretty tired!
   private final AgentScheduler agentScheduler;
+  private final Registry registry;
+  private final OnDemandCoalescingProperties coalescingProperties;
+  private final Id refreshesId;
+
+  // refreshes that haven't called the on-demand agents yet, which identical requests can join
+  private final ConcurrentMap<List<Object>, CompletableFuture<OnDemandCacheResult>> pending =
+      new ConcurrentHashMap<>();
+  // serializes the refreshes of identical requests
+  private final Striped<Lock> refreshLocks = Striped.lazyWeakLock(1024);
+  private volatile RoutingTable routingTable;
 
-  @Autowired
   public CatsOnDemandCacheUpdater(
       List<Provider> providers,
       CatsModule catsModule,
       AgentScheduler<? extends AgentLock> agentScheduler) {
+    this(
+        providers,
+        catsModule,
+        agentScheduler,
+        new NoopRegistry(),
+        new OnDemandCoalescingProperties());
+  }
+
+  @Autowired
+  public CatsOnDemandCacheUpdater(
+      List<Provider> providers,
+      CatsModule catsModule,
+      AgentScheduler<? extends AgentLock> agentScheduler,
+      Registry registry,
+      OnDemandCoalescingProperties coalescingProperties) {
     this.providers = providers;
     this.catsModule = catsModule;
     this.agentScheduler = agentScheduler;
+    this.registry = registry;
+    this.coalescingProperties = coalescingProperties;
+    this.refreshesId = registry.createId("onDemand.refreshes");
   }
 
-  private Collection<OnDemandAgent> getOnDemandAgents() {
+  /**
+   * Returns the routing table of the current on-demand agents, which is rebuilt whenever an agent
+   * is added, removed or replaced, for instance when accounts are reloaded.
+   */
+  private RoutingTable routingTable() {
+    List<OnDemandAgent> onDemandAgents = getOnDemandAgents();
+    RoutingTable table = routingTable;
+    if (table == null || !table.isFor(onDemandAgents)) {
+      table = new RoutingTable(onDemandAgents);
+      routingTable = table;
+    }
+    return table;
+  }
+
+  private List<OnDemandAgent> getOnDemandAgents() {
     return providers.stream()
         .flatMap(
             provider -> provider.getAgents().stream().filter(it -> it instanceof OnDemandAgent))
@@ -61,13 +111,84 @@ public class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
 
   @Override
   public boolean handles(final OnDemandType type, final String cloudProvider) {
-    return getOnDemandAgents().stream().anyMatch(it -> it.handles(type, cloudProvider));
+    return !onDemandAgents(type, cloudProvider).isEmpty();
   }
 
   @Override
   public OnDemandCacheResult handle(
       final OnDemandType type, final String cloudProvider, Map<String, ?> data) {
-    return handle(type, onDemandAgents(type, cloudProvider), data);
+    Collection<OnDemandAgent> onDemandAgents = onDemandAgents(type, cloudProvider);
+    if (!coalescingProperties.isEnabled()) {
+      return handle(type, onDemandAgents, data);
+    }
+
+    // Identical requests join a refresh that hasn't called the on-demand agents yet, so that the
+    // cloud provider is read after every request that shares its result. A refresh waits for the
+    // debounce window and for the running refresh of the same request before it starts, which
+    // gives the requests arriving in the meantime a single trailing refresh to join.
+    List<Object> requestKey =
+        Arrays.asList(type, cloudProvider, data == null ? null : new HashMap<>(data));
+    CompletableFuture<OnDemandCacheResult> refresh = new CompletableFuture<>();
+    CompletableFuture<OnDemandCacheResult> existing = pending.putIfAbsent(requestKey, refresh);
+    if (existing != null) {
+      countRefresh(type, true);
+      return awaitRefresh(type, existing);
+    }
+
+    countRefresh(type, false);
+    Lock lock = refreshLocks.get(requestKey);
+    try {
+      debounce();
+      lock.lockInterruptibly();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      pending.remove(requestKey, refresh);
+      // force Orca to retry
+      OnDemandCacheResult result = new OnDemandCacheResult(OnDemandCacheStatus.PENDING);
+      refresh.complete(result);
+      return result;
+    }
+    try {
+      pending.remove(requestKey, refresh);
+      OnDemandCacheResult result = handle(type, onDemandAgents, data);
+      refresh.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      refresh.completeExceptionally(e);
+      throw e;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void countRefresh(OnDemandType type, boolean coalesced) {
+    registry
+        .counter(refreshesId.withTags("type", type.toString(), "coalesced", "" + coalesced))
+        .increment();
+  }
+
+  private void debounce() throws InterruptedException {
+    long debounceMillis = coalescingProperties.getDebounceMillis();
+    if (debounceMillis > 0) {
+      Thread.sleep(debounceMillis);
+    }
+  }
+
+  private static OnDemandCacheResult awaitRefresh(
+      OnDemandType type, CompletableFuture<OnDemandCacheResult> refresh) {
+    try {
+      return refresh.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // force Orca to retry
+      return new OnDemandCacheResult(OnDemandCacheStatus.PENDING);
+    } catch (ExecutionException e) {
+      log.warn("Coalesced on demand update for {} failed", type, e.getCause());
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
   }
 
   private OnDemandCacheResult handle(
@@ -226,10 +347,44 @@ public class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
   }
 
   private Stream<OnDemandAgent> onDemandAgentStream(OnDemandType type, String cloudProvider) {
-    return getOnDemandAgents().stream().filter(it -> it.handles(type, cloudProvider));
+    return onDemandAgents(type, cloudProvider).stream();
   }
 
   private Collection<OnDemandAgent> onDemandAgents(OnDemandType type, String cloudProvider) {
-    return onDemandAgentStream(type, cloudProvider).collect(Collectors.toList());
+    return routingTable().route(type, cloudProvider);
+  }
+
+  /** The on-demand agents that handle each (type, cloud provider), computed on first use. */
+  private static class RoutingTable {
+    private final List<OnDemandAgent> onDemandAgents;
+    private final ConcurrentMap<List<Object>, List<OnDemandAgent>> routes =
+        new ConcurrentHashMap<>();
+
+    RoutingTable(List<OnDemandAgent> onDemandAgents) {
+      this.onDemandAgents = onDemandAgents;
+    }
+
+    /** @return whether this table was built from the very same agents, in the same order */
+    boolean isFor(List<OnDemandAgent> agents) {
+      if (agents.size() != onDemandAgents.size()) {
+        return false;
+      }
+      for (int i = 0; i < agents.size(); i++) {
+        if (agents.get(i) != onDemandAgents.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    List<OnDemandAgent> route(OnDemandType type, String cloudProvider) {
+      return routes.computeIfAbsent(
+          Arrays.asList(type, cloudProvider),
+          key ->
+              Collections.unmodifiableList(
+                  onDemandAgents.stream()
+                      .filter(it -> it.handles(type, cloudProvider))
+                      .collect(Collectors.toList())));
+    }
   }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Controls how {@link CatsOnDemandCacheUpdater} merges identical on-demand cache refreshes. A
+ * request only shares the result of a refresh that hasn't read from the cloud provider yet;
+ * requests that arrive while a refresh is running share one refresh that starts after it.
+ */
+@ConfigurationProperties("caching.on-demand.coalescing")
+public class OnDemandCoalescingProperties {
+  private boolean enabled = false;
+  private long debounceMillis = 0;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * How long a refresh waits before calling the on-demand agents, so that identical requests
+   * arriving in the meantime share its result. Zero merges only requests that arrive while an
+   * identical refresh is running.
+   */
+  public long getDebounceMillis() {
+    return debounceMillis;
+  }
+
+  public void setDebounceMillis(long debounceMillis) {
+    this.debounceMillis = debounceMillis;
+  }
+}
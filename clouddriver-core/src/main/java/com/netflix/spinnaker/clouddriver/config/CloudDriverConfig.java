@@ -23,6 +23,7 @@ import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.kotlin.KotlinModule;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.Agent;
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation;
@@ -51,6 +52,7 @@ import com.netflix.spinnaker.clouddriver.model.CloudMetricProvider;
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider;
 import com.netflix.spinnaker.clouddriver.model.ElasticIpProvider;
 import com.netflix.spinnaker.clouddriver.model.ImageProvider;
+import com.netflix.spinnaker.clouddriver.model.InMemoryServerGroupCapacityHistory;
 import com.netflix.spinnaker.clouddriver.model.InstanceProvider;
 import com.netflix.spinnaker.clouddriver.model.InstanceTypeProvider;
 import com.netflix.spinnaker.clouddriver.model.KeyPairProvider;
@@ -68,10 +70,12 @@ import com.netflix.spinnaker.clouddriver.model.NoopLoadBalancerProvider;
 import com.netflix.spinnaker.clouddriver.model.NoopNetworkProvider;
 import com.netflix.spinnaker.clouddriver.model.NoopReservationReportProvider;
 import com.netflix.spinnaker.clouddriver.model.NoopSecurityGroupProvider;
+import com.netflix.spinnaker.clouddriver.model.NoopServerGroupCapacityHistory;
 import com.netflix.spinnaker.clouddriver.model.NoopServerGroupManagerProvider;
 import com.netflix.spinnaker.clouddriver.model.NoopSubnetProvider;
 import com.netflix.spinnaker.clouddriver.model.ReservationReportProvider;
 import com.netflix.spinnaker.clouddriver.model.SecurityGroupProvider;
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacityHistory;
 import com.netflix.spinnaker.clouddriver.model.ServerGroupManager;
 import com.netflix.spinnaker.clouddriver.model.ServerGroupManagerProvider;
 import com.netflix.spinnaker.clouddriver.model.SubnetProvider;
@@ -111,6 +115,8 @@ import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Provider;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -143,7 +149,8 @@ import org.springframework.web.client.RestTemplate;
 @EnableConfigurationProperties({
   ProjectClustersCachingAgentProperties.class,
   ExceptionClassifierConfigurationProperties.class,
-  PollerConfigurationProperties.class
+  PollerConfigurationProperties.class,
+  ServerGroupCapacityHistoryProperties.class
 })
 class CloudDriverConfig {
 
@@ -330,6 +337,16 @@ class CloudDriverConfig {
     return new NoopServerGroupManagerProvider();
   }
 
+  @Bean
+  @ConditionalOnMissingBean(ServerGroupCapacityHistory.class)
+  ServerGroupCapacityHistory serverGroupCapacityHistory(
+      ServerGroupCapacityHistoryProperties properties, Clock clock) {
+    if (!properties.isEnabled()) {
+      return new NoopServerGroupCapacityHistory();
+    }
+    return new InMemoryServerGroupCapacityHistory(properties, clock);
+  }
+
   @Bean
   @ConditionalOnMissingBean(SubnetProvider.class)
   SubnetProvider noopSubnetProvider() {
@@ -352,8 +369,19 @@ class CloudDriverConfig {
   ProjectClustersService projectClustersService(
       Front50Service front50Service,
       ObjectMapper objectMapper,
-      Provider<List<ClusterProvider>> clusterProviders) {
-    return new ProjectClustersService(front50Service, objectMapper, clusterProviders);
+      Provider<List<ClusterProvider>> clusterProviders,
+      ProjectClustersCachingAgentProperties projectClustersCachingAgentProperties) {
+    return new ProjectClustersService(
+        front50Service,
+        objectMapper,
+        clusterProviders,
+        Executors.newFixedThreadPool(
+            Math.max(1, projectClustersCachingAgentProperties.getFetchThreads()),
+            new ThreadFactoryBuilder()
+                .setNameFormat(ProjectClustersService.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build()),
+        TimeUnit.SECONDS.toMillis(projectClustersCachingAgentProperties.getFetchTimeoutSeconds()));
   }
 
   @Bean
@@ -27,6 +27,12 @@ public class ProjectClustersCachingAgentProperties {
   /** A list of allowed project names that will be cached. */
   List<String> allowList = new ArrayList<>();
 
+  /** The number of applications whose clusters are retrieved concurrently. */
+  int fetchThreads = 8;
+
+  /** How long to wait for the clusters of all applications to be retrieved. */
+  long fetchTimeoutSeconds = 60;
+
   public List<String> getAllowList() {
     return allowList;
   }
@@ -35,6 +41,22 @@ public class ProjectClustersCachingAgentProperties {
     this.allowList = allowList;
   }
 
+  public int getFetchThreads() {
+    return fetchThreads;
+  }
+
+  public void setFetchThreads(int fetchThreads) {
+    this.fetchThreads = fetchThreads;
+  }
+
+  public long getFetchTimeoutSeconds() {
+    return fetchTimeoutSeconds;
+  }
+
+  public void setFetchTimeoutSeconds(long fetchTimeoutSeconds) {
+    this.fetchTimeoutSeconds = fetchTimeoutSeconds;
+  }
+
   public List<String> getNormalizedAllowList() {
     return allowList.stream()
         .filter(p -> !Strings.isNullOrEmpty(p))
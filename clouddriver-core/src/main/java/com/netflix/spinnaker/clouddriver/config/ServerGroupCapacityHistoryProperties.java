@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("server-group-capacity-history")
+public class ServerGroupCapacityHistoryProperties {
+
+  /**
+   * Whether caching agents record the capacity history of server groups. It is kept in the memory
+   * of the instance that caches each server group unless sql.server-group-capacity-history.enabled
+   * is set, in which case it is stored in SQL and can be served by any instance.
+   */
+  private boolean enabled = false;
+
+  /** How long samples are kept for. */
+  private Duration retention = Duration.ofHours(1);
+
+  /** The most samples kept, or returned, per server group. */
+  private int maxSamples = 120;
+}
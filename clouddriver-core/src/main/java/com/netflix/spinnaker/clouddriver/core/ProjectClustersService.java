@@ -18,12 +18,20 @@ package com.netflix.spinnaker.clouddriver.core;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.netflix.frigga.Names;
 import com.netflix.spinnaker.clouddriver.core.services.Front50Service;
 import com.netflix.spinnaker.clouddriver.model.Cluster;
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider;
 import com.netflix.spinnaker.clouddriver.model.ServerGroup;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -35,22 +43,60 @@ public class ProjectClustersService {
 
   private static final Logger log = LoggerFactory.getLogger(ProjectClustersService.class);
 
+  public static final long DEFAULT_FETCH_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final HashCode EMPTY_FINGERPRINT = HashCode.fromLong(0);
+
   private final Front50Service front50Service;
   private final ObjectMapper objectMapper;
   private final Provider<List<ClusterProvider>> clusterProviders;
+  private final ExecutorService fetchExecutor;
+  private final long fetchTimeoutMillis;
+
+  // The clusters of each project as of the last call to getProjectClusters(List), along with the
+  // inputs they were built from
+  private volatile Map<String, AggregatedProject> lastAggregation = Collections.emptyMap();
 
   public ProjectClustersService(
       Front50Service front50Service,
       ObjectMapper objectMapper,
       Provider<List<ClusterProvider>> clusterProviders) {
+    this(
+        front50Service,
+        objectMapper,
+        clusterProviders,
+        MoreExecutors.newDirectExecutorService(),
+        DEFAULT_FETCH_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param fetchExecutor retrieves the clusters of each application
+   * @param fetchTimeoutMillis how long to wait for the clusters of all applications to be retrieved
+   */
+  public ProjectClustersService(
+      Front50Service front50Service,
+      ObjectMapper objectMapper,
+      Provider<List<ClusterProvider>> clusterProviders,
+      ExecutorService fetchExecutor,
+      long fetchTimeoutMillis) {
     this.front50Service = front50Service;
     this.objectMapper =
         objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     this.clusterProviders = clusterProviders;
+    this.fetchExecutor = fetchExecutor;
+    this.fetchTimeoutMillis = fetchTimeoutMillis;
   }
 
+  /**
+   * Returns the clusters of each of the given projects. The clusters of an application are
+   * retrieved once for all of the projects that include it, and a project's clusters are only
+   * rebuilt if its configuration or the clusters retrieved for one of its applications changed
+   * since the last call. If the clusters of one of its applications could not be retrieved in time,
+   * a project keeps the clusters of the last call.
+   */
   public Map<String, List<ClusterModel>> getProjectClusters(List<String> projectNames) {
     Map<String, List<ProjectClustersService.ClusterModel>> projectClusters = new HashMap<>();
+    List<Project> projects = new ArrayList<>();
 
     for (String projectName : projectNames) {
       try {
@@ -70,12 +116,68 @@ public class ProjectClustersService {
           continue;
         }
 
-        projectClusters.put(project.name, getProjectClusters(project));
+        projects.add(project);
       } catch (Exception e) {
-        log.error("Unable to fetch clusters for project '{}'", projectName, e);
+        log.error("Unable to fetch project '{}'", projectName, e);
       }
     }
 
+    Map<String, List<ProjectCluster>> projectClustersByApplication = new HashMap<>();
+    for (Project project : projects) {
+      for (String application : applications(project)) {
+        projectClustersByApplication
+            .computeIfAbsent(application, a -> new ArrayList<>())
+            .addAll(project.config.clusters);
+      }
+    }
+    Map<String, Throwable> failures = new HashMap<>();
+    Map<String, Set<Cluster>> allClusters =
+        retrieveClusters(projectClustersByApplication, failures);
+
+    Map<String, HashCode> fingerprints = new HashMap<>();
+    allClusters.forEach(
+        (application, clusters) -> fingerprints.put(application, fingerprint(clusters)));
+
+    Map<String, AggregatedProject> previousAggregation = lastAggregation;
+    Map<String, AggregatedProject> aggregation = new HashMap<>();
+    int rebuilt = 0;
+    for (Project project : projects) {
+      AggregatedProject previous = previousAggregation.get(project.name);
+      try {
+        Optional<String> failedApplication =
+            applications(project).stream().filter(failures::containsKey).findFirst();
+        if (failedApplication.isPresent()) {
+          if (previous == null) {
+            log.error(
+                "Unable to fetch clusters for project '{}'",
+                project.name,
+                failures.get(failedApplication.get()));
+            continue;
+          }
+          log.warn(
+              "Unable to fetch clusters of application '{}', reusing last clusters of project '{}'",
+              failedApplication.get(),
+              project.name);
+          aggregation.put(project.name, previous);
+        } else {
+          List<Object> inputs = aggregationInputs(project, fingerprints);
+          if (previous != null && previous.inputs.equals(inputs)) {
+            aggregation.put(project.name, previous);
+          } else {
+            aggregation.put(
+                project.name,
+                new AggregatedProject(inputs, buildClusterModels(project, allClusters)));
+            rebuilt++;
+          }
+        }
+        projectClusters.put(project.name, aggregation.get(project.name).clusters);
+      } catch (Exception e) {
+        log.error("Unable to fetch clusters for project '{}'", project.name, e);
+      }
+    }
+    lastAggregation = aggregation;
+    log.debug("Rebuilt the clusters of {} of {} projects", rebuilt, projects.size());
+
     return projectClusters;
   }
 
@@ -98,10 +200,32 @@ public class ProjectClustersService {
   }
 
   public List<ClusterModel> getProjectClusters(Project project) {
-    List<String> applicationsToRetrieve =
-        Optional.ofNullable(project.config.applications).orElse(Collections.emptyList());
-    Map<String, Set<Cluster>> allClusters = retrieveClusters(applicationsToRetrieve, project);
+    Map<String, List<ProjectCluster>> projectClustersByApplication = new HashMap<>();
+    for (String application : applications(project)) {
+      projectClustersByApplication.put(application, project.config.clusters);
+    }
+    Map<String, Throwable> failures = new HashMap<>();
+    Map<String, Set<Cluster>> allClusters =
+        retrieveClusters(projectClustersByApplication, failures);
+    if (!failures.isEmpty()) {
+      Throwable failure = failures.values().iterator().next();
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      }
+      throw new IllegalStateException(
+          "Unable to fetch clusters for project '" + project.name + "'", failure);
+    }
+
+    return buildClusterModels(project, allClusters);
+  }
 
+  private static List<String> applications(Project project) {
+    return Optional.ofNullable(project.config.applications).orElse(Collections.emptyList());
+  }
+
+  private List<ClusterModel> buildClusterModels(
+      Project project, Map<String, Set<Cluster>> allClusters) {
+    Set<String> projectApplications = new HashSet<>(applications(project));
     return project.config.clusters.stream()
         .map(
             projectCluster -> {
@@ -112,7 +236,12 @@ public class ProjectClustersService {
                   applications.stream()
                       .map(
                           application -> {
-                            Set<Cluster> appClusters = allClusters.get(application);
+                            // Only the applications of the project have had their clusters
+                            // retrieved for it
+                            Set<Cluster> appClusters =
+                                projectApplications.contains(application)
+                                    ? allClusters.get(application)
+                                    : null;
                             Set<Cluster> clusterMatches =
                                 findClustersForProject(appClusters, projectCluster);
                             return new ApplicationClusterModel(application, clusterMatches);
@@ -128,14 +257,101 @@ public class ProjectClustersService {
         .collect(Collectors.toList());
   }
 
-  private Map<String, Set<Cluster>> retrieveClusters(List<String> applications, Project project) {
-    Map<String, Set<Cluster>> allClusters = new HashMap<>();
+  /**
+   * Describes everything the clusters of a project are built from: its configuration, and the
+   * fingerprint of the clusters retrieved for each of its applications.
+   */
+  @SuppressWarnings("unchecked")
+  private List<Object> aggregationInputs(Project project, Map<String, HashCode> fingerprints) {
+    List<Object> inputs = new ArrayList<>();
+    inputs.add(objectMapper.convertValue(project, Map.class));
+    for (String application : applications(project)) {
+      inputs.add(Arrays.asList(application, fingerprints.get(application)));
+    }
+    return inputs;
+  }
+
+  /**
+   * Fingerprints the parts of the server groups of an application's clusters that make their way
+   * into a {@link ClusterModel}. The clusters retrieved for an application are those of every
+   * project that includes it, so a change to any of them rebuilds each of those projects.
+   */
+  private static HashCode fingerprint(Set<Cluster> clusters) {
+    List<HashCode> serverGroups = new ArrayList<>();
+    for (Cluster cluster : clusters) {
+      for (ServerGroup serverGroup : cluster.getServerGroups()) {
+        if (serverGroup == null) {
+          continue;
+        }
+        ServerGroup.InstanceCounts counts = serverGroup.getInstanceCounts();
+        ServerGroup.ImagesSummary imagesSummary = serverGroup.getImagesSummary();
+        List<Object> fields =
+            Arrays.asList(
+                cluster.getAccountName(),
+                cluster.getName(),
+                serverGroup.getName(),
+                serverGroup.getRegion(),
+                serverGroup.getCreatedTime(),
+                serverGroup.isDisabled(),
+                counts.getTotal(),
+                counts.getUp(),
+                counts.getDown(),
+                counts.getOutOfService(),
+                counts.getStarting(),
+                counts.getUnknown(),
+                imagesSummary == null
+                    ? null
+                    : imagesSummary.getSummaries().stream()
+                        .map(ServerGroup.ImageSummary::getBuildInfo)
+                        .collect(Collectors.toList()));
+        serverGroups.add(Hashing.murmur3_128().hashUnencodedChars(fields.toString()));
+      }
+    }
+    return serverGroups.isEmpty() ? EMPTY_FINGERPRINT : Hashing.combineUnordered(serverGroups);
+  }
+
+  /**
+   * Retrieves the clusters of each application concurrently, giving up on those that are not
+   * retrieved within the fetch timeout.
+   *
+   * @param projectClustersByApplication the project clusters to retrieve for each application
+   * @param failures collects why the clusters of an application could not be retrieved
+   */
+  private Map<String, Set<Cluster>> retrieveClusters(
+      Map<String, List<ProjectCluster>> projectClustersByApplication,
+      Map<String, Throwable> failures) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchTimeoutMillis);
+    Map<String, Future<List<RetrievedClusters>>> futures = new LinkedHashMap<>();
+    projectClustersByApplication.forEach(
+        (application, projectClusters) ->
+            futures.put(
+                application,
+                fetchExecutor.submit(() -> retrieveClusters(application, projectClusters))));
 
-    for (String application : applications) {
-      for (RetrievedClusters clusters : retrieveClusters(application, project)) {
-        allClusters
-            .computeIfAbsent(clusters.application, s -> new HashSet<>())
-            .addAll(clusters.clusters);
+    Map<String, Set<Cluster>> allClusters = new HashMap<>();
+    for (Map.Entry<String, Future<List<RetrievedClusters>>> entry : futures.entrySet()) {
+      String application = entry.getKey();
+      Future<List<RetrievedClusters>> future = entry.getValue();
+      try {
+        for (RetrievedClusters clusters :
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+          allClusters
+              .computeIfAbsent(clusters.application, s -> new HashSet<>())
+              .addAll(clusters.clusters);
+        }
+      } catch (ExecutionException e) {
+        failures.put(application, e.getCause());
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        failures.put(application, e);
+        log.warn(
+            "Timed out after {}ms retrieving clusters of application '{}'",
+            fetchTimeoutMillis,
+            application);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        future.cancel(true);
+        failures.put(application, e);
       }
     }
 
@@ -159,7 +375,8 @@ public class ProjectClustersService {
         .collect(Collectors.toSet());
   }
 
-  private List<RetrievedClusters> retrieveClusters(String application, Project project) {
+  private List<RetrievedClusters> retrieveClusters(
+      String application, List<ProjectCluster> projectClusters) {
     return clusterProviders.get().stream()
         .map(
             clusterProvider -> {
@@ -175,7 +392,7 @@ public class ProjectClustersService {
                       .collect(Collectors.toSet());
 
               Set<Cluster> matchingClusterSummaries = new HashSet<>();
-              for (ProjectCluster projectCluster : project.config.clusters) {
+              for (ProjectCluster projectCluster : projectClusters) {
                 matchingClusterSummaries.addAll(
                     findClustersForProject(allClusterSummaries, projectCluster));
               }
@@ -221,6 +438,16 @@ public class ProjectClustersService {
     public List<String> applications;
   }
 
+  private static class AggregatedProject {
+    final List<Object> inputs;
+    final List<ClusterModel> clusters;
+
+    AggregatedProject(List<Object> inputs, List<ClusterModel> clusters) {
+      this.inputs = inputs;
+      this.clusters = clusters;
+    }
+  }
+
   static class RetrievedClusters {
     public String application;
     public Set<Cluster> clusters;
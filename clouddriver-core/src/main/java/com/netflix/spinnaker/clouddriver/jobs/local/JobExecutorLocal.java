@@ -16,11 +16,15 @@
 package com.netflix.spinnaker.clouddriver.jobs.local;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.jobs.JobExecutionException;
 import com.netflix.spinnaker.clouddriver.jobs.JobExecutor;
 import com.netflix.spinnaker.clouddriver.jobs.JobRequest;
 import com.netflix.spinnaker.clouddriver.jobs.JobResult;
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -42,10 +46,30 @@ public class JobExecutorLocal implements JobExecutor {
   private final ExecutorService executorService =
       Executors.newCachedThreadPool(
           new ThreadFactoryBuilder().setNameFormat(getClass().getSimpleName() + "-%d").build());
+  // Size of the reads made by the threads pumping a job's stdout and stderr.
+  private static final int PUMP_BUFFER_SIZE = 64 * 1024;
+  public static final int DEFAULT_STREAM_BUFFER_SIZE = 1024 * 1024;
+
   private final long timeoutMinutes;
+  private final int streamBufferSize;
+  private final Registry registry;
+  private final Id outputBytesId;
+  private final Id consumerStallTimeId;
 
   public JobExecutorLocal(long timeoutMinutes) {
+    this(timeoutMinutes, DEFAULT_STREAM_BUFFER_SIZE, new NoopRegistry());
+  }
+
+  /**
+   * @param streamBufferSize how much of a streaming job's output may be buffered before the job
+   *     is made to wait for the consumer to catch up
+   */
+  public JobExecutorLocal(long timeoutMinutes, int streamBufferSize, Registry registry) {
     this.timeoutMinutes = timeoutMinutes;
+    this.streamBufferSize = streamBufferSize;
+    this.registry = registry;
+    this.outputBytesId = registry.createId("jobs.local.outputBytes");
+    this.consumerStallTimeId = registry.createId("jobs.local.consumerStallTime");
   }
 
   @Override
@@ -83,9 +107,12 @@ public class JobExecutorLocal implements JobExecutor {
     ByteArrayOutputStream stdErr = new ByteArrayOutputStream();
 
     Executor executor =
-        buildExecutor(
-            new PumpStreamHandler(stdOut, stdErr, jobRequest.getInputStream()), jobRequest);
+        buildExecutor(new LargeBufferStreamHandler(stdOut, stdErr, jobRequest), jobRequest);
     int exitValue = executor.execute(jobRequest.getCommandLine(), jobRequest.getEnvironment());
+    registry
+        .distributionSummary(
+            outputBytesId.withTags("executable", executable(jobRequest), "streaming", "false"))
+        .record(stdOut.size());
 
     return JobResult.<String>builder()
         .result(exitValue == 0 ? JobResult.Result.SUCCESS : JobResult.Result.FAILURE)
@@ -97,19 +124,28 @@ public class JobExecutorLocal implements JobExecutor {
 
   private <T> JobResult<T> executeStreaming(JobRequest jobRequest, ReaderConsumer<T> consumer)
       throws IOException {
-    PipedOutputStream stdOut = new PipedOutputStream();
+    StreamingPipe stdOut = new StreamingPipe(streamBufferSize);
     ByteArrayOutputStream stdErr = new ByteArrayOutputStream();
     Executor executor =
-        buildExecutor(
-            new PumpStreamHandler(stdOut, stdErr, jobRequest.getInputStream()), jobRequest);
+        buildExecutor(new LargeBufferStreamHandler(stdOut.sink(), stdErr, jobRequest), jobRequest);
 
-    // Send a task to the executor to consume the output from the job.
+    // Send a task to the executor to consume the output from the job. The consumer reads straight
+    // from the pipe's buffer, and its side is closed when it returns so that any output it left
+    // unread is discarded rather than blocking the job.
     Future<T> futureResult =
         executorService.submit(
-            () ->
-                consumer.consume(
-                    new BufferedReader(new InputStreamReader(new PipedInputStream(stdOut)))));
-    int exitValue = executor.execute(jobRequest.getCommandLine(), jobRequest.getEnvironment());
+            () -> {
+              try (InputStream source = stdOut.source()) {
+                return consumer.consume(new BufferedReader(new InputStreamReader(source)));
+              }
+            });
+    int exitValue;
+    try {
+      exitValue = executor.execute(jobRequest.getCommandLine(), jobRequest.getEnvironment());
+    } finally {
+      stdOut.sink().close();
+      recordStreamingMetrics(jobRequest, stdOut);
+    }
 
     T result;
     try {
@@ -153,6 +189,47 @@ public class JobExecutorLocal implements JobExecutor {
     return executor;
   }
 
+  private void recordStreamingMetrics(JobRequest jobRequest, StreamingPipe stdOut) {
+    String executable = executable(jobRequest);
+    registry
+        .distributionSummary(
+            outputBytesId.withTags("executable", executable, "streaming", "true"))
+        .record(stdOut.getBytesWritten());
+    registry
+        .timer(consumerStallTimeId.withTag("executable", executable))
+        .record(stdOut.getStallNanos(), TimeUnit.NANOSECONDS);
+    log.debug(
+        "Job '{}' wrote {} bytes to its output and waited {} ms on its consumer",
+        jobRequest,
+        stdOut.getBytesWritten(),
+        TimeUnit.NANOSECONDS.toMillis(stdOut.getStallNanos()));
+  }
+
+  private static String executable(JobRequest jobRequest) {
+    return Paths.get(jobRequest.getCommandLine().getExecutable()).getFileName().toString();
+  }
+
+  /**
+   * Pumps the job's output in larger reads than {@link PumpStreamHandler}'s default of 1 KB, which
+   * matters for jobs writing hundreds of megabytes.
+   */
+  private static class LargeBufferStreamHandler extends PumpStreamHandler {
+    LargeBufferStreamHandler(OutputStream out, OutputStream err, JobRequest jobRequest) {
+      super(out, err, jobRequest.getInputStream());
+    }
+
+    @Override
+    protected Thread createPump(
+        final InputStream is, final OutputStream os, final boolean closeWhenExhausted) {
+      final Thread result =
+          new Thread(
+              new StreamPumper(is, os, closeWhenExhausted, PUMP_BUFFER_SIZE),
+              "Exec Stream Pumper");
+      result.setDaemon(true);
+      return result;
+    }
+  }
+
   interface RequestExecutor<U> {
     JobResult<U> execute(JobRequest jobRequest) throws IOException;
   }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.jobs.local;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded byte pipe between the thread pumping a job's output and the thread consuming it.
+ *
+ * <p>Unlike {@link java.io.PipedInputStream}, the buffer size is configurable, either side may be
+ * used from any thread, and bytes are copied in bulk. A writer blocks while the buffer is full, so
+ * a slow consumer applies backpressure all the way to the process; the time spent blocked is
+ * reported by {@link #getStallNanos()}. Once the consumer closes its side, further output is
+ * discarded so that the process can still run to completion.
+ */
+final class StreamingPipe {
+  private final byte[] buffer;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+
+  private int readPosition;
+  private int count;
+  private boolean writerClosed;
+  private boolean readerClosed;
+  private long bytesWritten;
+  private long stallNanos;
+
+  private final InputStream source = new Source();
+  private final OutputStream sink = new Sink();
+
+  StreamingPipe(int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+    }
+    this.buffer = new byte[bufferSize];
+  }
+
+  /** The side the job's output is written to. */
+  OutputStream sink() {
+    return sink;
+  }
+
+  /** The side the consumer reads the job's output from. */
+  InputStream source() {
+    return source;
+  }
+
+  /** Returns the number of bytes written to the pipe, including any that were discarded. */
+  long getBytesWritten() {
+    lock.lock();
+    try {
+      return bytesWritten;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the time writers have spent waiting for the consumer to free up buffer space. */
+  long getStallNanos() {
+    lock.lock();
+    try {
+      return stallNanos;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void write(byte[] bytes, int offset, int length) throws IOException {
+    lock.lock();
+    try {
+      if (writerClosed) {
+        throw new IOException("Pipe closed");
+      }
+      bytesWritten += length;
+      while (length > 0) {
+        if (readerClosed) {
+          return;
+        }
+        if (count == buffer.length) {
+          long stallStart = System.nanoTime();
+          try {
+            notFull.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing to pipe");
+          } finally {
+            stallNanos += System.nanoTime() - stallStart;
+          }
+          continue;
+        }
+        int writePosition = (readPosition + count) % buffer.length;
+        int chunk =
+            Math.min(length, Math.min(buffer.length - count, buffer.length - writePosition));
+        System.arraycopy(bytes, offset, buffer, writePosition, chunk);
+        count += chunk;
+        offset += chunk;
+        length -= chunk;
+        notEmpty.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    lock.lock();
+    try {
+      while (count == 0) {
+        if (readerClosed) {
+          throw new IOException("Pipe closed");
+        }
+        if (writerClosed) {
+          return -1;
+        }
+        try {
+          notEmpty.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while reading from pipe");
+        }
+      }
+      int chunk = Math.min(Math.min(length, count), buffer.length - readPosition);
+      System.arraycopy(buffer, readPosition, bytes, offset, chunk);
+      readPosition = (readPosition + chunk) % buffer.length;
+      count -= chunk;
+      notFull.signal();
+      return chunk;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int available() {
+    lock.lock();
+    try {
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void closeWriter() {
+    lock.lock();
+    try {
+      writerClosed = true;
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void closeReader() {
+    lock.lock();
+    try {
+      readerClosed = true;
+      count = 0;
+      notFull.signalAll();
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private class Source extends InputStream {
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      int read = read(single, 0, 1);
+      return read == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      return StreamingPipe.this.read(bytes, offset, length);
+    }
+
+    @Override
+    public int available() {
+      return StreamingPipe.this.available();
+    }
+
+    @Override
+    public void close() {
+      closeReader();
+    }
+  }
+
+  private class Sink extends OutputStream {
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      StreamingPipe.this.write(bytes, offset, length);
+    }
+
+    @Override
+    public void close() {
+      closeWriter();
+    }
+  }
+}
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface EntityTagsProvider {
   /**
@@ -41,6 +42,17 @@ public interface EntityTagsProvider {
   /** Fetch EntityTags by {@code id} */
   Optional<EntityTags> get(String id);
 
+  /**
+   * Fetch EntityTags for each of the given {@code ids}, omitting ids that have no EntityTags.
+   * Providers should override this to fetch all ids in as few requests as possible.
+   */
+  default Collection<EntityTags> getAll(Collection<String> ids) {
+    return ids.stream()
+        .map(this::get)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList());
+  }
+
   /** Fetch EntityTags by {@code id} AND {@code tags}, both must match */
   Optional<EntityTags> get(String id, Map<String, Object> tags);
 
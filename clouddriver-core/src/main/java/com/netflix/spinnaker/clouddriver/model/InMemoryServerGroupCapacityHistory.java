@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.model;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.spinnaker.clouddriver.config.ServerGroupCapacityHistoryProperties;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps the samples of each server group in a ring buffer of {@code maxSamples}. The history of a
+ * server group is dropped once it hasn't been recorded for longer than the retention, which is
+ * what happens once it is deleted.
+ */
+public class InMemoryServerGroupCapacityHistory implements ServerGroupCapacityHistory {
+  private final Clock clock;
+  private final long retentionMs;
+  private final int maxSamples;
+  private final Cache<String, Deque<ServerGroupCapacitySample>> history;
+
+  public InMemoryServerGroupCapacityHistory(
+      ServerGroupCapacityHistoryProperties properties, Clock clock) {
+    this.clock = clock;
+    this.retentionMs = properties.getRetention().toMillis();
+    this.maxSamples = properties.getMaxSamples();
+    this.history = CacheBuilder.newBuilder().expireAfterAccess(properties.getRetention()).build();
+  }
+
+  @Override
+  public void record(
+      String account, String region, Map<String, ServerGroupCapacitySample> samples) {
+    long oldest = clock.millis() - retentionMs;
+    samples.forEach(
+        (serverGroupName, sample) -> {
+          Deque<ServerGroupCapacitySample> buffer;
+          try {
+            buffer = history.get(key(account, region, serverGroupName), ArrayDeque::new);
+          } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+          }
+          synchronized (buffer) {
+            if (!sample.isChangedFrom(buffer.peekLast())) {
+              return;
+            }
+            buffer.addLast(sample);
+            while (buffer.size() > maxSamples
+                || (buffer.size() > 1 && buffer.peekFirst().getTimestamp() < oldest)) {
+              buffer.removeFirst();
+            }
+          }
+        });
+  }
+
+  @Override
+  public List<ServerGroupCapacitySample> getSamples(
+      String account, String region, String serverGroupName, long since) {
+    Deque<ServerGroupCapacitySample> buffer =
+        history.getIfPresent(key(account, region, serverGroupName));
+    if (buffer == null) {
+      return Collections.emptyList();
+    }
+    List<ServerGroupCapacitySample> samples = new ArrayList<>();
+    synchronized (buffer) {
+      for (ServerGroupCapacitySample sample : buffer) {
+        if (sample.getTimestamp() > since) {
+          samples.add(sample);
+        }
+      }
+    }
+    return samples;
+  }
+
+  private static String key(String account, String region, String serverGroupName) {
+    return account + ":" + region + ":" + serverGroupName;
+  }
+}
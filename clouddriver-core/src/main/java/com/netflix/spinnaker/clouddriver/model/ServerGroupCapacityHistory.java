@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded history of the capacity and instance counts of server groups, recorded by caching
+ * agents as they cache them. Only samples that differ from the previous sample of a server group
+ * are kept, so that a client watching a rollout can ask for what changed since the last sample it
+ * saw rather than polling the whole server group.
+ */
+public interface ServerGroupCapacityHistory {
+
+  /**
+   * Records the latest samples of the server groups of an account and region, keyed by server
+   * group name.
+   */
+  void record(String account, String region, Map<String, ServerGroupCapacitySample> samples);
+
+  /**
+   * @return the samples of a server group recorded after {@code since} (in epoch millis), oldest
+   *     first
+   */
+  List<ServerGroupCapacitySample> getSamples(
+      String account, String region, String serverGroupName, long since);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.model;
+
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** The capacity and instance counts of a server group, as observed by a caching agent. */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ServerGroupCapacitySample {
+  /** When the caching agent observed the server group, in epoch millis. */
+  private long timestamp;
+
+  private ServerGroup.Capacity capacity;
+
+  /** The instances of the server group, by health as reported by the cloud provider. */
+  private ServerGroup.InstanceCounts instanceCounts;
+
+  /** @return true if this sample differs from {@code other} in anything but its timestamp */
+  public boolean isChangedFrom(ServerGroupCapacitySample other) {
+    return other == null
+        || !Objects.equals(capacity, other.capacity)
+        || !Objects.equals(instanceCounts, other.instanceCounts);
+  }
+}
@@ -17,14 +17,20 @@
 package com.netflix.spinnaker.clouddriver.security;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.credentials.definition.CredentialsDefinition;
 import com.netflix.spinnaker.credentials.definition.CredentialsDefinitionSource;
 import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,6 +42,9 @@ import org.apache.logging.log4j.Logger;
  * lists from all the given credentials definition sources. When no {@code
  * CredentialsDefinitionSource<T>} beans are available for a given account type, then a default
  * source should be specified to wrap any existing Spring configuration beans that provide the same.
+ * Definitions from the repository are refreshed incrementally using {@link
+ * AccountDefinitionRepository#listChangesByType(String, long)} so that unchanged accounts keep
+ * their previously loaded instances and are not deserialized again.
  *
  * @param <T> account credentials definition type
  */
@@ -59,13 +68,29 @@ public class AccountDefinitionSource<T extends CredentialsDefinition>
       AccountDefinitionRepository repository,
       Class<T> type,
       List<CredentialsDefinitionSource<T>> additionalSources) {
+    this(repository, type, additionalSources, new NoopRegistry());
+  }
+
+  /**
+   * Constructs an account-based {@code CredentialsDefinitionSource<T>} that records refresh metrics
+   * to the given registry.
+   *
+   * @param repository the backing repository for managing account definitions at runtime
+   * @param type the account type supported by this source (must be annotated with {@link
+   *     JsonTypeName})
+   * @param additionalSources the list of other credential definition sources to list accounts from
+   * @param registry registry to record refresh durations and changed account counts in
+   */
+  public AccountDefinitionSource(
+      AccountDefinitionRepository repository,
+      Class<T> type,
+      List<CredentialsDefinitionSource<T>> additionalSources,
+      Registry registry) {
     String typeName = AccountDefinitionTypes.getCredentialsTypeName(type);
     Objects.requireNonNull(
         typeName, () -> "Class " + type + " is not annotated with type discriminator");
     List<CredentialsDefinitionSource<T>> sources = new ArrayList<>(additionalSources.size() + 1);
-    sources.add(
-        () ->
-            repository.listByType(typeName).stream().map(type::cast).collect(Collectors.toList()));
+    sources.add(new RepositorySource<>(repository, type, typeName, registry));
     sources.addAll(additionalSources);
     this.sources = List.copyOf(sources);
   }
@@ -88,4 +113,74 @@ public class AccountDefinitionSource<T extends CredentialsDefinition>
             })
         .collect(Collectors.toList());
   }
+
+  /**
+   * Tracks the account definitions stored in an {@link AccountDefinitionRepository} by applying
+   * changes since the previous refresh to a local snapshot.
+   */
+  private static class RepositorySource<T extends CredentialsDefinition>
+      implements CredentialsDefinitionSource<T> {
+    private final AccountDefinitionRepository repository;
+    private final Class<T> type;
+    private final String typeName;
+    private final Registry registry;
+    private final Id refreshDurationId;
+    private final Id changedAccountsId;
+    private final Id deletedAccountsId;
+    private final Map<String, T> definitions = new TreeMap<>();
+    private long lastRefreshTimestamp;
+
+    RepositorySource(
+        AccountDefinitionRepository repository, Class<T> type, String typeName, Registry registry) {
+      this.repository = repository;
+      this.type = type;
+      this.typeName = typeName;
+      this.registry = registry;
+      this.refreshDurationId =
+          registry.createId("accountDefinitions.refresh.duration").withTag("type", typeName);
+      this.changedAccountsId =
+          registry.createId("accountDefinitions.refresh.changed").withTag("type", typeName);
+      this.deletedAccountsId =
+          registry.createId("accountDefinitions.refresh.deleted").withTag("type", typeName);
+    }
+
+    @Override
+    public synchronized List<T> getCredentialsDefinitions() {
+      long startTime = registry.clock().monotonicTime();
+      var changes = repository.listChangesByType(typeName, lastRefreshTimestamp);
+      int deleted = 0;
+      if (changes.isSnapshot()) {
+        Set<String> names =
+            changes.getChangedAccounts().stream()
+                .map(CredentialsDefinition::getName)
+                .collect(Collectors.toSet());
+        int previousSize = definitions.size();
+        definitions.keySet().retainAll(names);
+        deleted = previousSize - definitions.size();
+      } else {
+        for (String name : changes.getDeletedAccountNames()) {
+          if (definitions.remove(name) != null) {
+            deleted++;
+          }
+        }
+      }
+      for (CredentialsDefinition definition : changes.getChangedAccounts()) {
+        definitions.put(definition.getName(), type.cast(definition));
+      }
+      lastRefreshTimestamp = changes.getTimestamp();
+
+      registry
+          .timer(refreshDurationId.withTag("snapshot", String.valueOf(changes.isSnapshot())))
+          .record(registry.clock().monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+      registry.counter(changedAccountsId).increment(changes.getChangedAccounts().size());
+      registry.counter(deletedAccountsId).increment(deleted);
+      LOGGER.debug(
+          "Refreshed {} account definitions of type {} ({} changed, {} deleted)",
+          definitions.size(),
+          typeName,
+          changes.getChangedAccounts().size(),
+          deleted);
+      return List.copyOf(definitions.values());
+    }
+  }
 }
@@ -444,6 +444,42 @@ class ProjectClustersServiceSpec extends Specification {
       ])
   }
 
+  void "reuses the clusters of a project when neither its configuration nor its server groups changed"() {
+    given:
+    projectConfig.config.clusters = [
+      [account: "prod", stack: "main", applications: ["orca"]]
+    ]
+    def serverGroup = makeServerGroup("prod", "orca-main-v001", "us-east-1", 3, 2L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+    front50Service.getProject(_) >> { projectConfig }
+    clusterProvider.getClusterSummaries("deck") >> [:]
+    def summaryCalls = 0
+    clusterProvider.getClusterSummaries("orca") >> {
+      if (++summaryCalls == 3) {
+        throw new IllegalStateException("unavailable")
+      }
+      [prod: [new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [])] as Set]
+    }
+    clusterProvider.getCluster("orca", "prod", "orca-main") >>> [
+      new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [serverGroup]),
+      new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [serverGroup]),
+      new TestCluster(name: "orca-main", accountName: "prod", serverGroups: [
+        makeServerGroup("prod", "orca-main-v002", "us-east-1", 4, 3L, new ServerGroup.InstanceCounts(total: 1, up: 1))
+      ])
+    ]
+
+    when:
+    def first = subject.getProjectClusters(allowList)["Spinnaker"]
+    def unchanged = subject.getProjectClusters(allowList)["Spinnaker"]
+    def unavailable = subject.getProjectClusters(allowList)["Spinnaker"]
+    def changed = subject.getProjectClusters(allowList)["Spinnaker"]
+
+    then:
+    unchanged.is(first)
+    unavailable.is(first)
+    !changed.is(first)
+    changed[0].applications[0].lastPush == 3L
+  }
+
   private static List<ClusterModel> cachedClusters(Map<String, List<ClusterModel>> result, String projectName) {
     return result[projectName]
   }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.AgentLock;
+import com.netflix.spinnaker.cats.agent.AgentScheduler;
+import com.netflix.spinnaker.cats.module.CatsModule;
+import com.netflix.spinnaker.cats.provider.Provider;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatsOnDemandCacheUpdaterTest {
+
+  private final Registry registry = new DefaultRegistry();
+  private final ExecutorService executor = Executors.newFixedThreadPool(3);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private final Provider provider = mock(Provider.class);
+
+  private OnDemandAgent onDemandAgent;
+  private CatsOnDemandCacheUpdater updater;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    Agent agent = mock(Agent.class, withSettings().extraInterfaces(OnDemandAgent.class));
+    onDemandAgent = (OnDemandAgent) agent;
+    when(onDemandAgent.handles(OnDemandType.ServerGroup, "aws")).thenReturn(true);
+    when(onDemandAgent.handle(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              if (calls.incrementAndGet() == 1) {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+              }
+              return null;
+            });
+
+    when(provider.getAgents()).thenReturn(List.of(agent));
+
+    OnDemandCoalescingProperties coalescingProperties = new OnDemandCoalescingProperties();
+    coalescingProperties.setEnabled(true);
+    updater =
+        new CatsOnDemandCacheUpdater(
+            List.of(provider),
+            mock(CatsModule.class, RETURNS_DEEP_STUBS),
+            (AgentScheduler<AgentLock>) mock(AgentScheduler.class),
+            registry,
+            coalescingProperties);
+  }
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void routesRequestsToTheAgentsThatHandleThem() {
+    assertTrue(updater.handles(OnDemandType.ServerGroup, "aws"));
+    assertFalse(updater.handles(OnDemandType.LoadBalancer, "aws"));
+    assertFalse(updater.handles(OnDemandType.ServerGroup, "gce"));
+  }
+
+  @Test
+  void routesRequestsToTheAgentsThatReplacedThem() {
+    assertTrue(updater.handles(OnDemandType.ServerGroup, "aws"));
+
+    // an account swapped for another during a reload leaves the number of agents unchanged
+    Agent replacement = mock(Agent.class, withSettings().extraInterfaces(OnDemandAgent.class));
+    when(((OnDemandAgent) replacement).handles(OnDemandType.ServerGroup, "gce")).thenReturn(true);
+    when(provider.getAgents()).thenReturn(List.of(replacement));
+
+    assertFalse(updater.handles(OnDemandType.ServerGroup, "aws"));
+    assertTrue(updater.handles(OnDemandType.ServerGroup, "gce"));
+  }
+
+  @Test
+  void coalescesIdenticalRefreshesIntoOneAfterTheRunningRefresh() throws Exception {
+    Map<String, Object> data = Map.of("serverGroupName", "app-v001", "account", "test");
+
+    Future<OnDemandCacheResult> first =
+        executor.submit(() -> updater.handle(OnDemandType.ServerGroup, "aws", data));
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    // the running refresh may have read the server group before these requests were made, so
+    // they share a refresh that starts once it's done
+    Future<OnDemandCacheResult> second =
+        executor.submit(() -> updater.handle(OnDemandType.ServerGroup, "aws", data));
+    awaitRefreshes(false, 2);
+    Future<OnDemandCacheResult> third =
+        executor.submit(() -> updater.handle(OnDemandType.ServerGroup, "aws", data));
+    awaitRefreshes(true, 1);
+    assertEquals(1, calls.get());
+    release.countDown();
+
+    assertEquals(OnDemandCacheStatus.SUCCESSFUL, first.get(10, TimeUnit.SECONDS).getStatus());
+    assertEquals(OnDemandCacheStatus.SUCCESSFUL, second.get(10, TimeUnit.SECONDS).getStatus());
+    assertEquals(OnDemandCacheStatus.SUCCESSFUL, third.get(10, TimeUnit.SECONDS).getStatus());
+    verify(onDemandAgent, times(2)).handle(any(), any());
+    assertEquals(2, refreshes(false));
+    assertEquals(1, refreshes(true));
+  }
+
+  private void awaitRefreshes(boolean coalesced, long count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (refreshes(coalesced) < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, refreshes(coalesced));
+  }
+
+  private long refreshes(boolean coalesced) {
+    return registry
+        .counter(
+            "onDemand.refreshes", "type", "ServerGroup", "coalesced", String.valueOf(coalesced))
+        .count();
+  }
+}
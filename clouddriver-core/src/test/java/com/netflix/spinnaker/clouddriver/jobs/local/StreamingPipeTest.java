@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.jobs.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StreamingPipeTest {
+
+  @Test
+  void transfersMoreBytesThanFitInTheBuffer() throws Exception {
+    byte[] output = new byte[1024 * 1024];
+    new Random(42).nextBytes(output);
+    StreamingPipe pipe = new StreamingPipe(1000);
+
+    CompletableFuture<Void> writer =
+        CompletableFuture.runAsync(
+            () -> {
+              try (OutputStream sink = pipe.sink()) {
+                for (int offset = 0; offset < output.length; offset += 4096) {
+                  sink.write(output, offset, Math.min(4096, output.length - offset));
+                }
+              } catch (Exception e) {
+                throw new RuntimeException(e);
+              }
+            });
+
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    try (InputStream source = pipe.source()) {
+      byte[] buffer = new byte[777];
+      int read;
+      while ((read = source.read(buffer)) != -1) {
+        received.write(buffer, 0, read);
+      }
+    }
+    writer.get(10, TimeUnit.SECONDS);
+
+    assertThat(received.toByteArray()).isEqualTo(output);
+    assertThat(pipe.getBytesWritten()).isEqualTo(output.length);
+  }
+
+  @Test
+  void discardsOutputOnceTheConsumerHasClosed() throws Exception {
+    StreamingPipe pipe = new StreamingPipe(16);
+    pipe.source().close();
+
+    OutputStream sink = pipe.sink();
+    sink.write(new byte[1024]);
+    sink.close();
+
+    assertThat(pipe.getBytesWritten()).isEqualTo(1024);
+    assertThat(pipe.getStallNanos()).isZero();
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.spinnaker.clouddriver.config.ServerGroupCapacityHistoryProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryServerGroupCapacityHistoryTest {
+  private static final long NOW = Duration.ofDays(1).toMillis();
+
+  private InMemoryServerGroupCapacityHistory history;
+
+  @BeforeEach
+  void setup() {
+    ServerGroupCapacityHistoryProperties properties = new ServerGroupCapacityHistoryProperties();
+    properties.setRetention(Duration.ofHours(1));
+    properties.setMaxSamples(3);
+    history =
+        new InMemoryServerGroupCapacityHistory(
+            properties, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+  }
+
+  @Test
+  void keepsOnlySamplesThatChanged() {
+    record(NOW - 3000, 1);
+    record(NOW - 2000, 1);
+    record(NOW - 1000, 2);
+
+    assertThat(samples(0))
+        .extracting(ServerGroupCapacitySample::getTimestamp)
+        .containsExactly(NOW - 3000, NOW - 1000);
+  }
+
+  @Test
+  void returnsSamplesRecordedAfterSince() {
+    record(NOW - 3000, 1);
+    record(NOW - 2000, 2);
+    record(NOW - 1000, 3);
+
+    assertThat(samples(NOW - 2000))
+        .extracting(ServerGroupCapacitySample::getTimestamp)
+        .containsExactly(NOW - 1000);
+  }
+
+  @Test
+  void keepsAtMostMaxSamples() {
+    for (int desired = 1; desired <= 5; desired++) {
+      record(NOW - 10000 + desired, desired);
+    }
+
+    assertThat(samples(0))
+        .extracting(sample -> sample.getCapacity().getDesired())
+        .containsExactly(3, 4, 5);
+  }
+
+  @Test
+  void dropsSamplesPastTheRetentionButTheLatest() {
+    long expired = NOW - Duration.ofHours(2).toMillis();
+    record(expired, 1);
+    record(expired + 1, 2);
+
+    assertThat(samples(0))
+        .extracting(ServerGroupCapacitySample::getTimestamp)
+        .containsExactly(expired + 1);
+  }
+
+  @Test
+  void returnsNothingForUnknownServerGroups() {
+    assertThat(history.getSamples("test", "us-east-1", "app-v000", 0)).isEmpty();
+  }
+
+  private void record(long timestamp, int desired) {
+    ServerGroupCapacitySample sample =
+        new ServerGroupCapacitySample(
+            timestamp,
+            new ServerGroup.Capacity(0, 10, desired),
+            new ServerGroup.InstanceCounts(desired, desired, 0, 0, 0, 0));
+    history.record("test", "us-east-1", Collections.singletonMap("app-v001", sample));
+  }
+
+  private List<ServerGroupCapacitySample> samples(long since) {
+    return history.getSamples("test", "us-east-1", "app-v001", since);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import io.spinnaker.test.security.ValueAccount;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AccountDefinitionSourceTest {
+  AccountDefinitionRepository repository;
+  Registry registry;
+  AccountDefinitionSource<ValueAccount> source;
+
+  ValueAccount first = ValueAccount.builder().name("first").value("1").build();
+  ValueAccount second = ValueAccount.builder().name("second").value("2").build();
+
+  @BeforeEach
+  public void setup() {
+    repository = mock(AccountDefinitionRepository.class);
+    registry = new DefaultRegistry();
+    source = new AccountDefinitionSource<>(repository, ValueAccount.class, List.of(), registry);
+    doReturn(new AccountDefinitionRepository.Changes(List.of(first, second), Set.of(), 100, true))
+        .when(repository)
+        .listChangesByType("value", 0);
+  }
+
+  @Test
+  public void testInitialLoadUsesSnapshot() {
+    assertThat(source.getCredentialsDefinitions()).containsExactly(first, second);
+  }
+
+  @Test
+  public void testChangesAreAppliedToPreviousSnapshot() {
+    ValueAccount updated = ValueAccount.builder().name("second").value("updated").build();
+    ValueAccount third = ValueAccount.builder().name("third").value("3").build();
+    doReturn(
+            new AccountDefinitionRepository.Changes(
+                List.of(updated, third), Set.of("first", "unknown"), 200, false))
+        .when(repository)
+        .listChangesByType("value", 100);
+
+    source.getCredentialsDefinitions();
+    assertThat(source.getCredentialsDefinitions()).containsExactly(updated, third);
+    assertThat(registry.counter("accountDefinitions.refresh.deleted", "type", "value").count())
+        .isEqualTo(1);
+    assertThat(registry.counter("accountDefinitions.refresh.changed", "type", "value").count())
+        .isEqualTo(4);
+  }
+
+  @Test
+  public void testUnchangedAccountsKeepLoadedInstances() {
+    doReturn(new AccountDefinitionRepository.Changes(List.of(), Set.of(), 200, false))
+        .when(repository)
+        .listChangesByType("value", 100);
+
+    List<ValueAccount> initial = source.getCredentialsDefinitions();
+    List<ValueAccount> refreshed = source.getCredentialsDefinitions();
+    assertThat(refreshed.get(0)).isSameAs(initial.get(0));
+    assertThat(refreshed.get(1)).isSameAs(initial.get(1));
+  }
+}
@@ -1,5 +1,6 @@
 package com.netflix.spinnaker.config;
 
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.docker.registry.config.DockerRegistryConfigurationProperties;
 import com.netflix.spinnaker.clouddriver.docker.registry.config.DockerRegistryConfigurationProperties.ManagedAccount;
 import com.netflix.spinnaker.clouddriver.security.AccountDefinitionRepository;
@@ -20,10 +21,12 @@ public class DockerRegistryAccountDefinitionSourceConfiguration {
   public CredentialsDefinitionSource<ManagedAccount> dockerRegistryAccountSource(
       AccountDefinitionRepository repository,
       Optional<List<CredentialsDefinitionSource<ManagedAccount>>> additionalSources,
-      DockerRegistryConfigurationProperties properties) {
+      DockerRegistryConfigurationProperties properties,
+      Registry registry) {
     return new AccountDefinitionSource<>(
         repository,
         ManagedAccount.class,
-        additionalSources.orElseGet(() -> List.of(properties::getAccounts)));
+        additionalSources.orElseGet(() -> List.of(properties::getAccounts)),
+        registry);
   }
 }
@@ -106,7 +106,9 @@ public class TaskCachingAgent extends AbstractEcsOnDemandAgent<Task> {
 
   @Override
   public Collection<Map<String, Object>> pendingOnDemandRequests(ProviderCache providerCache) {
-    Collection<CacheData> allOnDemand = providerCache.getAll(ON_DEMAND.toString());
+    Collection<CacheData> allOnDemand =
+        providerCache.getOnDemandCacheData(
+            getAgentType(), ON_DEMAND.toString(), Keys.getServiceKey(accountName, region, "*"));
     List<Map<String, Object>> returnResults = new LinkedList<>();
     for (CacheData onDemand : allOnDemand) {
       Map<String, String> parsedKey = Keys.parse(onDemand.getId());
@@ -152,7 +154,7 @@ public class TaskCachingAgent extends AbstractEcsOnDemandAgent<Task> {
           Map<String, Object> att = new HashMap<>();
           att.put("cacheTime", new Date());
           CacheData cacheData = new DefaultCacheData(keyString, att, Collections.emptyMap());
-          providerCache.putCacheData(ON_DEMAND.toString(), cacheData);
+          providerCache.putOnDemandCacheData(getAgentType(), ON_DEMAND.toString(), cacheData);
           return null;
         });
   }
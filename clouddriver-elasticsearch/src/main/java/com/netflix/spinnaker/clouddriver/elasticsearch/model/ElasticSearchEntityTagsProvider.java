@@ -19,8 +19,12 @@ package com.netflix.spinnaker.clouddriver.elasticsearch.model;
 import static java.lang.String.format;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.netflix.frigga.Names;
 import com.netflix.spinnaker.clouddriver.core.services.Front50Service;
 import com.netflix.spinnaker.clouddriver.helpers.OperationPoller;
@@ -35,6 +39,7 @@ import io.searchbox.core.Bulk;
 import io.searchbox.core.ClearScroll;
 import io.searchbox.core.Delete;
 import io.searchbox.core.Index;
+import io.searchbox.core.MultiGet;
 import io.searchbox.core.Search;
 import io.searchbox.core.SearchResult;
 import io.searchbox.core.SearchScroll;
@@ -74,6 +79,13 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   private final String mappingTypeName;
 
+  /**
+   * Recently fetched EntityTags keyed by id (absent values are cached as well), invalidated before
+   * and after EntityTags are indexed or deleted through this provider, so that a concurrent read
+   * can't cache the EntityTags being replaced.
+   */
+  private final Cache<String, Optional<EntityTags>> entityTagsById;
+
   @Autowired
   public ElasticSearchEntityTagsProvider(
       ApplicationContext applicationContext,
@@ -89,6 +101,11 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
     this.jestClient = jestClient;
     this.activeElasticSearchIndex = elasticSearchConfigProperties.getActiveIndex();
     this.mappingTypeName = elasticSearchConfigProperties.getMappingTypeName();
+    this.entityTagsById =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(elasticSearchConfigProperties.getCacheTtlSeconds(), TimeUnit.SECONDS)
+            .maximumSize(elasticSearchConfigProperties.getCacheMaxEntries())
+            .build();
   }
 
   @Override
@@ -167,7 +184,37 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   @Override
   public Optional<EntityTags> get(String id) {
-    return get(id, Collections.emptyMap());
+    Optional<EntityTags> cached = entityTagsById.getIfPresent(id);
+    if (cached != null) {
+      return cached;
+    }
+
+    Optional<EntityTags> entityTags = get(id, Collections.emptyMap());
+    entityTagsById.put(id, entityTags);
+    return entityTags;
+  }
+
+  @Override
+  public Collection<EntityTags> getAll(Collection<String> ids) {
+    Map<String, Optional<EntityTags>> cached = entityTagsById.getAllPresent(ids);
+
+    List<EntityTags> allEntityTags = new ArrayList<>();
+    cached.values().forEach(e -> e.ifPresent(allEntityTags::add));
+
+    List<String> missingIds =
+        ids.stream().distinct().filter(id -> !cached.containsKey(id)).collect(Collectors.toList());
+    Lists.partition(missingIds, 1000)
+        .forEach(
+            partition -> {
+              Map<String, EntityTags> fetched = multiGet(partition);
+              for (String id : partition) {
+                Optional<EntityTags> entityTags = Optional.ofNullable(fetched.get(id));
+                entityTagsById.put(id, entityTags);
+                entityTags.ifPresent(allEntityTags::add);
+              }
+            });
+
+    return allEntityTags;
   }
 
   @Override
@@ -191,6 +238,7 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   @Override
   public void index(EntityTags entityTags) {
+    entityTagsById.invalidate(entityTags.getId());
     try {
       Index action =
           new Index.Builder(
@@ -210,11 +258,24 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
     } catch (IOException e) {
       throw new ElasticSearchException(
           format("Failed to index %s, reason: '%s'", entityTags.getId(), e.getMessage()));
+    } finally {
+      entityTagsById.invalidate(entityTags.getId());
     }
   }
 
   @Override
   public void bulkIndex(Collection<EntityTags> multipleEntityTags) {
+    List<String> ids =
+        multipleEntityTags.stream().map(EntityTags::getId).collect(Collectors.toList());
+    entityTagsById.invalidateAll(ids);
+    try {
+      bulkIndexPartitions(multipleEntityTags);
+    } finally {
+      entityTagsById.invalidateAll(ids);
+    }
+  }
+
+  private void bulkIndexPartitions(Collection<EntityTags> multipleEntityTags) {
     Lists.partition(new ArrayList<>(multipleEntityTags), 1000)
         .forEach(
             tags -> {
@@ -259,8 +320,9 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   @Override
   public void delete(String id) {
+    entityTagsById.invalidate(id);
     try {
-      EntityTags entityTags = get(id).orElse(null);
+      EntityTags entityTags = get(id, Collections.emptyMap()).orElse(null);
       if (entityTags == null) {
         // EntityTags w/ id = :id does not actually exist
         return;
@@ -277,11 +339,24 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
     } catch (IOException e) {
       throw new ElasticSearchException(
           format("Failed to delete %s, reason: '%s'", id, e.getMessage()));
+    } finally {
+      entityTagsById.invalidate(id);
     }
   }
 
   @Override
   public void bulkDelete(Collection<EntityTags> multipleEntityTags) {
+    List<String> ids =
+        multipleEntityTags.stream().map(EntityTags::getId).collect(Collectors.toList());
+    entityTagsById.invalidateAll(ids);
+    try {
+      bulkDeletePartitions(multipleEntityTags);
+    } finally {
+      entityTagsById.invalidateAll(ids);
+    }
+  }
+
+  private void bulkDeletePartitions(Collection<EntityTags> multipleEntityTags) {
     Lists.partition(new ArrayList<>(multipleEntityTags), 1000)
         .forEach(
             tags -> {
@@ -311,6 +386,7 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
 
   @Override
   public void reindex() {
+    entityTagsById.invalidateAll();
     try {
       log.info("Deleting Index {}", activeElasticSearchIndex);
       jestClient.execute(new DeleteIndex.Builder(activeElasticSearchIndex).build());
@@ -702,6 +778,38 @@ public class ElasticSearchEntityTagsProvider implements EntityTagsProvider {
     }
   }
 
+  /** Fetches EntityTags for the given ids with a single {@code _mget} request. */
+  private Map<String, EntityTags> multiGet(Collection<String> ids) {
+    MultiGet multiGet =
+        new MultiGet.Builder.ById(activeElasticSearchIndex, mappingTypeName).addId(ids).build();
+
+    try {
+      JestResult jestResult = jestClient.execute(multiGet);
+      if (!jestResult.isSucceeded()) {
+        throw new ElasticSearchException(
+            format(
+                "Failed to fetch %d entity tags, reason: '%s'",
+                ids.size(), jestResult.getErrorMessage()));
+      }
+
+      Map<String, EntityTags> entityTagsById = new HashMap<>();
+      for (JsonElement doc : jestResult.getJsonObject().getAsJsonArray("docs")) {
+        JsonObject document = doc.getAsJsonObject();
+        if (document.has("found")
+            && document.get("found").getAsBoolean()
+            && document.has("_source")) {
+          Map source = objectMapper.readValue(document.get("_source").toString(), Map.class);
+          EntityTags entityTags = prepareForRead(objectMapper, source);
+          entityTagsById.put(document.get("_id").getAsString(), entityTags);
+        }
+      }
+      return entityTagsById;
+    } catch (IOException e) {
+      throw new ElasticSearchException(
+          format("Failed to fetch %d entity tags, reason: '%s'", ids.size(), e.getMessage()));
+    }
+  }
+
   private List<EntityTags> fetchAll(QueryBuilder queryBuilder, int scrollSize, String scrollTime) {
     SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
     searchSourceBuilder.query(queryBuilder);
@@ -36,6 +36,11 @@ public class ElasticSearchConfigProperties {
   // recommended for forward compatibility with Elasticsearch 7.0.
   private String mappingTypeName = "_doc";
 
+  // Entity tags fetched by id are cached locally for a short time to avoid repeated requests when
+  // the same entities are decorated across many requests. Set cacheTtlSeconds to 0 to disable.
+  private int cacheTtlSeconds = 10;
+  private int cacheMaxEntries = 10000;
+
   public String getActiveIndex() {
     return activeIndex;
   }
@@ -75,4 +80,20 @@ public class ElasticSearchConfigProperties {
   public String getMappingTypeName() {
     return mappingTypeName;
   }
+
+  public int getCacheTtlSeconds() {
+    return cacheTtlSeconds;
+  }
+
+  public void setCacheTtlSeconds(int cacheTtlSeconds) {
+    this.cacheTtlSeconds = cacheTtlSeconds;
+  }
+
+  public int getCacheMaxEntries() {
+    return cacheMaxEntries;
+  }
+
+  public void setCacheMaxEntries(int cacheMaxEntries) {
+    this.cacheMaxEntries = cacheMaxEntries;
+  }
 }
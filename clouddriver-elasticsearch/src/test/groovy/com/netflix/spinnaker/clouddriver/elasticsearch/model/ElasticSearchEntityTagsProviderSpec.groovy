@@ -201,6 +201,45 @@ class ElasticSearchEntityTagsProviderSpec extends Specification {
     !entityTagsProvider.get(entityTags.id, ["tag3": "value3"]).isPresent()
   }
 
+  def "should support bulk retrieval by `EntityTags.id`"() {
+    given:
+    def allEntityTags = [
+      buildEntityTags("aws:servergroup:clouddriver-main-v001:myaccount:us-west-1", ["tag1": "value1"]),
+      buildEntityTags("aws:servergroup:clouddriver-main-v002:myaccount:us-west-1", ["tag2": "value2"]),
+    ]
+    entityTagsProvider.bulkIndex(allEntityTags)
+    refreshIndices()
+    allEntityTags.each { entityTagsProvider.verifyIndex(it) }
+
+    expect:
+    entityTagsProvider.getAll(allEntityTags*.id + ["does-not-exist"])*.id.sort() == allEntityTags*.id.sort()
+    entityTagsProvider.getAll([allEntityTags[0].id])*.tags*.name.flatten() == ["tag1"]
+  }
+
+  def "should invalidate cached entity tags when they are indexed or deleted"() {
+    given:
+    def entityTags = buildEntityTags("aws:servergroup:clouddriver-main-v001:myaccount:us-west-1", ["tag1": "value1"])
+
+    expect:
+    entityTagsProvider.getAll([entityTags.id]).isEmpty()
+
+    when:
+    entityTagsProvider.index(entityTags)
+    refreshIndices()
+
+    then:
+    entityTagsProvider.getAll([entityTags.id])*.id == [entityTags.id]
+    entityTagsProvider.get(entityTags.id).isPresent()
+
+    when:
+    entityTagsProvider.delete(entityTags.id)
+    refreshIndices()
+
+    then:
+    entityTagsProvider.getAll([entityTags.id]).isEmpty()
+    !entityTagsProvider.get(entityTags.id).isPresent()
+  }
+
   @Unroll
   def "should assign entityRef.application if not specified"() {
     given:
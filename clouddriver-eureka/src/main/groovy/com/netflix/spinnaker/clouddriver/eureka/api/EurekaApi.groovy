@@ -25,4 +25,8 @@ interface EurekaApi {
   @GET('/apps')
   @Headers(['Accept: application/json'])
   EurekaApplications loadEurekaApplications()
+
+  @GET('/apps/delta')
+  @Headers(['Accept: application/json'])
+  EurekaApplications loadEurekaApplicationsDelta()
 }
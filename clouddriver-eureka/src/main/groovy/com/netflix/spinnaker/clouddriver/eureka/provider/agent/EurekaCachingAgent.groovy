@@ -31,11 +31,14 @@ import com.netflix.spinnaker.clouddriver.core.provider.agent.HealthProvidingCach
 import com.netflix.spinnaker.clouddriver.eureka.api.EurekaApi
 import com.netflix.spinnaker.clouddriver.eureka.model.EurekaApplication
 import com.netflix.spinnaker.clouddriver.eureka.model.EurekaApplications
+import com.netflix.spinnaker.clouddriver.eureka.model.EurekaInstance
 import com.netflix.spinnaker.clouddriver.model.HealthState
 import com.netflix.spinnaker.kork.core.RetrySupport
 import com.netflix.spinnaker.security.AuthenticatedRequest
 import groovy.util.logging.Slf4j
 
+import java.util.concurrent.TimeUnit
+
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES
 
@@ -49,12 +52,25 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent, C
   private final String eurekaAccountName
   private final boolean allowMultipleEurekaPerAccount
   final String healthId = "Discovery"
+
+  /** How long eureka retains changes for its delta endpoint. */
+  private static final long DELTA_RETENTION_MILLIS = TimeUnit.MINUTES.toMillis(3)
   private final long pollIntervalMillis
   private final long timeoutMillis
   private final RetrySupport retry = new RetrySupport()
+  private final boolean deltaEnabled
+  private final long fullRefreshIntervalMillis
 
   private List<EurekaAwareProvider> eurekaAwareProviderList
 
+  /**
+   * The last fetched registry when delta mode is enabled, keyed by application and registration id, along with the
+   * cache attributes derived from each instance.
+   */
+  private Map<String, RegisteredInstance> registry
+  private long lastFullRefreshMillis
+  private long lastRefreshMillis
+
   EurekaCachingAgent(EurekaApi eurekaApi,
                      String region,
                      ObjectMapper objectMapper,
@@ -64,6 +80,22 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent, C
                      eurekaAwareProviderList,
                      long pollIntervalMillis,
                      long timeoutMillis
+  ) {
+    this(eurekaApi, region, objectMapper, eurekaHost, allowMultipleEurekaPerAccount, eurekaAccountName,
+      eurekaAwareProviderList, pollIntervalMillis, timeoutMillis, false, 0)
+  }
+
+  EurekaCachingAgent(EurekaApi eurekaApi,
+                     String region,
+                     ObjectMapper objectMapper,
+                     eurekaHost,
+                     allowMultipleEurekaPerAccount,
+                     eurekaAccountName,
+                     eurekaAwareProviderList,
+                     long pollIntervalMillis,
+                     long timeoutMillis,
+                     boolean deltaEnabled,
+                     long fullRefreshIntervalMillis
   ) {
     this.region = region
     this.eurekaApi = eurekaApi
@@ -74,6 +106,8 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent, C
     this.eurekaAwareProviderList = eurekaAwareProviderList
     this.timeoutMillis = timeoutMillis
     this.pollIntervalMillis = pollIntervalMillis
+    this.deltaEnabled = deltaEnabled
+    this.fullRefreshIntervalMillis = fullRefreshIntervalMillis
   }
 
   @Override
@@ -94,32 +128,24 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent, C
   @Override
   CacheResult loadData(ProviderCache providerCache) {
     log.info("Describing items in ${agentType}")
-    EurekaApplications disco = AuthenticatedRequest.allowAnonymous({
-      retry.retry({ eurekaApi.loadEurekaApplications() }, 3, 100, false)
-    })
+    Collection<RegisteredInstance> instances = deltaEnabled ?
+      refreshRegistry() :
+      registeredInstances(fetch { eurekaApi.loadEurekaApplications() })
 
     Map<String, Set<String>> instanceHealthRelationships = [:].withDefault { new HashSet<String>() }
     Map<String, List<CacheData>> eurekaInstances = [:].withDefault { [] }
 
-    for (EurekaApplication application : disco.applications) {
-      List<Map<String, Object>> instanceAttributes = objectMapper.convertValue(application.instances,
-        new TypeReference<List<Map<String, Object>>>() {})
-
-      for (Map<String, Object> attributes : instanceAttributes) {
-        if (attributes.instanceId) {
-          attributes.eurekaAccountName = eurekaAccountName
-          attributes.allowMultipleEurekaPerAccount = allowMultipleEurekaPerAccount
-          attributes.application = application.name.toLowerCase()
-
-          eurekaAwareProviderList.each { provider ->
-            if (provider.isProviderForEurekaRecord(attributes)) {
-              String instanceKey = provider.getInstanceKey(attributes, region)
-              if (instanceKey) {
-                String instanceHealthKey = provider.getInstanceHealthKey(attributes, region, healthId)
-                instanceHealthRelationships[instanceKey].add(instanceHealthKey)
-                Map<String, Collection<String>> healthRelationship = [(INSTANCES.ns): [instanceKey]]
-                eurekaInstances[instanceHealthKey].add(new DefaultCacheData(instanceHealthKey, attributes, healthRelationship))
-              }
+    for (RegisteredInstance instance : instances) {
+      Map<String, Object> attributes = instance.attributes
+      if (attributes.instanceId) {
+        eurekaAwareProviderList.each { provider ->
+          if (provider.isProviderForEurekaRecord(attributes)) {
+            String instanceKey = provider.getInstanceKey(attributes, region)
+            if (instanceKey) {
+              String instanceHealthKey = provider.getInstanceHealthKey(attributes, region, healthId)
+              instanceHealthRelationships[instanceKey].add(instanceHealthKey)
+              Map<String, Collection<String>> healthRelationship = [(INSTANCES.ns): [instanceKey]]
+              eurekaInstances[instanceHealthKey].add(new DefaultCacheData(instanceHealthKey, attributes, healthRelationship))
             }
           }
         }
@@ -149,6 +175,113 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent, C
       (HEALTH.ns): eurekaCacheData)
   }
 
+  /**
+   * Brings the local copy of the registry up to date by applying the changes from eureka's delta endpoint, which only
+   * covers the last few minutes. Falls back to fetching the full registry when there is no local copy, when the local
+   * copy is older than the delta window or the full refresh interval, or when the local copy does not reconcile with
+   * the hash code eureka reports for its registry.
+   *
+   * <p>Cache attributes are only derived for the instances that changed; the health records of every other instance
+   * are carried over as they were.
+   */
+  private Collection<RegisteredInstance> refreshRegistry() {
+    long now = System.currentTimeMillis()
+    if (registry != null &&
+      now - lastRefreshMillis < DELTA_RETENTION_MILLIS &&
+      now - lastFullRefreshMillis < fullRefreshIntervalMillis) {
+      EurekaApplications delta = fetch { eurekaApi.loadEurekaApplicationsDelta() }
+      Map<String, RegisteredInstance> updated = new HashMap<>(registry)
+      int changes = 0
+      for (EurekaApplication application : delta.applications ?: []) {
+        for (EurekaInstance instance : application.instances ?: []) {
+          String key = registryKey(application, instance)
+          if (instance.actionType == 'DELETED') {
+            updated.remove(key)
+          } else {
+            updated.put(key, new RegisteredInstance(application, instance))
+          }
+          changes++
+        }
+      }
+
+      if (reconcileHashCode(updated.values()) == delta.appsHashCode) {
+        log.info("Applied ${changes} eureka registry changes in ${agentType}")
+        registry = updated
+        lastRefreshMillis = now
+        return registry.values()
+      }
+      log.warn("Eureka registry in ${agentType} does not reconcile with hash code ${delta.appsHashCode}, fetching the full registry")
+    }
+
+    registry = toRegistry(fetch { eurekaApi.loadEurekaApplications() })
+    lastFullRefreshMillis = now
+    lastRefreshMillis = now
+    return registry.values()
+  }
+
+  private EurekaApplications fetch(Closure<EurekaApplications> request) {
+    AuthenticatedRequest.allowAnonymous({
+      retry.retry({ request.call() }, 3, 100, false)
+    })
+  }
+
+  private List<RegisteredInstance> registeredInstances(EurekaApplications applications) {
+    List<RegisteredInstance> instances = []
+    for (EurekaApplication application : applications.applications ?: []) {
+      for (EurekaInstance instance : application.instances ?: []) {
+        instances.add(new RegisteredInstance(application, instance))
+      }
+    }
+    return instances
+  }
+
+  private Map<String, RegisteredInstance> toRegistry(EurekaApplications applications) {
+    registeredInstances(applications).collectEntries { [(registryKey(it.application, it.instance)): it] }
+  }
+
+  private static String registryKey(EurekaApplication application, EurekaInstance instance) {
+    "${application.name}:${instance.registrationId ?: instance.instanceId}"
+  }
+
+  /**
+   * Computes the hash code eureka reports for a registry: the number of instances in each status, ordered by status.
+   */
+  private static String reconcileHashCode(Collection<RegisteredInstance> instances) {
+    SortedMap<String, Integer> statusCounts = new TreeMap<>()
+    instances.each { statusCounts[it.instance.status] = (statusCounts[it.instance.status] ?: 0) + 1 }
+    statusCounts.collect { status, count -> "${status}_${count}_" }.join('')
+  }
+
+  /**
+   * A registered instance and the cache attributes derived from it, which are only computed when first needed so that
+   * unchanged instances are not converted again on every poll.
+   */
+  private class RegisteredInstance {
+    final EurekaApplication application
+    final EurekaInstance instance
+    private Map<String, Object> attributes
+
+    RegisteredInstance(EurekaApplication application, EurekaInstance instance) {
+      this.application = application
+      this.instance = instance
+    }
+
+    Map<String, Object> getAttributes() {
+      if (attributes == null) {
+        Map<String, Object> converted = objectMapper.convertValue(instance, new TypeReference<Map<String, Object>>() {})
+        converted.remove('registrationId')
+        converted.remove('actionType')
+        if (converted.instanceId) {
+          converted.eurekaAccountName = eurekaAccountName
+          converted.allowMultipleEurekaPerAccount = allowMultipleEurekaPerAccount
+          converted.application = application.name.toLowerCase()
+        }
+        attributes = converted
+      }
+      return attributes
+    }
+  }
+
   private static class EurekaHealthComparator implements Comparator<CacheData> {
     @Override
     int compare(CacheData a, CacheData b) {
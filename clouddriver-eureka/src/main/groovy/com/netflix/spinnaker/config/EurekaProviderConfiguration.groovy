@@ -96,6 +96,12 @@ class EurekaProviderConfiguration {
   @Value('${eureka.timeout-millis:300000}')
   Long timeoutMillis
 
+  @Value('${eureka.delta.enabled:false}')
+  boolean deltaEnabled
+
+  @Value('${eureka.delta.full-refresh-interval-millis:600000}')
+  Long fullRefreshIntervalMillis
+
   @Bean
   EurekaCachingProvider eurekaCachingProvider(EurekaAccountConfigurationProperties eurekaAccountConfigurationProperties,
                                               OkHttpMetricsInterceptorProperties okHttpMetricsInterceptorProperties,
@@ -107,7 +113,7 @@ class EurekaProviderConfiguration {
       accountConfig.regions.each { region ->
         String eurekaHost = accountConfig.readOnlyUrl.replaceAll(Pattern.quote('{{region}}'), region)
         boolean multipleEurekaPerAcc = eurekaAccountConfigurationProperties.allowMultipleEurekaPerAccount ?: false
-        agents << new EurekaCachingAgent(eurekaApiFactory.createApi(eurekaHost), region, objectMapper, eurekaHost, multipleEurekaPerAcc, accountConfig.name, eurekaAwareProviderList, pollIntervalMillis, timeoutMillis)
+        agents << new EurekaCachingAgent(eurekaApiFactory.createApi(eurekaHost), region, objectMapper, eurekaHost, multipleEurekaPerAcc, accountConfig.name, eurekaAwareProviderList, pollIntervalMillis, timeoutMillis, deltaEnabled, fullRefreshIntervalMillis)
       }
     }
     EurekaCachingProvider eurekaCachingProvider = new EurekaCachingProvider(agents)
@@ -82,7 +82,58 @@ class EurekaCachingAgentSpec extends Specification {
 
   }
 
-  private static EurekaInstance instance(String app, String id, String status, Long timestamp = System.currentTimeMillis()) {
+  def "it should apply registry deltas that reconcile with the eureka hash code"() {
+    given:
+    def eurekaApi = Mock(EurekaApi)
+    def agent = new EurekaCachingAgent(eurekaApi, "us-foo-2", new ObjectMapper(), "http://eureka", "true", "eureka-foo", [eap], 0, 0, true, 600000)
+
+    when:
+    agent.loadData(providerCache)
+
+    then:
+    1 * eurekaApi.loadEurekaApplications() >> new EurekaApplications(applications: [
+      new EurekaApplication(name: "foo", instances: [
+        instance("foo", "i-1", "UP"),
+        instance("foo", "i-2", "UP")
+      ])
+    ])
+
+    when:
+    def result = agent.loadData(providerCache)
+
+    then:
+    1 * eurekaApi.loadEurekaApplicationsDelta() >> new EurekaApplications(appsHashCode: "DOWN_1_UP_1_", applications: [
+      new EurekaApplication(name: "foo", instances: [
+        instance("foo", "i-2", "DOWN", System.currentTimeMillis(), "MODIFIED"),
+        instance("foo", "i-3", "UP", System.currentTimeMillis(), "ADDED"),
+        instance("foo", "i-1", "UP", System.currentTimeMillis(), "DELETED")
+      ])
+    ])
+    0 * eurekaApi.loadEurekaApplications()
+    result.cacheResults[HEALTH.ns]*.id.sort() == ["us-foo-2:i-2:Discovery", "us-foo-2:i-3:Discovery"]
+    result.cacheResults[HEALTH.ns].find { it.id == "us-foo-2:i-2:Discovery" }.attributes.state == HealthState.Down.name()
+    !result.cacheResults[HEALTH.ns].first().attributes.containsKey("actionType")
+  }
+
+  def "it should fetch the full registry when a delta does not reconcile"() {
+    given:
+    def eurekaApi = Mock(EurekaApi)
+    def agent = new EurekaCachingAgent(eurekaApi, "us-foo-2", new ObjectMapper(), "http://eureka", "true", "eureka-foo", [eap], 0, 0, true, 600000)
+    def applications = new EurekaApplications(applications: [
+      new EurekaApplication(name: "foo", instances: [instance("foo", "i-1", "UP")])
+    ])
+
+    when:
+    agent.loadData(providerCache)
+    def result = agent.loadData(providerCache)
+
+    then:
+    1 * eurekaApi.loadEurekaApplicationsDelta() >> new EurekaApplications(appsHashCode: "UP_2_", applications: [])
+    2 * eurekaApi.loadEurekaApplications() >> applications
+    result.cacheResults[HEALTH.ns]*.id == ["us-foo-2:i-1:Discovery"]
+  }
+
+  private static EurekaInstance instance(String app, String id, String status, Long timestamp = System.currentTimeMillis(), String actionType = null) {
     EurekaInstance.buildInstance(
       "host",
       app,
@@ -104,7 +155,8 @@ class EurekaCachingAgentSpec extends Specification {
       timestamp,
       "$app-v000",
       null,
-      id)
+      id,
+      actionType)
   }
 
   static class TestEurekaAwareProvider implements EurekaAwareProvider {
@@ -184,7 +184,9 @@ public abstract class AbstractGoogleServerGroupCachingAgent
       Set<String> serverGroupKeys =
           serverGroups.stream().map(this::getServerGroupKey).collect(toImmutableSet());
       providerCache
-          .getAll(ON_DEMAND.getNs(), serverGroupKeys)
+          .getOnDemandCacheData(getAgentType(), ON_DEMAND.getNs(), getOnDemandKeyPattern())
+          .stream()
+          .filter(cacheData -> serverGroupKeys.contains(cacheData.getId()))
           .forEach(
               cacheData -> {
                 long cacheTime = (long) cacheData.getAttributes().get("cacheTime");
@@ -264,13 +266,14 @@ public abstract class AbstractGoogleServerGroupCachingAgent
                                 "processedCount",
                                 0),
                             /* relationships= */ ImmutableMap.of()));
-        providerCache.putCacheData(ON_DEMAND.getNs(), cacheData);
+        providerCache.putOnDemandCacheData(getAgentType(), ON_DEMAND.getNs(), cacheData);
         return new OnDemandResult(
             getOnDemandAgentType(), result, /* evictions= */ ImmutableMap.of());
       } else {
         Collection<String> existingIdentifiers =
             getOnDemandKeysToEvictForMissingServerGroup(providerCache, serverGroupName);
-        providerCache.evictDeletedItems(ON_DEMAND.getNs(), existingIdentifiers);
+        providerCache.evictOnDemandCacheData(
+            getAgentType(), ON_DEMAND.getNs(), existingIdentifiers);
         return new OnDemandResult(
             getOnDemandAgentType(),
             new DefaultCacheResult(ImmutableMap.of()),
@@ -291,12 +294,10 @@ public abstract class AbstractGoogleServerGroupCachingAgent
 
   @Override
   public Collection<Map<String, Object>> pendingOnDemandRequests(ProviderCache providerCache) {
-    List<String> ownedKeys =
-        providerCache.getIdentifiers(ON_DEMAND.getNs()).stream()
-            .filter(this::keyOwnedByThisAgent)
-            .collect(toImmutableList());
-
-    return providerCache.getAll(ON_DEMAND.getNs(), ownedKeys).stream()
+    return providerCache
+        .getOnDemandCacheData(getAgentType(), ON_DEMAND.getNs(), getOnDemandKeyPattern())
+        .stream()
+        .filter(cacheData -> keyOwnedByThisAgent(cacheData.getId()))
         .map(
             cacheData -> {
               Map<String, Object> map = new HashMap<>();
@@ -310,6 +311,11 @@ public abstract class AbstractGoogleServerGroupCachingAgent
         .collect(toImmutableList());
   }
 
+  /** Matches the keys of the server groups of this agent's account and region. */
+  private String getOnDemandKeyPattern() {
+    return Keys.getServerGroupKey("*", "*", getAccountName(), getRegion());
+  }
+
   private boolean keyOwnedByThisAgent(String key) {
     Map<String, String> parsedKey = Keys.parse(key);
     return parsedKey != null
@@ -210,26 +210,31 @@ final class GoogleRegionalServerGroupCachingAgentTest {
     long timeInPast = System.currentTimeMillis() - 100000;
     long timeInFuture = System.currentTimeMillis() + 100000;
 
+    GoogleRegionalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
     ProviderCache providerCache = inMemoryProviderCache();
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInPastUnprocessed-v001"),
             ImmutableMap.of("cacheTime", timeInPast, "processedCount", 0),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInPastProcessed-v002"),
             ImmutableMap.of("cacheTime", timeInPast, "processedCount", 1),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureUnprocessedNoData-v003"),
             ImmutableMap.of("cacheTime", timeInFuture, "processedCount", 0, "cacheResults", "{}"),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureUnprocessedData-v004"),
@@ -241,13 +246,15 @@ final class GoogleRegionalServerGroupCachingAgentTest {
                 "cacheResults",
                 serverGroupCacheData("cachedInFutureUnprocessedData-v004")),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureProcessedNoData-v005"),
             ImmutableMap.of("cacheTime", timeInFuture, "processedCount", 1, "cacheResults", "{}"),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureProcessedData-v006"),
@@ -259,7 +266,6 @@ final class GoogleRegionalServerGroupCachingAgentTest {
                 "cacheResults",
                 serverGroupCacheData("cachedInFutureProcessedData-v006")),
             ImmutableMap.of()));
-    GoogleRegionalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
 
     CacheResult cacheResult = cachingAgent.loadData(providerCache);
 
@@ -331,8 +337,10 @@ final class GoogleRegionalServerGroupCachingAgentTest {
 
     Moniker moniker = moniker("overwritten-v001");
 
+    GoogleRegionalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
     ProviderCache providerCache = inMemoryProviderCache();
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("overwritten-v001"),
@@ -357,7 +365,6 @@ final class GoogleRegionalServerGroupCachingAgentTest {
                                 ImmutableMap.of("onDemandAttribute", "serverGroup"),
                                 instanceRelationshipFromOnDemandCache))))),
             ImmutableMap.of()));
-    GoogleRegionalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
 
     CacheResult cacheResult = cachingAgent.loadData(providerCache);
 
@@ -401,27 +408,34 @@ final class GoogleRegionalServerGroupCachingAgentTest {
 
   @Test
   void pendingOnDemandRequests() {
+    GoogleRegionalServerGroupCachingAgent cachingAgent =
+        createCachingAgent(new StubComputeFactory().create());
     ProviderCache providerCache = inMemoryProviderCache();
     String applicationKey = Keys.getApplicationKey("application");
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(applicationKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(applicationKey));
     String clusterKey = Keys.getClusterKey(ACCOUNT_NAME, "cluster", "cluster");
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(clusterKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(clusterKey));
     String loadBalancerKey = Keys.getLoadBalancerKey(REGION, ACCOUNT_NAME, "loadBalancer");
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(loadBalancerKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(loadBalancerKey));
     String zonalServerGroupKey =
         Keys.getServerGroupKey("mig1-v001", "mig1", ACCOUNT_NAME, REGION, ZONE);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(zonalServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(zonalServerGroupKey));
     String ownedServerGroupKey = Keys.getServerGroupKey("mig2-v002", "mig2", ACCOUNT_NAME, REGION);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(ownedServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(ownedServerGroupKey));
     String differentAccountServerGroupKey =
         Keys.getServerGroupKey("mig1-v001", "mig1", "someOtherAccount", REGION, ZONE);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(differentAccountServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(differentAccountServerGroupKey));
     String differentRegionServerGroupKey =
         Keys.getServerGroupKey("mig1-v001", "mig1", ACCOUNT_NAME, "someOtherRegion", ZONE);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(differentRegionServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(differentRegionServerGroupKey));
 
-    GoogleRegionalServerGroupCachingAgent cachingAgent =
-        createCachingAgent(new StubComputeFactory().create());
     Collection<Map<String, Object>> pendingRequests =
         cachingAgent.pendingOnDemandRequests(providerCache);
 
@@ -432,9 +446,12 @@ final class GoogleRegionalServerGroupCachingAgentTest {
 
   @Test
   void pendingOnDemandRequests_attributes() {
+    GoogleRegionalServerGroupCachingAgent cachingAgent =
+        createCachingAgent(new StubComputeFactory().create());
     ProviderCache providerCache = inMemoryProviderCache();
     String key = Keys.getServerGroupKey("mig1-v001", "mig1", ACCOUNT_NAME, REGION);
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         cacheData(
             key,
@@ -444,8 +461,6 @@ final class GoogleRegionalServerGroupCachingAgentTest {
                 "processedCount", 3,
                 "processedTime", 67890)));
 
-    GoogleRegionalServerGroupCachingAgent cachingAgent =
-        createCachingAgent(new StubComputeFactory().create());
     Collection<Map<String, Object>> pendingRequests =
         cachingAgent.pendingOnDemandRequests(providerCache);
 
@@ -98,26 +98,31 @@ final class GoogleZonalServerGroupCachingAgentTest {
     long timeInPast = System.currentTimeMillis() - 100000;
     long timeInFuture = System.currentTimeMillis() + 100000;
 
+    GoogleZonalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
     ProviderCache providerCache = inMemoryProviderCache();
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInPastUnprocessed-v001"),
             ImmutableMap.of("cacheTime", timeInPast, "processedCount", 0),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInPastProcessed-v002"),
             ImmutableMap.of("cacheTime", timeInPast, "processedCount", 1),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureUnprocessedNoData-v003"),
             ImmutableMap.of("cacheTime", timeInFuture, "processedCount", 0, "cacheResults", "{}"),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureUnprocessedData-v004"),
@@ -129,13 +134,15 @@ final class GoogleZonalServerGroupCachingAgentTest {
                 "cacheResults",
                 serverGroupCacheData("cachedInFutureUnprocessedData-v004")),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureProcessedNoData-v005"),
             ImmutableMap.of("cacheTime", timeInFuture, "processedCount", 1, "cacheResults", "{}"),
             ImmutableMap.of()));
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("cachedInFutureProcessedData-v006"),
@@ -147,7 +154,6 @@ final class GoogleZonalServerGroupCachingAgentTest {
                 "cacheResults",
                 serverGroupCacheData("cachedInFutureProcessedData-v006")),
             ImmutableMap.of()));
-    GoogleZonalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
 
     CacheResult cacheResult = cachingAgent.loadData(providerCache);
 
@@ -219,8 +225,10 @@ final class GoogleZonalServerGroupCachingAgentTest {
 
     Moniker moniker = moniker("overwritten-v001");
 
+    GoogleZonalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
     ProviderCache providerCache = inMemoryProviderCache();
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         new DefaultCacheData(
             serverGroupKey("overwritten-v001"),
@@ -245,7 +253,6 @@ final class GoogleZonalServerGroupCachingAgentTest {
                                 ImmutableMap.of("onDemandAttribute", "serverGroup"),
                                 instanceRelationshipFromOnDemandCache))))),
             ImmutableMap.of()));
-    GoogleZonalServerGroupCachingAgent cachingAgent = createCachingAgent(compute);
 
     CacheResult cacheResult = cachingAgent.loadData(providerCache);
 
@@ -289,28 +296,35 @@ final class GoogleZonalServerGroupCachingAgentTest {
 
   @Test
   void pendingOnDemandRequests() {
+    GoogleZonalServerGroupCachingAgent cachingAgent =
+        createCachingAgent(new StubComputeFactory().create());
     ProviderCache providerCache = inMemoryProviderCache();
     String applicationKey = Keys.getApplicationKey("application");
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(applicationKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(applicationKey));
     String clusterKey = Keys.getClusterKey(ACCOUNT_NAME, "cluster", "cluster");
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(clusterKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(clusterKey));
     String loadBalancerKey = Keys.getLoadBalancerKey(REGION, ACCOUNT_NAME, "loadBalancer");
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(loadBalancerKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(loadBalancerKey));
     String ownedServerGroupKey =
         Keys.getServerGroupKey("mig1-v001", "mig1", ACCOUNT_NAME, REGION, ZONE);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(ownedServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(ownedServerGroupKey));
     String regionalServerGroupKey =
         Keys.getServerGroupKey("mig2-v002", "mig2", ACCOUNT_NAME, REGION);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(regionalServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(regionalServerGroupKey));
     String differentAccountServerGroupKey =
         Keys.getServerGroupKey("mig1-v001", "mig1", "someOtherAccount", REGION, ZONE);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(differentAccountServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(differentAccountServerGroupKey));
     String differentRegionServerGroupKey =
         Keys.getServerGroupKey("mig1-v001", "mig1", ACCOUNT_NAME, "someOtherRegion", ZONE);
-    providerCache.putCacheData(ON_DEMAND.getNs(), cacheData(differentRegionServerGroupKey));
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(), ON_DEMAND.getNs(), cacheData(differentRegionServerGroupKey));
 
-    GoogleZonalServerGroupCachingAgent cachingAgent =
-        createCachingAgent(new StubComputeFactory().create());
     Collection<Map<String, Object>> pendingRequests =
         cachingAgent.pendingOnDemandRequests(providerCache);
 
@@ -321,9 +335,12 @@ final class GoogleZonalServerGroupCachingAgentTest {
 
   @Test
   void pendingOnDemandRequests_attributes() {
+    GoogleZonalServerGroupCachingAgent cachingAgent =
+        createCachingAgent(new StubComputeFactory().create());
     ProviderCache providerCache = inMemoryProviderCache();
     String key = Keys.getServerGroupKey("mig1-v001", "mig1", ACCOUNT_NAME, REGION, ZONE);
-    providerCache.putCacheData(
+    providerCache.putOnDemandCacheData(
+        cachingAgent.getAgentType(),
         ON_DEMAND.getNs(),
         cacheData(
             key,
@@ -333,8 +350,6 @@ final class GoogleZonalServerGroupCachingAgentTest {
                 "processedCount", 3,
                 "processedTime", 67890)));
 
-    GoogleZonalServerGroupCachingAgent cachingAgent =
-        createCachingAgent(new StubComputeFactory().create());
     Collection<Map<String, Object>> pendingRequests =
         cachingAgent.pendingOnDemandRequests(providerCache);
 
@@ -19,6 +19,8 @@ package com.netflix.spinnaker.clouddriver.kubernetes.artifact;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.provider.ArtifactProvider;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
@@ -97,15 +99,26 @@ public final class ResourceVersioner {
     return extractVersions(priorVersions.stream()).max();
   }
 
+  /**
+   * Finds a prior version with the same content as the manifest. Versions stamped with a content
+   * hash are matched on the hash alone; only older versions that lack one have their last-applied
+   * configuration parsed and compared.
+   */
   private OptionalInt findMatchingVersion(
       List<Artifact> priorVersions, KubernetesManifest manifest) {
+    Supplier<String> contentHash = Suppliers.memoize(manifest::nonMetadataHash);
     Stream<Artifact> matchingArtifacts =
         priorVersions.stream()
             .filter(
-                a ->
-                    getLastAppliedConfiguration(a)
-                        .map(c -> c.nonMetadataEquals(manifest))
-                        .orElse(false));
+                a -> {
+                  Object priorHash = a.getMetadata("contentHash");
+                  if (priorHash != null) {
+                    return priorHash.equals(contentHash.get());
+                  }
+                  return getLastAppliedConfiguration(a)
+                      .map(c -> c.nonMetadataEquals(manifest))
+                      .orElse(false);
+                });
 
     return extractVersions(matchingArtifacts).findFirst();
   }
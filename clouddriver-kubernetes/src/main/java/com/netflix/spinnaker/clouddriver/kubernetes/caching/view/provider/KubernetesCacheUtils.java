@@ -32,7 +32,6 @@ import com.netflix.spinnaker.cats.cache.Cache;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.Keys;
-import com.netflix.spinnaker.clouddriver.kubernetes.caching.agent.KubernetesCacheDataConverter;
 import com.netflix.spinnaker.clouddriver.kubernetes.caching.view.provider.data.KubernetesCacheData;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesCoordinates;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesSpinnakerKindMap;
@@ -231,13 +230,11 @@ class KubernetesCacheUtils {
   KubernetesHandler getHandler(KubernetesCacheData cacheData) {
     Keys.InfrastructureCacheKey key =
         (Keys.InfrastructureCacheKey) Keys.parseKey(cacheData.primaryData().getId()).get();
-    // TODO(ezimanyi): The kind is also stored directly on the cache data; get it from there instead
-    // of reading it from the manifest.
-    KubernetesKind kind =
-        KubernetesCacheDataConverter.getManifest(cacheData.primaryData()).getKind();
+    // The kind is part of the key, so there is no need to deserialize the (potentially large)
+    // manifest just to find the handler.
     return resourcePropertyResolver
         .getResourcePropertyRegistry(key.getAccount())
-        .get(kind)
+        .get(key.getKubernetesKind())
         .getHandler();
   }
 }
@@ -17,6 +17,7 @@
 
 package com.netflix.spinnaker.clouddriver.kubernetes.caching.view.provider;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.netflix.spinnaker.clouddriver.kubernetes.caching.Keys.LogicalKind.APPLICATIONS;
@@ -158,15 +159,31 @@ public class KubernetesClusterProvider implements ClusterProvider<KubernetesClus
     ImmutableMultimap<String, CacheData> clusterToServerGroups =
         cacheUtils.getRelationships(clusterData, SERVER_GROUPS);
 
+    // Load the server groups and load balancers of all clusters up front, so that the cache is
+    // queried once per relationship type rather than once per cluster.
+    ImmutableList<CacheData> allServerGroupData =
+        clusterToServerGroups.values().stream()
+            .filter(cacheUtils.distinctById())
+            .collect(toImmutableList());
+    ImmutableMap<String, KubernetesServerGroup> allServerGroups =
+        loadServerGroups(allServerGroupData);
+    ImmutableMultimap<String, CacheData> serverGroupToLoadBalancers =
+        cacheUtils.getRelationships(allServerGroupData, LOAD_BALANCERS);
+
     return clusterData.stream()
         .map(
             clusterDatum -> {
               ImmutableCollection<CacheData> clusterServerGroups =
                   clusterToServerGroups.get(clusterDatum.getId());
               ImmutableMap<String, KubernetesServerGroup> serverGroups =
-                  loadServerGroups(clusterServerGroups);
+                  clusterServerGroups.stream()
+                      .map(CacheData::getId)
+                      .distinct()
+                      .filter(allServerGroups::containsKey)
+                      .collect(toImmutableMap(id -> id, allServerGroups::get));
               List<KubernetesLoadBalancer> loadBalancers =
-                  cacheUtils.getRelationships(clusterServerGroups, LOAD_BALANCERS).values().stream()
+                  clusterServerGroups.stream()
+                      .flatMap(sg -> serverGroupToLoadBalancers.get(sg.getId()).stream())
                       .filter(cacheUtils.distinctById())
                       .map(
                           cd ->
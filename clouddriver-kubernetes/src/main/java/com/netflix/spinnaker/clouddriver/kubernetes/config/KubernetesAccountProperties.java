@@ -49,6 +49,7 @@ import lombok.Data;
 @Data
 public class KubernetesAccountProperties {
   private static final int DEFAULT_CACHE_THREADS = 1;
+  private static final int DEFAULT_DEPLOY_THREADS = 1;
 
   @Data
   @JsonTypeName("kubernetes")
@@ -67,6 +68,11 @@ public class KubernetesAccountProperties {
     private List<String> namespaces = new ArrayList<>();
     private List<String> omitNamespaces = new ArrayList<>();
     private int cacheThreads = DEFAULT_CACHE_THREADS;
+    /**
+     * How many manifests of the same deploy priority a single deploy operation submits to the
+     * cluster at once. The default of 1 deploys manifests one at a time.
+     */
+    private int deployThreads = DEFAULT_DEPLOY_THREADS;
     private List<String> requiredGroupMembership = new ArrayList<>();
     private Permissions.Builder permissions = new Permissions.Builder();
     private String namingStrategy = "kubernetesAnnotations";
@@ -35,6 +35,8 @@ public class KubernetesConfigurationProperties {
 
   private Cache cache = new Cache();
 
+  private LazyCredentials lazyCredentials = new LazyCredentials();
+
   private KubectlProperties kubectl = new KubectlProperties();
   private OAuthProperties oAuth = new OAuthProperties();
 
@@ -47,6 +49,10 @@ public class KubernetesConfigurationProperties {
     private boolean persistTaskOutput = false;
     private boolean enableTaskOutputForAllAccounts = false;
 
+    // whether manifests parsed from kubectl output are read into a compact form, see
+    // KubernetesManifestTypeAdapterFactory
+    private boolean compactManifests = true;
+
     private Retries retries = new Retries();
 
     @Data
@@ -132,6 +138,20 @@ public class KubernetesConfigurationProperties {
     boolean checkApplicationInFront50 = false;
   }
 
+  @Data
+  public static class LazyCredentials {
+    /**
+     * Whether to register accounts without contacting their clusters. When enabled, namespaces,
+     * CRDs and kind permissions of new or updated accounts are loaded in the background (or on
+     * first use, whichever comes first), and the account health check skips accounts that have not
+     * finished loading. This takes precedence over {@link #loadNamespacesInAccount}.
+     */
+    private boolean enabled = false;
+
+    /** Maximum number of accounts whose state is loaded concurrently in the background. */
+    private int initializationThreads = 10;
+  }
+
   /** kubectl configuration properties */
   @Data
   public static class KubectlProperties {
@@ -18,11 +18,15 @@
 package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesCoordinates;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
@@ -47,6 +51,8 @@ import org.slf4j.LoggerFactory;
 public class KubernetesManifest extends HashMap<String, Object> {
   private static final Logger log = LoggerFactory.getLogger(KubernetesManifest.class);
   private static final ObjectMapper mapper = new ObjectMapper();
+  private static final ObjectMapper sortedMapper =
+      new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
 
   @Nullable private transient KubernetesKind computedKind;
 
@@ -375,6 +381,23 @@ public class KubernetesManifest extends HashMap<String, Object> {
     return cloneThis.equals(cloneOther);
   }
 
+  /**
+   * Returns a hash of everything but the manifest's metadata that is stable across processes, so
+   * that manifests that are {@link #nonMetadataEquals} have the same hash.
+   */
+  @Nonnull
+  public String nonMetadataHash() {
+    Map<String, Object> content = new HashMap<>(this);
+    content.remove("metadata");
+    try {
+      return Hashing.sha256()
+          .hashString(sortedMapper.writeValueAsString(content), StandardCharsets.UTF_8)
+          .toString();
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize manifest " + getFullResourceName(), e);
+    }
+  }
+
   /**
    * This method is deprecated in favor of creating a {@link KubernetesCoordinates} object using
    * {@link KubernetesCoordinates.KubernetesCoordinatesBuilder#fullResourceName}, which has more
@@ -51,6 +51,7 @@ public class KubernetesManifestAnnotater {
   private static final String NAME = ARTIFACT_ANNOTATION_PREFIX + "/name";
   private static final String LOCATION = ARTIFACT_ANNOTATION_PREFIX + "/location";
   private static final String VERSION = ARTIFACT_ANNOTATION_PREFIX + "/version";
+  private static final String CONTENT_HASH = ARTIFACT_ANNOTATION_PREFIX + "/content-hash";
   private static final String IGNORE_CACHING = CACHING_ANNOTATION_PREFIX + "/ignore";
   private static final String LOAD_BALANCERS = TRAFFIC_ANNOTATION_PREFIX + "/load-balancers";
 
@@ -186,18 +187,33 @@ public class KubernetesManifestAnnotater {
       return Optional.empty();
     }
 
-    KubernetesManifest lastAppliedConfiguration =
-        KubernetesManifestAnnotater.getLastAppliedConfiguration(manifest);
-
-    return Optional.of(
+    Artifact.ArtifactBuilder artifact =
         Artifact.builder()
             .type(type)
             .name(getAnnotation(annotations, NAME, new TypeReference<String>() {}))
             .location(getAnnotation(annotations, LOCATION, new TypeReference<String>() {}))
             .version(getAnnotation(annotations, VERSION, new TypeReference<String>() {}))
-            .putMetadata("lastAppliedConfiguration", lastAppliedConfiguration)
-            .putMetadata("account", account)
-            .build());
+            .putMetadata("account", account);
+
+    // The content hash identifies the deployed content without having to parse the (possibly
+    // large) last-applied configuration; resources deployed before it existed fall back to that.
+    String contentHash = annotations.get(CONTENT_HASH);
+    if (!Strings.isNullOrEmpty(contentHash)) {
+      artifact.putMetadata("contentHash", contentHash);
+    } else {
+      artifact.putMetadata(
+          "lastAppliedConfiguration",
+          KubernetesManifestAnnotater.getLastAppliedConfiguration(manifest));
+    }
+    return Optional.of(artifact.build());
+  }
+
+  /**
+   * Stamps the manifest with the hash of its content, as computed by {@link
+   * KubernetesManifest#nonMetadataHash}, replacing any hash it was copied with.
+   */
+  public static void annotateContentHash(KubernetesManifest manifest) {
+    manifest.getAnnotations().put(CONTENT_HASH, manifest.nonMetadataHash());
   }
 
   public static Moniker getMoniker(KubernetesManifest manifest) {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads {@link KubernetesManifest}s into a compact in-memory form, for use when parsing the large
+ * lists of manifests returned by kubectl. Compared to Gson's default mapping:
+ *
+ * <ul>
+ *   <li>object keys, and the values of {@code labels} and {@code matchLabels}, are interned, so
+ *       the strings repeated across every manifest of a kind are stored once;
+ *   <li>objects are read into right-sized {@link java.util.LinkedHashMap}s rather than {@link
+ *       com.google.gson.internal.LinkedTreeMap}s, lists are trimmed, and small integral numbers
+ *       share their boxed values;
+ *   <li>the top-level {@code spec} and {@code status} are kept as JSON text until they are first
+ *       used (see {@link LazyJsonMap}), as the caching pipeline mostly reads a manifest's metadata.
+ * </ul>
+ *
+ * <p>Numbers are still read as {@link Double}s, as with Gson's default mapping. Manifests are
+ * written with Gson's default mapping.
+ */
+public final class KubernetesManifestTypeAdapterFactory implements TypeAdapterFactory {
+  private static final ImmutableSet<String> LAZY_FIELDS = ImmutableSet.of("spec", "status");
+  private static final ImmutableSet<String> INTERNED_VALUE_FIELDS =
+      ImmutableSet.of("labels", "matchLabels");
+  private static final Interner<String> INTERNER = Interners.newWeakInterner();
+  private static final Double[] SMALL_NUMBERS = new Double[1024];
+
+  static {
+    for (int i = 0; i < SMALL_NUMBERS.length; i++) {
+      SMALL_NUMBERS[i] = (double) i;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (type.getRawType() != KubernetesManifest.class) {
+      return null;
+    }
+    TypeAdapter<KubernetesManifest> delegate =
+        (TypeAdapter<KubernetesManifest>) gson.getDelegateAdapter(this, type);
+    return (TypeAdapter<T>) new ManifestAdapter(delegate);
+  }
+
+  private static final class ManifestAdapter extends TypeAdapter<KubernetesManifest> {
+    private final TypeAdapter<KubernetesManifest> delegate;
+
+    ManifestAdapter(TypeAdapter<KubernetesManifest> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, KubernetesManifest manifest) throws IOException {
+      delegate.write(out, manifest);
+    }
+
+    @Override
+    public KubernetesManifest read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+      KubernetesManifest manifest = new KubernetesManifest();
+      in.beginObject();
+      while (in.hasNext()) {
+        String name = INTERNER.intern(in.nextName());
+        if (LAZY_FIELDS.contains(name) && in.peek() == JsonToken.BEGIN_OBJECT) {
+          manifest.put(name, LazyJsonMap.read(in));
+        } else {
+          manifest.put(name, readValue(in, false));
+        }
+      }
+      in.endObject();
+      return manifest;
+    }
+  }
+
+  /**
+   * Reads the JSON object at the reader's position into a compact map.
+   *
+   * @param internValues whether to intern the strings in the object, as for the labels object
+   */
+  static Map<String, Object> readObject(JsonReader in, boolean internValues) throws IOException {
+    List<Object> entries = new ArrayList<>();
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = INTERNER.intern(in.nextName());
+      entries.add(name);
+      entries.add(readValue(in, internValues || INTERNED_VALUE_FIELDS.contains(name)));
+    }
+    in.endObject();
+
+    Map<String, Object> result = Maps.newLinkedHashMapWithExpectedSize(entries.size() / 2);
+    for (int i = 0; i < entries.size(); i += 2) {
+      result.put((String) entries.get(i), entries.get(i + 1));
+    }
+    return result;
+  }
+
+  private static Object readValue(JsonReader in, boolean internStrings) throws IOException {
+    switch (in.peek()) {
+      case BEGIN_OBJECT:
+        return readObject(in, internStrings);
+      case BEGIN_ARRAY:
+        ArrayList<Object> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+          list.add(readValue(in, internStrings));
+        }
+        in.endArray();
+        list.trimToSize();
+        return list;
+      case STRING:
+        String value = in.nextString();
+        return internStrings ? INTERNER.intern(value) : value;
+      case NUMBER:
+        double number = in.nextDouble();
+        int integral = (int) number;
+        if (integral == number && integral >= 0 && integral < SMALL_NUMBERS.length) {
+          return SMALL_NUMBERS[integral];
+        }
+        return number;
+      case BOOLEAN:
+        return in.nextBoolean();
+      case NULL:
+        in.nextNull();
+        return null;
+      default:
+        throw new IllegalStateException("Unexpected token " + in.peek() + " at " + in.getPath());
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.common.collect.ForwardingMap;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * A JSON object that is kept as text until it is first accessed, at which point it is parsed with
+ * {@link KubernetesManifestTypeAdapterFactory} and the text is released.
+ *
+ * <p>Serializing the map with Jackson, as the caches do when they store a manifest, parses a
+ * throwaway copy instead, so that a manifest that is only cached never holds its parsed form.
+ */
+@JsonSerialize(using = LazyJsonMap.Serializer.class)
+final class LazyJsonMap extends ForwardingMap<String, Object> {
+  private volatile String json;
+  private volatile Map<String, Object> parsed;
+
+  private LazyJsonMap(String json) {
+    this.json = json;
+  }
+
+  /** Captures the JSON object at the reader's position without parsing it. */
+  static LazyJsonMap read(JsonReader in) throws IOException {
+    StringWriter text = new StringWriter();
+    try (JsonWriter out = new JsonWriter(text)) {
+      copy(in, out);
+    }
+    return new LazyJsonMap(text.toString());
+  }
+
+  @Override
+  protected Map<String, Object> delegate() {
+    Map<String, Object> result = parsed;
+    if (result == null) {
+      synchronized (this) {
+        result = parsed;
+        if (result == null) {
+          result = parse(json);
+          parsed = result;
+          json = null;
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Returns the parsed map if it has been materialized, or a parsed copy that is not retained. */
+  private Map<String, Object> peek() {
+    String text = json;
+    Map<String, Object> result = parsed;
+    if (result != null) {
+      return result;
+    }
+    return text != null ? parse(text) : delegate();
+  }
+
+  private static Map<String, Object> parse(String json) {
+    try (JsonReader in = new JsonReader(new StringReader(json))) {
+      return KubernetesManifestTypeAdapterFactory.readObject(in, false);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void copy(JsonReader in, JsonWriter out) throws IOException {
+    int depth = 0;
+    do {
+      switch (in.peek()) {
+        case BEGIN_OBJECT:
+          in.beginObject();
+          out.beginObject();
+          depth++;
+          break;
+        case END_OBJECT:
+          in.endObject();
+          out.endObject();
+          depth--;
+          break;
+        case BEGIN_ARRAY:
+          in.beginArray();
+          out.beginArray();
+          depth++;
+          break;
+        case END_ARRAY:
+          in.endArray();
+          out.endArray();
+          depth--;
+          break;
+        case NAME:
+          out.name(in.nextName());
+          break;
+        case STRING:
+          out.value(in.nextString());
+          break;
+        case NUMBER:
+          // Keep the number as it was written
+          out.jsonValue(in.nextString());
+          break;
+        case BOOLEAN:
+          out.value(in.nextBoolean());
+          break;
+        case NULL:
+          in.nextNull();
+          out.nullValue();
+          break;
+        default:
+          throw new IllegalStateException("Unexpected token " + in.peek() + " at " + in.getPath());
+      }
+    } while (depth > 0);
+  }
+
+  static class Serializer extends StdSerializer<LazyJsonMap> {
+    Serializer() {
+      super(LazyJsonMap.class);
+    }
+
+    @Override
+    public void serialize(LazyJsonMap value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      provider.defaultSerializeValue(value.peek(), gen);
+    }
+  }
+}
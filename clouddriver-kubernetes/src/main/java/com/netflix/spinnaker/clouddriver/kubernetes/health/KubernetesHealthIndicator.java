@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableList;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.core.AccountHealthIndicator;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesNamedAccountCredentials;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
 import java.util.Optional;
@@ -59,6 +60,15 @@ public class KubernetesHealthIndicator
 
   @Override
   protected Optional<String> accountHealth(KubernetesNamedAccountCredentials accountCredentials) {
+    KubernetesCredentials credentials = accountCredentials.getCredentials();
+    if (kubernetesConfigurationProperties.getLazyCredentials().isEnabled()
+        && !credentials.isInitialized()) {
+      // don't hold up the health check on accounts that are still loading in the background, but
+      // report those that failed to load
+      return credentials
+          .getInitializationError()
+          .map(e -> e.getMessage() != null ? e.getMessage() : e.toString());
+    }
     if (kubernetesConfigurationProperties.isVerifyAccountHealth()) {
       try {
         accountCredentials.getCredentials().getDeclaredNamespaces();
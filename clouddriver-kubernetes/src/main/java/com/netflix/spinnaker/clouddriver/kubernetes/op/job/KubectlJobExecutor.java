@@ -21,6 +21,7 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
@@ -34,6 +35,7 @@ import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesPatchO
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesPodMetric;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestTypeAdapterFactory;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesSelectorList;
 import com.netflix.spinnaker.kork.annotations.VisibleForTesting;
@@ -72,7 +74,7 @@ public class KubectlJobExecutor {
 
   private final JobExecutor jobExecutor;
 
-  private final Gson gson = new Gson();
+  private final Gson gson;
 
   private final KubernetesConfigurationProperties kubernetesConfigurationProperties;
 
@@ -90,6 +92,12 @@ public class KubectlJobExecutor {
     this.kubernetesConfigurationProperties = kubernetesConfigurationProperties;
     this.meterRegistry = meterRegistry;
 
+    GsonBuilder gsonBuilder = new GsonBuilder();
+    if (kubernetesConfigurationProperties.getJobExecutor().isCompactManifests()) {
+      gsonBuilder.registerTypeAdapterFactory(new KubernetesManifestTypeAdapterFactory());
+    }
+    this.gson = gsonBuilder.create();
+
     this.retryRegistry =
         initializeRetryRegistry(kubernetesConfigurationProperties.getJobExecutor().getRetries());
   }
@@ -18,6 +18,7 @@
 package com.netflix.spinnaker.clouddriver.kubernetes.op.manifest;
 
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
@@ -36,6 +37,10 @@ import com.netflix.spinnaker.clouddriver.orchestration.AtomicOperation;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.moniker.Moniker;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import lombok.Data;
@@ -138,42 +143,18 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
 
                   credentials.getNamer().applyMoniker(manifest, moniker);
                   manifest.setName(artifact.getReference());
+                  if (version.isPresent()) {
+                    // Lets later deploys find this version without parsing its configuration
+                    KubernetesManifestAnnotater.annotateContentHash(manifest);
+                  }
 
-                  return new ManifestArtifactHolder(manifest, artifact, strategy);
+                  return new ManifestArtifactHolder(manifest, artifact, strategy, deployer);
                 })
             .collect(Collectors.toList());
 
     checkIfArtifactsBound(result);
 
-    toDeploy.forEach(
-        holder -> {
-          KubernetesResourceProperties properties = findResourceProperties(holder.manifest);
-          KubernetesManifestStrategy strategy = holder.strategy;
-          KubernetesHandler deployer = properties.getHandler();
-          getTask()
-              .updateStatus(
-                  OP_NAME,
-                  "Submitting manifest "
-                      + holder.manifest.getFullResourceName()
-                      + " to kubernetes master...");
-          result.merge(
-              deployer.deploy(
-                  credentials,
-                  holder.manifest,
-                  strategy.getDeployStrategy(),
-                  strategy.getServerSideApplyStrategy(),
-                  getTask(),
-                  OP_NAME));
-
-          result.getCreatedArtifacts().add(holder.artifact);
-          getTask()
-              .updateStatus(
-                  OP_NAME,
-                  "Deploy manifest task completed successfully for manifest "
-                      + holder.manifest.getFullResourceName()
-                      + " in account "
-                      + accountName);
-        });
+    deployInWaves(toDeploy, result);
 
     result.removeSensitiveKeys(credentials.getResourcePropertyRegistry());
 
@@ -185,6 +166,119 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
     return result;
   }
 
+  /**
+   * Deploys the manifests in waves of equal deploy priority, in priority order. The manifests of a
+   * wave don't depend on each other, so they are submitted at once to the account's deploy
+   * executor, which deploys up to {@code deployThreads} manifests at a time across all operations
+   * of the account; each wave completes before the next one starts.
+   */
+  private void deployInWaves(List<ManifestArtifactHolder> toDeploy, OperationResult result) {
+    Map<Integer, List<ManifestArtifactHolder>> waves =
+        toDeploy.stream()
+            .collect(
+                Collectors.groupingBy(
+                    holder -> holder.deployer.deployPriority(),
+                    LinkedHashMap::new,
+                    Collectors.toList()));
+    ExecutorService executor =
+        credentials.getDeployThreads() > 1 ? credentials.getDeployExecutor() : null;
+
+    Task task = getTask();
+    int waveNumber = 0;
+    for (List<ManifestArtifactHolder> wave : waves.values()) {
+      waveNumber++;
+      task.updateStatus(
+          OP_NAME,
+          String.format(
+              "Deploying wave %d of %d: %s",
+              waveNumber,
+              waves.size(),
+              wave.stream()
+                  .map(holder -> holder.manifest.getFullResourceName())
+                  .collect(Collectors.joining(", "))));
+      long startTime = System.nanoTime();
+
+      List<OperationResult> waveResults =
+          executor == null || wave.size() == 1
+              ? wave.stream()
+                  .map(holder -> deployManifest(holder, task))
+                  .collect(Collectors.toList())
+              : deployConcurrently(executor, wave, task);
+      for (int i = 0; i < wave.size(); i++) {
+        result.merge(waveResults.get(i));
+        result.getCreatedArtifacts().add(wave.get(i).artifact);
+      }
+
+      task.updateStatus(
+          OP_NAME,
+          String.format(
+              "Deployed wave %d of %d (%d manifests) in %dms",
+              waveNumber,
+              waves.size(),
+              wave.size(),
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+    }
+  }
+
+  private List<OperationResult> deployConcurrently(
+      ExecutorService executor, List<ManifestArtifactHolder> wave, Task task) {
+    List<Future<OperationResult>> futures =
+        wave.stream()
+            .map(
+                holder ->
+                    executor.submit(
+                        () -> {
+                          TaskRepository.threadLocalTask.set(task);
+                          try {
+                            return deployManifest(holder, task);
+                          } finally {
+                            TaskRepository.threadLocalTask.remove();
+                          }
+                        }))
+            .collect(Collectors.toList());
+
+    List<OperationResult> results = new ArrayList<>(futures.size());
+    try {
+      for (Future<OperationResult> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while deploying manifests", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      // Manifests that have not been submitted yet are skipped once one of the wave fails
+      futures.forEach(future -> future.cancel(false));
+    }
+    return results;
+  }
+
+  private OperationResult deployManifest(ManifestArtifactHolder holder, Task task) {
+    KubernetesManifestStrategy strategy = holder.strategy;
+    task.updateStatus(
+        OP_NAME,
+        "Submitting manifest "
+            + holder.manifest.getFullResourceName()
+            + " to kubernetes master...");
+    OperationResult result =
+        holder.deployer.deploy(
+            credentials,
+            holder.manifest,
+            strategy.getDeployStrategy(),
+            strategy.getServerSideApplyStrategy(),
+            task,
+            OP_NAME);
+    task.updateStatus(
+        OP_NAME,
+        "Deploy manifest task completed successfully for manifest "
+            + holder.manifest.getFullResourceName()
+            + " in account "
+            + accountName);
+    return result;
+  }
+
   @NotNull
   private OptionalInt latestVersion(KubernetesManifest manifest, OptionalInt version) {
     if (version.isEmpty()) {
@@ -401,5 +495,6 @@ public class KubernetesDeployManifestOperation implements AtomicOperation<Operat
     @Nonnull private KubernetesManifest manifest;
     @Nonnull private Artifact artifact;
     @Nonnull private KubernetesManifestStrategy strategy;
+    @Nonnull private KubernetesHandler deployer;
   }
 }
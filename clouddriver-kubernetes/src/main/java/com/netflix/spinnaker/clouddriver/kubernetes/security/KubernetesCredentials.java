@@ -31,6 +31,7 @@ import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spectator.api.Clock;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
@@ -64,6 +65,9 @@ import io.kubernetes.client.openapi.models.V1DeleteOptions;
 import io.kubernetes.client.openapi.models.V1beta1CustomResourceDefinition;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -83,6 +87,7 @@ public class KubernetesCredentials {
   private static final Logger log = LoggerFactory.getLogger(KubernetesCredentials.class);
   private static final int CRD_EXPIRY_SECONDS = 30;
   private static final int NAMESPACE_EXPIRY_SECONDS = 30;
+  private static final int DEPLOY_THREAD_KEEP_ALIVE_SECONDS = 60;
 
   private final Registry registry;
   private final Clock clock;
@@ -131,6 +136,8 @@ public class KubernetesCredentials {
 
   @Include @Getter private final boolean debug;
 
+  @Include @Getter private final int deployThreads;
+
   @Getter private final ResourcePropertyRegistry resourcePropertyRegistry;
   private final KubernetesKindRegistry kindRegistry;
   @Getter private final KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap;
@@ -141,6 +148,10 @@ public class KubernetesCredentials {
       Memoizer.memoizeWithExpiration(
           this::namespaceSupplier, NAMESPACE_EXPIRY_SECONDS, TimeUnit.SECONDS);
   @Getter private final Namer<KubernetesManifest> namer;
+  private final Supplier<ExecutorService> deployExecutor =
+      Suppliers.memoize(this::createDeployExecutor);
+  private volatile boolean initialized;
+  private volatile RuntimeException initializationError;
 
   public KubernetesCredentials(
       Registry registry,
@@ -203,6 +214,7 @@ public class KubernetesCredentials {
     this.metrics = managedAccount.isMetrics();
 
     this.debug = managedAccount.isDebug();
+    this.deployThreads = managedAccount.getDeployThreads();
     this.namer = manifestNamer;
     this.cacheAllApplicationRelationships = managedAccount.isCacheAllApplicationRelationships();
     this.rawResourcesEndpointConfig = managedAccount.getRawResourcesEndpointConfig();
@@ -412,6 +424,60 @@ public class KubernetesCredentials {
     return filterNamespaces(result);
   }
 
+  /**
+   * Loads the state of this account that is otherwise loaded on first use: the live namespaces,
+   * the CRDs installed in the cluster and whether each global kind and CRD is readable. This makes
+   * several calls to the kubernetes cluster and is intended to be run in the background when
+   * accounts are initialized lazily.
+   */
+  public void initialize() {
+    try {
+      getDeclaredNamespaces();
+      getGlobalKinds();
+      getCrds();
+      initializationError = null;
+      initialized = true;
+    } catch (RuntimeException e) {
+      initializationError = e;
+      throw e;
+    }
+  }
+
+  /** Returns whether {@link #initialize()} has completed for this account. */
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  /** Returns the error that the last failed call to {@link #initialize()} failed with, if any. */
+  public Optional<RuntimeException> getInitializationError() {
+    return Optional.ofNullable(initializationError);
+  }
+
+  /**
+   * Returns the executor that the manifests of all deploy operations of this account are deployed
+   * on, which bounds how many of them are deployed at once to {@code deployThreads}.
+   */
+  public ExecutorService getDeployExecutor() {
+    return deployExecutor.get();
+  }
+
+  private ExecutorService createDeployExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            deployThreads,
+            deployThreads,
+            DEPLOY_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("KubernetesDeploy-" + accountName + "-%d")
+                .setDaemon(true)
+                .build());
+    // idle threads exit, so that the executors of replaced credentials don't keep any around
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   public boolean isMetricsEnabled() {
     return metrics && permissionValidator.isMetricsReadable();
   }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.security;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the cluster state of {@link KubernetesCredentials} in the background on a bounded pool, so
+ * that accounts can be registered without waiting on every cluster when lazy credentials are
+ * enabled ({@code kubernetes.lazyCredentials.enabled}). Accounts that are used before their
+ * background initialization runs load the same state on first use.
+ */
+@Component
+public class KubernetesCredentialsInitializer {
+  private static final Logger log = LoggerFactory.getLogger(KubernetesCredentialsInitializer.class);
+
+  private final Registry registry;
+  private final ExecutorService executorService;
+  private final Map<String, KubernetesCredentials> pendingAccounts = new ConcurrentHashMap<>();
+  private final Id initializationTimeId;
+
+  @Autowired
+  public KubernetesCredentialsInitializer(
+      Registry registry, KubernetesConfigurationProperties configurationProperties) {
+    this.registry = registry;
+    this.executorService =
+        Executors.newFixedThreadPool(
+            Math.max(1, configurationProperties.getLazyCredentials().getInitializationThreads()),
+            new ThreadFactoryBuilder().setNameFormat(getClass().getSimpleName() + "-%d").build());
+    this.initializationTimeId = registry.createId("kubernetes.credentials.initialization");
+    PolledMeter.using(registry)
+        .withName("kubernetes.credentials.initialization.pending")
+        .monitorValue(pendingAccounts, Map::size);
+  }
+
+  /**
+   * Schedules the given account to be initialized in the background. Does nothing if the same
+   * credentials are already waiting to be initialized; credentials that replace pending ones of the
+   * same account are initialized as well.
+   */
+  public void initialize(KubernetesNamedAccountCredentials credentials) {
+    String accountName = credentials.getName();
+    KubernetesCredentials kubernetesCredentials = credentials.getCredentials();
+    if (pendingAccounts.put(accountName, kubernetesCredentials) == kubernetesCredentials) {
+      return;
+    }
+    executorService.submit(
+        () -> {
+          long startTime = registry.clock().monotonicTime();
+          boolean success = false;
+          try {
+            kubernetesCredentials.initialize();
+            success = true;
+          } catch (RuntimeException e) {
+            // the error is kept on the credentials and reported by the health indicator
+            log.warn("Failed to initialize kubernetes account {}", accountName, e);
+          } finally {
+            // credentials compare by value, so only remove this very instance
+            pendingAccounts.computeIfPresent(
+                accountName, (name, pending) -> pending == kubernetesCredentials ? null : pending);
+            registry
+                .timer(initializationTimeId.withTag("success", success))
+                .record(registry.clock().monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+          }
+        });
+  }
+
+  /** Returns whether the given account is waiting to be initialized in the background. */
+  public boolean isPending(String accountName) {
+    return pendingAccounts.containsKey(accountName);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executorService.shutdownNow();
+  }
+}
@@ -39,10 +39,16 @@ public class KubernetesCredentialsLifecycleHandler
   private final KubernetesProvider provider;
   private final KubernetesCachingAgentDispatcher cachingAgentDispatcher;
   private final KubernetesConfigurationProperties kubernetesConfigurationProperties;
+  private final KubernetesCredentialsInitializer credentialsInitializer;
 
   @Override
   public void credentialsAdded(KubernetesNamedAccountCredentials credentials) {
-    if (kubernetesConfigurationProperties.isLoadNamespacesInAccount()) {
+    if (kubernetesConfigurationProperties.getLazyCredentials().isEnabled()) {
+      log.info(
+          "kubernetes.lazyCredentials flag is enabled - loading new account {} in the background",
+          credentials.getName());
+      credentialsInitializer.initialize(credentials);
+    } else if (kubernetesConfigurationProperties.isLoadNamespacesInAccount()) {
       // Attempt to get namespaces to resolve any connectivity error without blocking /credentials
       log.info(
           "kubernetes.loadNamespacesInAccount flag is set to true - loading all namespaces for new account: {}",
@@ -68,12 +74,16 @@ public class KubernetesCredentialsLifecycleHandler
 
   @Override
   public void credentialsUpdated(KubernetesNamedAccountCredentials credentials) {
-    // Attempt to get namespaces to resolve any connectivity error without blocking /credentials
-    List<String> namespaces = credentials.getCredentials().getDeclaredNamespaces();
-    if (namespaces.isEmpty()) {
-      log.warn(
-          "Modified account {} did not return any namespace and could be unreachable or misconfigured",
-          credentials.getName());
+    if (kubernetesConfigurationProperties.getLazyCredentials().isEnabled()) {
+      credentialsInitializer.initialize(credentials);
+    } else {
+      // Attempt to get namespaces to resolve any connectivity error without blocking /credentials
+      List<String> namespaces = credentials.getCredentials().getDeclaredNamespaces();
+      if (namespaces.isEmpty()) {
+        log.warn(
+            "Modified account {} did not return any namespace and could be unreachable or misconfigured",
+            credentials.getName());
+      }
     }
 
     Collection<KubernetesCachingAgent> updatedAgents =
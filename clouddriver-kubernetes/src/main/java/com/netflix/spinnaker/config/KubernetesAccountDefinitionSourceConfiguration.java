@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.config;
 
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesAccountProperties;
 import com.netflix.spinnaker.clouddriver.security.AccountDefinitionRepository;
 import com.netflix.spinnaker.clouddriver.security.AccountDefinitionSource;
@@ -37,10 +38,12 @@ public class KubernetesAccountDefinitionSourceConfiguration {
           AccountDefinitionRepository repository,
           Optional<List<CredentialsDefinitionSource<KubernetesAccountProperties.ManagedAccount>>>
               additionalSources,
-          KubernetesAccountProperties accountProperties) {
+          KubernetesAccountProperties accountProperties,
+          Registry registry) {
     return new AccountDefinitionSource<>(
         repository,
         KubernetesAccountProperties.ManagedAccount.class,
-        additionalSources.orElseGet(() -> List.of(accountProperties::getAccounts)));
+        additionalSources.orElseGet(() -> List.of(accountProperties::getAccounts)),
+        registry);
   }
 }
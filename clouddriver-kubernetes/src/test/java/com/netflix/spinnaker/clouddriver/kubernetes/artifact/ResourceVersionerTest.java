@@ -86,6 +86,51 @@ final class ResourceVersionerTest {
     assertThat(version).hasValue(1);
   }
 
+  @Test
+  void findsMatchingVersionByContentHash() {
+    KubernetesManifest manifest1 = getStubManifest();
+    KubernetesManifest manifest2 = getStubManifest();
+    manifest1.put("data", ImmutableMap.of("key", 1));
+    manifest2.put("data", ImmutableMap.of("key", 3));
+
+    when(artifactProvider.getArtifacts(
+            KubernetesKind.fromString(KIND), NAME, NAMESPACE, mockCredentials))
+        .thenReturn(
+            ImmutableList.of(
+                Artifact.builder()
+                    .putMetadata("contentHash", manifest2.nonMetadataHash())
+                    .putMetadata("account", ACCOUNT)
+                    .version("v001")
+                    .build(),
+                Artifact.builder()
+                    .putMetadata("contentHash", manifest1.nonMetadataHash())
+                    .putMetadata("account", ACCOUNT)
+                    .version("v002")
+                    .build(),
+                Artifact.builder()
+                    .putMetadata("lastAppliedConfiguration", manifest1)
+                    .putMetadata("account", ACCOUNT)
+                    .version("v003")
+                    .build()));
+
+    OptionalInt version = versioner.getVersion(manifest1, mockCredentials);
+    assertThat(version).hasValue(2);
+  }
+
+  @Test
+  void contentHashIgnoresMetadata() {
+    KubernetesManifest manifest1 = getStubManifest();
+    KubernetesManifest manifest2 = getStubManifest();
+    manifest1.put("data", ImmutableMap.of("key", 1, "other", 2));
+    manifest2.put("data", ImmutableMap.of("other", 2, "key", 1));
+    manifest2.getAnnotations().put("some-annotation", "value");
+
+    assertThat(manifest1.nonMetadataHash()).isEqualTo(manifest2.nonMetadataHash());
+
+    manifest2.put("data", ImmutableMap.of("key", 2, "other", 2));
+    assertThat(manifest1.nonMetadataHash()).isNotEqualTo(manifest2.nonMetadataHash());
+  }
+
   @ParameterizedTest
   @MethodSource("versionTestCases")
   void correctlyPicksNextVersion(VersionTestCase testCase) {
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compares the heap retained by manifests read with Gson's default mapping and with {@link
+ * KubernetesManifestTypeAdapterFactory}, for a fixture of 100k pods spread over 200 deployments.
+ * Run with a fixed heap, for example {@code -Xms4g -Xmx4g}; this is not run as part of the build.
+ */
+public final class KubernetesManifestHeapBenchmark {
+  private static final int PODS = 100_000;
+  private static final int DEPLOYMENTS = 200;
+
+  public static void main(String[] args) {
+    Gson defaultGson = new Gson();
+    Gson compactGson =
+        new GsonBuilder()
+            .registerTypeAdapterFactory(new KubernetesManifestTypeAdapterFactory())
+            .create();
+
+    report("default", defaultGson);
+    report("compact", compactGson);
+  }
+
+  private static void report(String name, Gson gson) {
+    long before = usedHeap();
+    long start = System.nanoTime();
+    List<KubernetesManifest> manifests = new ArrayList<>(PODS);
+    for (int i = 0; i < PODS; i++) {
+      manifests.add(gson.fromJson(podJson(i), KubernetesManifest.class));
+    }
+    long parseMillis = (System.nanoTime() - start) / 1_000_000;
+    long retained = usedHeap() - before;
+    System.out.printf(
+        "%s: %d pods retain %d MB (%d bytes/pod), parsed in %d ms%n",
+        name, manifests.size(), retained >> 20, retained / manifests.size(), parseMillis);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /** Returns the JSON of the given pod of the fixture, as kubectl would list it. */
+  static String podJson(int index) {
+    String app = "app-" + (index % DEPLOYMENTS);
+    String hash = Integer.toHexString(app.hashCode() & 0xfffff);
+    String name = app + "-" + hash + "-" + Integer.toString(index, 36);
+    Map<String, Object> labels =
+        ImmutableMap.of(
+            "app", app,
+            "app.kubernetes.io/managed-by", "spinnaker",
+            "app.kubernetes.io/name", app,
+            "pod-template-hash", hash);
+    Map<String, Object> metadata =
+        ImmutableMap.<String, Object>builder()
+            .put("name", name)
+            .put("generateName", app + "-" + hash + "-")
+            .put("namespace", "namespace-" + (index % 20))
+            .put("uid", new UUID(index, index).toString())
+            .put("resourceVersion", Integer.toString(100_000 + index))
+            .put("creationTimestamp", "2026-10-19T00:00:00Z")
+            .put("labels", labels)
+            .put(
+                "annotations",
+                ImmutableMap.of(
+                    "artifact.spinnaker.io/location", "namespace-" + (index % 20),
+                    "artifact.spinnaker.io/name", app,
+                    "artifact.spinnaker.io/type", "kubernetes/deployment",
+                    "moniker.spinnaker.io/application", app,
+                    "moniker.spinnaker.io/cluster", "deployment " + app))
+            .put(
+                "ownerReferences",
+                ImmutableList.of(
+                    ImmutableMap.of(
+                        "apiVersion", "apps/v1",
+                        "kind", "ReplicaSet",
+                        "name", app + "-" + hash,
+                        "uid", new UUID(hash.hashCode(), 0).toString(),
+                        "controller", true,
+                        "blockOwnerDeletion", true)))
+            .build();
+    Map<String, Object> container =
+        ImmutableMap.<String, Object>builder()
+            .put("name", app)
+            .put("image", "registry.example.com/" + app + ":1.0." + (index % DEPLOYMENTS))
+            .put("imagePullPolicy", "IfNotPresent")
+            .put(
+                "ports",
+                ImmutableList.of(ImmutableMap.of("containerPort", 8080, "protocol", "TCP")))
+            .put(
+                "resources",
+                ImmutableMap.of(
+                    "limits", ImmutableMap.of("cpu", "1", "memory", "1Gi"),
+                    "requests", ImmutableMap.of("cpu", "500m", "memory", "512Mi")))
+            .put("terminationMessagePath", "/dev/termination-log")
+            .put("terminationMessagePolicy", "File")
+            .build();
+    Map<String, Object> spec =
+        ImmutableMap.<String, Object>builder()
+            .put("containers", ImmutableList.of(container))
+            .put("dnsPolicy", "ClusterFirst")
+            .put("nodeName", "node-" + (index % 500))
+            .put("restartPolicy", "Always")
+            .put("schedulerName", "default-scheduler")
+            .put("serviceAccountName", "default")
+            .put("terminationGracePeriodSeconds", 30)
+            .build();
+    Map<String, Object> status =
+        ImmutableMap.<String, Object>builder()
+            .put(
+                "conditions",
+                ImmutableList.of(
+                    ImmutableMap.of("type", "Initialized", "status", "True"),
+                    ImmutableMap.of("type", "Ready", "status", "True"),
+                    ImmutableMap.of("type", "ContainersReady", "status", "True"),
+                    ImmutableMap.of("type", "PodScheduled", "status", "True")))
+            .put(
+                "containerStatuses",
+                ImmutableList.of(
+                    ImmutableMap.of(
+                        "name", app,
+                        "ready", true,
+                        "restartCount", index % 3,
+                        "image", "registry.example.com/" + app + ":1.0." + (index % DEPLOYMENTS),
+                        "state", ImmutableMap.of("running", ImmutableMap.of()))))
+            .put("hostIP", "10.0." + (index % 250) + "." + (index % 200))
+            .put("podIP", "10.1." + (index % 250) + "." + (index % 200))
+            .put("phase", "Running")
+            .put("qosClass", "Burstable")
+            .build();
+    return new Gson()
+        .toJson(
+            ImmutableMap.of(
+                "apiVersion", "v1",
+                "kind", "Pod",
+                "metadata", metadata,
+                "spec", spec,
+                "status", status));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+final class KubernetesManifestTypeAdapterFactoryTest {
+  private static final Gson defaultGson = new Gson();
+  private static final Gson compactGson =
+      new GsonBuilder()
+          .registerTypeAdapterFactory(new KubernetesManifestTypeAdapterFactory())
+          .create();
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  void readsTheSameManifestAsTheDefaultMapping() {
+    String json = KubernetesManifestHeapBenchmark.podJson(1);
+
+    KubernetesManifest expected = defaultGson.fromJson(json, KubernetesManifest.class);
+    KubernetesManifest manifest = compactGson.fromJson(json, KubernetesManifest.class);
+
+    assertThat(manifest).isEqualTo(expected);
+    assertThat(manifest.getKind()).isEqualTo(KubernetesKind.POD);
+    assertThat(manifest.getLabels()).isEqualTo(expected.getLabels());
+    assertThat(compactGson.toJson(manifest)).isEqualTo(defaultGson.toJson(expected));
+  }
+
+  @Test
+  void internsLabelValues() {
+    KubernetesManifest first =
+        compactGson.fromJson(KubernetesManifestHeapBenchmark.podJson(1), KubernetesManifest.class);
+    KubernetesManifest second =
+        compactGson.fromJson(KubernetesManifestHeapBenchmark.podJson(2), KubernetesManifest.class);
+
+    assertThat(first.getLabels().get("app")).isSameAs(second.getLabels().get("app"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void serializesLazyFieldsWithJackson() throws Exception {
+    String json = KubernetesManifestHeapBenchmark.podJson(1);
+    KubernetesManifest expected = defaultGson.fromJson(json, KubernetesManifest.class);
+    KubernetesManifest manifest = compactGson.fromJson(json, KubernetesManifest.class);
+
+    assertThat(mapper.readValue(mapper.writeValueAsString(manifest), Map.class))
+        .isEqualTo(mapper.readValue(mapper.writeValueAsString(expected), Map.class));
+    // The spec can still be modified once it has been serialized
+    manifest.setReplicas(3);
+    assertThat(manifest.getReplicas()).isEqualTo(3);
+  }
+}
@@ -33,6 +33,7 @@ import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentia
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesNamedAccountCredentials;
 import com.netflix.spinnaker.credentials.CredentialsRepository;
 import com.netflix.spinnaker.credentials.MapBackedCredentialsRepository;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -136,6 +137,41 @@ final class KubernetesHealthIndicatorTest {
     }
   }
 
+  @Test
+  void skipsUninitializedAccountsWithLazyCredentials() {
+    CredentialsRepository<KubernetesNamedAccountCredentials> repository =
+        stubCredentialsRepository(ImmutableList.of(unhealthyNamedCredentialsFirst));
+    kubernetesConfigurationProperties.getLazyCredentials().setEnabled(true);
+    when(unhealthyCredentials.isInitialized()).thenReturn(false);
+    KubernetesHealthIndicator healthIndicator =
+        new KubernetesHealthIndicator(REGISTRY, repository, kubernetesConfigurationProperties);
+
+    healthIndicator.checkHealth();
+    Health result = healthIndicator.getHealth(true);
+
+    assertThat(result.getStatus()).isEqualTo(Status.UP);
+    assertThat(result.getDetails()).isEmpty();
+  }
+
+  @Test
+  void reportsAccountsThatFailedToInitializeWithLazyCredentials() {
+    CredentialsRepository<KubernetesNamedAccountCredentials> repository =
+        stubCredentialsRepository(ImmutableList.of(unhealthyNamedCredentialsFirst));
+    kubernetesConfigurationProperties.getLazyCredentials().setEnabled(true);
+    when(unhealthyCredentials.isInitialized()).thenReturn(false);
+    when(unhealthyCredentials.getInitializationError())
+        .thenReturn(Optional.of(new RuntimeException(ERROR_MESSAGE)));
+    KubernetesHealthIndicator healthIndicator =
+        new KubernetesHealthIndicator(REGISTRY, repository, kubernetesConfigurationProperties);
+
+    healthIndicator.checkHealth();
+    Health result = healthIndicator.getHealth(true);
+
+    assertThat(result.getStatus()).isEqualTo(Status.UP);
+    assertThat(result.getDetails())
+        .containsOnly(entry(UNHEALTHY_ACCOUNT_NAME_FIRST, ERROR_MESSAGE));
+  }
+
   @Test
   void reportsMultipleErrors() {
     CredentialsRepository<KubernetesNamedAccountCredentials> repository =
@@ -23,6 +23,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -55,7 +56,15 @@ import com.netflix.spinnaker.clouddriver.names.NamerRegistry;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.moniker.Moniker;
 import com.netflix.spinnaker.moniker.Namer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -330,6 +339,59 @@ final class KubernetesDeployManifestOperationTest {
         .containsExactlyInAnyOrder("my-name-v000", "myconfig-v001");
   }
 
+  @Test
+  void deploysManifestsInPriorityWaves() throws Exception {
+    KubernetesDeployManifestDescription description =
+        baseDeployDescription("deploy/multiple-replicasets.yml");
+    KubernetesCredentials credentials = description.getCredentials().getCredentials();
+    // the account's executor bounds how many manifests are deployed at once, not the operation
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    when(credentials.getDeployThreads()).thenReturn(4);
+    when(credentials.getDeployExecutor()).thenReturn(executor);
+
+    List<String> deployed = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger deploying = new AtomicInteger();
+    AtomicInteger maxDeploying = new AtomicInteger();
+    // holds the replica sets back until two of them are being deployed at once
+    CountDownLatch concurrentReplicaSets = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              KubernetesManifest manifest = invocation.getArgument(0, KubernetesManifest.class);
+              maxDeploying.accumulateAndGet(deploying.incrementAndGet(), Math::max);
+              try {
+                deployed.add(manifest.getFullResourceName());
+                if (manifest.getKind().equals(KubernetesKind.REPLICA_SET)) {
+                  concurrentReplicaSets.countDown();
+                  concurrentReplicaSets.await(10, TimeUnit.SECONDS);
+                }
+                return manifest.clone();
+              } finally {
+                deploying.decrementAndGet();
+              }
+            })
+        .when(credentials)
+        .deploy(any(KubernetesManifest.class), any(Task.class), anyString());
+
+    OperationResult result;
+    try {
+      result = deploy(description);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(deployed).hasSize(4).startsWith("configMap myconfig-v000");
+    assertThat(maxDeploying.get()).isEqualTo(2);
+
+    assertThat(result.getManifestNamesByNamespace().get("my-namespace"))
+        .containsExactlyInAnyOrder(
+            "configMap myconfig-v000",
+            "replicaSet first-v000",
+            "replicaSet second-v000",
+            "replicaSet third-v000");
+    assertThat(result.getCreatedArtifacts().stream().map(Artifact::getReference))
+        .containsExactlyInAnyOrder("myconfig-v000", "first-v000", "second-v000", "third-v000");
+  }
+
   @Test
   void deploysCrdWhereSpecIsList() {
     KubernetesDeployManifestDescription deployManifestDescription =
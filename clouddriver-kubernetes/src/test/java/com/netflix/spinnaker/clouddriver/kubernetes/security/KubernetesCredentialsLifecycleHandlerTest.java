@@ -44,6 +44,7 @@ public class KubernetesCredentialsLifecycleHandlerTest {
   KubernetesNamedAccountCredentials namedCredentials;
   KubernetesCredentials kubernetesCredentials;
   KubernetesConfigurationProperties kubernetesConfigurationProperties;
+  KubernetesCredentialsInitializer credentialsInitializer;
 
   @BeforeEach
   void setup() {
@@ -52,6 +53,7 @@ public class KubernetesCredentialsLifecycleHandlerTest {
     namedCredentials = mock(KubernetesNamedAccountCredentials.class);
     kubernetesCredentials = mock(KubernetesCredentials.class);
     kubernetesConfigurationProperties = new KubernetesConfigurationProperties();
+    credentialsInitializer = mock(KubernetesCredentialsInitializer.class);
 
     when(namedCredentials.getCredentials()).thenReturn(kubernetesCredentials);
   }
@@ -67,7 +69,10 @@ public class KubernetesCredentialsLifecycleHandlerTest {
     kubernetesConfigurationProperties.setLoadNamespacesInAccount(loadNamespacesInAccount);
     KubernetesCredentialsLifecycleHandler handler =
         new KubernetesCredentialsLifecycleHandler(
-            provider, cachingAgentDispatcher, kubernetesConfigurationProperties);
+            provider,
+            cachingAgentDispatcher,
+            kubernetesConfigurationProperties,
+            credentialsInitializer);
 
     // Check we start with no agents
     assertThat(provider.getAgents()).isEmpty();
@@ -93,6 +98,25 @@ public class KubernetesCredentialsLifecycleHandlerTest {
     assertThat(provider.getAgents()).hasSize(2);
   }
 
+  @Test
+  public void testAddCredentialsLazily() {
+    when(cachingAgentDispatcher.buildAllCachingAgents(ArgumentMatchers.any()))
+        .thenAnswer(d -> Collections.singleton(mock(KubernetesCachingAgent.class)));
+    kubernetesConfigurationProperties.getLazyCredentials().setEnabled(true);
+    KubernetesCredentialsLifecycleHandler handler =
+        new KubernetesCredentialsLifecycleHandler(
+            provider,
+            cachingAgentDispatcher,
+            kubernetesConfigurationProperties,
+            credentialsInitializer);
+
+    handler.credentialsAdded(namedCredentials);
+
+    verify(kubernetesCredentials, never()).getDeclaredNamespaces();
+    verify(credentialsInitializer, times(1)).initialize(namedCredentials);
+    assertThat(provider.getAgents()).hasSize(1);
+  }
+
   @Test
   public void testRemoveCredentials() {
     String ACCOUNT1 = "account1";
@@ -108,7 +132,7 @@ public class KubernetesCredentialsLifecycleHandlerTest {
 
     KubernetesCredentialsLifecycleHandler handler =
         new KubernetesCredentialsLifecycleHandler(
-            provider, null, kubernetesConfigurationProperties);
+            provider, null, kubernetesConfigurationProperties, credentialsInitializer);
 
     assertThat(provider.getAgents()).hasSize(2);
 
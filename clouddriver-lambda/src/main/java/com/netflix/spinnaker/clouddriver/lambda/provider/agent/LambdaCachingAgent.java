@@ -147,11 +147,10 @@ public class LambdaCachingAgent implements CachingAgent, AccountAware, OnDemandA
     // Process on demand cache
     Collection<CacheData> onDemandCacheData =
         providerCache
-            .getAll(
+            .getOnDemandCacheData(
+                getAgentType(),
                 ON_DEMAND.getNs(),
-                providerCache.filterIdentifiers(
-                    ON_DEMAND.getNs(),
-                    Keys.getLambdaFunctionKey(getAccountName(), getRegion(), "*")))
+                Keys.getLambdaFunctionKey(getAccountName(), getRegion(), "*"))
             .stream()
             .filter(d -> (int) d.getAttributes().get("processedCount") == 0)
             .collect(Collectors.toList());
@@ -310,10 +309,9 @@ public class LambdaCachingAgent implements CachingAgent, AccountAware, OnDemandA
               functionKey,
               lambdaAttributes,
               Collections.singletonMap(APPLICATIONS.ns, Collections.singletonList(appKey)));
+      providerCache.putOnDemandCacheData(getAgentType(), ON_DEMAND.ns, lambdaCacheData);
 
-      defaultCacheResult =
-          new DefaultCacheResult(
-              Collections.singletonMap(ON_DEMAND.ns, Collections.singletonList(lambdaCacheData)));
+      defaultCacheResult = new DefaultCacheResult(Collections.emptyMap());
 
       evictions = Collections.emptyMap();
     } else {
@@ -332,10 +330,13 @@ public class LambdaCachingAgent implements CachingAgent, AccountAware, OnDemandA
 
   @Override
   public Collection<Map<String, Object>> pendingOnDemandRequests(ProviderCache providerCache) {
-    Collection<String> keys =
-        providerCache.filterIdentifiers(
-            ON_DEMAND.getNs(), Keys.getLambdaFunctionKey(account.getName(), getRegion(), "*"));
-    return providerCache.getAll(ON_DEMAND.getNs(), keys, RelationshipCacheFilter.none()).stream()
+    return providerCache
+        .getOnDemandCacheData(
+            getAgentType(),
+            ON_DEMAND.getNs(),
+            Keys.getLambdaFunctionKey(account.getName(), getRegion(), "*"),
+            RelationshipCacheFilter.none())
+        .stream()
         .map(
             it -> {
               String lambdaId = it.getId();
@@ -21,6 +21,8 @@ import com.amazonaws.auth.policy.Statement;
 import com.amazonaws.services.lambda.AWSLambda;
 import com.amazonaws.services.lambda.model.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.clouddriver.aws.data.ArnUtils;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials;
@@ -29,6 +31,13 @@ import com.netflix.spinnaker.config.LambdaServiceConfig;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
@@ -37,6 +46,9 @@ import lombok.extern.log4j.Log4j2;
 public class LambdaService extends LambdaClientProvider {
 
   private final ObjectMapper mapper;
+  private final Map<String, HydratedFunction> hydratedFunctions = new ConcurrentHashMap<>();
+  private final AtomicLong apiCalls = new AtomicLong();
+  private ThreadPoolExecutor hydrationExecutor;
 
   public LambdaService(
       AmazonClientProvider amazonClientProvider,
@@ -50,21 +62,56 @@ public class LambdaService extends LambdaClientProvider {
     this.mapper = mapper;
   }
 
+  /**
+   * Returns the details of every function. Functions whose revision id and last modified time are
+   * unchanged since the previous call reuse their previous details, unless those are older than
+   * {@link LambdaServiceConfig.Hydration#getRefreshIntervalSeconds()}; the rest are fetched
+   * concurrently.
+   */
   public List<Map<String, Object>> getAllFunctions() {
+    long startApiCalls = apiCalls.get();
+    long now = System.currentTimeMillis();
+    long refreshedAfter =
+        now - TimeUnit.SECONDS.toMillis(getHydrationConfig().getRefreshIntervalSeconds());
+
     List<FunctionConfiguration> functions = listAllFunctionConfigurations();
-    List<Map<String, Object>> hydratedFunctionList =
-        Collections.synchronizedList(new ArrayList<>());
-    functions.stream()
-        .forEach(
-            f -> {
-              Map<String, Object> functionAttributes = new ConcurrentHashMap<>();
-              addBaseAttributes(functionAttributes, f.getFunctionName());
-              addRevisionsAttributes(functionAttributes, f.getFunctionName());
-              addAliasAndEventSourceMappingConfigurationAttributes(
-                  functionAttributes, f.getFunctionName());
-              addTargetGroupAttributes(functionAttributes, f.getFunctionName());
-              hydratedFunctionList.add(functionAttributes);
-            });
+    List<Map<String, Object>> hydratedFunctionList = new ArrayList<>(functions.size());
+    List<FunctionConfiguration> staleFunctions = new ArrayList<>();
+    for (FunctionConfiguration f : functions) {
+      HydratedFunction previous =
+          f.getFunctionName() == null ? null : hydratedFunctions.get(f.getFunctionName());
+      if (previous != null && previous.isCurrent(f, refreshedAfter)) {
+        hydratedFunctionList.add(new ConcurrentHashMap<>(previous.attributes));
+      } else {
+        staleFunctions.add(f);
+      }
+    }
+
+    List<Map<String, Object>> staleFunctionAttributes = hydrate(staleFunctions);
+    for (int i = 0; i < staleFunctions.size(); i++) {
+      Map<String, Object> functionAttributes = staleFunctionAttributes.get(i);
+      hydratedFunctionList.add(functionAttributes);
+      if (functionAttributes.get("functionName") != null) {
+        hydratedFunctions.put(
+            staleFunctions.get(i).getFunctionName(),
+            new HydratedFunction(staleFunctions.get(i), now, functionAttributes));
+      }
+    }
+    Set<String> functionNames =
+        functions.stream()
+            .map(FunctionConfiguration::getFunctionName)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    hydratedFunctions.keySet().retainAll(functionNames);
+
+    log.info(
+        "Fetched {} and reused {} of {} lambda functions in {}/{} with {} API calls",
+        staleFunctions.size(),
+        functions.size() - staleFunctions.size(),
+        functions.size(),
+        getCredentials().getName(),
+        getRegion(),
+        apiCalls.get() - startApiCalls);
 
     // if addBaseAttributes returned null, the name won't be included. There is a chance other
     // resources still have
@@ -74,6 +121,69 @@ public class LambdaService extends LambdaClientProvider {
         .collect(Collectors.toList());
   }
 
+  private List<Map<String, Object>> hydrate(List<FunctionConfiguration> functions) {
+    int threads = getHydrationConfig().getThreads();
+    if (threads <= 1 || functions.size() <= 1) {
+      return functions.stream()
+          .map(f -> hydrate(f.getFunctionName()))
+          .collect(Collectors.toList());
+    }
+
+    List<Future<Map<String, Object>>> futures = new ArrayList<>(functions.size());
+    List<Map<String, Object>> hydrated = new ArrayList<>(functions.size());
+    try {
+      ExecutorService executor = getHydrationExecutor(threads);
+      functions.forEach(f -> futures.add(executor.submit(() -> hydrate(f.getFunctionName()))));
+      for (Future<Map<String, Object>> future : futures) {
+        hydrated.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while describing lambda functions", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      futures.forEach(f -> f.cancel(true));
+    }
+    return hydrated;
+  }
+
+  private Map<String, Object> hydrate(String functionName) {
+    Map<String, Object> functionAttributes = new ConcurrentHashMap<>();
+    addBaseAttributes(functionAttributes, functionName);
+    addRevisionsAttributes(functionAttributes, functionName);
+    addAliasAndEventSourceMappingConfigurationAttributes(functionAttributes, functionName);
+    addTargetGroupAttributes(functionAttributes, functionName);
+    return functionAttributes;
+  }
+
+  private LambdaServiceConfig.Hydration getHydrationConfig() {
+    return Optional.ofNullable(operationsConfig.getHydration())
+        .orElseGet(LambdaServiceConfig.Hydration::new);
+  }
+
+  private synchronized ExecutorService getHydrationExecutor(int threads) {
+    if (hydrationExecutor == null || hydrationExecutor.getMaximumPoolSize() != threads) {
+      if (hydrationExecutor != null) {
+        hydrationExecutor.shutdown();
+      }
+      hydrationExecutor =
+          new ThreadPoolExecutor(
+              threads,
+              threads,
+              60,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat(getClass().getSimpleName() + "-%d")
+                  .setDaemon(true)
+                  .build());
+      hydrationExecutor.allowCoreThreadTimeOut(true);
+    }
+    return hydrationExecutor;
+  }
+
   public Map<String, Object> getFunctionByName(String functionName) throws InterruptedException {
     List<Callable<Void>> functionTasks = Collections.synchronizedList(new ArrayList<>());
     Map<String, Object> functionAttributes = new ConcurrentHashMap<>();
@@ -98,6 +208,7 @@ public class LambdaService extends LambdaClientProvider {
         listFunctionsRequest.setMarker(nextMarker);
       }
 
+      apiCalls.incrementAndGet();
       ListFunctionsResult listFunctionsResult = lambda.listFunctions(listFunctionsRequest);
 
       if (listFunctionsResult == null) {
@@ -112,6 +223,7 @@ public class LambdaService extends LambdaClientProvider {
   }
 
   private Void addBaseAttributes(Map<String, Object> functionAttributes, String functionName) {
+    apiCalls.incrementAndGet();
     GetFunctionResult result =
         getLambdaClient().getFunction(new GetFunctionRequest().withFunctionName(functionName));
     if (result == null) {
@@ -146,6 +258,7 @@ public class LambdaService extends LambdaClientProvider {
         listVersionsByFunctionRequest.setMarker(nextMarker);
       }
 
+      apiCalls.incrementAndGet();
       ListVersionsByFunctionResult listVersionsByFunctionResult =
           lambda.listVersionsByFunction(listVersionsByFunctionRequest);
       if (listVersionsByFunctionResult == null) {
@@ -188,6 +301,7 @@ public class LambdaService extends LambdaClientProvider {
         listAliasesRequest.setMarker(nextMarker);
       }
 
+      apiCalls.incrementAndGet();
       ListAliasesResult listAliasesResult = lambda.listAliases(listAliasesRequest);
       if (listAliasesResult == null) {
         return aliasConfigurations;
@@ -215,6 +329,7 @@ public class LambdaService extends LambdaClientProvider {
         listEventSourceMappingsRequest.setMarker(nextMarker);
       }
 
+      apiCalls.incrementAndGet();
       ListEventSourceMappingsResult listEventSourceMappingsResult =
           lambda.listEventSourceMappings(listEventSourceMappingsRequest);
       if (listEventSourceMappingsResult == null) {
@@ -256,6 +371,7 @@ public class LambdaService extends LambdaClientProvider {
 
     try {
       AWSLambda lambda = getLambdaClient();
+      apiCalls.incrementAndGet();
       GetPolicyResult result =
           lambda.getPolicy(new GetPolicyRequest().withFunctionName(functionName));
       Policy policy = Policy.fromJson(result.getPolicy());
@@ -279,4 +395,27 @@ public class LambdaService extends LambdaClientProvider {
 
     return targetGroupNames;
   }
+
+  /** The details of a function as of a revision, reused until the function changes. */
+  private static class HydratedFunction {
+    private final String revisionId;
+    private final String lastModified;
+    private final long hydratedAt;
+    private final Map<String, Object> attributes;
+
+    HydratedFunction(
+        FunctionConfiguration function, long hydratedAt, Map<String, Object> attributes) {
+      this.revisionId = function.getRevisionId();
+      this.lastModified = function.getLastModified();
+      this.hydratedAt = hydratedAt;
+      this.attributes = attributes;
+    }
+
+    boolean isCurrent(FunctionConfiguration function, long refreshedAfter) {
+      return revisionId != null
+          && revisionId.equals(function.getRevisionId())
+          && Objects.equals(lastModified, function.getLastModified())
+          && hydratedAt > refreshedAfter;
+    }
+  }
 }
@@ -53,6 +53,8 @@ public class LambdaServiceConfig {
 
   private Retry retry = new Retry();
 
+  private Hydration hydration = new Hydration();
+
   /**
    * Duplicated by the {@link
    * com.netflix.spinnaker.clouddriver.aws.AwsConfigurationProperties.ClientConfig} class and the
@@ -66,4 +68,21 @@ public class LambdaServiceConfig {
     @Value("#{'${aws.lambda.retries:${aws.client.maxErrorRetry}}'}")
     private int retries = 3;
   }
+
+  /**
+   * Controls how the caching agent fetches the details of every function. Requests are made on a
+   * pool of {@code threads} per account and region, and remain throttled by the rate limit of the
+   * account's lambda client (see {@code serviceLimits}).
+   */
+  @Data
+  public static class Hydration {
+    private int threads = 5;
+
+    /**
+     * Functions whose revision id and last modified time are unchanged reuse their previous
+     * details, but are still fetched again at least this often, since aliases and event source
+     * mappings can change without a new revision.
+     */
+    private long refreshIntervalSeconds = 600;
+  }
 }
@@ -3,10 +3,13 @@ package com.netflix.spinnaker.clouddriver.lambda.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.lambda.AWSLambda;
 import com.amazonaws.services.lambda.model.FunctionConfiguration;
+import com.amazonaws.services.lambda.model.GetFunctionRequest;
 import com.amazonaws.services.lambda.model.GetFunctionResult;
 import com.amazonaws.services.lambda.model.GetPolicyResult;
 import com.amazonaws.services.lambda.model.ListFunctionsResult;
@@ -155,4 +158,44 @@ class LambdaServiceTest {
     Map<String, Object> function = allFunctions.get(0);
     assertEquals("testFunction", function.get("functionName"));
   }
+
+  @Test
+  void getAllFunctionsReusesFunctionsWithAnUnchangedRevision() {
+    when(lambdaServiceConfig.getRetry()).thenReturn(new LambdaServiceConfig.Retry());
+
+    AWSLambda lambda = mock(AWSLambda.class);
+    when(lambda.listFunctions(any()))
+        .thenReturn(
+            new ListFunctionsResult()
+                .withFunctions(function("unchanged", "1"), function("changed", "1")),
+            new ListFunctionsResult()
+                .withFunctions(function("unchanged", "1"), function("changed", "2")));
+    when(lambda.getFunction(any()))
+        .thenAnswer(
+            invocation -> {
+              GetFunctionRequest request = invocation.getArgument(0);
+              return new GetFunctionResult()
+                  .withConfiguration(function(request.getFunctionName(), "1"));
+            });
+    when(clientProvider.getAmazonLambda(any(), any(), any())).thenReturn(lambda);
+
+    LambdaService lambdaService =
+        new LambdaService(
+            clientProvider, netflixAmazonCredentials, REGION, objectMapper, lambdaServiceConfig);
+
+    lambdaService.getAllFunctions();
+    List<Map<String, Object>> allFunctions = lambdaService.getAllFunctions();
+
+    assertEquals(2, allFunctions.size());
+    verify(lambda, times(1))
+        .getFunction(new GetFunctionRequest().withFunctionName("unchanged"));
+    verify(lambda, times(2)).getFunction(new GetFunctionRequest().withFunctionName("changed"));
+  }
+
+  private static FunctionConfiguration function(String name, String revisionId) {
+    return new FunctionConfiguration()
+        .withFunctionName(name)
+        .withRevisionId(revisionId)
+        .withLastModified("2026-10-19T00:00:00.000+0000");
+  }
 }
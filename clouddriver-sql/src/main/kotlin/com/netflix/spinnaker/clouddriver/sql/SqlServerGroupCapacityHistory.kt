@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.sql
+
+import com.google.common.cache.CacheBuilder
+import com.netflix.spinnaker.clouddriver.config.ServerGroupCapacityHistoryProperties
+import com.netflix.spinnaker.clouddriver.model.ServerGroup
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacityHistory
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacitySample
+import com.netflix.spinnaker.config.ConnectionPools
+import com.netflix.spinnaker.kork.sql.routing.withPool
+import java.time.Clock
+import org.jooq.DSLContext
+import org.jooq.Record
+import org.jooq.impl.DSL.field
+import org.jooq.impl.DSL.max
+import org.jooq.impl.DSL.row
+import org.jooq.impl.DSL.select
+import org.jooq.impl.DSL.table
+
+/**
+ * Stores the capacity history of server groups in SQL, so that it can be served by any instance rather than only
+ * by the one running the caching agent of each server group.
+ *
+ * A sample is only stored when it differs from the latest stored sample of its server group. Otherwise the latest
+ * sample's `last_seen_at` is moved forward, at most once every half of the retention, and samples are deleted once
+ * they haven't been seen for the retention, so the latest sample of an unchanged server group is kept without being
+ * duplicated.
+ */
+class SqlServerGroupCapacityHistory(
+  private val jooq: DSLContext,
+  private val clock: Clock,
+  private val properties: ServerGroupCapacityHistoryProperties
+) : ServerGroupCapacityHistory {
+
+  private val latest = CacheBuilder.newBuilder()
+    .expireAfterAccess(properties.retention)
+    .build<String, LatestSample>()
+
+  override fun record(account: String, region: String, samples: Map<String, ServerGroupCapacitySample>) {
+    val changed = mutableMapOf<String, ServerGroupCapacitySample>()
+    val seen = mutableMapOf<String, LatestSample>()
+
+    withPool(ConnectionPools.CACHE_WRITER.value) {
+      jooq.transactional { ctx ->
+        loadLatest(ctx, account, region, samples.keys.filter { latest.getIfPresent(key(account, region, it)) == null })
+
+        samples.forEach { (name, sample) ->
+          val last = latest.getIfPresent(key(account, region, name))
+          if (last == null || sample.isChangedFrom(last.sample)) {
+            changed[name] = sample
+          } else if (sample.timestamp - last.lastSeen > properties.retention.toMillis() / 2) {
+            seen[name] = LatestSample(last.sample, sample.timestamp)
+          }
+        }
+
+        changed.entries.chunked(BATCH_SIZE) { chunk ->
+          chunk
+            .fold(ctx.insertInto(capacityHistoryTable, capacityHistoryFields + lastSeenAt)) { insert, (name, sample) ->
+              insert.values(
+                listOf(
+                  account,
+                  region,
+                  name,
+                  sample.timestamp,
+                  sample.capacity?.min,
+                  sample.capacity?.max,
+                  sample.capacity?.desired,
+                  sample.instanceCounts?.total,
+                  sample.instanceCounts?.up,
+                  sample.instanceCounts?.down,
+                  sample.instanceCounts?.unknown,
+                  sample.instanceCounts?.outOfService,
+                  sample.instanceCounts?.starting,
+                  sample.timestamp
+                )
+              )
+            }
+            .onDuplicateKeyIgnore()
+            .execute()
+        }
+
+        seen.entries.chunked(BATCH_SIZE) { chunk ->
+          ctx.batch(
+            chunk.map { (name, last) ->
+              ctx.update(capacityHistoryTable)
+                .set(lastSeenAt, last.lastSeen)
+                .where(
+                  field("account").eq(account)
+                    .and(field("region").eq(region))
+                    .and(field("server_group").eq(name))
+                    .and(field("recorded_at").eq(last.sample.timestamp))
+                )
+            }
+          ).execute()
+        }
+
+        ctx.deleteFrom(capacityHistoryTable)
+          .where(
+            field("account").eq(account)
+              .and(field("region").eq(region))
+              .and(lastSeenAt.lessThan(clock.millis() - properties.retention.toMillis()))
+          )
+          .execute()
+      }
+    }
+
+    changed.forEach { (name, sample) -> latest.put(key(account, region, name), LatestSample(sample, sample.timestamp)) }
+    seen.forEach { (name, last) -> latest.put(key(account, region, name), last) }
+  }
+
+  override fun getSamples(
+    account: String,
+    region: String,
+    serverGroupName: String,
+    since: Long
+  ): List<ServerGroupCapacitySample> {
+    return withPool(ConnectionPools.CACHE_READER.value) {
+      jooq.read { ctx ->
+        ctx.select(capacityHistoryFields)
+          .from(capacityHistoryTable)
+          .where(
+            field("account").eq(account)
+              .and(field("region").eq(region))
+              .and(field("server_group").eq(serverGroupName))
+              .and(field("recorded_at").greaterThan(since))
+          )
+          .orderBy(field("recorded_at").desc())
+          .limit(properties.maxSamples)
+          .fetch()
+          .map { it.toSample() }
+          .reversed()
+      }
+    }
+  }
+
+  /**
+   * Loads the latest stored sample of server groups this instance hasn't written or loaded yet, such as after a
+   * restart or when another instance recorded them last.
+   */
+  private fun loadLatest(ctx: DSLContext, account: String, region: String, serverGroupNames: List<String>) {
+    serverGroupNames.chunked(BATCH_SIZE) { chunk ->
+      ctx.select(capacityHistoryFields + lastSeenAt)
+        .from(capacityHistoryTable)
+        .where(
+          field("account").eq(account)
+            .and(field("region").eq(region))
+            .and(
+              row(field("server_group"), field("recorded_at")).`in`(
+                select(field("server_group"), max(field("recorded_at")))
+                  .from(capacityHistoryTable)
+                  .where(
+                    field("account").eq(account)
+                      .and(field("region").eq(region))
+                      .and(field("server_group").`in`(chunk))
+                  )
+                  .groupBy(field("server_group"))
+              )
+            )
+        )
+        .fetch()
+        .forEach {
+          latest.put(
+            key(account, region, it.get("server_group", String::class.java)),
+            LatestSample(it.toSample(), it.get(lastSeenAt.name, Long::class.javaObjectType))
+          )
+        }
+    }
+  }
+
+  private fun Record.toSample() =
+    ServerGroupCapacitySample(
+      get("recorded_at", Long::class.javaObjectType),
+      ServerGroup.Capacity(
+        get("min_size", Int::class.javaObjectType),
+        get("max_size", Int::class.javaObjectType),
+        get("desired", Int::class.javaObjectType)
+      ),
+      ServerGroup.InstanceCounts(
+        get("total", Int::class.javaObjectType),
+        get("up", Int::class.javaObjectType),
+        get("down", Int::class.javaObjectType),
+        get("unknown", Int::class.javaObjectType),
+        get("out_of_service", Int::class.javaObjectType),
+        get("starting", Int::class.javaObjectType)
+      )
+    )
+
+  private fun key(account: String, region: String, serverGroupName: String) = "$account:$region:$serverGroupName"
+
+  private class LatestSample(val sample: ServerGroupCapacitySample, val lastSeen: Long)
+
+  companion object {
+    private const val BATCH_SIZE = 500
+
+    private val capacityHistoryTable = table("server_group_capacity_history")
+    private val capacityHistoryFields = listOf(
+      "account",
+      "region",
+      "server_group",
+      "recorded_at",
+      "min_size",
+      "max_size",
+      "desired",
+      "total",
+      "up",
+      "down",
+      "unknown",
+      "out_of_service",
+      "starting"
+    ).map { field(it) }
+    private val lastSeenAt = field("last_seen_at")
+  }
+}
@@ -16,6 +16,9 @@
 package com.netflix.spinnaker.clouddriver.sql
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.clouddriver.core.ClouddriverHostname
 import com.netflix.spinnaker.clouddriver.data.task.DefaultTaskStatus
 import com.netflix.spinnaker.clouddriver.data.task.Task
@@ -24,9 +27,14 @@ import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
 import com.netflix.spinnaker.clouddriver.data.task.TaskState
 import com.netflix.spinnaker.clouddriver.data.task.TaskState.FAILED
 import com.netflix.spinnaker.clouddriver.data.task.TaskState.STARTED
+import com.netflix.spinnaker.config.SqlTaskWriteBehindProperties
 import com.netflix.spinnaker.kork.sql.routing.withPool
 import de.huxhorn.sulky.ulid.ULID
 import java.time.Clock
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import javax.annotation.PreDestroy
 import org.jooq.Condition
 import org.jooq.DSLContext
 import org.jooq.Record
@@ -36,17 +44,45 @@ import org.jooq.impl.DSL.field
 import org.jooq.impl.DSL.sql
 import org.slf4j.LoggerFactory
 
-class SqlTaskRepository(
+/**
+ * Status and output updates are written through a per-task buffer. Unless write-behind is enabled the buffer is
+ * flushed as soon as an update is added to it; otherwise it is flushed on an interval, whenever the task changes
+ * state (in the same transaction as the new state, so that a terminal state is never persisted ahead of the
+ * history leading up to it) and before the task is read back by this instance.
+ */
+class SqlTaskRepository @JvmOverloads constructor(
   private val jooq: DSLContext,
   private val mapper: ObjectMapper,
   private val clock: Clock,
-  private val poolName: String
+  private val poolName: String,
+  private val registry: Registry = NoopRegistry(),
+  private val writeBehindProperties: SqlTaskWriteBehindProperties = SqlTaskWriteBehindProperties()
 ) : TaskRepository {
 
   private val log = LoggerFactory.getLogger(javaClass)
 
+  private val updatesRequestedId = registry.createId("sql.taskRepository.updatesRequested")
+  private val rowsWrittenId = registry.createId("sql.taskRepository.rowsWritten")
+  private val batchesWrittenId = registry.createId("sql.taskRepository.batchesWritten")
+
+  private val buffers = ConcurrentHashMap<String, TaskWriteBuffer>()
+
+  private val flusher = if (writeBehindProperties.enabled) {
+    Executors.newSingleThreadScheduledExecutor(
+      ThreadFactoryBuilder().setNameFormat(javaClass.simpleName + "-%d").setDaemon(true).build()
+    )
+  } else {
+    null
+  }
+
   init {
     log.info("Using ${javaClass.simpleName} with pool $poolName")
+    flusher?.scheduleWithFixedDelay(
+      this::flushAll,
+      writeBehindProperties.flushIntervalMs,
+      writeBehindProperties.flushIntervalMs,
+      TimeUnit.MILLISECONDS
+    )
   }
 
   override fun create(phase: String, status: String): Task {
@@ -163,13 +199,7 @@ class SqlTaskRepository(
   }
 
   internal fun updateCurrentStatus(task: Task, phase: String, status: String) {
-    val historyId = ulid.nextULID()
-    withPool(poolName) {
-      jooq.transactional { ctx ->
-        val state = selectLatestState(ctx, task.id)
-        addToHistory(ctx, historyId, task.id, state?.state ?: STARTED, phase, status.take(MAX_STATUS_LENGTH))
-      }
-    }
+    buffer(task.id, BufferedStatus(ulid.nextULID(), clock.millis(), phase, status.take(MAX_STATUS_LENGTH)))
   }
 
   private fun addToHistory(ctx: DSLContext, id: String, taskId: String, state: TaskState, phase: String, status: String) {
@@ -184,50 +214,140 @@ class SqlTaskRepository(
 
   internal fun updateState(task: Task, state: TaskState) {
     val historyId = ulid.nextULID()
-    withPool(poolName) {
-      jooq.transactional { ctx ->
-        selectLatestState(ctx, task.id)?.let {
-          addToHistory(ctx, historyId, task.id, state, it.phase, it.status)
+    drain(task.id) { pending ->
+      withPool(poolName) {
+        jooq.transactional { ctx ->
+          writeBuffered(ctx, task.id, pending)
+
+          // the latest buffered status can't be selected reliably, as the new state may share its created_at
+          val latest = pending.filterIsInstance<BufferedStatus>().lastOrNull()?.let { it.phase to it.status }
+            ?: selectLatestState(ctx, task.id)?.let { it.phase to it.status }
+          latest?.let { (phase, status) -> addToHistory(ctx, historyId, task.id, state, phase, status) }
         }
       }
+      recordWritten(pending)
     }
   }
 
   internal fun updateOutput(taskOutput: TaskOutput, task: Task) {
-    val outputId = ulid.nextULID()
-    withPool(poolName) {
-      jooq.transactional { ctx ->
-        addToOutput(ctx, outputId, task.id, taskOutput.manifest, taskOutput.phase, taskOutput.stdOut, taskOutput.stdError)
+    buffer(task.id, BufferedOutput(ulid.nextULID(), clock.millis(), taskOutput))
+  }
+
+  /**
+   * Writes all buffered status and output updates, which happens on an interval when write-behind is enabled.
+   */
+  fun flushAll() {
+    buffers.keys.forEach { taskId ->
+      try {
+        flush(taskId)
+      } catch (e: Exception) {
+        log.warn("Failed to flush buffered updates of task {}, will retry", taskId, e)
       }
     }
   }
 
-  private fun addToOutput(ctx: DSLContext, id: String, taskId: String, manifestName: String, phase: String, stdOut: String?, stdError: String?) {
-    ctx
-      .insertInto(
-        taskOutputsTable,
-        listOf(
-          field("id"),
-          field("task_id"),
-          field("created_at"),
-          field("manifest"),
-          field("phase"),
-          field("std_out"),
-          field("std_error")
-        )
-      )
-      .values(
-        listOf(
-          id,
-          taskId,
-          clock.millis(),
-          manifestName,
-          phase,
-          stdOut,
-          stdError
-        )
-      )
-      .execute()
+  @PreDestroy
+  fun shutdown() {
+    flusher?.shutdown()
+    flusher?.awaitTermination(writeBehindProperties.flushIntervalMs, TimeUnit.MILLISECONDS)
+    flushAll()
+  }
+
+  private fun buffer(taskId: String, write: BufferedWrite) {
+    registry.counter(updatesRequestedId.withTag("type", write.type)).increment()
+    while (true) {
+      val buffer = buffers.computeIfAbsent(taskId) { TaskWriteBuffer() }
+      synchronized(buffer) {
+        if (!buffer.retired) {
+          buffer.writes.add(write)
+          if (!writeBehindProperties.enabled) {
+            flush(taskId)
+          }
+          return
+        }
+      }
+    }
+  }
+
+  private fun flush(taskId: String) {
+    drain(taskId) { pending ->
+      if (pending.isNotEmpty()) {
+        withPool(poolName) {
+          jooq.transactional { ctx ->
+            writeBuffered(ctx, taskId, pending)
+          }
+        }
+        recordWritten(pending)
+      }
+    }
+  }
+
+  /**
+   * Runs [fn] with the updates buffered for [taskId], holding back any update buffered in the meantime so that
+   * rows are written in the order they were requested. The updates are discarded once [fn] returns, but are kept
+   * for the next flush if it throws.
+   */
+  private fun drain(taskId: String, fn: (List<BufferedWrite>) -> Unit) {
+    while (true) {
+      val buffer = buffers[taskId]
+      if (buffer == null) {
+        fn(emptyList())
+        return
+      }
+
+      synchronized(buffer) {
+        // a buffer retired by a concurrent drain has been flushed, and later updates went into a new one
+        if (!buffer.retired) {
+          fn(buffer.writes)
+          buffer.writes.clear()
+          // any later update goes into a new buffer, as this one may be removed before it could be flushed
+          buffer.retired = true
+          buffers.remove(taskId, buffer)
+          return
+        }
+      }
+    }
+  }
+
+  private fun writeBuffered(ctx: DSLContext, taskId: String, writes: List<BufferedWrite>) {
+    val statuses = writes.filterIsInstance<BufferedStatus>()
+    if (statuses.isNotEmpty()) {
+      val state = (selectLatestState(ctx, taskId)?.state ?: STARTED).toString()
+      statuses.chunked(writeBehindProperties.batchSize) { chunk ->
+        chunk
+          .fold(ctx.insertInto(taskStatesTable, taskStatesFields)) { insert, it ->
+            insert.values(listOf(it.id, taskId, it.createdAt, state, it.phase, it.status))
+          }
+          .execute()
+        registry.counter(batchesWrittenId.withTag("type", "status")).increment()
+      }
+    }
+
+    val outputs = writes.filterIsInstance<BufferedOutput>()
+    outputs.chunked(writeBehindProperties.batchSize) { chunk ->
+      chunk
+        .fold(ctx.insertInto(taskOutputsTable, taskOutputsFields)) { insert, it ->
+          insert.values(
+            listOf(
+              it.id,
+              taskId,
+              it.createdAt,
+              it.output.manifest,
+              it.output.phase,
+              it.output.stdOut,
+              it.output.stdError
+            )
+          )
+        }
+        .execute()
+      registry.counter(batchesWrittenId.withTag("type", "output")).increment()
+    }
+  }
+
+  private fun recordWritten(writes: List<BufferedWrite>) {
+    writes.groupingBy { it.type }.eachCount().forEach { (type, count) ->
+      registry.counter(rowsWrittenId.withTag("type", type)).increment(count.toLong())
+    }
   }
 
   fun updateOwnerId(task: Task) {
@@ -242,6 +362,7 @@ class SqlTaskRepository(
   }
 
   internal fun retrieveInternal(taskId: String): Task? {
+    flush(taskId)
     return retrieveInternal(field("id").eq(taskId), field("task_id").eq(taskId)).firstOrNull()
   }
 
@@ -402,4 +523,27 @@ class SqlTaskRepository(
     private val ulid = ULID()
     private val MAX_STATUS_LENGTH = 10_000
   }
+
+  private class TaskWriteBuffer {
+    val writes = mutableListOf<BufferedWrite>()
+    var retired = false
+  }
+
+  private sealed class BufferedWrite(val type: String) {
+    abstract val id: String
+    abstract val createdAt: Long
+  }
+
+  private class BufferedStatus(
+    override val id: String,
+    override val createdAt: Long,
+    val phase: String,
+    val status: String
+  ) : BufferedWrite("status")
+
+  private class BufferedOutput(
+    override val id: String,
+    override val createdAt: Long,
+    val output: TaskOutput
+  ) : BufferedWrite("output")
 }
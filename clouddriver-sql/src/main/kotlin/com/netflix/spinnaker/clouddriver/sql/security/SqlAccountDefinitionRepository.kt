@@ -85,6 +85,42 @@ class SqlAccountDefinitionRepository(
       }
     }
 
+  override fun listChangesByType(typeName: String, since: Long): AccountDefinitionRepository.Changes =
+    withPool(poolName) {
+      val timestamp = clock.millis()
+      if (since <= 0) {
+        AccountDefinitionRepository.Changes(listByType(typeName), setOf(), timestamp, true)
+      } else {
+        // look back a bit further than requested to pick up transactions that committed after the
+        // previous call but were stamped before it; repeated definitions are harmless to callers
+        val threshold = since - CHANGE_LOOKBACK_MILLIS
+        jooq.read { ctx ->
+          val changedNames = mutableSetOf<String>()
+          val deletedNames = mutableSetOf<String>()
+          val changed = ctx.select(idColumn, bodyColumn)
+            .from(accountsTable)
+            .where(typeColumn.eq(typeName), lastModifiedColumn.ge(threshold))
+            .fetch { (name, json) ->
+              changedNames += name
+              // accounts that can no longer be loaded are removed just like in a full reload
+              deserializeAccountData(json.data()).also { if (it == null) deletedNames += name }
+            }
+            .filterNotNullTo(mutableListOf())
+          ctx.selectDistinct(idColumn)
+            .from(accountHistoryTable)
+            .where(
+              deletedColumn.eq(true),
+              lastModifiedColumn.ge(threshold),
+              // deletions recorded before the type was tracked in history have a null type
+              typeColumn.eq(typeName).or(typeColumn.isNull)
+            )
+            .fetch(idColumn)
+            .filterNotTo(deletedNames) { it in changedNames }
+          AccountDefinitionRepository.Changes(changed, deletedNames, timestamp, false)
+        }
+      }
+    }
+
   private fun deserializeAccountData(accountData: String): CredentialsDefinition? =
     try {
       mapper.deserialize(accountData)
@@ -219,6 +255,7 @@ class SqlAccountDefinitionRepository(
         jooq.transactional { ctx ->
           ctx.insertInto(accountHistoryTable)
             .set(idColumn, name)
+            .set(typeColumn, typeName)
             .set(deletedColumn, true)
             .set(lastModifiedColumn, clock.millis())
             .set(versionColumn, findLatestVersion(name))
@@ -259,6 +296,7 @@ class SqlAccountDefinitionRepository(
     }
 
   companion object {
+    private const val CHANGE_LOOKBACK_MILLIS = 30_000L
     private val accountsTable = table("accounts")
     private val accountHistoryTable = table("accounts_history")
     private val idColumn = field("id", String::class.java)
@@ -17,11 +17,14 @@ package com.netflix.spinnaker.config
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.config.ServerGroupCapacityHistoryProperties
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacityHistory
 import com.netflix.spinnaker.clouddriver.security.AccountDefinitionMapper
 import com.netflix.spinnaker.clouddriver.security.AccountDefinitionRepository
 import com.netflix.spinnaker.clouddriver.sql.SqlProvider
+import com.netflix.spinnaker.clouddriver.sql.SqlServerGroupCapacityHistory
 import com.netflix.spinnaker.clouddriver.sql.SqlTaskCleanupAgent
 import com.netflix.spinnaker.clouddriver.sql.SqlTaskRepository
 import com.netflix.spinnaker.clouddriver.sql.event.SqlEventCleanupAgent
@@ -48,7 +51,11 @@ import java.time.Clock
 @Configuration
 @ConditionalOnProperty("sql.enabled")
 @Import(DefaultSqlConfiguration::class)
-@EnableConfigurationProperties(SqlTaskCleanupAgentProperties::class, SqlEventCleanupAgentConfigProperties::class)
+@EnableConfigurationProperties(
+  SqlTaskCleanupAgentProperties::class,
+  SqlEventCleanupAgentConfigProperties::class,
+  SqlTaskWriteBehindProperties::class
+)
 class SqlConfiguration {
 
   @Bean
@@ -56,9 +63,11 @@ class SqlConfiguration {
   fun sqlTaskRepository(
     jooq: DSLContext,
     clock: Clock,
-    objectMapper: ObjectMapper
+    objectMapper: ObjectMapper,
+    registry: Registry,
+    writeBehindProperties: SqlTaskWriteBehindProperties
   ): TaskRepository =
-    SqlTaskRepository(jooq, objectMapper, clock, ConnectionPools.TASKS.value)
+    SqlTaskRepository(jooq, objectMapper, clock, ConnectionPools.TASKS.value, registry, writeBehindProperties)
 
   @Bean
   @ConditionalOnProperty("sql.task-repository.enabled", "sql.task-repository.secondary.enabled")
@@ -66,10 +75,12 @@ class SqlConfiguration {
     jooq: DSLContext,
     clock: Clock,
     objectMapper: ObjectMapper,
+    registry: Registry,
+    writeBehindProperties: SqlTaskWriteBehindProperties,
     @Value("\${sql.task-repository.secondary.pool-name}") poolName: String
 
   ): TaskRepository =
-    SqlTaskRepository(jooq, objectMapper, clock, poolName)
+    SqlTaskRepository(jooq, objectMapper, clock, poolName, registry, writeBehindProperties)
 
   @Bean
   @ConditionalOnProperty("sql.task-repository.enabled")
@@ -127,6 +138,14 @@ class SqlConfiguration {
     return SqlEventCleanupAgent(jooq, registry, properties, dynamicConfigService)
   }
 
+  @Bean
+  @ConditionalOnProperty("server-group-capacity-history.enabled", "sql.server-group-capacity-history.enabled")
+  fun sqlServerGroupCapacityHistory(
+    jooq: DSLContext,
+    clock: Clock,
+    properties: ServerGroupCapacityHistoryProperties
+  ): ServerGroupCapacityHistory = SqlServerGroupCapacityHistory(jooq, clock, properties)
+
   @Bean
   @ConditionalOnProperty("account.storage.enabled")
   fun sqlAccountDefinitionRepository(
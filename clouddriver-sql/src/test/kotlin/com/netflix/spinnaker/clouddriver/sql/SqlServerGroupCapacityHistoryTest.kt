@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.sql
+
+import com.netflix.spinnaker.clouddriver.config.ServerGroupCapacityHistoryProperties
+import com.netflix.spinnaker.clouddriver.model.ServerGroup
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacitySample
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
+import dev.minutest.junit.JUnit5Minutests
+import dev.minutest.rootContext
+import io.mockk.every
+import io.mockk.mockk
+import org.jooq.impl.DSL.table
+import strikt.api.expectThat
+import strikt.assertions.containsExactly
+import strikt.assertions.isEqualTo
+import java.time.Clock
+import java.time.Duration
+
+class SqlServerGroupCapacityHistoryTest : JUnit5Minutests {
+
+  fun tests() = rootContext<Fixture> {
+    fixture {
+      Fixture()
+    }
+
+    after {
+      SqlTestUtil.cleanupDb(database.context)
+    }
+
+    test("stores an unchanged sample once") {
+      record(0, desired = 1)
+      record(MINUTE, desired = 1)
+      record(7 * MINUTE, desired = 1)
+
+      expectThat(rowCount()).isEqualTo(1)
+      expectThat(subject.getSamples("test", "us-east-1", "app-v001", -1).map { it.timestamp })
+        .containsExactly(0L)
+    }
+
+    test("keeps the latest sample of an unchanged server group past the retention") {
+      record(0, desired = 1)
+      record(MINUTE, desired = 2)
+      record(7 * MINUTE, desired = 2)
+      record(12 * MINUTE, desired = 2)
+
+      expectThat(subject.getSamples("test", "us-east-1", "app-v001", -1).map { it.timestamp })
+        .containsExactly(MINUTE)
+    }
+
+    test("doesn't duplicate the latest sample written by another instance") {
+      record(0, desired = 1)
+
+      val otherSubject = SqlServerGroupCapacityHistory(database.context, clock, properties)
+      otherSubject.record("test", "us-east-1", mapOf("app-v001" to sample(MINUTE, desired = 1)))
+
+      expectThat(rowCount()).isEqualTo(1)
+    }
+
+    test("returns the newest samples, oldest first") {
+      (1..5).forEach { record(it * 1000L, desired = it) }
+
+      expectThat(subject.getSamples("test", "us-east-1", "app-v001", -1).map { it.timestamp })
+        .containsExactly(3000L, 4000L, 5000L)
+    }
+  }
+
+  private inner class Fixture {
+    val database = SqlTestUtil.initTcMysqlDatabase()!!
+
+    var now = 0L
+    val clock = mockk<Clock> {
+      every { millis() } answers { now }
+    }
+
+    val properties = ServerGroupCapacityHistoryProperties().apply {
+      retention = Duration.ofMinutes(10)
+      maxSamples = 3
+    }
+
+    val subject = SqlServerGroupCapacityHistory(database.context, clock, properties)
+
+    fun record(timestamp: Long, desired: Int) {
+      now = timestamp
+      subject.record("test", "us-east-1", mapOf("app-v001" to sample(timestamp, desired)))
+    }
+
+    fun sample(timestamp: Long, desired: Int) =
+      ServerGroupCapacitySample.builder()
+        .timestamp(timestamp)
+        .capacity(ServerGroup.Capacity(1, 5, desired))
+        .instanceCounts(ServerGroup.InstanceCounts(desired, desired, 0, 0, 0, 0))
+        .build()
+
+    fun rowCount() = database.context.fetchCount(table("server_group_capacity_history"))
+  }
+
+  companion object {
+    private val MINUTE = Duration.ofMinutes(1).toMillis()
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.sql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule
+import com.fasterxml.jackson.module.kotlin.KotlinModule
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.clouddriver.data.task.TaskState
+import com.netflix.spinnaker.config.ConnectionPools
+import com.netflix.spinnaker.config.SqlTaskWriteBehindProperties
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
+import dev.minutest.junit.JUnit5Minutests
+import dev.minutest.rootContext
+import java.time.Clock
+import java.util.concurrent.TimeUnit
+import strikt.api.expectThat
+import strikt.assertions.containsExactly
+import strikt.assertions.isEmpty
+import strikt.assertions.isEqualTo
+
+class SqlTaskWriteBehindTest : JUnit5Minutests {
+
+  fun tests() = rootContext<Fixture> {
+    fixture {
+      Fixture()
+    }
+
+    after {
+      subject.shutdown()
+      SqlTestUtil.cleanupDb(database.context)
+    }
+
+    context("write-behind") {
+      test("reading a task back on this instance flushes its buffered updates") {
+        val task = subject.create("TEST", "Created")
+        task.updateStatus("TEST", "Working")
+        task.updateOutput("some-manifest", "TEST", "output", null)
+
+        expectThat(task.status?.status).isEqualTo("Working")
+        expectThat(task.outputs.map { it.manifest }).containsExactly("some-manifest")
+      }
+
+      test("buffered updates are written in order along with the terminal state") {
+        val task = subject.create("TEST", "Created")
+        task.updateStatus("TEST", "First")
+        task.updateStatus("TEST", "Second")
+        task.updateOutput("some-manifest", "TEST", "output", null)
+
+        expectThat(reader.get(task.id)!!.history.map { it.status }).containsExactly("Created")
+        expectThat(reader.get(task.id)!!.outputs).isEmpty()
+
+        task.complete()
+
+        val persisted = reader.get(task.id)!!
+        expectThat(persisted.history.map { it.status }).containsExactly("Created", "First", "Second", "Second")
+        expectThat(persisted.status?.state).isEqualTo(TaskState.COMPLETED)
+        expectThat(persisted.outputs.map { it.manifest }).containsExactly("some-manifest")
+      }
+
+      test("updates are written in batches") {
+        val task = subject.create("TEST", "Created")
+        repeat(5) { task.updateStatus("TEST", "Status $it") }
+        subject.flushAll()
+
+        expectThat(reader.get(task.id)!!.history.map { it.status })
+          .containsExactly("Created", "Status 0", "Status 1", "Status 2", "Status 3", "Status 4")
+        expectThat(count("sql.taskRepository.updatesRequested")).isEqualTo(5L)
+        expectThat(count("sql.taskRepository.rowsWritten")).isEqualTo(5L)
+        expectThat(count("sql.taskRepository.batchesWritten")).isEqualTo(1L)
+      }
+    }
+  }
+
+  private inner class Fixture {
+    val database = SqlTestUtil.initTcMysqlDatabase()!!
+
+    val mapper = ObjectMapper().apply {
+      registerModules(KotlinModule(), JavaTimeModule())
+    }
+
+    val registry = DefaultRegistry()
+
+    val subject = SqlTaskRepository(
+      jooq = database.context,
+      mapper = mapper,
+      clock = Clock.systemDefaultZone(),
+      poolName = ConnectionPools.TASKS.value,
+      registry = registry,
+      writeBehindProperties = SqlTaskWriteBehindProperties().apply {
+        enabled = true
+        // only flush when the tests ask for it
+        flushIntervalMs = TimeUnit.HOURS.toMillis(1)
+      }
+    )
+
+    // another instance, which only sees what has been flushed
+    val reader = SqlTaskRepository(
+      jooq = database.context,
+      mapper = mapper,
+      clock = Clock.systemDefaultZone(),
+      poolName = ConnectionPools.TASKS.value
+    )
+
+    fun count(name: String): Long =
+      registry.counters().filter { it.id().name() == name }.mapToLong { it.count() }.sum()
+  }
+}
@@ -18,6 +18,8 @@ package com.netflix.spinnaker.clouddriver;
 
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.configuration.CredentialsConfiguration;
+import com.netflix.spinnaker.clouddriver.controllers.CacheVersionInterceptor;
+import com.netflix.spinnaker.clouddriver.controllers.CacheVersioned;
 import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue;
 import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueueConfiguration;
 import com.netflix.spinnaker.filters.AuthenticatedRequestFilter;
@@ -26,13 +28,20 @@ import com.netflix.spinnaker.kork.web.context.MdcCopyingAsyncTaskExecutor;
 import com.netflix.spinnaker.kork.web.interceptors.MetricsInterceptor;
 import java.util.List;
 import javax.servlet.Filter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.core.Ordered;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.MediaType;
@@ -72,6 +81,23 @@ public class WebConfig extends WebMvcConfigurerAdapter {
             List.of("BasicErrorController")));
   }
 
+  /**
+   * Applies the {@link CacheVersionInterceptor} to {@link CacheVersioned} endpoints ahead of method
+   * security, which it evaluates itself before answering with a 304.
+   */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor cacheVersionAdvisor(
+      ObjectProvider<CacheVersionInterceptor> cacheVersionInterceptor) {
+    DefaultPointcutAdvisor advisor =
+        new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(CacheVersioned.class),
+            (MethodInterceptor)
+                invocation -> cacheVersionInterceptor.getObject().invoke(invocation));
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+
   @Bean
   Filter eTagFilter() {
     return new ShallowEtagHeaderFilter();
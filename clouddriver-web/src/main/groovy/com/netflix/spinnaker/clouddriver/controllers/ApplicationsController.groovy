@@ -52,6 +52,7 @@ class ApplicationsController {
 
   @PreAuthorize("#restricted ? @fiatPermissionEvaluator.storeWholePermission() : true")
   @PostFilter("#restricted ? hasPermission(filterObject.name, 'APPLICATION', 'READ') : true")
+  @CacheVersioned(types = ["applications", "clusters"])
   @RequestMapping(method = RequestMethod.GET)
   List<Application> list(@RequestParam(required = false, value = 'expand', defaultValue = 'true') boolean expand,
                          @RequestParam(required = false, value = 'restricted', defaultValue = 'true') boolean restricted) {
@@ -63,6 +64,7 @@ class ApplicationsController {
   }
 
   @PreAuthorize("hasPermission(#name, 'APPLICATION', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters"])
   @RequestMapping(value = "/{name:.+}", method = RequestMethod.GET)
   ApplicationViewModel get(@PathVariable String name) {
     def apps = requestQueue.execute(name, {
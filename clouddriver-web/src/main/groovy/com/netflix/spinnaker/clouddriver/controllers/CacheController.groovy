@@ -16,11 +16,15 @@
 
 package com.netflix.spinnaker.clouddriver.controllers
 
+import com.netflix.spinnaker.cats.cache.AgentCacheWriteStats
 import com.netflix.spinnaker.cats.cache.AgentIntrospection
 import com.netflix.spinnaker.cats.cache.CacheIntrospectionStore
+import com.netflix.spinnaker.cats.cache.CacheWriteStats
+import com.netflix.spinnaker.cats.cache.CacheWriteStatsStore
 import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheStatus
 import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater
 import com.netflix.spinnaker.clouddriver.cache.OnDemandType
+import com.netflix.spinnaker.kork.web.exceptions.InvalidRequestException
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.http.HttpStatus
@@ -63,6 +67,30 @@ class CacheController {
         .toSorted { a, b -> b.getLastExecutionStartMs() <=> a.getLastExecutionStartMs() }
   }
 
+  /**
+   * Ranks the agents by what storing their results has cost the cache since startup, by any of the
+   * figures of {@link CacheWriteStats.Stat} (e.g. {@code ?sortBy=itemsChanged}).
+   */
+  @RequestMapping(method = RequestMethod.GET, value = "/writes")
+  Collection<Map> getAgentCacheWrites(@RequestParam(value = "sortBy", defaultValue = "serializedBytes") String sortBy,
+                                      @RequestParam(value = "limit", defaultValue = "20") int limit) {
+    CacheWriteStats.Stat stat
+    try {
+      stat = CacheWriteStats.Stat.fromName(sortBy)
+    } catch (IllegalArgumentException e) {
+      throw new InvalidRequestException(e.message)
+    }
+
+    return CacheWriteStatsStore.getStore().rank(stat, limit).collect { AgentCacheWriteStats agent ->
+      [
+        agent         : agent.agent,
+        lastRecordedMs: agent.lastRecordedMs,
+        total         : agent.total.asMap(),
+        types         : agent.types.collectEntries { type, stats -> [(type): stats.asMap()] }
+      ]
+    }
+  }
+
   @RequestMapping(method = RequestMethod.GET, value = "/{cloudProvider}/{type}")
   Collection<Map> pendingOnDemands(@PathVariable String cloudProvider,
                                    @PathVariable String type,
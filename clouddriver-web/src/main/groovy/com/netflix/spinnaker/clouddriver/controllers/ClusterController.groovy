@@ -71,6 +71,7 @@ class ClusterController {
 
   @PreAuthorize("@fiatPermissionEvaluator.storeWholePermission() and hasPermission(#application, 'APPLICATION', 'READ')")
   @PostAuthorize("@authorizationSupport.filterForAccounts(returnObject)")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(method = RequestMethod.GET)
   Map<String, Set<String>> listByAccount(@PathVariable String application) {
     List<Application> apps = applicationProviders.stream()
@@ -104,6 +105,7 @@ class ClusterController {
   }
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/{account:.+}", method = RequestMethod.GET)
   Set<ClusterViewModel> getForAccount(@PathVariable String application, @PathVariable String account) {
 
@@ -122,6 +124,7 @@ class ClusterController {
   }
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/{account:.+}/{name:.+}", method = RequestMethod.GET)
   Set<Cluster> getForAccountAndName(@PathVariable String application,
                                     @PathVariable String account,
@@ -143,6 +146,7 @@ class ClusterController {
   }
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/{account:.+}/{name:.+}/{type}", method = RequestMethod.GET)
   Cluster getForAccountAndNameAndType(@PathVariable String application,
                                       @PathVariable String account,
@@ -167,6 +171,7 @@ class ClusterController {
   }
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/{account:.+}/{clusterName:.+}/{type}/serverGroups", method = RequestMethod.GET)
   Set<ServerGroup> getServerGroups(@PathVariable String application,
                                    @PathVariable String account,
@@ -190,6 +195,7 @@ class ClusterController {
   }
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/{account:.+}/{clusterName:.+}/{type}/serverGroups/{serverGroupName:.+}", method = RequestMethod.GET)
   def getServerGroup(@PathVariable String application,
                      @PathVariable String account,
@@ -245,6 +251,7 @@ class ClusterController {
    * @return A dynamically determined server group using a {@code TargetServerGroup} specifier.
    */
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/{account:.+}/{clusterName:.+}/{cloudProvider}/{scope}/serverGroups/target/{target:.+}", method = RequestMethod.GET)
   ServerGroup getTargetServerGroup(@PathVariable String application,
                                    @PathVariable String account,
@@ -362,6 +369,7 @@ class ClusterController {
   }
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ') && hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/{account:.+}/{clusterName:.+}/{cloudProvider}/{scope}/serverGroups/target/{target:.+}/{summaryType:.+}", method = RequestMethod.GET)
   Summary getServerGroupSummary(@PathVariable String application,
                                 @PathVariable String account,
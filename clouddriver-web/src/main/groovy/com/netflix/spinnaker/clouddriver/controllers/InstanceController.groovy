@@ -39,6 +39,7 @@ class InstanceController {
   MessageSource messageSource
 
   @PreAuthorize("hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["instances"])
   @RequestMapping(value = "/{account}/{region}/{id:.+}", method = RequestMethod.GET)
   Instance getInstance(@PathVariable String account,
                        @PathVariable String region,
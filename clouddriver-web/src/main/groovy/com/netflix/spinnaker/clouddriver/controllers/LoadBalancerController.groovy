@@ -39,6 +39,7 @@ class LoadBalancerController {
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ')")
   @PostAuthorize("@authorizationSupport.filterForAccounts(returnObject)")
+  @CacheVersioned(types = ["applications", "loadBalancers", "serverGroups", "instances"])
   @RequestMapping(value = "/applications/{application}/loadBalancers", method = RequestMethod.GET)
   List<LoadBalancer> list(@PathVariable String application) {
     loadBalancerProviders.findResults {
@@ -50,6 +51,7 @@ class LoadBalancerController {
 
   @PreAuthorize("@fiatPermissionEvaluator.storeWholePermission()")
   @PostAuthorize("@authorizationSupport.filterLoadBalancerProviderItems(returnObject)")
+  @CacheVersioned(types = ["applications", "loadBalancers", "serverGroups", "instances"])
   @RequestMapping(value = "/{cloudProvider:.+}/loadBalancers", method = RequestMethod.GET)
   List<LoadBalancerProvider.Item> listForCloudProvider(@PathVariable String cloudProvider) {
     return findLoadBalancerProviders(cloudProvider).stream()
@@ -58,6 +60,7 @@ class LoadBalancerController {
   }
 
   @PostAuthorize("@authorizationSupport.filterLoadBalancerProviderItems(returnObject)")
+  @CacheVersioned(types = ["applications", "loadBalancers", "serverGroups", "instances"])
   @RequestMapping(value = "/{cloudProvider:.+}/loadBalancers/{name:.+}", method = RequestMethod.GET)
   LoadBalancerProvider.Item get(@PathVariable String cloudProvider,
                                 @PathVariable String name) {
@@ -70,6 +73,7 @@ class LoadBalancerController {
   }
 
   @PreAuthorize("hasPermission(#account, 'ACCOUNT', 'READ')")
+  @CacheVersioned(types = ["applications", "loadBalancers", "serverGroups", "instances"])
   @RequestMapping(value = "/{cloudProvider:.+}/loadBalancers/{account:.+}/{region:.+}/{name:.+}",
                   method = RequestMethod.GET)
   List<LoadBalancerProvider.Details> getByAccountRegionName(@PathVariable String cloudProvider,
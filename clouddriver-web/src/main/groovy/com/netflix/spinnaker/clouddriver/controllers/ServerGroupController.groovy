@@ -64,6 +64,7 @@ class ServerGroupController {
 
   @PreAuthorize("hasPermission(#account, 'ACCOUNT', 'READ')")
   @PostAuthorize("hasPermission(returnObject?.moniker?.app, 'APPLICATION', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/applications/{application}/serverGroups/{account}/{region}/{name:.+}", method = RequestMethod.GET)
   ServerGroup getServerGroupByApplication(@PathVariable String application, // needed to not break api
                                           @PathVariable String account,
@@ -76,6 +77,7 @@ class ServerGroupController {
 
   @PreAuthorize("hasPermission(#account, 'ACCOUNT', 'READ')")
   @PostAuthorize("hasPermission(returnObject?.moniker?.app, 'APPLICATION', 'READ')")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/serverGroups/{account}/{region}/{name:.+}", method = RequestMethod.GET)
   // TODO: /application and /serverGroup endpoints should be in their own controllers. See https://github.com/spinnaker/spinnaker/issues/2023
   ServerGroup getServerGroupByMoniker(@PathVariable String account,
@@ -187,6 +189,7 @@ class ServerGroupController {
 
   @PreAuthorize("hasPermission(#application, 'APPLICATION', 'READ')")
   @PostAuthorize("@authorizationSupport.filterForAccounts(returnObject)")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/applications/{application}/serverGroups", method = RequestMethod.GET)
   List<Object> list(@PathVariable String application,
                     @RequestParam(required = false, value = "expand", defaultValue = "false") String expand,
@@ -209,6 +212,7 @@ class ServerGroupController {
 
   @PostFilter("hasPermission(filterObject?.application, 'APPLICATION', 'READ')")
   @PostAuthorize("@authorizationSupport.filterForAccounts(returnObject)")
+  @CacheVersioned(types = ["applications", "clusters", "serverGroups", "instances", "loadBalancers"])
   @RequestMapping(value = "/serverGroups", method = RequestMethod.GET)
   List<ServerGroupViewModel> getServerGroups(
     @RequestParam(required = false, value = "applications") List<String> applications,
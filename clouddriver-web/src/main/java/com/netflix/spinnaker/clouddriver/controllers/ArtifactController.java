@@ -24,12 +24,10 @@ import com.netflix.spinnaker.kork.artifacts.artifactstore.ArtifactStore;
 import com.netflix.spinnaker.kork.artifacts.artifactstore.ArtifactStoreURIBuilder;
 import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.kork.exceptions.MissingCredentialsException;
-import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -80,11 +78,7 @@ public class ArtifactController {
           "Artifacts have not been enabled. Enable them using 'artifacts.enabled' in clouddriver");
     }
 
-    return outputStream -> {
-      try (InputStream artifactStream = artifactDownloader.download(artifact)) {
-        IOUtils.copy(artifactStream, outputStream);
-      }
-    };
+    return outputStream -> artifactDownloader.download(artifact, outputStream);
   }
 
   @RequestMapping(method = RequestMethod.GET, value = "/content-address/{application}/{hash}")
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spinnaker.cats.agent.AgentDataType;
+import com.netflix.spinnaker.cats.agent.CachingAgent;
+import com.netflix.spinnaker.cats.cache.Cache;
+import com.netflix.spinnaker.cats.provider.Provider;
+import com.netflix.spinnaker.cats.provider.ProviderRegistry;
+import com.netflix.spinnaker.fiat.model.UserPermission;
+import com.netflix.spinnaker.fiat.shared.FiatPermissionEvaluator;
+import com.netflix.spinnaker.fiat.shared.FiatStatus;
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
+import com.netflix.spinnaker.security.AuthenticatedRequest;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.Expression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Answers conditional GETs of {@link CacheVersioned} endpoints with a 304 before their response is
+ * built, if the types they read haven't changed since the caller's last response.
+ *
+ * <p>The ETag is derived from the request, the caller, the caller's permissions and the versions
+ * of the types the endpoint reads (see {@link CacheVersioned#types}). Versions are read in the
+ * background every {@code conditional-requests.version-refresh-interval-ms} and each store can lag
+ * changes further (see {@link Cache#getVersion}), so a change may go unnoticed for that long.
+ *
+ * <p>This runs ahead of method security, so a 304 is only sent once the endpoint's {@link
+ * PreAuthorize} expression has been evaluated for the caller. Responses that are filtered after
+ * they are built are rebuilt whenever the caller's permissions change, as those are part of the
+ * ETag.
+ *
+ * <p>Enabled by {@code conditional-requests.enabled}. Otherwise the ETag is computed from the
+ * response body by the {@code ShallowEtagHeaderFilter}, once the response has been built.
+ */
+@Component
+public class CacheVersionInterceptor
+    implements MethodInterceptor, InitializingBean, DisposableBean {
+  private static final Logger log = LoggerFactory.getLogger(CacheVersionInterceptor.class);
+
+  private final Cache cacheView;
+  private final ProviderRegistry providerRegistry;
+  private final DynamicConfigService dynamicConfigService;
+  private final Registry registry;
+  private final FiatPermissionEvaluator permissionEvaluator;
+  private final FiatStatus fiatStatus;
+  private final ObjectMapper objectMapper;
+  private final DefaultMethodSecurityExpressionHandler expressionHandler;
+  private final Id requestsId;
+  private final String buildVersion;
+
+  private final Map<Method, Optional<Expression>> preAuthorizeExpressions =
+      new ConcurrentHashMap<>();
+  private final ScheduledExecutorService refresher =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat(CacheVersionInterceptor.class.getSimpleName() + "-%d")
+              .setDaemon(true)
+              .build());
+
+  private volatile CacheVersions cacheVersions;
+
+  @Autowired
+  public CacheVersionInterceptor(
+      Cache cacheView,
+      ProviderRegistry providerRegistry,
+      DynamicConfigService dynamicConfigService,
+      Registry registry,
+      FiatPermissionEvaluator permissionEvaluator,
+      FiatStatus fiatStatus,
+      ObjectMapper objectMapper,
+      ApplicationContext applicationContext) {
+    this.cacheView = cacheView;
+    this.providerRegistry = providerRegistry;
+    this.dynamicConfigService = dynamicConfigService;
+    this.registry = registry;
+    this.permissionEvaluator = permissionEvaluator;
+    this.fiatStatus = fiatStatus;
+    this.objectMapper = objectMapper;
+    this.expressionHandler = new DefaultMethodSecurityExpressionHandler();
+    this.expressionHandler.setPermissionEvaluator(permissionEvaluator);
+    this.expressionHandler.setApplicationContext(applicationContext);
+    this.requestsId = registry.createId("controller.conditionalRequests");
+    this.buildVersion = String.valueOf(getClass().getPackage().getImplementationVersion());
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    refresher.execute(this::refreshAndReschedule);
+  }
+
+  @Override
+  public void destroy() {
+    refresher.shutdownNow();
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    CacheVersioned cacheVersioned =
+        AnnotationUtils.findAnnotation(invocation.getMethod(), CacheVersioned.class);
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (cacheVersioned == null
+        || !(attributes instanceof ServletRequestAttributes)
+        || ((ServletRequestAttributes) attributes).getResponse() == null
+        || !HttpMethod.GET.matches(((ServletRequestAttributes) attributes).getRequest().getMethod())
+        || !dynamicConfigService.isEnabled("conditional-requests", false)) {
+      return invocation.proceed();
+    }
+
+    HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+    HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+    String eTag = eTag(request, cacheVersioned);
+    if (eTag == null) {
+      record(invocation, "unversioned");
+      return invocation.proceed();
+    }
+
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+      response.setHeader(HttpHeaders.ETAG, eTag);
+    } else if (!isPreAuthorized(invocation)) {
+      // leave it to method security to reject the request
+      return invocation.proceed();
+    } else if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+      record(invocation, "notModified");
+      return null;
+    }
+
+    record(invocation, "modified");
+    return invocation.proceed();
+  }
+
+  /** @return the ETag of the request, or null if any of the types it reads isn't versioned */
+  private String eTag(HttpServletRequest request, CacheVersioned cacheVersioned) {
+    CacheVersions current = cacheVersions;
+    String version = current == null ? null : current.getVersion(cacheVersioned.types());
+    if (version == null) {
+      return null;
+    }
+
+    String user = AuthenticatedRequest.getSpinnakerUser().orElse("anonymous");
+    String permissions;
+    try {
+      permissions = getPermissions(user);
+    } catch (RuntimeException e) {
+      log.debug("Unable to read the permissions of {}", user, e);
+      return null;
+    }
+
+    String eTag =
+        Hashing.sha256()
+            .newHasher()
+            .putString(version, StandardCharsets.UTF_8)
+            .putChar('\n')
+            .putString(buildVersion, StandardCharsets.UTF_8)
+            .putChar('\n')
+            .putString(request.getRequestURI(), StandardCharsets.UTF_8)
+            .putChar('?')
+            .putString(String.valueOf(request.getQueryString()), StandardCharsets.UTF_8)
+            .putChar('\n')
+            .putString(user, StandardCharsets.UTF_8)
+            .putChar('\n')
+            .putString(permissions, StandardCharsets.UTF_8)
+            .hash()
+            .toString();
+    return "W/\"" + eTag + "\"";
+  }
+
+  /** @return a hash of the caller's permissions, which is the same on every instance */
+  private String getPermissions(String user) {
+    if (!fiatStatus.isEnabled()) {
+      return "";
+    }
+    UserPermission.View permission = permissionEvaluator.getPermission(user);
+    if (permission == null) {
+      return "";
+    }
+    return hashUnordered(objectMapper.valueToTree(permission)).toString();
+  }
+
+  /** Hashes a JSON tree regardless of the order of its fields and array elements. */
+  private static HashCode hashUnordered(JsonNode node) {
+    List<HashCode> hashes = new ArrayList<>();
+    hashes.add(Hashing.sha256().hashString(node.getNodeType().name(), StandardCharsets.UTF_8));
+    if (node.isArray()) {
+      node.forEach(element -> hashes.add(hashUnordered(element)));
+    } else if (node.isObject()) {
+      node.fields()
+          .forEachRemaining(
+              field ->
+                  hashes.add(
+                      Hashing.combineOrdered(
+                          List.of(
+                              Hashing.sha256().hashString(field.getKey(), StandardCharsets.UTF_8),
+                              hashUnordered(field.getValue())))));
+    } else {
+      hashes.add(Hashing.sha256().hashString(node.asText(), StandardCharsets.UTF_8));
+    }
+    return Hashing.combineUnordered(hashes);
+  }
+
+  /** @return whether the caller passes the {@link PreAuthorize} expression of the endpoint */
+  private boolean isPreAuthorized(MethodInvocation invocation) {
+    Optional<Expression> expression =
+        preAuthorizeExpressions.computeIfAbsent(
+            invocation.getMethod(),
+            method ->
+                Optional.ofNullable(AnnotationUtils.findAnnotation(method, PreAuthorize.class))
+                    .map(
+                        preAuthorize ->
+                            expressionHandler
+                                .getExpressionParser()
+                                .parseExpression(preAuthorize.value())));
+    if (!expression.isPresent()) {
+      return true;
+    }
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null) {
+      return false;
+    }
+    try {
+      return ExpressionUtils.evaluateAsBoolean(
+          expression.get(), expressionHandler.createEvaluationContext(authentication, invocation));
+    } catch (RuntimeException e) {
+      log.debug("Unable to evaluate the authorization of {}", invocation.getMethod(), e);
+      return false;
+    }
+  }
+
+  private void refreshAndReschedule() {
+    try {
+      refresh();
+    } finally {
+      if (!refresher.isShutdown()) {
+        refresher.schedule(
+            this::refreshAndReschedule,
+            dynamicConfigService.getConfig(
+                Long.class, "conditional-requests.version-refresh-interval-ms", 1000L),
+            TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /** Reads the version of every cached type, along with the types cached by each agent. */
+  void refresh() {
+    if (!dynamicConfigService.isEnabled("conditional-requests", false)) {
+      cacheVersions = null;
+      return;
+    }
+
+    try {
+      List<Set<String>> agentTypes = new ArrayList<>();
+      Set<String> types = new TreeSet<>();
+      for (Provider provider : providerRegistry.getProviders()) {
+        provider.getAgents().stream()
+            .filter(CachingAgent.class::isInstance)
+            .map(
+                agent ->
+                    ((CachingAgent) agent)
+                        .getProvidedDataTypes().stream()
+                            .map(AgentDataType::getTypeName)
+                            .collect(Collectors.toSet()))
+            .forEach(
+                agentType -> {
+                  agentTypes.add(agentType);
+                  types.addAll(agentType);
+                });
+      }
+      cacheVersions = new CacheVersions(agentTypes, cacheView.getVersions(types));
+    } catch (Exception e) {
+      // don't keep answering from versions that may no longer be current
+      cacheVersions = null;
+      log.warn("Unable to read cache versions", e);
+    }
+  }
+
+  private void record(MethodInvocation invocation, String result) {
+    registry
+        .counter(
+            requestsId
+                .withTag("controller", invocation.getMethod().getDeclaringClass().getSimpleName())
+                .withTag("method", invocation.getMethod().getName())
+                .withTag("result", result))
+        .increment();
+  }
+
+  /** The versions of the cached types as of a refresh. */
+  private static class CacheVersions {
+    private final List<Set<String>> agentTypes;
+    private final Map<String, String> versions;
+    private final Map<List<String>, Optional<String>> scopedVersions = new ConcurrentHashMap<>();
+
+    private CacheVersions(List<Set<String>> agentTypes, Map<String, String> versions) {
+      this.agentTypes = agentTypes;
+      this.versions = versions;
+    }
+
+    /**
+     * @return a hash of the versions of the given types and of every other type cached by the
+     *     agents caching them, or of all types if none are given, or null if any of them isn't
+     *     versioned
+     */
+    private String getVersion(String[] types) {
+      return scopedVersions
+          .computeIfAbsent(Arrays.asList(types), this::computeVersion)
+          .orElse(null);
+    }
+
+    private Optional<String> computeVersion(List<String> types) {
+      Set<String> scope = new TreeSet<>(types);
+      for (Set<String> agentType : agentTypes) {
+        if (types.isEmpty() || agentType.stream().anyMatch(types::contains)) {
+          scope.addAll(agentType);
+        }
+      }
+
+      Hasher hasher = Hashing.sha256().newHasher();
+      for (String type : scope) {
+        String version = versions.get(type);
+        if (version == null) {
+          return Optional.empty();
+        }
+        hasher
+            .putString(type, StandardCharsets.UTF_8)
+            .putChar('=')
+            .putString(version, StandardCharsets.UTF_8)
+            .putChar('\n');
+      }
+      return Optional.of(hasher.hash().toString());
+    }
+  }
+}
@@ -59,9 +59,15 @@ public class EntityTagsController {
       @RequestParam(value = "account", required = false) String account,
       @RequestParam(value = "region", required = false) String region,
       @RequestParam(value = "namespace", required = false) String namespace,
+      @RequestParam(value = "ids", required = false) String ids,
       @RequestParam(value = "maxResults", required = false, defaultValue = "5000") int maxResults,
       @RequestParam Map<String, Object> allParameters) {
 
+    if (ids != null) {
+      // fetch a known set of entity tags by id (ie. when decorating a list of server groups)
+      return tagProvider.getAll(Arrays.asList(ids.split(",")));
+    }
+
     Map<String, Object> tags =
         allParameters.entrySet().stream()
             .filter(m -> m.getKey().toLowerCase().startsWith("tag"))
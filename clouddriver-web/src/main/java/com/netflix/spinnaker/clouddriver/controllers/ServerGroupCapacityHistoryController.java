@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers;
+
+import com.netflix.frigga.Names;
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacityHistory;
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacitySample;
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(
+    "/applications/{application}/serverGroups/{account}/{region}/{name:.+}/capacityHistory")
+public class ServerGroupCapacityHistoryController {
+  final ServerGroupCapacityHistory capacityHistory;
+
+  @Autowired
+  public ServerGroupCapacityHistoryController(ServerGroupCapacityHistory capacityHistory) {
+    this.capacityHistory = capacityHistory;
+  }
+
+  /**
+   * @param since only samples recorded after this time (in epoch millis) are returned, so that a
+   *     client can pass the timestamp of the last sample it saw
+   * @throws NotFoundException if the server group doesn't belong to the application, as the caller
+   *     is only authorized to read the application's server groups
+   */
+  @PreAuthorize(
+      "hasPermission(#application, 'APPLICATION', 'READ')"
+          + " and hasPermission(#account, 'ACCOUNT', 'READ')")
+  @RequestMapping(method = RequestMethod.GET)
+  List<ServerGroupCapacitySample> getCapacityHistory(
+      @PathVariable String application,
+      @PathVariable String account,
+      @PathVariable String region,
+      @PathVariable String name,
+      @RequestParam(value = "since", defaultValue = "0") long since) {
+    if (!application.equals(Names.parseName(name).getApp())) {
+      throw new NotFoundException(
+          String.format(
+              "Server group not found (application: %s, account: %s, region: %s, name: %s)",
+              application, account, region, name));
+    }
+    return capacityHistory.getSamples(account, region, name, since);
+  }
+}
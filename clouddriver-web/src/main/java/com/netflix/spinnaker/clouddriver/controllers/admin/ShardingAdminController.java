@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers.admin;
+
+import com.netflix.spinnaker.cats.cluster.AccountShardingFilter;
+import com.netflix.spinnaker.cats.cluster.ShardAssignment;
+import com.netflix.spinnaker.cats.cluster.ShardingFilter;
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/sharding")
+public class ShardingAdminController {
+
+  private final ShardingFilter shardingFilter;
+
+  @Autowired
+  public ShardingAdminController(Optional<ShardingFilter> shardingFilter) {
+    this.shardingFilter = shardingFilter.orElse(null);
+  }
+
+  @RequestMapping(value = "/assignment", method = RequestMethod.GET)
+  ShardAssignment assignment() {
+    return accountShardingFilter().getAssignment();
+  }
+
+  /**
+   * Shows how accounts would be assigned, and which accounts would move, if the given caching pods
+   * were removed and the given number of new caching pods were added. Nothing is reassigned.
+   */
+  @RequestMapping(value = "/preview", method = RequestMethod.GET)
+  ShardAssignment preview(
+      @RequestParam(name = "addPods", defaultValue = "0") int addPods,
+      @RequestParam(name = "removePods", required = false) List<String> removePods) {
+    AccountShardingFilter filter = accountShardingFilter();
+    Set<String> pods = new LinkedHashSet<>(filter.getAssignment().getPods());
+    pods.removeAll(Optional.ofNullable(removePods).orElse(Collections.emptyList()));
+    for (int i = 1; i <= addPods; i++) {
+      pods.add("preview-pod-" + i);
+    }
+    return filter.preview(pods);
+  }
+
+  private AccountShardingFilter accountShardingFilter() {
+    if (!(shardingFilter instanceof AccountShardingFilter)) {
+      throw new NotFoundException("Account based cache sharding is not enabled");
+    }
+    return (AccountShardingFilter) shardingFilter;
+  }
+}
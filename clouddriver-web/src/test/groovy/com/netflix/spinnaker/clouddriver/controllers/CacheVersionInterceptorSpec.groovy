@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.cats.agent.AgentDataType
+import com.netflix.spinnaker.cats.agent.CachingAgent
+import com.netflix.spinnaker.cats.cache.Cache
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.mem.InMemoryCache
+import com.netflix.spinnaker.cats.provider.Provider
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import com.netflix.spinnaker.fiat.shared.FiatPermissionEvaluator
+import com.netflix.spinnaker.fiat.shared.FiatStatus
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import org.springframework.aop.framework.ProxyFactory
+import org.springframework.context.ApplicationContext
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.security.access.prepost.PreAuthorize
+import org.springframework.security.authentication.TestingAuthenticationToken
+import org.springframework.security.core.context.SecurityContextHolder
+import org.springframework.web.context.request.RequestContextHolder
+import org.springframework.web.context.request.ServletRequestAttributes
+import spock.lang.Specification
+
+class CacheVersionInterceptorSpec extends Specification {
+  def registry = new DefaultRegistry()
+  def cache = new InMemoryCache()
+  def agent = Stub(CachingAgent) {
+    getProvidedDataTypes() >> [
+      AgentDataType.Authority.AUTHORITATIVE.forType("serverGroups"),
+      AgentDataType.Authority.AUTHORITATIVE.forType("launchConfigs")
+    ]
+  }
+  def otherAgent = Stub(CachingAgent) {
+    getProvidedDataTypes() >> [AgentDataType.Authority.AUTHORITATIVE.forType("securityGroups")]
+  }
+  def providerRegistry = Stub(ProviderRegistry) {
+    getProviders() >> [Stub(Provider) { getAgents() >> [agent, otherAgent] }]
+  }
+  def dynamicConfigService = Stub(DynamicConfigService) {
+    isEnabled("conditional-requests", false) >> true
+  }
+  def fiatStatus = Stub(FiatStatus) {
+    isEnabled() >> false
+  }
+
+  def response = new MockHttpServletResponse()
+
+  void setup() {
+    SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("allowed", null))
+  }
+
+  void cleanup() {
+    RequestContextHolder.resetRequestAttributes()
+    SecurityContextHolder.clearContext()
+  }
+
+  void "should answer with a 304 until a type the endpoint reads changes"() {
+    given:
+    def interceptor = createInterceptor(cache)
+    def controller = proxy(interceptor)
+    interceptor.refresh()
+
+    request(null)
+    controller.versioned()
+    def eTag = response.getHeader("ETag")
+
+    when:
+    request(eTag)
+    def result = controller.versioned()
+
+    then:
+    eTag != null
+    result == null
+    response.status == 304
+    count("notModified") == 1
+
+    when: "a type that isn't read changes"
+    cache.merge("securityGroups", new DefaultCacheData("sg-1", [name: "sg-1"], [:]))
+    interceptor.refresh()
+    request(eTag)
+    result = controller.versioned()
+
+    then:
+    result == null
+    response.status == 304
+    count("notModified") == 2
+
+    when: "a type cached along with a type that is read changes"
+    cache.merge("launchConfigs", new DefaultCacheData("app-v001", [name: "app-v001"], [:]))
+    interceptor.refresh()
+    request(eTag)
+    result = controller.versioned()
+
+    then:
+    result == "versioned"
+    response.status == 200
+    response.getHeader("ETag") != eTag
+    count("modified") == 2
+  }
+
+  void "should not answer with a 304 before the caller is authorized"() {
+    given:
+    def interceptor = createInterceptor(cache)
+    def controller = proxy(interceptor)
+    interceptor.refresh()
+
+    request(null)
+    controller.authorized()
+    def eTag = response.getHeader("ETag")
+
+    when:
+    SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("revoked", null))
+    request(eTag)
+    def result = controller.authorized()
+
+    then: "the request proceeds to method security"
+    result == "authorized"
+    response.status == 200
+    count("notModified", "authorized") == 0
+  }
+
+  void "should build the response until versions have been read"() {
+    given:
+    def controller = proxy(createInterceptor(cache))
+
+    when:
+    request('W/"any"')
+    def result = controller.versioned()
+
+    then:
+    result == "versioned"
+    response.getHeader("ETag") == null
+    count("unversioned") == 1
+  }
+
+  void "should build the response if a cache doesn't track versions"() {
+    given:
+    def interceptor = createInterceptor(Mock(Cache) {
+      getVersions(_) >> [:]
+    })
+    def controller = proxy(interceptor)
+    interceptor.refresh()
+
+    when:
+    request('W/"any"')
+    def result = controller.versioned()
+
+    then:
+    result == "versioned"
+    response.getHeader("ETag") == null
+    count("unversioned") == 1
+  }
+
+  void "should ignore endpoints that aren't versioned"() {
+    given:
+    def interceptor = createInterceptor(cache)
+    def controller = proxy(interceptor)
+    interceptor.refresh()
+
+    when:
+    request(null)
+    def result = controller.unversioned()
+
+    then:
+    result == "unversioned"
+    response.getHeader("ETag") == null
+  }
+
+  private CacheVersionInterceptor createInterceptor(Cache cacheView) {
+    return new CacheVersionInterceptor(
+      cacheView,
+      providerRegistry,
+      dynamicConfigService,
+      registry,
+      Mock(FiatPermissionEvaluator),
+      fiatStatus,
+      new ObjectMapper(),
+      Stub(ApplicationContext)
+    )
+  }
+
+  private static TestController proxy(CacheVersionInterceptor interceptor) {
+    def proxyFactory = new ProxyFactory(new TestController())
+    proxyFactory.setProxyTargetClass(true)
+    proxyFactory.addAdvice(interceptor)
+    return proxyFactory.getProxy() as TestController
+  }
+
+  private void request(String ifNoneMatch) {
+    def request = new MockHttpServletRequest("GET", "/applications/app/serverGroups")
+    if (ifNoneMatch != null) {
+      request.addHeader("If-None-Match", ifNoneMatch)
+    }
+    response = new MockHttpServletResponse()
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response))
+  }
+
+  private long count(String result, String method = "versioned") {
+    return registry.counter(
+      registry.createId("controller.conditionalRequests")
+        .withTag("controller", "TestController")
+        .withTag("method", method)
+        .withTag("result", result)
+    ).count()
+  }
+
+  static class TestController {
+    @CacheVersioned(types = ["serverGroups"])
+    String versioned() {
+      return "versioned"
+    }
+
+    @CacheVersioned(types = ["serverGroups"])
+    @PreAuthorize("principal == 'allowed'")
+    String authorized() {
+      return "authorized"
+    }
+
+    String unversioned() {
+      return "unversioned"
+    }
+  }
+}
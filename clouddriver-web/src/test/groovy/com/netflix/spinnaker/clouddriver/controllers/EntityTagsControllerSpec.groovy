@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.model.EntityTags
+import com.netflix.spinnaker.clouddriver.model.EntityTagsProvider
+import org.springframework.context.MessageSource
+import spock.lang.Specification
+
+class EntityTagsControllerSpec extends Specification {
+
+  def tagProvider = Mock(EntityTagsProvider)
+
+  def controller = new EntityTagsController(Mock(MessageSource), Optional.of(tagProvider))
+
+  void "should fetch entity tags by id when ids are given"() {
+    given:
+    def entityTags = [new EntityTags(id: "aws:servergroup:app-v001:test:us-east-1")]
+
+    when:
+    def result = controller.list(
+      null, null, null, null, null, null, null, null,
+      "aws:servergroup:app-v001:test:us-east-1,aws:servergroup:app-v002:test:us-east-1",
+      5000,
+      [ids: "aws:servergroup:app-v001:test:us-east-1,aws:servergroup:app-v002:test:us-east-1"]
+    )
+
+    then:
+    1 * tagProvider.getAll(["aws:servergroup:app-v001:test:us-east-1", "aws:servergroup:app-v002:test:us-east-1"]) >> entityTags
+    0 * tagProvider.getAll(_, _, _, _, _, _, _, _, _, _)
+    result == entityTags
+  }
+
+  void "should search for entity tags when no ids are given"() {
+    given:
+    def entityTags = [new EntityTags(id: "aws:servergroup:app-v001:test:us-east-1")]
+
+    when:
+    def result = controller.list(
+      "aws", "app", null, null, null, null, null, null, null, 5000, ["tag:owner": "team"]
+    )
+
+    then:
+    1 * tagProvider.getAll("aws", "app", null, null, null, null, null, null, [owner: "team"], 5000) >> entityTags
+    0 * tagProvider.getAll(_ as Collection)
+    result == entityTags
+  }
+}
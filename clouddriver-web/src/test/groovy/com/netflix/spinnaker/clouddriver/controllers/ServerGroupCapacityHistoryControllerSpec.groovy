@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacityHistory
+import com.netflix.spinnaker.clouddriver.model.ServerGroupCapacitySample
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
+import spock.lang.Specification
+
+class ServerGroupCapacityHistoryControllerSpec extends Specification {
+
+  def capacityHistory = Mock(ServerGroupCapacityHistory)
+
+  def controller = new ServerGroupCapacityHistoryController(capacityHistory)
+
+  void "should return the samples of a server group of the application"() {
+    given:
+    def sample = ServerGroupCapacitySample.builder().timestamp(1000).build()
+
+    when:
+    def samples = controller.getCapacityHistory("app", "test", "us-east-1", "app-main-v001", 0)
+
+    then:
+    1 * capacityHistory.getSamples("test", "us-east-1", "app-main-v001", 0) >> [sample]
+    samples == [sample]
+  }
+
+  void "should not return the samples of a server group of another application"() {
+    when:
+    controller.getCapacityHistory("app", "test", "us-east-1", "other-main-v001", 0)
+
+    then:
+    0 * capacityHistory.getSamples(_, _, _, _)
+    thrown(NotFoundException)
+  }
+}
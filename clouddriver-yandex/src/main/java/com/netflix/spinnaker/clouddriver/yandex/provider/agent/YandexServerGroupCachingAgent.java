@@ -157,7 +157,9 @@ public final class YandexServerGroupCachingAgent
     // have been processed. But we don't live in that world.
     Set<String> serverGroupKeys = serverGroups.stream().map(this::getKey).collect(toSet());
     providerCache
-        .getAll(ON_DEMAND_NS, serverGroupKeys)
+        .getOnDemandCacheData(getAgentType(), ON_DEMAND_NS, getOnDemandKeyPattern())
+        .stream()
+        .filter(cacheData -> serverGroupKeys.contains(cacheData.getId()))
         .forEach(
             cacheData -> {
               long cacheTime = (long) cacheData.getAttributes().get("cacheTime");
@@ -226,14 +228,14 @@ public final class YandexServerGroupCachingAgent
                                 "processedCount",
                                 0),
                             /* relationships= */ ImmutableMap.of()));
-        providerCache.putCacheData(ON_DEMAND_NS, cacheData);
+        providerCache.putOnDemandCacheData(getAgentType(), ON_DEMAND_NS, cacheData);
         return new OnDemandResult(
             getOnDemandAgentType(), result, /* evictions= */ ImmutableMap.of());
       } else {
         Collection<String> existingIdentifiers =
             ImmutableSet.of(
                 Keys.getServerGroupKey(getAccountName(), "*", getFolder(), serverGroupName));
-        providerCache.evictDeletedItems(ON_DEMAND_NS, existingIdentifiers);
+        providerCache.evictOnDemandCacheData(getAgentType(), ON_DEMAND_NS, existingIdentifiers);
         return new OnDemandResult(
             getOnDemandAgentType(),
             new DefaultCacheResult(ImmutableMap.of()),
@@ -247,13 +249,10 @@ public final class YandexServerGroupCachingAgent
 
   @Override
   public Collection<Map<String, Object>> pendingOnDemandRequests(ProviderCache providerCache) {
-    List<String> ownedKeys =
-        providerCache.getIdentifiers(ON_DEMAND_NS).stream()
-            .filter(this::keyOwnedByThisAgent)
-            .collect(
-                Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
-
-    return providerCache.getAll(ON_DEMAND_NS, ownedKeys).stream()
+    return providerCache
+        .getOnDemandCacheData(getAgentType(), ON_DEMAND_NS, getOnDemandKeyPattern())
+        .stream()
+        .filter(cacheData -> keyOwnedByThisAgent(cacheData.getId()))
         .map(
             cacheData -> {
               Map<String, Object> map = new HashMap<>();
@@ -267,6 +266,11 @@ public final class YandexServerGroupCachingAgent
         .collect(Collectors.toList());
   }
 
+  /** Matches the keys of the server groups of this agent's account and folder. */
+  private String getOnDemandKeyPattern() {
+    return Keys.getServerGroupKey(getAccountName(), "*", getFolder(), "*");
+  }
+
   private boolean keyOwnedByThisAgent(String key) {
     Map<String, String> parsedKey = Keys.parse(key);
     return parsedKey != null && parsedKey.get("type").equals(TYPE);